@@ -0,0 +1,63 @@
+package com.bettercloud.vault.json;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p>Measures building a {@link JsonObject} member by member (as the parsers do), and then looking up every member by
+ * name, across object sizes from a handful of members to a large mount table.  The <code>build</code> benchmark
+ * guards the construction cost of small objects, and <code>lookup</code> shows that finding a member costs the same
+ * however many members there are.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonObjectBenchmark {
+
+    @Param({"4", "16", "64", "256", "1000", "10000"})
+    public int size;
+
+    private String[] names;
+    private JsonObject object;
+
+    @Setup
+    public void setUp() {
+        names = new String[size];
+        for (int i = 0; i < size; i++) {
+            names[i] = "team-" + i + "/";
+        }
+        object = build();
+    }
+
+    @Benchmark
+    public JsonObject build() {
+        final JsonObject built = new JsonObject();
+        for (final String name : names) {
+            built.add(name, Json.TRUE);
+        }
+        return built;
+    }
+
+    @Benchmark
+    public void lookup(final Blackhole blackhole) {
+        for (final String name : names) {
+            blackhole.consume(object.get(name));
+        }
+    }
+
+}
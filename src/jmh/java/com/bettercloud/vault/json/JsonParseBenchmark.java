@@ -0,0 +1,157 @@
+package com.bettercloud.vault.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p>Compares parsing a response body by first decoding it to a <code>String</code> (as responses were originally
+ * handled) against parsing its UTF-8 bytes directly with {@link Json#parse(byte[])}, and against reading the same
+ * values through a {@link JsonTape} or streaming them with a {@link JsonReader}.</p>
+ *
+ * <p>The <code>mounts</code> payload mimics a large <code>sys/mounts</code> response, of which only the engine
+ * version of each mount is read.  The <code>list</code> payload mimics a large <code>LIST</code> response, of which
+ * every key is read.  The <code>numbers</code> payload mimics a response carrying a large array of counters and
+ * timestamps, every one of which is read as a <code>long</code>.  Run with <code>-prof gc</code> to compare allocation rates as well as throughput.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonParseBenchmark {
+
+    @Param({"mounts", "list", "numbers"})
+    public String payload;
+
+    @Param({"1000"})
+    public int size;
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        final StringBuilder json = new StringBuilder("{\"request_id\":\"5a3c7a46-4f0f-0d5b-8b79-cd3a2c8c3e15\","
+                + "\"lease_id\":\"\",\"renewable\":false,\"lease_duration\":0,\"data\":{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            if ("mounts".equals(payload)) {
+                json.append("\"team-").append(i).append("/\":{\"accessor\":\"kv_").append(Integer.toHexString(i * 7919))
+                        .append("\",\"config\":{\"default_lease_ttl\":0,\"force_no_cache\":false,\"max_lease_ttl\":0},")
+                        .append("\"description\":\"Secrets for team ").append(i).append(", m\u00fc\u00dfig gesch\u00e4tzt\",")
+                        .append("\"local\":false,\"options\":{\"version\":\"").append(i % 2 + 1)
+                        .append("\"},\"seal_wrap\":false,\"type\":\"kv\"}");
+            } else if ("numbers".equals(payload)) {
+                json.append(i == 0 ? "\"values\":[" : "").append(1500000000L + i * 7919L);
+            } else {
+                json.append(i == 0 ? "\"keys\":[" : "").append("\"service-").append(i).append("/db-credentials\"");
+            }
+        }
+        json.append("mounts".equals(payload) ? "}" : "]}").append(",\"wrap_info\":null,\"warnings\":null,\"auth\":null}");
+        body = json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void parseString(final Blackhole blackhole) {
+        consume(Json.parse(new String(body, StandardCharsets.UTF_8)), blackhole);
+    }
+
+    @Benchmark
+    public void parseBytes(final Blackhole blackhole) {
+        consume(Json.parse(body), blackhole);
+    }
+
+    @Benchmark
+    public void parseTape(final Blackhole blackhole) {
+        final JsonTape.Cursor data = JsonTape.parse(body).root().get("data");
+        if ("mounts".equals(payload)) {
+            for (JsonTape.Cursor mount = data.first(); mount != null; mount = mount.next()) {
+                blackhole.consume(mount.name());
+                blackhole.consume(mount.get("options").get("version").asString());
+            }
+        } else if ("numbers".equals(payload)) {
+            for (JsonTape.Cursor number = data.get("values").first(); number != null; number = number.next()) {
+                blackhole.consume(number.asLong());
+            }
+        } else {
+            for (JsonTape.Cursor key = data.get("keys").first(); key != null; key = key.next()) {
+                blackhole.consume(key.asString());
+            }
+        }
+    }
+
+    @Benchmark
+    public void readStream(final Blackhole blackhole) throws IOException {
+        final JsonReader reader = new JsonReader(new ByteArrayInputStream(body));
+        reader.beginObject();
+        while (!"data".equals(reader.nextName())) {
+            reader.skipValue();
+        }
+        reader.beginObject();
+        if ("mounts".equals(payload)) {
+            while (reader.hasNext()) {
+                blackhole.consume(reader.nextName());
+                reader.beginObject();
+                while (!"options".equals(reader.nextName())) {
+                    reader.skipValue();
+                }
+                reader.beginObject();
+                reader.nextName();
+                blackhole.consume(reader.nextString());
+                reader.endObject();
+                while (reader.hasNext()) {
+                    reader.skipValue();
+                }
+                reader.endObject();
+            }
+        } else if ("numbers".equals(payload)) {
+            reader.nextName();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                blackhole.consume(reader.nextLong());
+            }
+        } else {
+            reader.nextName();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                blackhole.consume(reader.nextString());
+            }
+        }
+    }
+
+    private void consume(final JsonValue value, final Blackhole blackhole) {
+        final JsonObject data = value.asObject().get("data").asObject();
+        if ("mounts".equals(payload)) {
+            for (final JsonObject.Member member : data) {
+                blackhole.consume(member.getName());
+                blackhole.consume(member.getValue().asObject().get("options").asObject().get("version").asString());
+            }
+        } else if ("numbers".equals(payload)) {
+            for (final JsonValue number : data.get("values").asArray()) {
+                blackhole.consume(number.asLong());
+            }
+        } else {
+            for (final JsonValue key : data.get("keys").asArray()) {
+                blackhole.consume(key.asString());
+            }
+        }
+    }
+
+}
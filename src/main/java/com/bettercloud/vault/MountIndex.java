@@ -0,0 +1,261 @@
+package com.bettercloud.vault;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>A compiled, immutable index of secret engine mount points, which resolves any secret path to the mount that
+ * contains it (by longest matching prefix) and that mount's KV engine version.  E.g. with mounts <code>secret/</code>
+ * (version 2) and <code>secret/legacy/</code> (version 1), the path <code>secret/app/db</code> resolves to version 2,
+ * and <code>secret/legacy/app/db</code> to version 1.</p>
+ *
+ * <p>The index is a trie of path segments.  Each level is an open-addressing hash table, probed with a hash computed
+ * directly over the characters of the path being resolved, so that a lookup allocates nothing.</p>
+ *
+ * <p>It is compiled from the map of mount points to engine versions held by {@link VaultConfig} (see
+ * {@link VaultConfig#secretsEnginePathMap(Map)}), in the format returned by <code>Vault.getSecretEngineVersions()</code>.
+ * Mount points must end with a slash (e.g. <code>secret/</code>), and a leading slash is ignored.  A version of
+ * <code>"unknown"</code> (i.e. a mount on a Vault server older than 0.10) is treated as version 1.</p>
+ */
+public final class MountIndex {
+
+    private static final Logger LOGGER = Logger.getLogger(MountIndex.class.getCanonicalName());
+    private static final MountIndex EMPTY = new MountIndex(new Node(), false);
+
+    private final Node root;
+    private final boolean discovered;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile long lastRefreshNanos = System.nanoTime();
+
+    private MountIndex(final Node root, final boolean discovered) {
+        this.root = root;
+        this.discovered = discovered;
+    }
+
+    /**
+     * <p>Compiles an index from a map of mount points to engine versions.</p>
+     *
+     * @param secretEngineVersions Mount points (e.g. <code>secret/</code>) and their engine versions (e.g. <code>"2"</code>)
+     * @return The compiled index
+     */
+    public static MountIndex compile(final Map<String, String> secretEngineVersions) {
+        return compile(secretEngineVersions, false);
+    }
+
+    static MountIndex compile(final Map<String, String> secretEngineVersions, final boolean discovered) {
+        if (secretEngineVersions == null || secretEngineVersions.isEmpty()) {
+            return discovered ? new MountIndex(new Node(), true) : EMPTY;
+        }
+        final Node root = new Node();
+        for (final Map.Entry<String, String> mount : secretEngineVersions.entrySet()) {
+            final String path = mount.getKey();
+            if (path == null || !path.endsWith("/")) {
+                // Not a mount point, so it cannot contain any secret path
+                continue;
+            }
+            Node node = root;
+            int start = 0;
+            while (start < path.length()) {
+                int end = path.indexOf('/', start);
+                if (end == -1) {
+                    end = path.length();
+                }
+                if (end > start) {
+                    node = node.childForInsert(path.substring(start, end));
+                }
+                start = end + 1;
+            }
+            if (node != root) {
+                node.mount = path.startsWith("/") ? path.substring(1) : path;
+                node.version = parseVersion(mount.getValue());
+            }
+        }
+        return new MountIndex(root, discovered);
+    }
+
+    /**
+     * <p>Resolves a secret path to the KV engine version of the mount that contains it.</p>
+     *
+     * @param path A secret path (e.g. <code>secret/app/db</code>)
+     * @return The engine version (<code>1</code> or <code>2</code>), or <code>-1</code> if no known mount contains the path
+     */
+    public int engineVersion(final String path) {
+        final Node mount = resolve(path);
+        return mount == null ? -1 : mount.version;
+    }
+
+    /**
+     * <p>Resolves a secret path to the mount that contains it.</p>
+     *
+     * @param path A secret path (e.g. <code>secret/app/db</code>)
+     * @return The mount point (e.g. <code>secret/</code>), or <code>null</code> if no known mount contains the path
+     */
+    public String mountPath(final String path) {
+        final Node mount = resolve(path);
+        return mount == null ? null : mount.mount;
+    }
+
+    /**
+     * @return <code>true</code> if this index holds no mounts at all
+     */
+    public boolean isEmpty() {
+        return root.size == 0;
+    }
+
+    private Node resolve(final String path) {
+        if (path == null) {
+            return null;
+        }
+        Node node = root;
+        Node mount = null;
+        final int length = path.length();
+        int start = 0;
+        while (start < length && node.size > 0) {
+            int end = path.indexOf('/', start);
+            if (end == -1) {
+                end = length;
+            }
+            if (end > start) {
+                node = node.child(path, start, end);
+                if (node == null) {
+                    break;
+                }
+                if (node.version > 0) {
+                    mount = node;
+                }
+            }
+            start = end + 1;
+        }
+        return mount;
+    }
+
+    private static int parseVersion(final String version) {
+        return "2".equals(version == null ? null : version.trim()) ? 2 : 1;
+    }
+
+    private static int hash(final CharSequence chars, final int start, final int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + chars.charAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * <p>Starts a background re-read of the mount points from Vault, if this index was discovered from Vault (rather
+     * than supplied in the config), is older than the config's refresh interval, and no refresh is already running.
+     * Until the refresh completes, this index remains in use.  If it fails, the next attempt is made after another
+     * interval.  If other paths have been supplied in the config in the meantime, then the refreshed paths are
+     * discarded.</p>
+     */
+    void refreshIfDue(final VaultConfig config) {
+        final long interval = config.getMountRefreshIntervalMilliseconds();
+        if (!discovered || interval <= 0) {
+            return;
+        }
+        if (System.nanoTime() - lastRefreshNanos < TimeUnit.MILLISECONDS.toNanos(interval)
+                || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            RefreshExecutor.INSTANCE.execute(() -> {
+                try {
+                    config.discoveredSecretsEnginePathMap(this, Vault.readSecretEngineVersions(config));
+                    return;
+                } catch (VaultException | RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Could not refresh the secrets Engine paths from Vault", e);
+                }
+                lastRefreshNanos = System.nanoTime();
+                refreshing.set(false);
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * <p>A single level of the trie:  an open-addressing hash table of path segments, plus the mount (if any) ending
+     * at this level.</p>
+     */
+    private static final class Node {
+
+        private String mount;
+        private int version = -1;
+        private String[] segments = new String[4];
+        private int[] hashes = new int[4];
+        private Node[] children = new Node[4];
+        private int size;
+
+        private Node child(final String path, final int start, final int end) {
+            final int length = end - start;
+            final int hash = hash(path, start, end);
+            final int mask = segments.length - 1;
+            for (int index = hash & mask; segments[index] != null; index = (index + 1) & mask) {
+                final String segment = segments[index];
+                if (hashes[index] == hash && segment.length() == length
+                        && path.regionMatches(start, segment, 0, length)) {
+                    return children[index];
+                }
+            }
+            return null;
+        }
+
+        private Node childForInsert(final String segment) {
+            final Node existing = child(segment, 0, segment.length());
+            if (existing != null) {
+                return existing;
+            }
+            if ((size + 1) * 2 > segments.length) {
+                grow();
+            }
+            final Node child = new Node();
+            put(segment, segment.hashCode(), child);
+            size++;
+            return child;
+        }
+
+        private void put(final String segment, final int hash, final Node child) {
+            final int mask = segments.length - 1;
+            int index = hash & mask;
+            while (segments[index] != null) {
+                index = (index + 1) & mask;
+            }
+            segments[index] = segment;
+            hashes[index] = hash;
+            children[index] = child;
+        }
+
+        private void grow() {
+            final String[] oldSegments = segments;
+            final int[] oldHashes = hashes;
+            final Node[] oldChildren = children;
+            segments = new String[oldSegments.length * 2];
+            hashes = new int[oldSegments.length * 2];
+            children = new Node[oldSegments.length * 2];
+            for (int i = 0; i < oldSegments.length; i++) {
+                if (oldSegments[i] != null) {
+                    put(oldSegments[i], oldHashes[i], oldChildren[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>Holder for the lazily-created executor on which mount refreshes run.</p>
+     */
+    private static final class RefreshExecutor {
+
+        private static final ExecutorService INSTANCE = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "vault-mount-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+}
@@ -0,0 +1,147 @@
+package com.bettercloud.vault;
+
+import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>A container for retry-related configuration options, meant to be stored within a {@link VaultConfig} instance.</p>
+ *
+ * <p>The number of retries, and the base interval between them, are still set through
+ * <code>Vault.withRetries()</code>.  This class controls how that interval grows from one retry to the next, and how
+ * long a single API call may keep retrying in total:</p>
+ *
+ * <blockquote>
+ * <pre>{@code
+ * final VaultConfig config = new VaultConfig()
+ *                              .address("http://127.0.0.1:8200")
+ *                              .retryPolicy(new RetryPolicy()
+ *                                      .backoffMultiplier(2.0)
+ *                                      .maxIntervalMilliseconds(10000)
+ *                                      .jitterFactor(0.5)
+ *                                      .deadlineMilliseconds(60000))
+ *                              .build();
+ * final Vault vault = new Vault(config).withRetries(5, 500);
+ * }</pre>
+ * </blockquote>
+ *
+ * <p>With the defaults, the wait before retry <i>n</i> is <code>retryIntervalMilliseconds * 2^(n-1)</code>, capped at
+ * 30 seconds, and then randomly shortened by up to half so that many clients failing at the same moment do not all
+ * retry in lockstep.  Set <code>backoffMultiplier</code> to <code>1.0</code> and <code>jitterFactor</code> to
+ * <code>0.0</code> for the fixed interval used by older versions of this library.</p>
+ *
+ * <p>Only failures that might succeed on a second attempt are retried:  network errors, HTTP 5xx responses, and
+ * HTTP 429 (rate limited) responses.  Other HTTP errors, such as 403 (permission denied) or 404 (not found), are
+ * reported immediately.</p>
+ */
+public class RetryPolicy implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final double DEFAULT_BACKOFF_MULTIPLIER = 2.0;
+    public static final long DEFAULT_MAX_INTERVAL_MILLISECONDS = 30000L;
+    public static final double DEFAULT_JITTER_FACTOR = 0.5;
+
+    private double backoffMultiplier = DEFAULT_BACKOFF_MULTIPLIER;
+    private long maxIntervalMilliseconds = DEFAULT_MAX_INTERVAL_MILLISECONDS;
+    private double jitterFactor = DEFAULT_JITTER_FACTOR;
+    private long deadlineMilliseconds;
+
+    /**
+     * <p>The factor by which the wait grows after each retry.  Default is <code>2.0</code>.  A value of
+     * <code>1.0</code> waits the same interval before every retry.</p>
+     *
+     * @param backoffMultiplier The growth factor, which must be at least <code>1.0</code>
+     * @return This object, with backoffMultiplier populated, ready for other builder-pattern config methods
+     */
+    public RetryPolicy backoffMultiplier(final double backoffMultiplier) {
+        if (backoffMultiplier < 1.0) {
+            throw new IllegalArgumentException("backoffMultiplier must be at least 1.0");
+        }
+        this.backoffMultiplier = backoffMultiplier;
+        return this;
+    }
+
+    /**
+     * <p>The longest that the driver will wait between two attempts, however many retries have already been made.
+     * Default is <code>30000</code>.  A base interval from <code>Vault.withRetries()</code> that is longer than this
+     * is never shortened.</p>
+     *
+     * @param maxIntervalMilliseconds The upper bound on any single wait
+     * @return This object, with maxIntervalMilliseconds populated, ready for other builder-pattern config methods
+     */
+    public RetryPolicy maxIntervalMilliseconds(final long maxIntervalMilliseconds) {
+        if (maxIntervalMilliseconds < 0) {
+            throw new IllegalArgumentException("maxIntervalMilliseconds cannot be negative");
+        }
+        this.maxIntervalMilliseconds = maxIntervalMilliseconds;
+        return this;
+    }
+
+    /**
+     * <p>The fraction of each wait that is randomized.  Default is <code>0.5</code>, meaning that each wait is
+     * somewhere between half and all of its computed value.  <code>0.0</code> disables jitter, and <code>1.0</code>
+     * waits anywhere from zero up to the computed value.</p>
+     *
+     * @param jitterFactor A value between <code>0.0</code> and <code>1.0</code>
+     * @return This object, with jitterFactor populated, ready for other builder-pattern config methods
+     */
+    public RetryPolicy jitterFactor(final double jitterFactor) {
+        if (jitterFactor < 0.0 || jitterFactor > 1.0) {
+            throw new IllegalArgumentException("jitterFactor must be between 0.0 and 1.0");
+        }
+        this.jitterFactor = jitterFactor;
+        return this;
+    }
+
+    /**
+     * <p>The total time budget for a single API call, including all of its retries.  No retry will be started if
+     * waiting for it would run past this deadline, even if <code>maxRetries</code> has not been reached.  Default is
+     * <code>0</code>, meaning no deadline.</p>
+     *
+     * <p>Note that the deadline is only checked between attempts.  Use <code>VaultConfig.readTimeout()</code> to
+     * bound each individual attempt.</p>
+     *
+     * @param deadlineMilliseconds The time budget for an API call, or <code>0</code> for none
+     * @return This object, with deadlineMilliseconds populated, ready for other builder-pattern config methods
+     */
+    public RetryPolicy deadlineMilliseconds(final long deadlineMilliseconds) {
+        if (deadlineMilliseconds < 0) {
+            throw new IllegalArgumentException("deadlineMilliseconds cannot be negative");
+        }
+        this.deadlineMilliseconds = deadlineMilliseconds;
+        return this;
+    }
+
+    public double getBackoffMultiplier() {
+        return backoffMultiplier;
+    }
+
+    public long getMaxIntervalMilliseconds() {
+        return maxIntervalMilliseconds;
+    }
+
+    public double getJitterFactor() {
+        return jitterFactor;
+    }
+
+    public long getDeadlineMilliseconds() {
+        return deadlineMilliseconds;
+    }
+
+    /**
+     * <p>Computes how long to wait before a given retry.</p>
+     *
+     * @param retryNumber               Which retry is about to be made (<code>1</code> for the first)
+     * @param retryIntervalMilliseconds The base interval, as set by <code>Vault.withRetries()</code>
+     * @return The number of milliseconds to wait
+     */
+    public long delayMilliseconds(final int retryNumber, final long retryIntervalMilliseconds) {
+        double delay = retryIntervalMilliseconds * Math.pow(backoffMultiplier, Math.max(0, retryNumber - 1));
+        delay = Math.min(delay, (double) Math.max(maxIntervalMilliseconds, retryIntervalMilliseconds));
+        if (jitterFactor > 0.0) {
+            delay -= delay * jitterFactor * ThreadLocalRandom.current().nextDouble();
+        }
+        return Math.max(0L, (long) delay);
+    }
+
+}
@@ -7,14 +7,13 @@ import com.bettercloud.vault.api.Logical;
 import com.bettercloud.vault.api.Seal;
 import com.bettercloud.vault.api.mounts.Mounts;
 import com.bettercloud.vault.api.pki.Pki;
-import com.bettercloud.vault.json.Json;
-import com.bettercloud.vault.json.JsonObject;
-import com.bettercloud.vault.json.JsonValue;
+import com.bettercloud.vault.api.transit.Transit;
+import com.bettercloud.vault.json.JsonTape;
+import com.bettercloud.vault.json.ParseException;
 import com.bettercloud.vault.rest.Rest;
 import com.bettercloud.vault.rest.RestException;
 import com.bettercloud.vault.rest.RestResponse;
 
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Logger;
@@ -118,9 +117,8 @@ public class Vault {
         if (useSecretsEnginePathMap && this.vaultConfig.getSecretsEnginePathMap().isEmpty()) {
             try {
                 logger.info("No secrets Engine version map was supplied, attempting to generate one.");
-                final Map<String, String> secretsEnginePathMap = collectSecretEngineVersions();
-                assert secretsEnginePathMap != null;
-                this.vaultConfig.getSecretsEnginePathMap().putAll(secretsEnginePathMap);
+                final Map<String, String> secretsEnginePathMap = readSecretEngineVersions(this.vaultConfig);
+                this.vaultConfig.discoveredSecretsEnginePathMap(null, secretsEnginePathMap);
             } catch (Exception e) {
                 throw new VaultException(String.format("An Engine KV version map was not supplied, and unable to determine " +
                         "KV Engine " +
@@ -194,6 +192,34 @@ public class Vault {
         return new Pki(vaultConfig, mountPath);
     }
 
+    /**
+     * Returns the implementing class for Vault's Transit secret backend (i.e. <code>/v1/transit/*</code> REST endpoints).
+     *
+     * @return The implementing class for Vault's Transit secret backend.
+     */
+    public Transit transit() {
+        return new Transit(vaultConfig);
+    }
+
+    /**
+     * <p>Returns the implementing class for Vault's Transit secret backend, using a custom path when that backend is
+     * mounted on something other than the default (i.e. <code>/v1/transit</code>).  Example usage:</p>
+     *
+     * <blockquote>
+     * <pre>{@code
+     * final VaultConfig config = new VaultConfig().address(...).token(...).build();
+     * final Vault vault = new Vault(config);
+     * final List<String> ciphertexts = vault.transit("orders-transit").encrypt("orders", plaintexts);
+     * }</pre>
+     * </blockquote>
+     *
+     * @param mountPath The path on which your Vault Transit backend is mounted, without the <code>/v1/</code> prefix
+     * @return The implementing class for Vault's Transit secret backend.
+     */
+    public Transit transit(final String mountPath) {
+        return new Transit(vaultConfig, mountPath);
+    }
+
     /**
      * Returns the implementing class for Vault's lease operations (e.g. revoke, revoke-prefix).
      *
@@ -246,30 +272,61 @@ public class Vault {
      * @return A map of mount points (e.g. "/secret") to secret engine version numbers (e.g. "2")
      */
     private Map<String, String> collectSecretEngineVersions() {
+        return collectSecretEngineVersions(this.vaultConfig);
+    }
+
+    /**
+     * @param vaultConfig The config with which to call Vault
+     * @return A map of mount points to secret engine version numbers, or <code>null</code> if they could not be read
+     */
+    private static Map<String, String> collectSecretEngineVersions(final VaultConfig vaultConfig) {
+        try {
+            return readSecretEngineVersions(vaultConfig);
+        } catch (VaultException e) {
+            System.err.print(String.format("Unable to retrieve the KV Engine secrets, due to exception: %s", e.getMessage()));
+            return null;
+        }
+    }
+
+    /**
+     * <p>Reads the mount points and their secret engine versions from Vault, using the supplied config.  Shared with
+     * {@link MountIndex}, which uses it to refresh discovered mount points in the background.</p>
+     *
+     * @param vaultConfig The config with which to call Vault
+     * @return A map of mount points to secret engine version numbers
+     * @throws VaultException If the mount points cannot be read, or the response does not contain them
+     */
+    static Map<String, String> readSecretEngineVersions(final VaultConfig vaultConfig) throws VaultException {
         try {
             final RestResponse restResponse = new Rest()//NOPMD
                     .url(vaultConfig.getAddress() + "/v1/sys/mounts")
                     .header("X-Vault-Token", vaultConfig.getToken())
-                    .optionalHeader("X-Vault-Namespace", this.vaultConfig.getNameSpace())
+                    .optionalHeader("X-Vault-Namespace", vaultConfig.getNameSpace())
                     .connectTimeoutSeconds(vaultConfig.getOpenTimeout())
                     .readTimeoutSeconds(vaultConfig.getReadTimeout())
                     .sslVerification(vaultConfig.getSslConfig().isVerify())
                     .sslContext(vaultConfig.getSslConfig().getSslContext())
+                    .transport(vaultConfig.getTransport())
                     .get();
             if (restResponse.getStatus() != 200) {
-                return null;
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(),
+                        restResponse.getStatus());
             }
 
-            final String jsonString = new String(restResponse.getBody(), StandardCharsets.UTF_8);
+            // Only the version of each mount is needed, so the (potentially large) response is not parsed into a tree
             final Map<String, String> data = new HashMap<>();
-            final JsonObject jsonData = Json.parse(jsonString).asObject().get("data").asObject();
-            for (JsonObject.Member member : jsonData) {
-                final String name = member.getName();
+            final JsonTape.Cursor root = restResponse.getJsonTape().root();
+            final JsonTape.Cursor jsonData = root.isObject() ? root.get("data") : null;
+            if (jsonData == null || !jsonData.isObject()) {
+                throw new VaultException("Vault responded without a \"data\" object listing its mount points");
+            }
+            for (JsonTape.Cursor mount = jsonData.first(); mount != null; mount = mount.next()) {
+                final String name = mount.name();
                 String version = "unknown";
 
-                final JsonValue options = member.getValue().asObject().get("options");
+                final JsonTape.Cursor options = mount.get("options");
                 if (options != null && options.isObject()) {
-                    final JsonValue ver = options.asObject().get("version");
+                    final JsonTape.Cursor ver = options.get("version");
                     if (ver != null && ver.isString()) {
                         version = ver.asString();
                     }
@@ -277,9 +334,8 @@ public class Vault {
                 data.put(name, version);
             }
             return data;
-        } catch (RestException e) {
-            System.err.print(String.format("Unable to retrieve the KV Engine secrets, due to exception: %s", e.getMessage()));
-            return null;
+        } catch (RestException | ParseException e) {
+            throw new VaultException(e);
         }
     }
 
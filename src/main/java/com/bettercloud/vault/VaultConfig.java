@@ -1,5 +1,9 @@
 package com.bettercloud.vault;
 
+import com.bettercloud.vault.api.SecretCache;
+import com.bettercloud.vault.api.SingleFlight;
+import com.bettercloud.vault.rest.VaultTransport;
+
 import java.io.Serializable;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -38,9 +42,16 @@ public class VaultConfig implements Serializable {
     private Integer readTimeout;
     private int maxRetries;
     private int retryIntervalMilliseconds;
+    private RetryPolicy retryPolicy = new RetryPolicy();
     private Integer globalEngineVersion;
     private String nameSpace;
     private EnvironmentLoader environmentLoader;
+    private transient VaultTransport transport;
+    private transient SecretCache secretCache;
+    private boolean coalesceReads;
+    private transient volatile SingleFlight singleFlight;
+    private long mountRefreshIntervalMilliseconds;
+    private transient volatile MountIndex mountIndex;
 
     /**
      * <p>The code used to load environment variables is encapsulated here, so that a mock version of that environment
@@ -136,14 +147,18 @@ public class VaultConfig implements Serializable {
     /**
      * <p>Sets the secrets Engine paths used by Vault.</p>
      *
+     * <p>Each secret path is resolved to the longest of these mount points that contains it (see
+     * {@link MountIndex}).</p>
+     *
      * @param secretEngineVersions paths to use for accessing Vault secrets.
-     *                             Key: secret path, value: Engine version to use.
-     *                             Example map: "/secret/foo" , "1",
-     *                             "/secret/bar", "2"
+     *                             Key: mount point, ending with a slash, value: Engine version to use.
+     *                             Example map: "secret/foo/" , "1",
+     *                             "secret/bar/", "2"
      * @return This object, with secrets paths populated, ready for additional builder-pattern method calls or else finalization with the build() method
      */
-    public VaultConfig secretsEnginePathMap(final Map<String, String> secretEngineVersions) {
+    public synchronized VaultConfig secretsEnginePathMap(final Map<String, String> secretEngineVersions) {
         this.secretsEnginePathMap = new ConcurrentHashMap<>(secretEngineVersions);
+        this.mountIndex = null;
         return this;
     }
     
@@ -156,8 +171,42 @@ public class VaultConfig implements Serializable {
      * @return This object, with a new entry in the secrets paths map, ready for additional builder-pattern method calls or else finalization with 
      *         the build() method
      */
-    public VaultConfig putSecretsEngineVersionForPath(String path, String version) {
+    public synchronized VaultConfig putSecretsEngineVersionForPath(String path, String version) {
         this.secretsEnginePathMap.put(path, version);
+        this.mountIndex = null;
+        return this;
+    }
+
+    /**
+     * <p>Replaces the secrets Engine paths with those just read from Vault's <code>sys/mounts</code> endpoint, and
+     * swaps in a newly-compiled {@link MountIndex} in a single step.  Paths that were supplied in this config are
+     * never replaced:  a first discovery only takes effect if no paths have been supplied, and a refresh only if the
+     * index that it refreshes is still in use.</p>
+     *
+     * @param refreshed            The index whose paths were re-read, or <code>null</code> for a first discovery
+     * @param secretEngineVersions The paths read from Vault
+     */
+    synchronized void discoveredSecretsEnginePathMap(final MountIndex refreshed,
+                                                     final Map<String, String> secretEngineVersions) {
+        if (refreshed == null ? !this.secretsEnginePathMap.isEmpty() : this.mountIndex != refreshed) {
+            return;
+        }
+        final MountIndex index = MountIndex.compile(secretEngineVersions, true);
+        this.secretsEnginePathMap = new ConcurrentHashMap<>(secretEngineVersions);
+        this.mountIndex = index;
+    }
+
+    /**
+     * <p>How often to re-read the secrets Engine paths from Vault, when they were discovered from Vault by
+     * <code>new Vault(config, true, fallbackVersion)</code> rather than supplied in this config.  The re-read happens
+     * in the background, the first time that a path is resolved after the interval has passed.  Until it completes,
+     * the previous paths remain in use.  Default is <code>0</code>, meaning that the paths are never re-read.</p>
+     *
+     * @param mountRefreshIntervalMilliseconds How long discovered mount points are used before being re-read
+     * @return This object, with mountRefreshIntervalMilliseconds populated, ready for additional builder-pattern method calls or else finalization with the build() method
+     */
+    public VaultConfig mountRefreshIntervalMilliseconds(final long mountRefreshIntervalMilliseconds) {
+        this.mountRefreshIntervalMilliseconds = mountRefreshIntervalMilliseconds;
         return this;
     }
 
@@ -207,6 +256,65 @@ public class VaultConfig implements Serializable {
         return this;
     }
 
+    /**
+     * <p>The transport through which every API call made with this config is sent to Vault.</p>
+     *
+     * <p>If no transport is set, then each API call uses a new <code>HttpURLConnection</code>, as in prior versions of
+     * this library.  A {@link com.bettercloud.vault.rest.RestConnectionPool} can be supplied here to keep
+     * connections open and reuse them across calls, rather than performing a new TCP and TLS handshake each time.</p>
+     *
+     * @param transport A transport implementation, shared by every API call made with this config
+     * @return This object, with transport populated, ready for additional builder-pattern method calls or else finalization with the build() method
+     */
+    public VaultConfig transport(final VaultTransport transport) {
+        this.transport = transport;
+        return this;
+    }
+
+    /**
+     * <p>Controls how the wait between retries grows, and how long a single API call may keep retrying in total.
+     * The number of retries and the base interval are still set through <code>Vault.withRetries()</code>.  See
+     * {@link RetryPolicy} for the defaults.</p>
+     *
+     * @param retryPolicy The backoff and deadline settings for retried API calls
+     * @return This object, with retryPolicy populated, ready for additional builder-pattern method calls or else finalization with the build() method
+     */
+    public VaultConfig retryPolicy(final RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy == null ? new RetryPolicy() : retryPolicy;
+        return this;
+    }
+
+    /**
+     * <p>Enables caching of secrets read through <code>Logical.read()</code>, so that repeated reads of the same path
+     * are served locally until the secret's lease expires (or a configured maximum, whichever is sooner).  Caching is
+     * disabled by default.  See {@link SecretCache} for details.</p>
+     *
+     * @param secretCache The cache, shared by every <code>Logical</code> instance created with this config (or <code>null</code> to disable caching)
+     * @return This object, with secretCache populated, ready for additional builder-pattern method calls or else finalization with the build() method
+     */
+    public VaultConfig secretCache(final SecretCache secretCache) {
+        this.secretCache = secretCache;
+        return this;
+    }
+
+    /**
+     * <p>Coalesces identical concurrent reads made with this config.  While a <code>Logical</code> read (or list) of a
+     * given path is in flight, any other thread reading the same URL, with the same namespace and token, waits for
+     * that request rather than sending its own, and receives the same <code>LogicalResponse</code>.  This keeps a
+     * burst of threads reading a popular secret (e.g. at startup, or just after it expires from a
+     * {@link SecretCache}) down to a single request.  Reads are only shared between callers using this config.
+     * Disabled by default.</p>
+     *
+     * <p>As responses may be shared between threads, callers should treat them as read-only.</p>
+     *
+     * @param coalesceReads Whether to share in-flight reads between threads
+     * @return This object, with coalesceReads populated, ready for additional builder-pattern method calls or else finalization with the build() method
+     */
+    public VaultConfig coalesceReads(final boolean coalesceReads) {
+        this.coalesceReads = coalesceReads;
+        return this;
+    }
+
     /**
      * <p>Sets the maximum number of times that an API operation will retry upon failure.</p>
      *
@@ -322,6 +430,10 @@ public class VaultConfig implements Serializable {
         return retryIntervalMilliseconds;
     }
 
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
     public Integer getGlobalEngineVersion() {
         return globalEngineVersion;
     }
@@ -330,5 +442,63 @@ public class VaultConfig implements Serializable {
         return nameSpace;
     }
 
-}
+    public VaultTransport getTransport() {
+        return transport;
+    }
+
+    public SecretCache getSecretCache() {
+        return secretCache;
+    }
+
+    public boolean isCoalesceReads() {
+        return coalesceReads;
+    }
 
+    public long getMountRefreshIntervalMilliseconds() {
+        return mountRefreshIntervalMilliseconds;
+    }
+
+    /**
+     * <p>The reads currently in flight with this config, which identical reads may join if
+     * <code>coalesceReads</code> is set.  Reads are never shared between configs, as each may have its own transport,
+     * SSL settings and retry policy.</p>
+     *
+     * @return The in-flight reads of this config
+     */
+    public SingleFlight getSingleFlight() {
+        SingleFlight flights = singleFlight;
+        if (flights == null) {
+            synchronized (this) {
+                flights = singleFlight;
+                if (flights == null) {
+                    flights = new SingleFlight();
+                    singleFlight = flights;
+                }
+            }
+        }
+        return flights;
+    }
+
+    /**
+     * <p>The compiled form of the secrets Engine paths, used to resolve each secret path to its KV engine version.
+     * If the paths were discovered from Vault, and <code>mountRefreshIntervalMilliseconds</code> has passed, then this
+     * also starts a background refresh of them.</p>
+     *
+     * @return The mount index for this config's secrets Engine paths
+     */
+    public MountIndex getMountIndex() {
+        MountIndex index = mountIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = mountIndex;
+                if (index == null) {
+                    index = MountIndex.compile(secretsEnginePathMap);
+                    mountIndex = index;
+                }
+            }
+        }
+        index.refreshIfDue(this);
+        return index;
+    }
+
+}
@@ -12,6 +12,14 @@ public class VaultException extends Exception {
         super(t);
     }
 
+    /**
+     * @param message A string expressing the exception cause
+     * @param t Another exception that this <code>VaultException</code> will wrap
+     */
+    public VaultException(final String message, final Throwable t) {
+        super(message, t);
+    }
+
     /**
      * Use this constructor to generate a <code>VaultException</code> instance that is based on receiving a
      * particular HTTP status code from a Vault server (e.g. 500).
@@ -0,0 +1,310 @@
+package com.bettercloud.vault.api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.bettercloud.vault.VaultConfig;
+import com.bettercloud.vault.VaultException;
+import com.bettercloud.vault.json.JsonObject;
+import com.bettercloud.vault.response.LogicalResponse;
+import com.bettercloud.vault.rest.RestResponse;
+
+import static com.bettercloud.vault.api.LogicalUtilities.adjustPathForList;
+
+
+/**
+ * <p>A non-blocking variant of {@link Logical}, for applications that need to fan out many reads and writes without
+ * dedicating a thread to each one.  Every operation returns immediately with a <code>CompletableFuture</code>.</p>
+ *
+ * <p>This class is not intended to be constructed directly.  Rather, it is obtained from an existing
+ * <code>Logical</code> instance, whose namespace (if any) it shares.  E.g.:</p>
+ *
+ * <blockquote>
+ * <pre>{@code
+ * final AsyncLogical logical = vault.logical().async(executor);
+ *
+ * final CompletableFuture<LogicalResponse> first = logical.readAsync("secret/first");
+ * final CompletableFuture<LogicalResponse> second = logical.readAsync("secret/second");
+ * CompletableFuture.allOf(first, second).join();
+ * }</pre>
+ * </blockquote>
+ *
+ * <p>Requests are handed to {@link com.bettercloud.vault.rest.VaultTransport#sendAsync}, along with the executor
+ * supplied here.  With a transport that is natively non-blocking (e.g.
+ * {@link com.bettercloud.vault.rest.HttpClientTransport} on Java 11+), no thread is occupied while waiting on Vault.
+ * Otherwise, each round trip runs on the executor.</p>
+ *
+ * <p>Retries follow the same rules as the blocking methods (see {@link Retrier}).  However, rather than sleeping,
+ * the next attempt is scheduled on a <code>ScheduledExecutorService</code>.  Failures complete the returned future
+ * exceptionally with a <code>VaultException</code> (wrapped in a <code>CompletionException</code> when observed
+ * through <code>join()</code>).</p>
+ *
+ * <p>If the config has a {@link SecretCache}, then reads are served from it in the same way as
+ * {@link Logical#read(String)}, and writes and deletes invalidate it once they complete, whether or not they succeed.
+ * Likewise, reads are coalesced with identical in-flight reads (blocking or not) if the config enables
+ * <code>coalesceReads</code>.</p>
+ */
+public class AsyncLogical {
+
+    private final Logical logical;
+    private final VaultConfig config;
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+
+    AsyncLogical(final Logical logical, final VaultConfig config, final Executor executor,
+                 final ScheduledExecutorService scheduler) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor cannot be null");
+        }
+        if (scheduler == null) {
+            throw new IllegalArgumentException("scheduler cannot be null");
+        }
+        this.logical = logical;
+        this.config = config;
+        this.executor = executor;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * <p>The non-blocking equivalent of {@link Logical#read(String)}.</p>
+     *
+     * @param path The Vault key value from which to read (e.g. <code>secret/hello</code>)
+     * @return A future completed with the response information returned from Vault
+     */
+    public CompletableFuture<LogicalResponse> readAsync(final String path) {
+        final Logical.logicalOperations operation = logical.getEngineVersionForSecretPath(path).equals(2)
+                ? Logical.logicalOperations.readV2 : Logical.logicalOperations.readV1;
+        return logical.readThroughCacheAsync(path, () -> readAsync(path, operation));
+    }
+
+    /**
+     * <p>The non-blocking equivalent of {@link Logical#readAll(Collection, int, Executor)}.  Reads every given path,
+     * keeping at most <code>parallelism</code> reads in flight at a time, and completes once all of them have
+     * succeeded or failed.  The returned future never completes exceptionally:  failed reads are reported through
+     * {@link BulkReadResult#getFailures()}.</p>
+     *
+     * @param paths       The Vault key values from which to read (duplicates are read once)
+     * @param parallelism The maximum number of reads in flight at any time
+     * @return A future completed with the outcome of every read
+     */
+    public CompletableFuture<BulkReadResult> readAllAsync(final Collection<String> paths, final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        final BulkRead batch = new BulkRead(new ArrayList<>(new LinkedHashSet<>(paths)));
+        if (batch.paths.isEmpty()) {
+            batch.result.complete(batch.toResult());
+        }
+        for (int i = 0; i < Math.min(parallelism, batch.paths.size()); i++) {
+            batch.readNext();
+        }
+        return batch.result;
+    }
+
+    /**
+     * <p>The non-blocking equivalent of {@link Logical#write(String, Map)}.</p>
+     *
+     * @param path           The Vault key value to which to write (e.g. <code>secret/hello</code>)
+     * @param nameValuePairs Secret name and value pairs to store under this Vault key (can be <code>null</code>)
+     * @return A future completed with the response information received from Vault
+     */
+    public CompletableFuture<LogicalResponse> writeAsync(final String path, final Map<String, Object> nameValuePairs) {
+        return writeAsync(path, Logical.toJson(nameValuePairs));
+    }
+
+    /**
+     * <p>Writes a secret whose data is already a JSON object, as {@link Logical#write(String, Object)} does.</p>
+     */
+    CompletableFuture<LogicalResponse> writeAsync(final String path, final JsonObject data) {
+        final Logical.logicalOperations operation = logical.getEngineVersionForSecretPath(path).equals(2)
+                ? Logical.logicalOperations.writeV2 : Logical.logicalOperations.writeV1;
+        return invalidatingCache(path, withRetries(retryCount -> validate(
+                logical.writeRequest(path, data, operation).postAsync(executor),
+                restResponse -> Logical.writeResponse(restResponse, retryCount, operation))));
+    }
+
+    /**
+     * <p>The non-blocking equivalent of {@link Logical#list(String)}.  Like that method, this completes with the
+     * listed keys rather than the raw response, and with an empty list if there are none.</p>
+     *
+     * @param path The Vault key value at which to look for secrets (e.g. <code>secret</code>)
+     * @return A future completed with the keys found at the given Vault path
+     */
+    public CompletableFuture<List<String>> listAsync(final String path) {
+        final Logical.logicalOperations operation = logical.getEngineVersionForSecretPath(path).equals(2)
+                ? Logical.logicalOperations.listV2 : Logical.logicalOperations.listV1;
+        final CompletableFuture<List<String>> result = new CompletableFuture<>();
+        readAsync(adjustPathForList(path, operation), operation).whenComplete((response, error) -> {
+            final Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            if (cause == null) {
+                result.complete(Logical.listKeys(response));
+            } else if (cause instanceof VaultException && ((VaultException) cause).getHttpStatusCode() == 404) {
+                result.complete(Logical.listKeys(null));
+            } else {
+                result.completeExceptionally(cause);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * <p>The non-blocking equivalent of {@link Logical#delete(String)}.</p>
+     *
+     * @param path The Vault key value to delete (e.g. <code>secret/hello</code>)
+     * @return A future completed with the response information received from Vault
+     */
+    public CompletableFuture<LogicalResponse> deleteAsync(final String path) {
+        final Logical.logicalOperations operation = logical.getEngineVersionForSecretPath(path).equals(2)
+                ? Logical.logicalOperations.deleteV2 : Logical.logicalOperations.deleteV1;
+        return invalidatingCache(path, withRetries(retryCount -> validate(
+                logical.deleteRequest(path, operation).deleteAsync(executor),
+                restResponse -> Logical.deleteResponse(restResponse, retryCount, operation))));
+    }
+
+    /**
+     * <p>Destroys either every version or the current version of a KV version 2 secret, as listed in its metadata, as
+     * {@link Logical#destroyTree(String, boolean)} does for each secret it finds.</p>
+     */
+    CompletableFuture<LogicalResponse> destroyAsync(final String path, final boolean allVersions) {
+        final CompletableFuture<LogicalResponse> metadata = withRetries(retryCount -> validate(
+                logical.metadataRequest(path).getAsync(executor),
+                restResponse -> Logical.readResponse(restResponse, retryCount, Logical.logicalOperations.readV1)));
+        return metadata.thenCompose(response -> {
+            final int[] versions;
+            try {
+                versions = Logical.versionsToDestroy(response.getDataObject(), allVersions);
+            } catch (VaultException e) {
+                throw new CompletionException(e);
+            }
+            return invalidatingCache(path, withRetries(retryCount -> validate(
+                    logical.destroyRequest(path, versions).postAsync(executor),
+                    restResponse -> Logical.deleteResponse(restResponse, retryCount,
+                            Logical.logicalOperations.destroy))));
+        });
+    }
+
+    private CompletableFuture<LogicalResponse> readAsync(final String path, final Logical.logicalOperations operation) {
+        return logical.coalesceAsync(logical.readUrl(path, operation), () -> withRetries(retryCount -> validate(
+                logical.readRequest(path, operation).getAsync(executor),
+                restResponse -> Logical.readResponse(restResponse, retryCount, operation))));
+    }
+
+    /**
+     * <p>The state of a {@link #readAllAsync(Collection, int)} call.  Each of its lanes reads one path after another,
+     * starting the next read as soon as the previous one completes.  Reads that complete immediately (e.g. from a
+     * {@link SecretCache}) are handled in a loop rather than by recursion.</p>
+     */
+    private final class BulkRead {
+
+        private final List<String> paths;
+        private final Map<String, LogicalResponse> responses = new ConcurrentHashMap<>();
+        private final Map<String, VaultException> failures = new ConcurrentHashMap<>();
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger remaining;
+        private final CompletableFuture<BulkReadResult> result = new CompletableFuture<>();
+
+        private BulkRead(final List<String> paths) {
+            this.paths = paths;
+            this.remaining = new AtomicInteger(paths.size());
+        }
+
+        private void readNext() {
+            int index;
+            while ((index = next.getAndIncrement()) < paths.size()) {
+                final String path = paths.get(index);
+                CompletableFuture<LogicalResponse> read;
+                try {
+                    read = readAsync(path);
+                } catch (RuntimeException e) {
+                    read = new CompletableFuture<>();
+                    read.completeExceptionally(e);
+                }
+                if (!read.isDone()) {
+                    read.whenComplete((response, error) -> {
+                        complete(path, response, error);
+                        readNext();
+                    });
+                    return;
+                }
+                read.whenComplete((response, error) -> complete(path, response, error));
+            }
+        }
+
+        private void complete(final String path, final LogicalResponse response, final Throwable error) {
+            if (error == null) {
+                responses.put(path, response);
+            } else {
+                final Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                failures.put(path,
+                        cause instanceof VaultException ? (VaultException) cause : new VaultException(cause));
+            }
+            if (remaining.decrementAndGet() == 0) {
+                result.complete(toResult());
+            }
+        }
+
+        private BulkReadResult toResult() {
+            return new BulkReadResult(paths, responses, failures);
+        }
+    }
+
+    /**
+     * <p>Applies one of the <code>Logical</code> response validators to a pending HTTP response.</p>
+     */
+    private static <T> CompletableFuture<T> validate(final CompletableFuture<RestResponse> restResponse,
+                                                     final ResponseValidator<T> validator) {
+        return restResponse.thenApply(response -> {
+            try {
+                return validator.validate(response);
+            } catch (VaultException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    /**
+     * <p>Invalidates the cache once an operation that may have changed a path completes, whether or not it succeeded
+     * (e.g. Vault may have applied a write whose response was lost), as the blocking methods do.  The returned future
+     * completes just as the operation's does, and cancelling it cancels the operation.</p>
+     */
+    private <T> CompletableFuture<T> invalidatingCache(final String path, final CompletableFuture<T> operation) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        operation.whenComplete((value, error) -> {
+            logical.invalidateCache(path);
+            if (error == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(error);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                operation.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    private <T> CompletableFuture<T> withRetries(final Retrier.AsyncCall<T> call) {
+        return Retrier.executeAsync(config, scheduler, call);
+    }
+
+    /**
+     * <p>Converts a raw HTTP response into the operation's result, or rejects it.</p>
+     */
+    private interface ResponseValidator<T> {
+        T validate(RestResponse restResponse) throws VaultException;
+    }
+
+}
@@ -225,78 +225,59 @@ public class Auth {
      * @throws VaultException If any error occurs, or unexpected response received from Vault
      */
     public AuthResponse createToken(final TokenRequest tokenRequest, final String tokenAuthMount) throws VaultException {
-        int retryCount = 0;
-
         final String mount = tokenAuthMount != null ? tokenAuthMount : "token";
-        while (true) {
-            try {
-                // Parse parameters to JSON
-                final JsonObject jsonObject = Json.object();
-
-                if (tokenRequest.id != null) jsonObject.add("id", tokenRequest.id.toString());
-                if (tokenRequest.polices != null && !tokenRequest.polices.isEmpty()) {
-                    jsonObject.add("policies", Json.array(tokenRequest.polices.toArray(new String[tokenRequest.polices.size()])));//NOPMD
-                }
-                if (tokenRequest.meta != null && !tokenRequest.meta.isEmpty()) {
-                    final JsonObject metaMap = Json.object();
-                    for (final Map.Entry<String, String> entry : tokenRequest.meta.entrySet()) {
-                        metaMap.add(entry.getKey(), entry.getValue());
-                    }
-                    jsonObject.add("meta", metaMap);
-                }
-                if (tokenRequest.noParent != null) jsonObject.add("no_parent", tokenRequest.noParent);
-                if (tokenRequest.noDefaultPolicy != null)
-                    jsonObject.add("no_default_policy", tokenRequest.noDefaultPolicy);
-                if (tokenRequest.ttl != null) jsonObject.add("ttl", tokenRequest.ttl);
-                if (tokenRequest.displayName != null) jsonObject.add("display_name", tokenRequest.displayName);
-                if (tokenRequest.numUses != null) jsonObject.add("num_uses", tokenRequest.numUses);
-                final String requestJson = jsonObject.toString();
-
-                final StringBuilder urlBuilder = new StringBuilder(config.getAddress()).append("/v1/auth/" + mount + "/create");//NOPMD
-                if (tokenRequest.role != null) {
-                    urlBuilder.append("/").append(tokenRequest.role);
-                }
-                final String url = urlBuilder.toString();
-
-                // HTTP request to Vault
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(url)
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .body(requestJson.getBytes(StandardCharsets.UTF_8))
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 200) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
-                if (!mimeType.equals("application/json")) {
-                    throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
-                }
-                return new AuthResponse(restResponse, retryCount);
-            } catch (final Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
+        return Retrier.execute(config, retryCount -> {
+            // Parse parameters to JSON
+            final JsonObject jsonObject = Json.object();
+
+            if (tokenRequest.id != null) jsonObject.add("id", tokenRequest.id.toString());
+            if (tokenRequest.polices != null && !tokenRequest.polices.isEmpty()) {
+                jsonObject.add("policies", Json.array(tokenRequest.polices.toArray(new String[tokenRequest.polices.size()])));//NOPMD
+            }
+            if (tokenRequest.meta != null && !tokenRequest.meta.isEmpty()) {
+                final JsonObject metaMap = Json.object();
+                for (final Map.Entry<String, String> entry : tokenRequest.meta.entrySet()) {
+                    metaMap.add(entry.getKey(), entry.getValue());
                 }
+                jsonObject.add("meta", metaMap);
             }
-        }
+            if (tokenRequest.noParent != null) jsonObject.add("no_parent", tokenRequest.noParent);
+            if (tokenRequest.noDefaultPolicy != null)
+                jsonObject.add("no_default_policy", tokenRequest.noDefaultPolicy);
+            if (tokenRequest.ttl != null) jsonObject.add("ttl", tokenRequest.ttl);
+            if (tokenRequest.displayName != null) jsonObject.add("display_name", tokenRequest.displayName);
+            if (tokenRequest.numUses != null) jsonObject.add("num_uses", tokenRequest.numUses);
+            final String requestJson = jsonObject.toString();
+
+            final StringBuilder urlBuilder = new StringBuilder(config.getAddress()).append("/v1/auth/" + mount + "/create");//NOPMD
+            if (tokenRequest.role != null) {
+                urlBuilder.append("/").append(tokenRequest.role);
+            }
+            final String url = urlBuilder.toString();
+
+            // HTTP request to Vault
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(url)
+                    .header("X-Vault-Token", config.getToken())
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .body(requestJson.getBytes(StandardCharsets.UTF_8))
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 200) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
+            }
+            final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
+            if (!mimeType.equals("application/json")) {
+                throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
+            }
+            return new AuthResponse(restResponse, retryCount);
+        });
     }
 
     /**
@@ -321,48 +302,30 @@ public class Auth {
      */
     @Deprecated
     public AuthResponse loginByAppID(final String path, final String appId, final String userId) throws VaultException {
-        int retryCount = 0;
-        while (true) {
-            try {
-                // HTTP request to Vault
-                final String requestJson = Json.object().add("app_id", appId).add("user_id", userId).toString();
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/auth/" + path)
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .body(requestJson.getBytes(StandardCharsets.UTF_8))
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 200) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
-                if (!mimeType.equals("application/json")) {
-                    throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
-                }
-                return new AuthResponse(restResponse, retryCount);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+        return Retrier.execute(config, retryCount -> {
+            // HTTP request to Vault
+            final String requestJson = Json.object().add("app_id", appId).add("user_id", userId).toString();
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/auth/" + path)
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .body(requestJson.getBytes(StandardCharsets.UTF_8))
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 200) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
             }
-        }
+            final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
+            if (!mimeType.equals("application/json")) {
+                throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
+            }
+            return new AuthResponse(restResponse, retryCount);
+        });
     }
 
     /**
@@ -415,47 +378,30 @@ public class Auth {
      * @throws VaultException If any error occurs, or unexpected response received from Vault
      */
     public AuthResponse loginByAppRole(final String path, final String roleId, final String secretId) throws VaultException {
-        int retryCount = 0;
-        while (true) {
-            try {
-                // HTTP request to Vault
-                final String requestJson = Json.object().add("role_id", roleId).add("secret_id", secretId).toString();
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/auth/" + path + "/login")
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .body(requestJson.getBytes(StandardCharsets.UTF_8))
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 200) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
-                if (!mimeType.equals("application/json")) {
-                    throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
-                }
-                return new AuthResponse(restResponse, retryCount);
-            } catch (Exception e) {
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+        return Retrier.execute(config, retryCount -> {
+            // HTTP request to Vault
+            final String requestJson = Json.object().add("role_id", roleId).add("secret_id", secretId).toString();
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/auth/" + path + "/login")
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .body(requestJson.getBytes(StandardCharsets.UTF_8))
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 200) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
             }
-        }
+            final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
+            if (!mimeType.equals("application/json")) {
+                throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
+            }
+            return new AuthResponse(restResponse, retryCount);
+        });
     }
 
     /**
@@ -496,49 +442,31 @@ public class Auth {
      * @throws VaultException If any error occurs, or unexpected response received from Vault
      */
     public AuthResponse loginByUserPass(final String username, final String password, final String userpassAuthMount) throws VaultException {
-        int retryCount = 0;
-
         final String mount = userpassAuthMount != null ? userpassAuthMount : "userpass";
-        while (true) {
-            try {
-                // HTTP request to Vault
-                final String requestJson = Json.object().add("password", password).toString();
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/auth/" + mount + "/login/" + username)
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .body(requestJson.getBytes(StandardCharsets.UTF_8))
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 200) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
-                if (!mimeType.equals("application/json")) {
-                    throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
-                }
-                return new AuthResponse(restResponse, retryCount);
-            } catch (Exception e) {
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+        return Retrier.execute(config, retryCount -> {
+            // HTTP request to Vault
+            final String requestJson = Json.object().add("password", password).toString();
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/auth/" + mount + "/login/" + username)
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .body(requestJson.getBytes(StandardCharsets.UTF_8))
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 200) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
             }
-        }
+            final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
+            if (!mimeType.equals("application/json")) {
+                throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
+            }
+            return new AuthResponse(restResponse, retryCount);
+        });
     }
 
     /**
@@ -609,59 +537,40 @@ public class Auth {
      */
     // TODO: Needs integration test coverage if possible
     public AuthResponse loginByAwsEc2(final String role, final String identity, final String signature, final String nonce, final String awsAuthMount) throws VaultException {
-        int retryCount = 0;
-
         final String mount = awsAuthMount != null ? awsAuthMount : "aws";
-        while (true) {
-            try {
-                // HTTP request to Vault
-                final JsonObject request = Json.object().add("identity", identity)
-                        .add("signature", signature);
-                if (role != null) {
-                    request.add("role", role);
-                }
-                if (nonce != null) {
-                    request.add("nonce", nonce);
-                }
-                final String requestJson = request.toString();
-
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/auth/" + mount + "/login")
-                        .body(requestJson.getBytes(StandardCharsets.UTF_8))
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 200) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
-                if (!mimeType.equals("application/json")) {
-                    throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
-                }
-                return new AuthResponse(restResponse, retryCount);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+        return Retrier.execute(config, retryCount -> {
+            // HTTP request to Vault
+            final JsonObject request = Json.object().add("identity", identity)
+                    .add("signature", signature);
+            if (role != null) {
+                request.add("role", role);
             }
-        }
+            if (nonce != null) {
+                request.add("nonce", nonce);
+            }
+            final String requestJson = request.toString();
+
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/auth/" + mount + "/login")
+                    .body(requestJson.getBytes(StandardCharsets.UTF_8))
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 200) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
+            }
+            final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
+            if (!mimeType.equals("application/json")) {
+                throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
+            }
+            return new AuthResponse(restResponse, retryCount);
+        });
     }
 
     /**
@@ -687,57 +596,38 @@ public class Auth {
      */
     // TODO: Needs integration test coverage if possible
     public AuthResponse loginByAwsEc2(final String role, final String pkcs7, final String nonce, final String awsAuthMount) throws VaultException {
-        int retryCount = 0;
-
         final String mount = awsAuthMount != null ? awsAuthMount : "aws";
-        while (true) {
-            try {
-                // HTTP request to Vault
-                final JsonObject request = Json.object().add("pkcs7", pkcs7);
-                if (role != null) {
-                    request.add("role", role);
-                }
-                if (nonce != null) {
-                    request.add("nonce", nonce);
-                }
-                final String requestJson = request.toString();
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/auth/" + mount + "/login")
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .body(requestJson.getBytes(StandardCharsets.UTF_8))
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 200) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
-                if (!mimeType.equals("application/json")) {
-                    throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
-                }
-                return new AuthResponse(restResponse, retryCount);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+        return Retrier.execute(config, retryCount -> {
+            // HTTP request to Vault
+            final JsonObject request = Json.object().add("pkcs7", pkcs7);
+            if (role != null) {
+                request.add("role", role);
             }
-        }
+            if (nonce != null) {
+                request.add("nonce", nonce);
+            }
+            final String requestJson = request.toString();
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/auth/" + mount + "/login")
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .body(requestJson.getBytes(StandardCharsets.UTF_8))
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 200) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
+            }
+            final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
+            if (!mimeType.equals("application/json")) {
+                throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
+            }
+            return new AuthResponse(restResponse, retryCount);
+        });
     }
 
     /**
@@ -766,57 +656,38 @@ public class Auth {
      * @throws VaultException If any error occurs, or unexpected response received from Vault
      */
     public AuthResponse loginByAwsIam(final String role, final String iamRequestUrl, final String iamRequestBody, final String iamRequestHeaders, final String awsAuthMount) throws VaultException {
-        int retryCount = 0;
-
         final String mount = awsAuthMount != null ? awsAuthMount : "aws";
-        while (true) {
-            try {
-                // HTTP request to Vault
-                final JsonObject request = Json.object().add("iam_request_url", iamRequestUrl)
-                        .add("iam_request_body", iamRequestBody)
-                        .add("iam_request_headers", iamRequestHeaders)
-                        .add("iam_http_request_method", "POST");
-                if (role != null) {
-                    request.add("role", role);
-                }
-                final String requestJson = request.toString();
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/auth/" + mount + "/login")
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .body(requestJson.getBytes(StandardCharsets.UTF_8))
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 200) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
-                if (!mimeType.equals("application/json")) {
-                    throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
-                }
-                return new AuthResponse(restResponse, retryCount);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+        return Retrier.execute(config, retryCount -> {
+            // HTTP request to Vault
+            final JsonObject request = Json.object().add("iam_request_url", iamRequestUrl)
+                    .add("iam_request_body", iamRequestBody)
+                    .add("iam_request_headers", iamRequestHeaders)
+                    .add("iam_http_request_method", "POST");
+            if (role != null) {
+                request.add("role", role);
             }
-        }
+            final String requestJson = request.toString();
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/auth/" + mount + "/login")
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .body(requestJson.getBytes(StandardCharsets.UTF_8))
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 200) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
+            }
+            final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
+            if (!mimeType.equals("application/json")) {
+                throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
+            }
+            return new AuthResponse(restResponse, retryCount);
+        });
     }
 
     /**
@@ -858,50 +729,31 @@ public class Auth {
 
         // TODO:  Add (optional?) integration test coverage
 
-        int retryCount = 0;
-
         final String mount = githubAuthMount != null ? githubAuthMount : "github";
-        while (true) {
-            try {
-                // HTTP request to Vault
-                final String requestJson = Json.object().add("token", githubToken).toString();
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/auth/" + mount + "/login")
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .body(requestJson.getBytes(StandardCharsets.UTF_8))
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 200) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
-                if (!mimeType.equals("application/json")) {
-                    throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
-                }
-                return new AuthResponse(restResponse, retryCount);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+        return Retrier.execute(config, retryCount -> {
+            // HTTP request to Vault
+            final String requestJson = Json.object().add("token", githubToken).toString();
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/auth/" + mount + "/login")
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .body(requestJson.getBytes(StandardCharsets.UTF_8))
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 200) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
             }
-        }
+            final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
+            if (!mimeType.equals("application/json")) {
+                throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
+            }
+            return new AuthResponse(restResponse, retryCount);
+        });
     }
 
     /**
@@ -923,49 +775,30 @@ public class Auth {
      */
     // TODO: Needs integration test coverage if possible
     public AuthResponse loginByJwt(final String provider, final String role, final String jwt) throws VaultException {
-        int retryCount = 0;
-
-        while (true) {
-            try {
-                // HTTP request to Vault
-                final String requestJson = Json.object().add("role", role).add("jwt", jwt).toString();
-                final RestResponse restResponse = new Rest()
-                        .url(config.getAddress() + "/v1/auth/" + provider + "/login")
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .body(requestJson.getBytes(StandardCharsets.UTF_8))
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 200) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
-                if (!mimeType.equals("application/json")) {
-                    throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
-                }
-                return new AuthResponse(restResponse, retryCount);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+        return Retrier.execute(config, retryCount -> {
+            // HTTP request to Vault
+            final String requestJson = Json.object().add("role", role).add("jwt", jwt).toString();
+            final RestResponse restResponse = new Rest()
+                    .url(config.getAddress() + "/v1/auth/" + provider + "/login")
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .body(requestJson.getBytes(StandardCharsets.UTF_8))
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 200) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
             }
-        }
+            final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
+            if (!mimeType.equals("application/json")) {
+                throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
+            }
+            return new AuthResponse(restResponse, retryCount);
+        });
     }
 
 
@@ -1064,48 +897,29 @@ public class Auth {
      * @throws VaultException If any error occurs, or unexpected response received from Vault
      */
     public AuthResponse loginByCert(final String certAuthMount) throws VaultException {
-        int retryCount = 0;
-
         final String mount = certAuthMount != null ? certAuthMount : "cert";
-        while (true) {
-            try {
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/auth/" + mount + "/login")
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 200) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(),
-                            restResponse.getStatus());
-                }
-                final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
-                if (!mimeType.equals("application/json")) {
-                    throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
-                }
-                return new AuthResponse(restResponse, retryCount);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+        return Retrier.execute(config, retryCount -> {
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/auth/" + mount + "/login")
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 200) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(),
+                        restResponse.getStatus());
             }
-        }
+            final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
+            if (!mimeType.equals("application/json")) {
+                throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
+            }
+            return new AuthResponse(restResponse, retryCount);
+        });
     }
 
     /**
@@ -1143,51 +957,32 @@ public class Auth {
      * @throws VaultException If any error occurs, or unexpected response received from Vault
      */
     public AuthResponse renewSelf(final long increment, final String tokenAuthMount) throws VaultException {
-        int retryCount = 0;
-
         final String mount = tokenAuthMount != null ? tokenAuthMount : "token";
-        while (true) {
-            try {
-                // HTTP request to Vault
-                final String requestJson = Json.object().add("increment", increment).toString();
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/auth/" + mount + "/renew-self")
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .body(increment < 0 ? null : requestJson.getBytes(StandardCharsets.UTF_8))
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 200) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
-                if (!mimeType.equals("application/json")) {
-                    throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
-                }
-                return new AuthResponse(restResponse, retryCount);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+        return Retrier.execute(config, retryCount -> {
+            // HTTP request to Vault
+            final String requestJson = Json.object().add("increment", increment).toString();
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/auth/" + mount + "/renew-self")
+                    .header("X-Vault-Token", config.getToken())
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .body(increment < 0 ? null : requestJson.getBytes(StandardCharsets.UTF_8))
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 200) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
             }
-        }
+            final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
+            if (!mimeType.equals("application/json")) {
+                throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
+            }
+            return new AuthResponse(restResponse, retryCount);
+        });
     }
 
     /**
@@ -1208,48 +1003,30 @@ public class Auth {
      * @throws VaultException If any error occurs, or unexpected response received from Vault
      */
     public LookupResponse lookupSelf(final String tokenAuthMount) throws VaultException {
-        int retryCount = 0;
         final String mount = tokenAuthMount != null ? tokenAuthMount : "token";
-        while (true) {
-            try {
-                // HTTP request to Vault
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/auth/" + mount + "/lookup-self")
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .get();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 200) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                final String mimeType = restResponse.getMimeType();
-                if (mimeType == null || !"application/json".equals(mimeType)) {
-                    throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
-                }
-                return new LookupResponse(restResponse, retryCount);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+        return Retrier.execute(config, retryCount -> {
+            // HTTP request to Vault
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/auth/" + mount + "/lookup-self")
+                    .header("X-Vault-Token", config.getToken())
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .get();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 200) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
             }
-        }
+            final String mimeType = restResponse.getMimeType();
+            if (mimeType == null || !"application/json".equals(mimeType)) {
+                throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
+            }
+            return new LookupResponse(restResponse, retryCount);
+        });
     }
 
     /**
@@ -1271,49 +1048,30 @@ public class Auth {
      * @throws VaultException If any error occurs, or unexpected response received from Vault
      */
     public LogicalResponse lookupWrap() throws VaultException {
-        int retryCount = 0;
-        while (true) {
-            try {
-                // HTTP request to Vault
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/sys/wrapping/lookup")
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .get();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 200) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(),
-                            restResponse.getStatus());
-                }
-                final String mimeType = restResponse.getMimeType();
-                if (mimeType == null || !"application/json".equals(mimeType)) {
-                    throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
-                }
-                return new LogicalResponse(restResponse, retryCount, Logical.logicalOperations.authentication);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop
-                // again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+        return Retrier.execute(config, retryCount -> {
+            // HTTP request to Vault
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/sys/wrapping/lookup")
+                    .header("X-Vault-Token", config.getToken())
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .get();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 200) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(),
+                        restResponse.getStatus());
             }
-        }
+            final String mimeType = restResponse.getMimeType();
+            if (mimeType == null || !"application/json".equals(mimeType)) {
+                throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
+            }
+            return new LogicalResponse(restResponse, retryCount, Logical.logicalOperations.authentication);
+        });
     }
 
     /**
@@ -1332,44 +1090,26 @@ public class Auth {
      * @throws VaultException If any error occurs, or unexpected response received from Vault
      */
     public void revokeSelf(final String tokenAuthMount) throws VaultException {
-        int retryCount = 0;
         final String mount = tokenAuthMount != null ? tokenAuthMount : "token";
-        while (true) {
-            try {
-                // HTTP request to Vault
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/auth/" + mount + "/revoke-self")
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 204) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                return;
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+        Retrier.execute(config, retryCount -> {
+            // HTTP request to Vault
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/auth/" + mount + "/revoke-self")
+                    .header("X-Vault-Token", config.getToken())
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 204) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
             }
-        }
+            return null;
+        });
     }
 
     /**
@@ -1425,59 +1165,40 @@ public class Auth {
      * @see #unwrap()
      */
     public AuthResponse unwrap(final String wrappedToken) throws VaultException {
-        int retryCount = 0;
-        while (true) {
-            try {
-                // Parse parameters to JSON
-                final JsonObject jsonObject = Json.object();
-                if (wrappedToken != null) {
-                    jsonObject.add("token", wrappedToken);
-                }
+        return Retrier.execute(config, retryCount -> {
+            // Parse parameters to JSON
+            final JsonObject jsonObject = Json.object();
+            if (wrappedToken != null) {
+                jsonObject.add("token", wrappedToken);
+            }
 
-                final String requestJson = jsonObject.toString();
-                final String url = config.getAddress() + "/v1/sys/wrapping/unwrap";
-
-                // HTTP request to Vault
-                final RestResponse restResponse = new Rest()
-                        .url(url)
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .body(requestJson.getBytes(StandardCharsets.UTF_8))
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 200) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(),
-                            restResponse.getStatus());
-                }
-                final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
-                if (!mimeType.equals("application/json")) {
-                    throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
-                }
-                return new AuthResponse(restResponse, retryCount);
-            } catch (final Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the
-                // loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+            final String requestJson = jsonObject.toString();
+            final String url = config.getAddress() + "/v1/sys/wrapping/unwrap";
+
+            // HTTP request to Vault
+            final RestResponse restResponse = new Rest()
+                    .url(url)
+                    .header("X-Vault-Token", config.getToken())
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .body(requestJson.getBytes(StandardCharsets.UTF_8))
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 200) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(),
+                        restResponse.getStatus());
             }
-        }
+            final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
+            if (!mimeType.equals("application/json")) {
+                throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
+            }
+            return new AuthResponse(restResponse, retryCount);
+        });
     }
 
 }
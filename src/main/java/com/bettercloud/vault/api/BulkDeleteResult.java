@@ -0,0 +1,62 @@
+package com.bettercloud.vault.api;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.bettercloud.vault.VaultException;
+
+/**
+ * <p>The outcome of {@link Logical#deleteTree(String)} or {@link Logical#destroyTree(String, boolean)}:  how many
+ * secrets were removed, and the error for each secret that could not be.  Only the failures are kept per path, so
+ * the result stays small however large the tree.</p>
+ */
+public final class BulkDeleteResult {
+
+    private final long deleted;
+    private final long rateLimited;
+    private final Map<String, VaultException> failures;
+
+    BulkDeleteResult(final long deleted, final long rateLimited, final Map<String, VaultException> failures) {
+        this.deleted = deleted;
+        this.rateLimited = rateLimited;
+        this.failures = Collections.unmodifiableMap(new TreeMap<>(failures));
+    }
+
+    /**
+     * @return The number of secrets deleted (or destroyed)
+     */
+    public long getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * @return The number of times that Vault responded with HTTP 429 (rate limited), so that the operation backed off
+     * and tried the secret again
+     */
+    public long getRateLimited() {
+        return rateLimited;
+    }
+
+    /**
+     * @return The error for each secret that could not be deleted (e.g. a <code>VaultException</code> with HTTP status
+     * code 403 for a path that the token may not delete), keyed by path in alphabetical order
+     */
+    public Map<String, VaultException> getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return Whether every secret found was deleted
+     */
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "BulkDeleteResult{deleted=" + deleted + ", rateLimited=" + rateLimited + ", failures="
+                + failures.keySet() + "}";
+    }
+
+}
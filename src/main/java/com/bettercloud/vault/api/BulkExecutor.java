@@ -0,0 +1,42 @@
+package com.bettercloud.vault.api;
+
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+/**
+ * <p>The default executor of the driver's bulk operations, e.g. {@link Logical#readAll(Collection)},
+ * {@link Logical#walk(String)}, {@link NdjsonTransfer} and the batches of <code>Transit</code>.  Its daemon threads are
+ * created as needed and reused, so that every bulk operation in the JVM shares one pool rather than each kind of
+ * operation having its own.</p>
+ *
+ * <p>This class is not intended to be used directly by application code.  It is <code>public</code> only so that
+ * API classes in sub-packages (e.g. <code>Transit</code>) can share it.</p>
+ */
+public final class BulkExecutor {
+
+    private BulkExecutor() {
+    }
+
+    /**
+     * @return The shared executor, which is created when first requested
+     */
+    public static Executor defaultExecutor() {
+        return DefaultExecutor.INSTANCE;
+    }
+
+    /**
+     * <p>Holder for the lazily-created default executor.</p>
+     */
+    private static final class DefaultExecutor {
+
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "vault-bulk");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+}
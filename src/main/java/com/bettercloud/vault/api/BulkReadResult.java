@@ -0,0 +1,58 @@
+package com.bettercloud.vault.api;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.bettercloud.vault.VaultException;
+import com.bettercloud.vault.response.LogicalResponse;
+
+/**
+ * <p>The outcome of {@link Logical#readAll(java.util.Collection)}:  the response for each path that was read, and
+ * the error for each path that could not be.  Every requested path appears in exactly one of the two maps, which
+ * are ordered as the paths were given.</p>
+ */
+public final class BulkReadResult {
+
+    private final Map<String, LogicalResponse> responses;
+    private final Map<String, VaultException> failures;
+
+    BulkReadResult(final List<String> paths, final Map<String, LogicalResponse> responses,
+                   final Map<String, VaultException> failures) {
+        final Map<String, LogicalResponse> orderedResponses = new LinkedHashMap<>();
+        final Map<String, VaultException> orderedFailures = new LinkedHashMap<>();
+        for (final String path : paths) {
+            if (responses.containsKey(path)) {
+                orderedResponses.put(path, responses.get(path));
+            } else {
+                orderedFailures.put(path, failures.get(path));
+            }
+        }
+        this.responses = Collections.unmodifiableMap(orderedResponses);
+        this.failures = Collections.unmodifiableMap(orderedFailures);
+    }
+
+    /**
+     * @return The response for each path that was read successfully, keyed by path
+     */
+    public Map<String, LogicalResponse> getResponses() {
+        return responses;
+    }
+
+    /**
+     * @return The error for each path that could not be read (e.g. a <code>VaultException</code> with HTTP status code
+     * 404 for a path holding no secret), keyed by path
+     */
+    public Map<String, VaultException> getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return Whether every path was read successfully
+     */
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+
+}
@@ -0,0 +1,285 @@
+package com.bettercloud.vault.api;
+
+import com.bettercloud.vault.json.Json;
+import com.bettercloud.vault.json.JsonObject;
+import com.bettercloud.vault.json.JsonValue;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Binds the <code>data</code> object of a secret to and from instances of a plain Java class, for
+ * {@link Logical#read(String, Class)} and {@link Logical#write(String, Object)}.</p>
+ *
+ * <p>Each class is inspected once, the first time it is bound, and its binder is cached for the life of the class.
+ * The binder holds <code>MethodHandle</code>s for the class's no-argument constructor and for each of its bound
+ * fields, so binding an instance involves no reflection.  The bound fields are the instance fields of the class and
+ * its superclasses that are neither <code>static</code>, <code>transient</code> nor <code>final</code>, each under its
+ * own name.  Supported field types are <code>String</code>, <code>int</code>, <code>long</code>,
+ * <code>boolean</code>, <code>double</code> and <code>float</code> (primitive or boxed), and <code>JsonValue</code>
+ * and its subclasses, for values of any other shape.</p>
+ *
+ * <p>When reading, numbers and booleans may also be stored as strings (as {@link Logical#write(String, java.util.Map)}
+ * stores any value that is not a primitive wrapper), and any value can be read into a <code>String</code> field as
+ * its JSON representation.  Members of the <code>data</code> object with no matching field are ignored, and fields
+ * with no matching member keep the value given them by the constructor.  A JSON <code>null</code> leaves a primitive
+ * field unchanged, and sets any other field to <code>null</code>.</p>
+ *
+ * @param <T> The bound class
+ */
+final class DataBinder<T> {
+
+    private static final ClassValue<DataBinder<?>> BINDERS = new ClassValue<DataBinder<?>>() {
+        @Override
+        protected DataBinder<?> computeValue(final Class<?> type) {
+            return new DataBinder<>(type);
+        }
+    };
+
+    private static final MethodType CONSTRUCTOR = MethodType.methodType(Object.class);
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final Property[] properties;
+
+    /**
+     * <p>Returns the binder for the given class, building it on first use.</p>
+     *
+     * @throws IllegalArgumentException If the class has no no-argument constructor, or a field of an unsupported type
+     */
+    @SuppressWarnings("unchecked")
+    static <T> DataBinder<T> of(final Class<T> type) {
+        return (DataBinder<T>) BINDERS.get(type);
+    }
+
+    private DataBinder(final Class<T> type) {
+        if (type.isInterface() || type.isArray() || type.isPrimitive() || Modifier.isAbstract(type.getModifiers())) {
+            throw new IllegalArgumentException("Cannot bind secret data to " + type.getName());
+        }
+        this.type = type;
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            final Constructor<T> noArgs = type.getDeclaredConstructor();
+            noArgs.setAccessible(true);
+            this.constructor = lookup.unreflectConstructor(noArgs).asType(CONSTRUCTOR);
+
+            final List<Property> bound = new ArrayList<>();
+            for (Class<?> declaring = type; declaring != Object.class; declaring = declaring.getSuperclass()) {
+                for (final Field field : declaring.getDeclaredFields()) {
+                    final int modifiers = field.getModifiers();
+                    if (field.isSynthetic()
+                            || (modifiers & (Modifier.STATIC | Modifier.TRANSIENT | Modifier.FINAL)) != 0) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    bound.add(new Property(field, lookup.unreflectGetter(field).asType(GETTER),
+                            lookup.unreflectSetter(field).asType(SETTER)));
+                }
+            }
+            this.properties = bound.toArray(new Property[0]);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Cannot bind secret data to " + type.getName()
+                    + ", which has no no-argument constructor", e);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("Cannot bind secret data to " + type.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * <p>Creates an instance of the bound class, populated from the given JSON object.</p>
+     *
+     * @throws IllegalArgumentException If a member of the object cannot be converted to the type of its field
+     */
+    T read(final JsonObject data) {
+        final Object instance;
+        try {
+            instance = constructor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot create " + type.getName(), e);
+        }
+        for (final Property property : properties) {
+            final JsonValue value = data.get(property.name);
+            if (value == null || value.isNull() && property.type.isPrimitive()) {
+                continue;
+            }
+            final Object converted;
+            try {
+                converted = value.isNull() ? null : property.kind.read(value);
+                if (property.kind == Kind.JSON && converted != null && !property.type.isInstance(converted)) {
+                    throw new IllegalArgumentException("Not a " + property.type.getSimpleName());
+                }
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cannot bind " + value + " to " + type.getName() + "."
+                        + property.name, e);
+            }
+            try {
+                property.setter.invokeExact(instance, converted);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return type.cast(instance);
+    }
+
+    /**
+     * <p>Returns a JSON object holding each bound field of the given instance.  Fields that are <code>null</code>
+     * are written as JSON <code>null</code>.</p>
+     */
+    JsonObject write(final T instance) {
+        final JsonObject data = new JsonObject();
+        for (final Property property : properties) {
+            final Object value;
+            try {
+                value = property.getter.invokeExact((Object) instance);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+            data.add(property.name, value == null ? Json.NULL : property.kind.write(value));
+        }
+        return data;
+    }
+
+    private static final class Property {
+
+        private final String name;
+        private final Class<?> type;
+        private final Kind kind;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private Property(final Field field, final MethodHandle getter, final MethodHandle setter) {
+            this.name = field.getName();
+            this.type = field.getType();
+            this.kind = Kind.of(field);
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+
+    /**
+     * <p>The conversions between a JSON value and a field of each supported type.</p>
+     */
+    private enum Kind {
+        STRING {
+            @Override
+            Object read(final JsonValue value) {
+                return value.isString() ? value.asString() : value.toString();
+            }
+
+            @Override
+            JsonValue write(final Object value) {
+                return Json.value((String) value);
+            }
+        },
+        INT {
+            @Override
+            Object read(final JsonValue value) {
+                return value.isString() ? Integer.parseInt(value.asString()) : value.asInt();
+            }
+
+            @Override
+            JsonValue write(final Object value) {
+                return Json.value((Integer) value);
+            }
+        },
+        LONG {
+            @Override
+            Object read(final JsonValue value) {
+                return value.isString() ? Long.parseLong(value.asString()) : value.asLong();
+            }
+
+            @Override
+            JsonValue write(final Object value) {
+                return Json.value((Long) value);
+            }
+        },
+        BOOLEAN {
+            @Override
+            Object read(final JsonValue value) {
+                if (value.isString()) {
+                    if ("true".equals(value.asString()) || "false".equals(value.asString())) {
+                        return Boolean.valueOf(value.asString());
+                    }
+                    throw new IllegalArgumentException("Not a boolean: " + value);
+                }
+                return value.asBoolean();
+            }
+
+            @Override
+            JsonValue write(final Object value) {
+                return Json.value((Boolean) value);
+            }
+        },
+        DOUBLE {
+            @Override
+            Object read(final JsonValue value) {
+                return value.isString() ? Double.parseDouble(value.asString()) : value.asDouble();
+            }
+
+            @Override
+            JsonValue write(final Object value) {
+                return Json.value((Double) value);
+            }
+        },
+        FLOAT {
+            @Override
+            Object read(final JsonValue value) {
+                return value.isString() ? Float.parseFloat(value.asString()) : value.asFloat();
+            }
+
+            @Override
+            JsonValue write(final Object value) {
+                return Json.value((Float) value);
+            }
+        },
+        JSON {
+            @Override
+            Object read(final JsonValue value) {
+                return value;
+            }
+
+            @Override
+            JsonValue write(final Object value) {
+                return (JsonValue) value;
+            }
+        };
+
+        abstract Object read(JsonValue value);
+
+        abstract JsonValue write(Object value);
+
+        private static Kind of(final Field field) {
+            final Class<?> type = field.getType();
+            if (type == String.class) {
+                return STRING;
+            } else if (type == int.class || type == Integer.class) {
+                return INT;
+            } else if (type == long.class || type == Long.class) {
+                return LONG;
+            } else if (type == boolean.class || type == Boolean.class) {
+                return BOOLEAN;
+            } else if (type == double.class || type == Double.class) {
+                return DOUBLE;
+            } else if (type == float.class || type == Float.class) {
+                return FLOAT;
+            } else if (JsonValue.class.isAssignableFrom(type)) {
+                return JSON;
+            }
+            throw new IllegalArgumentException("field " + field.getName() + " has unsupported type " + type.getName());
+        }
+    }
+}
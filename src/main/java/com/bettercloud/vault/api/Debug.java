@@ -4,7 +4,6 @@ import com.bettercloud.vault.VaultConfig;
 import com.bettercloud.vault.VaultException;
 import com.bettercloud.vault.response.HealthResponse;
 import com.bettercloud.vault.rest.Rest;
-import com.bettercloud.vault.rest.RestException;
 import com.bettercloud.vault.rest.RestResponse;
 
 import java.util.HashSet;
@@ -85,59 +84,41 @@ public class Debug {
             final Integer sealedCode
     ) throws VaultException {
         final String path = "sys/health";
-        int retryCount = 0;
-        while (true) {
-            try {
-                // Build an HTTP request for Vault
-                final Rest rest = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/" + path)
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext());
-                // Add token if present
-                if (config.getToken() != null) {
-                    rest.header("X-Vault-Token", config.getToken());
-                }
-                rest.optionalHeader("X-Vault-Namespace", this.nameSpace);
-                // Add params if present
-                if (standbyOk != null) rest.parameter("standbyok", standbyOk.toString());
-                if (activeCode != null) rest.parameter("activecode", activeCode.toString());
-                if (standbyCode != null) rest.parameter("standbycode", standbyCode.toString());
-                if (sealedCode != null) rest.parameter("sealedcode", sealedCode.toString());
-                // Execute request
-                final RestResponse restResponse = rest.get();
+        return Retrier.execute(config, retryCount -> {
+            // Build an HTTP request for Vault
+            final Rest rest = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/" + path)
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport());
+            // Add token if present
+            if (config.getToken() != null) {
+                rest.header("X-Vault-Token", config.getToken());
+            }
+            rest.optionalHeader("X-Vault-Namespace", this.nameSpace);
+            // Add params if present
+            if (standbyOk != null) rest.parameter("standbyok", standbyOk.toString());
+            if (activeCode != null) rest.parameter("activecode", activeCode.toString());
+            if (standbyCode != null) rest.parameter("standbycode", standbyCode.toString());
+            if (sealedCode != null) rest.parameter("sealedcode", sealedCode.toString());
+            // Execute request
+            final RestResponse restResponse = rest.get();
 
-                // Validate response
-                final Set<Integer> validCodes = new HashSet<>();//NOPMD
-                validCodes.add(200);
-                validCodes.add(429);
-                validCodes.add(500);
-                if (activeCode != null) validCodes.add(activeCode);
-                if (standbyCode != null) validCodes.add(standbyCode);
-                if (sealedCode != null) validCodes.add(sealedCode);
-                if (!validCodes.contains(restResponse.getStatus())) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                return new HealthResponse(restResponse, retryCount);
-            } catch (RuntimeException | VaultException | RestException e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+            // Validate response
+            final Set<Integer> validCodes = new HashSet<>();//NOPMD
+            validCodes.add(200);
+            validCodes.add(429);
+            validCodes.add(500);
+            if (activeCode != null) validCodes.add(activeCode);
+            if (standbyCode != null) validCodes.add(standbyCode);
+            if (sealedCode != null) validCodes.add(sealedCode);
+            if (!validCodes.contains(restResponse.getStatus())) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
             }
-        }
+            return new HealthResponse(restResponse, retryCount);
+        });
     }
 
 }
@@ -51,48 +51,30 @@ public class Leases {
      * @throws VaultException If an error occurs, or unexpected reponse received from Vault
      */
     public VaultResponse revoke(final String leaseId) throws VaultException {
-        int retryCount = 0;
-        while (true) {
-            try {
-                /**
-                * 2019-03-21
-                * Changed the Lease revoke url due to invalid path.  Vault deprecated the original
-                * path (/v1/sys/revoke) in favor of a new leases mount point (/v1/sys/leases/revoke)
-                * https://github.com/hashicorp/vault/blob/master/CHANGELOG.md#080-august-9th-2017
-                */
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/sys/leases/revoke/" + leaseId)
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .put();
-
-                // Validate response
-                if (restResponse.getStatus() != 204) {
-                    throw new VaultException("Expecting HTTP status 204, but instead receiving " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                return new VaultResponse(restResponse, retryCount);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+        return Retrier.execute(config, retryCount -> {
+            /**
+            * 2019-03-21
+            * Changed the Lease revoke url due to invalid path.  Vault deprecated the original
+            * path (/v1/sys/revoke) in favor of a new leases mount point (/v1/sys/leases/revoke)
+            * https://github.com/hashicorp/vault/blob/master/CHANGELOG.md#080-august-9th-2017
+            */
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/sys/leases/revoke/" + leaseId)
+                    .header("X-Vault-Token", config.getToken())
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .put();
+
+            // Validate response
+            if (restResponse.getStatus() != 204) {
+                throw new VaultException("Expecting HTTP status 204, but instead receiving " + restResponse.getStatus(), restResponse.getStatus());
             }
-        }
+            return new VaultResponse(restResponse, retryCount);
+        });
     }
 
     /**
@@ -112,42 +94,24 @@ public class Leases {
      * @throws VaultException If an error occurs, or unexpected reponse received from Vault
      */
     public VaultResponse revokePrefix(final String prefix) throws VaultException {
-        int retryCount = 0;
-        while (true) {
-            try {
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/sys/revoke-prefix/" + prefix)
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .put();
-
-                // Validate response
-                if (restResponse.getStatus() != 204) {
-                    throw new VaultException("Expecting HTTP status 204, but instead receiving " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                return new VaultResponse(restResponse, retryCount);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+        return Retrier.execute(config, retryCount -> {
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/sys/revoke-prefix/" + prefix)
+                    .header("X-Vault-Token", config.getToken())
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .put();
+
+            // Validate response
+            if (restResponse.getStatus() != 204) {
+                throw new VaultException("Expecting HTTP status 204, but instead receiving " + restResponse.getStatus(), restResponse.getStatus());
             }
-        }
+            return new VaultResponse(restResponse, retryCount);
+        });
     }
 
     /**
@@ -170,42 +134,24 @@ public class Leases {
      * @throws VaultException If an error occurs, or unexpected reponse received from Vault
      */
     public VaultResponse revokeForce(final String prefix) throws VaultException {
-        int retryCount = 0;
-        while (true) {
-            try {
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/sys/revoke-force/" + prefix)
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .put();
-
-                // Validate response
-                if (restResponse.getStatus() != 204) {
-                    throw new VaultException("Expecting HTTP status 204, but instead receiving " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                return new VaultResponse(restResponse, retryCount);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+        return Retrier.execute(config, retryCount -> {
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/sys/revoke-force/" + prefix)
+                    .header("X-Vault-Token", config.getToken())
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .put();
+
+            // Validate response
+            if (restResponse.getStatus() != 204) {
+                throw new VaultException("Expecting HTTP status 204, but instead receiving " + restResponse.getStatus(), restResponse.getStatus());
             }
-        }
+            return new VaultResponse(restResponse, retryCount);
+        });
     }
 
     /**
@@ -232,42 +178,25 @@ public class Leases {
         //        secrets.  Now that the integration tests use a "real" Vault instance hosted in a Docker
         //        container, we can revisit this.
 
-        int retryCount = 0;
-        while (true) {
-            try {
-                final String requestJson = Json.object().add("increment", increment).toString();
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/sys/renew/" + leaseId)
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .body(increment < 0 ? null : requestJson.getBytes(StandardCharsets.UTF_8))
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
-
-                // Validate response
-                if (restResponse.getStatus() != 200) {
-                    throw new VaultException("Expecting HTTP status 200, but instead receiving " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                return new VaultResponse(restResponse, retryCount);
-            } catch (Exception e) {
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+        return Retrier.execute(config, retryCount -> {
+            final String requestJson = Json.object().add("increment", increment).toString();
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/sys/renew/" + leaseId)
+                    .header("X-Vault-Token", config.getToken())
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .body(increment < 0 ? null : requestJson.getBytes(StandardCharsets.UTF_8))
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
+
+            // Validate response
+            if (restResponse.getStatus() != 200) {
+                throw new VaultException("Expecting HTTP status 200, but instead receiving " + restResponse.getStatus(), restResponse.getStatus());
             }
-        }
+            return new VaultResponse(restResponse, retryCount);
+        });
     }
 }
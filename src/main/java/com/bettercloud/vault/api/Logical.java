@@ -1,19 +1,32 @@
 package com.bettercloud.vault.api;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.bettercloud.vault.VaultConfig;
 import com.bettercloud.vault.VaultException;
 import com.bettercloud.vault.json.Json;
-import com.bettercloud.vault.json.JsonArray;
 import com.bettercloud.vault.json.JsonObject;
+import com.bettercloud.vault.json.JsonReader;
+import com.bettercloud.vault.json.JsonValue;
+import com.bettercloud.vault.json.ParseException;
 import com.bettercloud.vault.response.LogicalResponse;
 import com.bettercloud.vault.rest.Rest;
-import com.bettercloud.vault.rest.RestException;
 import com.bettercloud.vault.rest.RestResponse;
 
 import static com.bettercloud.vault.api.LogicalUtilities.*;
@@ -27,6 +40,22 @@ import static com.bettercloud.vault.api.LogicalUtilities.*;
  */
 public class Logical {
 
+    /**
+     * <p>The number of reads that {@link #readAll(Collection)} keeps in flight at a time.</p>
+     */
+    public static final int DEFAULT_READ_ALL_PARALLELISM = 8;
+
+    /**
+     * <p>The number of listings that {@link #walk(String)} keeps in flight at a time.</p>
+     */
+    public static final int DEFAULT_WALK_PARALLELISM = 8;
+
+    /**
+     * <p>The number of deletes that {@link #deleteTree(String)} and {@link #destroyTree(String, boolean)} keep in flight
+     * at a time.</p>
+     */
+    public static final int DEFAULT_DELETE_TREE_PARALLELISM = 8;
+
     private final VaultConfig config;
 
     private String nameSpace;
@@ -51,6 +80,47 @@ public class Logical {
         return this;
     }
 
+    /**
+     * <p>Returns a non-blocking view of these logical operations, whose methods return a
+     * <code>CompletableFuture</code> rather than waiting on Vault.  Any blocking work is run on the common
+     * <code>ForkJoinPool</code>.  See {@link AsyncLogical} for details.</p>
+     *
+     * @return A non-blocking variant of this Logical instance, sharing its namespace
+     */
+    public AsyncLogical async() {
+        return async(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * <p>Returns a non-blocking view of these logical operations, running any blocking work on the supplied executor.
+     * E.g.:</p>
+     *
+     * <blockquote>
+     * <pre>{@code
+     * final ExecutorService executor = Executors.newFixedThreadPool(8);
+     * final CompletableFuture<LogicalResponse> future = vault.logical().async(executor).readAsync("secret/hello");
+     * }</pre>
+     * </blockquote>
+     *
+     * @param executor The executor on which blocking work (e.g. waiting on an HTTP/1.1 response) is run
+     * @return A non-blocking variant of this Logical instance, sharing its namespace
+     */
+    public AsyncLogical async(final Executor executor) {
+        return async(executor, Retrier.defaultScheduler());
+    }
+
+    /**
+     * <p>Returns a non-blocking view of these logical operations, running any blocking work on the supplied executor,
+     * and timing retries with the supplied scheduler.</p>
+     *
+     * @param executor  The executor on which blocking work (e.g. waiting on an HTTP/1.1 response) is run
+     * @param scheduler The scheduler used to delay retries by the configured retry interval
+     * @return A non-blocking variant of this Logical instance, sharing its namespace
+     */
+    public AsyncLogical async(final Executor executor, final ScheduledExecutorService scheduler) {
+        return new AsyncLogical(this, config, executor, scheduler);
+    }
+
     /**
      * <p>Basic read operation to retrieve a secret.  A single secret key can map to multiple name-value pairs,
      * which can be retrieved from the response object.  E.g.:</p>
@@ -70,55 +140,64 @@ public class Logical {
      *                        etc), and the maximum number of retries is exceeded.
      */
     public LogicalResponse read(final String path) throws VaultException {
-        if (this.engineVersionForSecretPath(path).equals(2)) {
-            return read(path, true, logicalOperations.readV2);
-        } else return read(path, true, logicalOperations.readV1);
+        return readThroughCache(path, null, () -> {
+            if (this.engineVersionForSecretPath(path).equals(2)) {
+                return read(path, true, logicalOperations.readV2);
+            } else return read(path, true, logicalOperations.readV1);
+        });
+    }
+
+    /**
+     * <p>Reads a secret, and binds its data to a new instance of the given class.  E.g.:</p>
+     *
+     * <blockquote>
+     * <pre>{@code
+     * public class DatabaseConfig {
+     *     private String url;
+     *     private int port;
+     *     ...
+     * }
+     *
+     * final DatabaseConfig db = vault.logical().read("secret/db", DatabaseConfig.class);
+     * }</pre>
+     * </blockquote>
+     *
+     * <p>The class must have a no-argument constructor.  Each of its non-<code>static</code>, non-<code>transient</code>,
+     * non-<code>final</code> fields is set from the data member of the same name, if there is one.  Fields may be of
+     * type <code>String</code>, <code>int</code>, <code>long</code>, <code>boolean</code>, <code>double</code> or
+     * <code>float</code> (primitive or boxed), or a <code>JsonValue</code> subclass.  Numbers and booleans may also be
+     * stored as strings, as {@link #write(String, Map)} stores them unless they are boxed primitives.  The class is
+     * inspected only the first time it is bound, so later reads involve no reflection.  On the module path, its package
+     * must be open to this library.</p>
+     *
+     * @param path The Vault key value from which to read (e.g. <code>secret/hello</code>)
+     * @param type The class to which the secret's data is bound
+     * @param <T>  The type of the returned object
+     * @return A new instance of the given class, or <code>null</code> if the secret has no data
+     * @throws VaultException If any errors occurs with the REST request, or the data cannot be converted to the types of
+     *                        the class's fields
+     * @throws IllegalArgumentException If the class has no no-argument constructor, or a field of an unsupported type
+     */
+    public <T> T read(final String path, final Class<T> type) throws VaultException {
+        final DataBinder<T> binder = DataBinder.of(type);
+        final JsonObject data = read(path).getDataObject();
+        if (data == null) {
+            return null;
+        }
+        try {
+            return binder.read(data);
+        } catch (IllegalArgumentException e) {
+            throw new VaultException(e);
+        }
     }
 
     private LogicalResponse read(final String path, Boolean shouldRetry, final logicalOperations operation)
             throws VaultException {
-        int retryCount = 0;
-        while (true) {
-            try {
-                // Make an HTTP request to Vault
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/" + adjustPathForReadOrWrite(path, operation))
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .get();
-
-                // Validate response
-                if (restResponse.getStatus() != 200) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus()
-                            + "\nResponse body: " + new String(restResponse.getBody(), StandardCharsets.UTF_8),
-                            restResponse.getStatus());
-                }
-
-                return new LogicalResponse(restResponse, retryCount, operation);
-            } catch (RuntimeException | VaultException | RestException e) {
-                if (!shouldRetry)
-                    throw new VaultException(e);
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
-            }
-        }
+        return coalesce(readUrl(path, operation), () -> Retrier.execute(config, shouldRetry, retryCount -> {
+            // Make an HTTP request to Vault
+            final RestResponse restResponse = readRequest(path, operation).get();
+            return readResponse(restResponse, retryCount, operation);
+        }));
     }
 
     /**
@@ -145,48 +224,96 @@ public class Logical {
         if (this.engineVersionForSecretPath(path) != 2) {
             throw new VaultException("Version reads are only supported in KV Engine version 2.");
         }
-        int retryCount = 0;
-        while (true) {
-            try {
-                // Make an HTTP request to Vault
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/" + adjustPathForReadOrWrite(path, logicalOperations.readV2))
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .parameter("version", version.toString())
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .get();
+        final String url = readUrl(path, logicalOperations.readV2);
+        final SecretCache.Loader read = () -> Retrier.execute(config, shouldRetry, retryCount -> {
+            // Make an HTTP request to Vault
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(url)
+                    .header("X-Vault-Token", config.getToken())
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .parameter("version", version.toString())
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .get();
 
-                // Validate response
-                if (restResponse.getStatus() != 200) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus()
-                            + "\nResponse body: " + new String(restResponse.getBody(), StandardCharsets.UTF_8),
-                            restResponse.getStatus());
-                }
-
-                return new LogicalResponse(restResponse, retryCount, logicalOperations.readV2);
-            } catch (RuntimeException | VaultException | RestException e) {
-                if (!shouldRetry)
-                    throw new VaultException(e);
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+            // Validate response
+            if (restResponse.getStatus() != 200) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus()
+                        + "\nResponse body: " + new String(restResponse.getBody(), StandardCharsets.UTF_8),
+                        restResponse.getStatus());
             }
+
+            return new LogicalResponse(restResponse, retryCount, logicalOperations.readV2);
+        });
+        return readThroughCache(path, version, () -> coalesce(url + "?version=" + version, read));
+    }
+
+    /**
+     * <p>Returns an exporter and importer of secrets as NDJSON, for backing up and migrating trees of secrets.  See
+     * {@link NdjsonTransfer}.</p>
+     *
+     * @return A transfer sharing this instance's config and namespace
+     */
+    public NdjsonTransfer ndjson() {
+        return new NdjsonTransfer(this);
+    }
+
+    /**
+     * <p>Reads many secrets at once, keeping up to {@link #DEFAULT_READ_ALL_PARALLELISM} reads in flight at a time.
+     * E.g.:</p>
+     *
+     * <blockquote>
+     * <pre>{@code
+     * final BulkReadResult result = vault.logical().readAll(Arrays.asList("secret/db", "secret/api", "secret/queue"));
+     *
+     * final String password = result.getResponses().get("secret/db").getData().get("password");
+     * if (!result.isComplete()) {
+     *     result.getFailures().forEach((path, e) -> log.warn("Could not read " + path, e));
+     * }
+     * }</pre>
+     * </blockquote>
+     *
+     * <p>The reads are run on a shared pool of daemon threads.  See {@link #readAll(Collection, int, Executor)}.</p>
+     *
+     * @param paths The Vault key values from which to read (e.g. <code>secret/hello</code>)
+     * @return The response for each path that was read, and the error for each path that was not
+     * @throws VaultException If the calling thread is interrupted while waiting for the reads
+     */
+    public BulkReadResult readAll(final Collection<String> paths) throws VaultException {
+        return readAll(paths, DEFAULT_READ_ALL_PARALLELISM, BulkExecutor.defaultExecutor());
+    }
+
+    /**
+     * <p>Reads many secrets at once, keeping at most <code>parallelism</code> reads in flight at a time, and waits
+     * until every read has succeeded or failed.</p>
+     *
+     * <p>Each path is read as by {@link #read(String)}:  it is rewritten for the KV engine version of its mount, retried
+     * according to the config, and served from the {@link SecretCache} if there is one.  All of the reads share this
+     * instance's config, and so its token and transport (e.g. a single
+     * {@link com.bettercloud.vault.rest.RestConnectionPool}).  A failed read does not stop the others; its error is
+     * reported in {@link BulkReadResult#getFailures()}.  Duplicate paths are read once.</p>
+     *
+     * <p>Requests are sent as by {@link AsyncLogical}, so with a natively non-blocking transport no thread of the
+     * executor waits on Vault.  Otherwise, each in-flight read occupies one of its threads.</p>
+     *
+     * @param paths       The Vault key values from which to read (e.g. <code>secret/hello</code>)
+     * @param parallelism The maximum number of reads in flight at any time
+     * @param executor    The executor on which blocking work (e.g. waiting on an HTTP/1.1 response) is run
+     * @return The response for each path that was read, and the error for each path that was not
+     * @throws VaultException If the calling thread is interrupted while waiting for the reads
+     */
+    public BulkReadResult readAll(final Collection<String> paths, final int parallelism, final Executor executor)
+            throws VaultException {
+        try {
+            return async(executor).readAllAsync(paths, parallelism).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new VaultException(e);
+        } catch (ExecutionException e) {
+            throw new VaultException(e.getCause());
         }
     }
 
@@ -221,69 +348,57 @@ public class Logical {
         } else return write(path, nameValuePairs, logicalOperations.writeV1);
     }
 
+    /**
+     * <p>Stores the fields of an object as a secret, as bound by {@link #read(String, Class)}.  Fields that are
+     * <code>null</code> are written as JSON <code>null</code>.  E.g.:</p>
+     *
+     * <blockquote>
+     * <pre>{@code
+     * final LogicalResponse response = vault.logical().write("secret/db", databaseConfig);
+     * }</pre>
+     * </blockquote>
+     *
+     * <p>A <code>Map</code> (or <code>null</code>) is written as name-value pairs, as by {@link #write(String, Map)},
+     * and a <code>JsonObject</code> is written as it is.</p>
+     *
+     * @param path   The Vault key value to which to write (e.g. <code>secret/hello</code>)
+     * @param secret The object whose fields to store under this Vault key
+     * @param <T>    The type of the object
+     * @return The response information received from Vault
+     * @throws VaultException If any errors occurs with the REST request, and the maximum number of retries is exceeded.
+     * @throws IllegalArgumentException If the object's class has no no-argument constructor, or a field of an
+     *                                  unsupported type
+     */
+    @SuppressWarnings("unchecked")
+    public <T> LogicalResponse write(final String path, final T secret) throws VaultException {
+        final JsonObject requestJson;
+        if (secret instanceof JsonObject) {
+            requestJson = (JsonObject) secret;
+        } else if (secret == null || secret instanceof Map) {
+            requestJson = toJson((Map<String, Object>) secret);
+        } else {
+            requestJson = DataBinder.of((Class<T>) secret.getClass()).write(secret);
+        }
+        if (engineVersionForSecretPath(path).equals(2)) {
+            return write(path, requestJson, logicalOperations.writeV2);
+        } else return write(path, requestJson, logicalOperations.writeV1);
+    }
+
     private LogicalResponse write(final String path, final Map<String, Object> nameValuePairs,
                                   final logicalOperations operation) throws VaultException {
-        int retryCount = 0;
-        while (true) {
-            try {
-                JsonObject requestJson = Json.object();
-                if (nameValuePairs != null) {
-                    for (final Map.Entry<String, Object> pair : nameValuePairs.entrySet()) {
-                        final Object value = pair.getValue();
-                        if (value == null) {
-                            requestJson = requestJson.add(pair.getKey(), (String) null);
-                        } else if (value instanceof Boolean) {
-                            requestJson = requestJson.add(pair.getKey(), (Boolean) pair.getValue());
-                        } else if (value instanceof Integer) {
-                            requestJson = requestJson.add(pair.getKey(), (Integer) pair.getValue());
-                        } else if (value instanceof Long) {
-                            requestJson = requestJson.add(pair.getKey(), (Long) pair.getValue());
-                        } else if (value instanceof Float) {
-                            requestJson = requestJson.add(pair.getKey(), (Float) pair.getValue());
-                        } else if (value instanceof Double) {
-                            requestJson = requestJson.add(pair.getKey(), (Double) pair.getValue());
-                        } else {
-                            requestJson = requestJson.add(pair.getKey(), pair.getValue().toString());
-                        }
-                    }
-                }
-                // Make an HTTP request to Vault
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/" + adjustPathForReadOrWrite(path, operation))
-                        .body(jsonObjectToWriteFromEngineVersion(operation, requestJson).toString().getBytes(StandardCharsets.UTF_8))
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
+        return write(path, toJson(nameValuePairs), operation);
+    }
 
-                // HTTP Status should be either 200 (with content - e.g. PKI write) or 204 (no content)
-                final int restStatus = restResponse.getStatus();
-                if (restStatus == 200 || restStatus == 204) {
-                    return new LogicalResponse(restResponse, retryCount, operation);
-                } else {
-                    throw new VaultException("Expecting HTTP status 204 or 200, but instead receiving " + restStatus
-                            + "\nResponse body: " + new String(restResponse.getBody(), StandardCharsets.UTF_8), restStatus);
-                }
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
-            }
+    private LogicalResponse write(final String path, final JsonObject requestJson,
+                                  final logicalOperations operation) throws VaultException {
+        try {
+            return Retrier.execute(config, retryCount -> {
+                // Make an HTTP request to Vault
+                final RestResponse restResponse = writeRequest(path, requestJson, operation).post();
+                return writeResponse(restResponse, retryCount, operation);
+            });
+        } finally {
+            invalidateCache(path);
         }
     }
 
@@ -316,22 +431,98 @@ public class Logical {
             }
         }
 
+        return listKeys(response);
+    }
+
+    /**
+     * <p>Walks the tree of secrets beneath a path, listing its folders (keys ending in <code>/</code>) in parallel,
+     * with up to {@link #DEFAULT_WALK_PARALLELISM} listings in flight at a time.  E.g.:</p>
+     *
+     * <blockquote>
+     * <pre>{@code
+     * try (Stream<String> paths = vault.logical().walk("secret/apps")) {
+     *     paths.filter(path -> path.endsWith("/db")).forEach(path -> audit(path));
+     * }
+     * }</pre>
+     * </blockquote>
+     *
+     * <p>The listings are run on a shared pool of daemon threads.  See {@link #walk(String, int, Executor)}.</p>
+     *
+     * @param root The Vault path at which to start (e.g. <code>secret/apps</code>)
+     * @return The full path of every secret beneath the root (e.g. <code>secret/apps/team/db</code>), in no
+     * particular order
+     */
+    public Stream<String> walk(final String root) {
+        return walk(root, DEFAULT_WALK_PARALLELISM, BulkExecutor.defaultExecutor());
+    }
+
+    /**
+     * <p>Walks the tree of secrets beneath a path, listing its folders (keys ending in <code>/</code>) in parallel,
+     * with at most <code>parallelism</code> listings in flight at a time.</p>
+     *
+     * <p>The returned stream is lazy:  folders are listed only as the stream is consumed, and listing pauses while
+     * more than a few thousand paths are waiting to be consumed, so memory use stays flat however large the tree.
+     * Each folder is listed as by {@link #list(String)}, so a folder that no longer exists is simply empty.  If a folder
+     * cannot be listed, consuming the stream throws an <code>IllegalStateException</code>, caused by the
+     * <code>VaultException</code>.  Closing the stream stops the walk.</p>
+     *
+     * @param root        The Vault path at which to start (e.g. <code>secret/apps</code>)
+     * @param parallelism The maximum number of listings in flight at any time
+     * @param executor    The executor on which blocking work (e.g. waiting on an HTTP/1.1 response) is run
+     * @return The full path of every secret beneath the root (e.g. <code>secret/apps/team/db</code>), in no
+     * particular order
+     */
+    public Stream<String> walk(final String root, final int parallelism, final Executor executor) {
+        final TreeWalk walk = new TreeWalk(async(executor), root, parallelism);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(walk, Spliterator.NONNULL), false)
+                .onClose(walk::close);
+    }
+
+    /**
+     * <p>Extracts the <code>keys</code> array from the response to a list operation.  The keys are streamed from the
+     * raw response body with a {@link JsonReader}, so no tree is built for the response, and anything after the keys
+     * is never read.</p>
+     *
+     * @param response The response to a list operation, or <code>null</code> if Vault responded with a 404
+     * @return The listed keys, or an empty list if there are none
+     */
+    static List<String> listKeys(final LogicalResponse response) {
         final List<String> returnValues = new ArrayList<>();
-        if (
-                response != null
-                        && response.getRestResponse().getStatus() != 404
-                        && response.getData() != null
-                        && response.getData().get("keys") != null
-        ) {
-
-            final JsonArray keys = Json.parse(response.getData().get("keys")).asArray();
-            for (int index = 0; index < keys.size(); index++) {
-                returnValues.add(keys.get(index).asString());
+        if (response == null || response.getRestResponse().getStatus() == 404) {
+            return returnValues;
+        }
+        try (JsonReader reader = new JsonReader(response.getRestResponse().getBodyStream())) {
+            if (reader.peek() != JsonReader.Token.BEGIN_OBJECT || !findMember(reader, "data")
+                    || reader.peek() != JsonReader.Token.BEGIN_OBJECT || !findMember(reader, "keys")
+                    || reader.peek() != JsonReader.Token.BEGIN_ARRAY) {
+                return returnValues;
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                returnValues.add(reader.nextString());
             }
+        } catch (IOException | ParseException | IllegalStateException e) {
+            returnValues.clear();
         }
         return returnValues;
     }
 
+    /**
+     * <p>Enters the object at the reader's position, and skips to the value of the named member within it.</p>
+     *
+     * @return <code>false</code> if the object has no such member
+     */
+    private static boolean findMember(final JsonReader reader, final String name) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals(name)) {
+                return true;
+            }
+            reader.skipValue();
+        }
+        return false;
+    }
+
     /**
      * <p>Deletes the key/value pair located at the provided path.</p>
      *
@@ -349,44 +540,14 @@ public class Logical {
     }
 
     private LogicalResponse delete(final String path, final Logical.logicalOperations operation) throws VaultException {
-        int retryCount = 0;
-        while (true) {
-            try {
+        try {
+            return Retrier.execute(config, retryCount -> {
                 // Make an HTTP request to Vault
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/" + adjustPathForDelete(path, operation))
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .delete();
-
-                // Validate response
-                if (restResponse.getStatus() != 204) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus()
-                            + "\nResponse body: " + new String(restResponse.getBody(), StandardCharsets.UTF_8),
-                            restResponse.getStatus());
-                }
-                return new LogicalResponse(restResponse, retryCount, operation);
-            } catch (RuntimeException | VaultException | RestException e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
-            }
+                final RestResponse restResponse = deleteRequest(path, operation).delete();
+                return deleteResponse(restResponse, retryCount, operation);
+            });
+        } finally {
+            invalidateCache(path);
         }
     }
 
@@ -408,9 +569,8 @@ public class Logical {
             throw new VaultException("Version deletes are only supported for KV Engine 2.");
         }
         intArrayCheck(versions);
-        int retryCount = 0;
-        while (true) {
-            try {
+        try {
+            return Retrier.execute(config, retryCount -> {
                 // Make an HTTP request to Vault
                 JsonObject versionsToDelete = new JsonObject().add("versions", versions);
                 final RestResponse restResponse = new Rest()//NOPMD
@@ -421,29 +581,284 @@ public class Logical {
                         .readTimeoutSeconds(config.getReadTimeout())
                         .sslVerification(config.getSslConfig().isVerify())
                         .sslContext(config.getSslConfig().getSslContext())
-                        .body(versionsToDelete.toString().getBytes(StandardCharsets.UTF_8))
+                        .transport(config.getTransport())
+                        .body(versionsToDelete)
                         .post();
 
                 // Validate response
                 return getLogicalResponse(retryCount, restResponse);
-            } catch (RuntimeException | VaultException | RestException e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
+            });
+        } finally {
+            invalidateCache(path);
+        }
+    }
+
+    /**
+     * <p>Deletes every secret beneath a path, keeping up to {@link #DEFAULT_DELETE_TREE_PARALLELISM} deletes in flight
+     * at a time.  E.g.:</p>
+     *
+     * <blockquote>
+     * <pre>{@code
+     * final BulkDeleteResult result = vault.logical().deleteTree("secret/tenants/acme");
+     * if (!result.isComplete()) {
+     *     result.getFailures().forEach((path, e) -> log.warn("Could not delete " + path, e));
+     * }
+     * }</pre>
+     * </blockquote>
+     *
+     * <p>The listings and deletes are run on a shared pool of daemon threads.  See
+     * {@link #deleteTree(String, int, Executor)}.</p>
+     *
+     * @param prefix The Vault path beneath which to delete every secret (e.g. <code>secret/tenants/acme</code>)
+     * @return The number of secrets deleted, and the error for each secret that was not
+     * @throws VaultException If a folder cannot be listed, or the calling thread is interrupted
+     */
+    public BulkDeleteResult deleteTree(final String prefix) throws VaultException {
+        return deleteTree(prefix, DEFAULT_DELETE_TREE_PARALLELISM, BulkExecutor.defaultExecutor());
+    }
+
+    /**
+     * <p>Deletes every secret beneath a path, keeping at most <code>parallelism</code> deletes in flight at a time, and
+     * waits until every delete has succeeded or failed.</p>
+     *
+     * <p>The tree is walked as by {@link #walk(String, int, Executor)}, and each secret is deleted as soon as it is
+     * found, as by {@link #delete(String)}.  So with KV version 2, each secret's metadata and every one of its versions
+     * are removed.  A failed delete does not stop the others; its error is reported in
+     * {@link BulkDeleteResult#getFailures()}.  If Vault responds with HTTP 429 (rate limited), the secret is deleted
+     * again after a backoff, and no further deletes are started until the backoff has passed.  The backoff starts at
+     * the retry interval set through <code>Vault.withRetries()</code> (or one second if none is set), and grows as
+     * set by the config's {@link com.bettercloud.vault.RetryPolicy}.</p>
+     *
+     * @param prefix      The Vault path beneath which to delete every secret (e.g. <code>secret/tenants/acme</code>)
+     * @param parallelism The maximum number of deletes in flight at any time
+     * @param executor    The executor on which blocking work (e.g. waiting on an HTTP/1.1 response) is run
+     * @return The number of secrets deleted, and the error for each secret that was not
+     * @throws VaultException If a folder cannot be listed (after waiting for the deletes already in flight), or the
+     *                        calling thread is interrupted
+     */
+    public BulkDeleteResult deleteTree(final String prefix, final int parallelism, final Executor executor)
+            throws VaultException {
+        final AsyncLogical async = async(executor);
+        return new TreeDelete(this, config, async::deleteAsync, parallelism, executor).run(prefix);
+    }
+
+    /**
+     * <p>Serves a read from the config's {@link SecretCache}, if one is set and holds a usable entry.  Otherwise
+     * performs the read, and caches its result.</p>
+     */
+    private LogicalResponse readThroughCache(final String path, final Integer version, final SecretCache.Loader read)
+            throws VaultException {
+        final SecretCache cache = config.getSecretCache();
+        if (cache == null) {
+            return read.load();
+        }
+        return cache.read(this.nameSpace, path, version, config.getToken(), read);
+    }
+
+    /**
+     * <p>The non-blocking equivalent of {@link #readThroughCache(String, Integer, SecretCache.Loader)}, used by
+     * {@link AsyncLogical}.</p>
+     */
+    CompletableFuture<LogicalResponse> readThroughCacheAsync(final String path,
+                                                             final Supplier<CompletableFuture<LogicalResponse>> read) {
+        final SecretCache cache = config.getSecretCache();
+        if (cache == null) {
+            return read.get();
+        }
+        return cache.readAsync(this.nameSpace, path, null, config.getToken(), read);
+    }
+
+    /**
+     * <p>Joins an identical read already in flight, if the config coalesces reads.  Otherwise performs the read.</p>
+     */
+    private LogicalResponse coalesce(final String url, final SecretCache.Loader read) throws VaultException {
+        if (!config.isCoalesceReads()) {
+            return read.load();
+        }
+        return config.getSingleFlight().execute("GET", url, this.nameSpace, config.getToken(), read);
+    }
+
+    /**
+     * <p>The non-blocking equivalent of {@link #coalesce(String, SecretCache.Loader)}, used by {@link AsyncLogical}.</p>
+     */
+    CompletableFuture<LogicalResponse> coalesceAsync(final String url,
+                                                     final Supplier<CompletableFuture<LogicalResponse>> read) {
+        if (!config.isCoalesceReads()) {
+            return read.get();
+        }
+        return config.getSingleFlight().executeAsync("GET", url, this.nameSpace, config.getToken(), read);
+    }
+
+    /**
+     * <p>Discards any cached versions of a path, after an operation that may have changed it.</p>
+     */
+    void invalidateCache(final String path) {
+        final SecretCache cache = config.getSecretCache();
+        if (cache != null) {
+            cache.invalidate(this.nameSpace, path);
+        }
+    }
+
+    /**
+     * <p>Assembles (but does not send) the request for a read operation.</p>
+     *
+     * <p>The request-building and response-validating halves of the basic read, write and delete operations are
+     * split apart, so that they can be shared by the blocking methods in this class and by {@link AsyncLogical}.</p>
+     */
+    Rest readRequest(final String path, final logicalOperations operation) {
+        return new Rest()//NOPMD
+                .url(readUrl(path, operation))
+                .header("X-Vault-Token", config.getToken())
+                .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                .connectTimeoutSeconds(config.getOpenTimeout())
+                .readTimeoutSeconds(config.getReadTimeout())
+                .sslVerification(config.getSslConfig().isVerify())
+                .sslContext(config.getSslConfig().getSslContext())
+                .transport(config.getTransport());
+    }
+
+    String readUrl(final String path, final logicalOperations operation) {
+        return config.getAddress() + "/v1/" + adjustPathForReadOrWrite(path, operation);
+    }
+
+    static LogicalResponse readResponse(final RestResponse restResponse, final int retryCount,
+                                        final logicalOperations operation) throws VaultException {
+        // Validate response
+        if (restResponse.getStatus() != 200) {
+            throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus()
+                    + "\nResponse body: " + new String(restResponse.getBody(), StandardCharsets.UTF_8),
+                    restResponse.getStatus());
+        }
+        return new LogicalResponse(restResponse, retryCount, operation);
+    }
+
+    /**
+     * <p>Assembles (but does not send) the request for a write operation.</p>
+     */
+    Rest writeRequest(final String path, final JsonObject requestJson, final logicalOperations operation) {
+        return new Rest()//NOPMD
+                .url(config.getAddress() + "/v1/" + adjustPathForReadOrWrite(path, operation))
+                .body(jsonObjectToWriteFromEngineVersion(operation, requestJson))
+                .header("X-Vault-Token", config.getToken())
+                .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                .connectTimeoutSeconds(config.getOpenTimeout())
+                .readTimeoutSeconds(config.getReadTimeout())
+                .sslVerification(config.getSslConfig().isVerify())
+                .sslContext(config.getSslConfig().getSslContext())
+                .transport(config.getTransport());
+    }
+
+    /**
+     * <p>Converts the name-value pairs of {@link #write(String, Map)} to the JSON object to be written.</p>
+     */
+    static JsonObject toJson(final Map<String, Object> nameValuePairs) {
+        JsonObject requestJson = Json.object();
+        if (nameValuePairs != null) {
+            for (final Map.Entry<String, Object> pair : nameValuePairs.entrySet()) {
+                final Object value = pair.getValue();
+                if (value == null) {
+                    requestJson = requestJson.add(pair.getKey(), (String) null);
+                } else if (value instanceof Boolean) {
+                    requestJson = requestJson.add(pair.getKey(), (Boolean) pair.getValue());
+                } else if (value instanceof Integer) {
+                    requestJson = requestJson.add(pair.getKey(), (Integer) pair.getValue());
+                } else if (value instanceof Long) {
+                    requestJson = requestJson.add(pair.getKey(), (Long) pair.getValue());
+                } else if (value instanceof Float) {
+                    requestJson = requestJson.add(pair.getKey(), (Float) pair.getValue());
+                } else if (value instanceof Double) {
+                    requestJson = requestJson.add(pair.getKey(), (Double) pair.getValue());
                 } else {
-                    throw new VaultException(e);
+                    requestJson = requestJson.add(pair.getKey(), pair.getValue().toString());
                 }
             }
         }
+        return requestJson;
+    }
+
+    static LogicalResponse writeResponse(final RestResponse restResponse, final int retryCount,
+                                         final logicalOperations operation) throws VaultException {
+        // HTTP Status should be either 200 (with content - e.g. PKI write) or 204 (no content)
+        final int restStatus = restResponse.getStatus();
+        if (restStatus == 200 || restStatus == 204) {
+            return new LogicalResponse(restResponse, retryCount, operation);
+        } else {
+            throw new VaultException("Expecting HTTP status 204 or 200, but instead receiving " + restStatus
+                    + "\nResponse body: " + new String(restResponse.getBody(), StandardCharsets.UTF_8), restStatus);
+        }
+    }
+
+    /**
+     * <p>Assembles (but does not send) the request for a delete operation.</p>
+     */
+    Rest deleteRequest(final String path, final logicalOperations operation) {
+        return new Rest()//NOPMD
+                .url(config.getAddress() + "/v1/" + adjustPathForDelete(path, operation))
+                .header("X-Vault-Token", config.getToken())
+                .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                .connectTimeoutSeconds(config.getOpenTimeout())
+                .readTimeoutSeconds(config.getReadTimeout())
+                .sslVerification(config.getSslConfig().isVerify())
+                .sslContext(config.getSslConfig().getSslContext())
+                .transport(config.getTransport());
+    }
+
+    /**
+     * <p>Assembles (but does not send) the request for the metadata of a KV version 2 secret.</p>
+     */
+    Rest metadataRequest(final String path) {
+        return deleteRequest(path, logicalOperations.deleteV2);
+    }
+
+    /**
+     * <p>Assembles (but does not send) the request to destroy versions of a KV version 2 secret.</p>
+     */
+    Rest destroyRequest(final String path, final int[] versions) {
+        return new Rest()//NOPMD
+                .url(config.getAddress() + "/v1/" + adjustPathForVersionDestroy(path))
+                .header("X-Vault-Token", config.getToken())
+                .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                .connectTimeoutSeconds(config.getOpenTimeout())
+                .readTimeoutSeconds(config.getReadTimeout())
+                .sslVerification(config.getSslConfig().isVerify())
+                .sslContext(config.getSslConfig().getSslContext())
+                .transport(config.getTransport())
+                .body(new JsonObject().add("versions", versions));
+    }
+
+    /**
+     * <p>Picks the versions to destroy from the <code>data</code> of a KV version 2 secret's metadata.</p>
+     *
+     * @param metadata    The secret's metadata, holding its <code>current_version</code> and its <code>versions</code>
+     * @param allVersions Whether to pick every version, or only the current one
+     * @return The version numbers, in ascending order
+     * @throws VaultException If the metadata lists no versions
+     */
+    static int[] versionsToDestroy(final JsonObject metadata, final boolean allVersions) throws VaultException {
+        final int[] versions;
+        if (allVersions) {
+            final JsonValue listed = metadata == null ? null : metadata.get("versions");
+            final List<String> names = listed != null && listed.isObject() ? listed.asObject().names() : null;
+            versions = names == null ? new int[0] : names.stream().mapToInt(Integer::parseInt).sorted().toArray();
+        } else {
+            final int current = metadata == null ? 0 : metadata.getInt("current_version", 0);
+            versions = current > 0 ? new int[]{current} : new int[0];
+        }
+        if (versions.length == 0) {
+            throw new VaultException("The secret's metadata lists no versions to destroy.");
+        }
+        return versions;
+    }
+
+    static LogicalResponse deleteResponse(final RestResponse restResponse, final int retryCount,
+                                          final logicalOperations operation) throws VaultException {
+        // Validate response
+        if (restResponse.getStatus() != 204) {
+            throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus()
+                    + "\nResponse body: " + new String(restResponse.getBody(), StandardCharsets.UTF_8),
+                    restResponse.getStatus());
+        }
+        return new LogicalResponse(restResponse, retryCount, operation);
     }
 
     private LogicalResponse getLogicalResponse(int retryCount, RestResponse restResponse) throws VaultException {
@@ -479,9 +894,8 @@ public class Logical {
             throw new VaultException("Version undeletes are only supported for KV Engine 2.");
         }
         intArrayCheck(versions);
-        int retryCount = 0;
-        while (true) {
-            try {
+        try {
+            return Retrier.execute(config, retryCount -> {
                 // Make an HTTP request to Vault
                 JsonObject versionsToUnDelete = new JsonObject().add("versions", versions);
                 final RestResponse restResponse = new Rest()//NOPMD
@@ -492,7 +906,8 @@ public class Logical {
                         .readTimeoutSeconds(config.getReadTimeout())
                         .sslVerification(config.getSslConfig().isVerify())
                         .sslContext(config.getSslConfig().getSslContext())
-                        .body(versionsToUnDelete.toString().getBytes(StandardCharsets.UTF_8))
+                        .transport(config.getTransport())
+                        .body(versionsToUnDelete)
                         .post();
 
                 // Validate response
@@ -502,23 +917,9 @@ public class Logical {
                             restResponse.getStatus());
                 }
                 return new LogicalResponse(restResponse, retryCount, logicalOperations.unDelete);
-            } catch (RuntimeException | VaultException | RestException e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
-            }
+            });
+        } finally {
+            invalidateCache(path);
         }
     }
 
@@ -538,42 +939,61 @@ public class Logical {
             throw new VaultException("Secret destroys are only supported for KV Engine 2.");
         }
         intArrayCheck(versions);
-        int retryCount = 0;
-        while (true) {
-            try {
+        try {
+            return Retrier.execute(config, retryCount -> {
                 // Make an HTTP request to Vault
-                JsonObject versionsToDestroy = new JsonObject().add("versions", versions);
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/" + adjustPathForVersionDestroy(path))
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .body(versionsToDestroy.toString().getBytes(StandardCharsets.UTF_8))
-                        .post();
+                final RestResponse restResponse = destroyRequest(path, versions).post();
 
                 // Validate response
                 return getLogicalResponse(retryCount, restResponse);
-            } catch (RuntimeException | VaultException | RestException e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
-            }
+            });
+        } finally {
+            invalidateCache(path);
+        }
+    }
+
+    /**
+     * <p>Destroys every secret beneath a path, keeping up to {@link #DEFAULT_DELETE_TREE_PARALLELISM} destroys in
+     * flight at a time.  Only supported for KV Engine version 2.</p>
+     *
+     * <p>The listings and destroys are run on a shared pool of daemon threads.  See
+     * {@link #destroyTree(String, boolean, int, Executor)}.</p>
+     *
+     * @param prefix      The Vault path beneath which to destroy every secret (e.g. <code>secret/tenants/acme</code>)
+     * @param allVersions Whether to destroy every version of each secret, or only its current version
+     * @return The number of secrets destroyed, and the error for each secret that was not
+     * @throws VaultException If the path is not in a KV version 2 engine, a folder cannot be listed, or the calling
+     *                        thread is interrupted
+     */
+    public BulkDeleteResult destroyTree(final String prefix, final boolean allVersions) throws VaultException {
+        return destroyTree(prefix, allVersions, DEFAULT_DELETE_TREE_PARALLELISM, BulkExecutor.defaultExecutor());
+    }
+
+    /**
+     * <p>Destroys every secret beneath a path, keeping at most <code>parallelism</code> destroys in flight at a time,
+     * and waits until every destroy has succeeded or failed.  Only supported for KV Engine version 2.</p>
+     *
+     * <p>Each secret found is destroyed as by {@link #destroy(String, int[])}, with either every version listed in its
+     * metadata or only its current version.  Unlike {@link #deleteTree(String, int, Executor)}, the metadata itself is
+     * kept.  Failures and HTTP 429 (rate limited) responses are handled as by
+     * {@link #deleteTree(String, int, Executor)}.</p>
+     *
+     * @param prefix      The Vault path beneath which to destroy every secret (e.g. <code>secret/tenants/acme</code>)
+     * @param allVersions Whether to destroy every version of each secret, or only its current version
+     * @param parallelism The maximum number of destroys in flight at any time
+     * @param executor    The executor on which blocking work (e.g. waiting on an HTTP/1.1 response) is run
+     * @return The number of secrets destroyed, and the error for each secret that was not
+     * @throws VaultException If the path is not in a KV version 2 engine, a folder cannot be listed (after waiting for
+     *                        the destroys already in flight), or the calling thread is interrupted
+     */
+    public BulkDeleteResult destroyTree(final String prefix, final boolean allVersions, final int parallelism,
+                                        final Executor executor) throws VaultException {
+        if (this.engineVersionForSecretPath(prefix) != 2) {
+            throw new VaultException("Secret destroys are only supported for KV Engine 2.");
         }
+        final AsyncLogical async = async(executor);
+        return new TreeDelete(this, config, path -> async.destroyAsync(path, allVersions), parallelism, executor)
+                .run(prefix);
     }
 
     /**
@@ -589,61 +1009,40 @@ public class Logical {
         if (this.engineVersionForSecretPath(kvPath) == 2) {
             throw new VaultException("This KV engine is already version 2.");
         }
-        int retryCount = 0;
-        while (true) {
-            try {
-                // Make an HTTP request to Vault
-                JsonObject kvToUpgrade = new JsonObject().add("options", new JsonObject().add("version", 2));
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/sys/mounts/" + (kvPath.replaceAll("/", "") + "/tune"))
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .body(kvToUpgrade.toString().getBytes(StandardCharsets.UTF_8))
-                        .post();
+        return Retrier.execute(config, retryCount -> {
+            // Make an HTTP request to Vault
+            JsonObject kvToUpgrade = new JsonObject().add("options", new JsonObject().add("version", 2));
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/sys/mounts/" + (kvPath.replaceAll("/", "") + "/tune"))
+                    .header("X-Vault-Token", config.getToken())
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .body(kvToUpgrade)
+                    .post();
 
-                // Validate response
-                if (restResponse.getStatus() != 200) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus()
-                            + "\nResponse body: " + new String(restResponse.getBody(), StandardCharsets.UTF_8),
-                            restResponse.getStatus());
-                }
-                return new LogicalResponse(restResponse, retryCount, logicalOperations.authentication);
-            } catch (RuntimeException | VaultException | RestException e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+            // Validate response
+            if (restResponse.getStatus() != 200) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus()
+                        + "\nResponse body: " + new String(restResponse.getBody(), StandardCharsets.UTF_8),
+                        restResponse.getStatus());
             }
-        }
+            return new LogicalResponse(restResponse, retryCount, logicalOperations.authentication);
+        });
     }
 
     private Integer engineVersionForSecretPath(final String secretPath) {
-        if (!this.config.getSecretsEnginePathMap().isEmpty()) {
-            return this.config.getSecretsEnginePathMap().containsKey(secretPath + "/") ?
-                    Integer.valueOf(this.config.getSecretsEnginePathMap().get(secretPath + "/"))
-                    : this.config.getGlobalEngineVersion();
-        }
-        return this.config.getGlobalEngineVersion();
+        final int version = this.config.getMountIndex().engineVersion(secretPath);
+        return version > 0 ? Integer.valueOf(version) : this.config.getGlobalEngineVersion();
     }
 
     /**
      * <p>Provides the version of the secrets engine of the specified path, e.g. 1 or 2.</p>
-     * First checks if the Vault config secrets engine path map contains the path.
+     * First checks if the path lies within any mount point in the Vault config secrets engine path map, using the
+     * longest mount point that contains it.
      * If not, then defaults to the Global Engine version fallback.
      * <p>
      *
@@ -653,4 +1052,5 @@ public class Logical {
     public Integer getEngineVersionForSecretPath(final String path) {
         return this.engineVersionForSecretPath(path);
     }
+
 }
@@ -0,0 +1,322 @@
+package com.bettercloud.vault.api;
+
+import com.bettercloud.vault.VaultException;
+import com.bettercloud.vault.json.Json;
+import com.bettercloud.vault.json.JsonObject;
+import com.bettercloud.vault.json.JsonValue;
+import com.bettercloud.vault.json.ParseException;
+import com.bettercloud.vault.response.LogicalResponse;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * <p>Exports a tree of secrets as NDJSON (one JSON object per line), and imports it again, for backups and
+ * migrations.  Each line holds the path of a secret relative to the exported root, and its data:</p>
+ *
+ * <blockquote>
+ * <pre>{@code
+ * {"path":"team-a/db","data":{"username":"app","password":"..."}}
+ * }</pre>
+ * </blockquote>
+ *
+ * <p>This class is not intended to be constructed directly.  Rather, it is obtained from an existing
+ * <code>Logical</code> instance, whose config and namespace it shares.  E.g.:</p>
+ *
+ * <blockquote>
+ * <pre>{@code
+ * final NdjsonTransfer transfer = vault.logical().ndjson().parallelism(16);
+ * try (OutputStream output = Files.newOutputStream(backup)) {
+ *     final TransferProgress progress = transfer.exportTree("secret/apps", output);
+ * }
+ * try (InputStream input = Files.newInputStream(backup)) {
+ *     transfer.importTree("kv/apps", input);
+ * }
+ * }</pre>
+ * </blockquote>
+ *
+ * <p>Both directions use constant memory, however many secrets are transferred.  An export walks the tree with
+ * {@link Logical#walk(String, int, Executor)} and keeps at most <code>parallelism</code> reads in flight, writing each
+ * secret as soon as it (and every secret before it) has been read.  An import reads one line at a time, and keeps at
+ * most <code>parallelism</code> writes in flight, pausing the reading of lines until one completes.  A secret that
+ * cannot be read or written is logged and counted in {@link TransferProgress#getFailures()}, and the transfer goes on.
+ * The progress of the running (or last) transfer can be followed from another thread through
+ * {@link #getProgress()}.</p>
+ */
+public class NdjsonTransfer {
+
+    private static final Logger LOGGER = Logger.getLogger(NdjsonTransfer.class.getCanonicalName());
+
+    private final Logical logical;
+    private int parallelism = Logical.DEFAULT_READ_ALL_PARALLELISM;
+    private Executor executor = BulkExecutor.defaultExecutor();
+    private volatile TransferProgress progress;
+
+    NdjsonTransfer(final Logical logical) {
+        this.logical = logical;
+    }
+
+    /**
+     * <p>Sets the maximum number of reads (when exporting) or writes (when importing) in flight at a time.  Defaults to
+     * {@link Logical#DEFAULT_READ_ALL_PARALLELISM}.</p>
+     *
+     * @param parallelism The maximum number of requests in flight at a time
+     * @return This object, with the parallelism set
+     */
+    public NdjsonTransfer parallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * <p>Sets the executor on which blocking work (e.g. waiting on an HTTP/1.1 response) is run.  Defaults to a pool of
+     * daemon threads shared with {@link Logical#readAll(java.util.Collection)}.</p>
+     *
+     * @param executor The executor on which blocking work is run
+     * @return This object, with the executor set
+     */
+    public NdjsonTransfer executor(final Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor cannot be null");
+        }
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * @return The counters of the running transfer, or of the last one if none is running, or <code>null</code> if
+     * there has been none
+     */
+    public TransferProgress getProgress() {
+        return progress;
+    }
+
+    /**
+     * <p>Writes every secret beneath a path to the given stream, as one line of NDJSON each.  The stream is flushed,
+     * but not closed.</p>
+     *
+     * @param root   The Vault path whose secrets to export (e.g. <code>secret/apps</code>)
+     * @param output The stream to which to write
+     * @return The counters of this export
+     * @throws VaultException If a folder cannot be listed, the stream cannot be written to, or the thread is interrupted
+     */
+    public TransferProgress exportTree(final String root, final OutputStream output) throws VaultException {
+        final TransferProgress exported = start();
+        final String prefix = prefix(root);
+        final AsyncLogical async = logical.async(executor);
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(new CountingOutputStream(output, exported),
+                StandardCharsets.UTF_8));
+        final Deque<Read> window = new ArrayDeque<>();
+        try (Stream<String> paths = logical.walk(prefix, parallelism, executor)) {
+            final Iterator<String> iterator = paths.iterator();
+            while (iterator.hasNext()) {
+                if (window.size() >= parallelism) {
+                    writeLine(window.poll(), prefix, writer, exported);
+                }
+                final String path = iterator.next();
+                window.add(new Read(path, async.readAsync(path)));
+            }
+            while (!window.isEmpty()) {
+                writeLine(window.poll(), prefix, writer, exported);
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new VaultException(e);
+        } catch (IllegalStateException e) {
+            throw e.getCause() instanceof VaultException ? (VaultException) e.getCause() : new VaultException(e);
+        } finally {
+            exported.finish();
+        }
+        return exported;
+    }
+
+    /**
+     * <p>Writes every secret in the given NDJSON stream beneath a path.  Blank lines are skipped.  The stream is read
+     * to its end, but not closed.</p>
+     *
+     * @param root  The Vault path beneath which to write the secrets (e.g. <code>secret/apps</code>), which need not
+     *              be the path from which they were exported
+     * @param input The stream from which to read
+     * @return The counters of this import
+     * @throws VaultException If a line is not an exported secret (in which case no later lines are imported), the stream
+     *                        cannot be read, or the thread is interrupted
+     */
+    public TransferProgress importTree(final String root, final InputStream input) throws VaultException {
+        final TransferProgress imported = start();
+        final String prefix = prefix(root);
+        final AsyncLogical async = logical.async(executor);
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(new CountingInputStream(input, imported),
+                StandardCharsets.UTF_8));
+        final Semaphore permits = new Semaphore(parallelism);
+        try {
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                final JsonValue secret;
+                try {
+                    secret = Json.parse(line);
+                } catch (ParseException e) {
+                    throw new VaultException("Line " + lineNumber + " is not valid JSON", e);
+                }
+                final JsonValue pathValue = secret.isObject() ? secret.asObject().get("path") : null;
+                final JsonValue dataValue = secret.isObject() ? secret.asObject().get("data") : null;
+                if (pathValue == null || !pathValue.isString() || dataValue == null || !dataValue.isObject()) {
+                    throw new VaultException("Line " + lineNumber
+                            + " is not an exported secret, with a \"path\" string and a \"data\" object");
+                }
+                final String path = prefix + pathValue.asString();
+                final JsonObject data = dataValue.asObject();
+                permits.acquire();
+                CompletableFuture<LogicalResponse> write;
+                try {
+                    write = async.writeAsync(path, data);
+                } catch (RuntimeException e) {
+                    write = new CompletableFuture<>();
+                    write.completeExceptionally(e);
+                }
+                write.whenComplete((response, error) -> {
+                    if (error == null) {
+                        imported.secretTransferred();
+                    } else {
+                        imported.secretFailed();
+                        LOGGER.log(Level.WARNING, "Could not import " + path, error);
+                    }
+                    permits.release();
+                });
+            }
+        } catch (IOException e) {
+            throw new VaultException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new VaultException(e);
+        } finally {
+            // Waits for the writes still in flight
+            permits.acquireUninterruptibly(parallelism);
+            imported.finish();
+        }
+        return imported;
+    }
+
+    private TransferProgress start() {
+        final TransferProgress started = new TransferProgress();
+        progress = started;
+        return started;
+    }
+
+    private static String prefix(final String root) {
+        return root.endsWith("/") ? root : root + "/";
+    }
+
+    private static void writeLine(final Read read, final String prefix, final Writer writer,
+                                  final TransferProgress exported) throws VaultException, IOException {
+        final LogicalResponse response;
+        try {
+            response = read.response.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new VaultException(e);
+        } catch (ExecutionException e) {
+            exported.secretFailed();
+            LOGGER.log(Level.WARNING, "Could not export " + read.path, e.getCause());
+            return;
+        }
+        final JsonObject data = response.getDataObject();
+        Json.object()
+                .add("path", read.path.substring(prefix.length()))
+                .add("data", data != null ? data : Json.object())
+                .writeTo(writer);
+        writer.write('\n');
+        exported.secretTransferred();
+    }
+
+    /**
+     * <p>A read in flight, in the order in which its line is to be written.</p>
+     */
+    private static final class Read {
+
+        private final String path;
+        private final CompletableFuture<LogicalResponse> response;
+
+        private Read(final String path, final CompletableFuture<LogicalResponse> response) {
+            this.path = path;
+            this.response = response;
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private final TransferProgress progress;
+
+        private CountingOutputStream(final OutputStream output, final TransferProgress progress) {
+            super(output);
+            this.progress = progress;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            progress.bytesTransferred(1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            progress.bytesTransferred(len);
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final TransferProgress progress;
+
+        private CountingInputStream(final InputStream input, final TransferProgress progress) {
+            super(input);
+            this.progress = progress;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = in.read();
+            if (b != -1) {
+                progress.bytesTransferred(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int count = in.read(b, off, len);
+            if (count > 0) {
+                progress.bytesTransferred(count);
+            }
+            return count;
+        }
+    }
+
+}
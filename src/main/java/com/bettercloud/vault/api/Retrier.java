@@ -0,0 +1,234 @@
+package com.bettercloud.vault.api;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.bettercloud.vault.RetryPolicy;
+import com.bettercloud.vault.VaultConfig;
+import com.bettercloud.vault.VaultException;
+import com.bettercloud.vault.rest.RestException;
+
+
+/**
+ * <p>The retry loop shared by every API class.  An API operation is expressed as a single attempt, and this class
+ * re-runs it upon failure according to the <code>maxRetries</code> and <code>retryIntervalMilliseconds</code> set
+ * through <code>Vault.withRetries()</code>, shaped by the config's {@link RetryPolicy}.</p>
+ *
+ * <p>Failures are classified before retrying.  Network errors, HTTP 5xx and HTTP 429 responses are retried.  Any
+ * other HTTP status (e.g. 403 or 404) will not change on a second attempt, and nor will any other runtime error (e.g.
+ * a response that cannot be parsed), so these are thrown immediately.</p>
+ *
+ * <p>This class is not intended to be used directly by application code.  It is <code>public</code> only so that
+ * API classes in sub-packages (e.g. <code>Pki</code>, <code>Mounts</code>) can share it.</p>
+ */
+public final class Retrier {
+
+    private Retrier() {
+    }
+
+    /**
+     * <p>Runs a blocking operation, sleeping between attempts as needed.  If the calling thread is interrupted while
+     * waiting to retry, then the most recent failure is thrown right away, with the thread's interrupt flag
+     * restored.</p>
+     *
+     * @param config The config whose retry settings apply
+     * @param call   A single attempt at the operation
+     * @param <T>    The operation's result type
+     * @return The result of the first successful attempt
+     * @throws VaultException The most recent failure, once no further retry will be made
+     */
+    public static <T> T execute(final VaultConfig config, final Call<T> call) throws VaultException {
+        return execute(config, true, call);
+    }
+
+    /**
+     * <p>Runs a blocking operation, optionally with retries.</p>
+     *
+     * @param config      The config whose retry settings apply
+     * @param shouldRetry Whether to try more than once
+     * @param call        A single attempt at the operation
+     * @param <T>         The operation's result type
+     * @return The result of the first successful attempt
+     * @throws VaultException The most recent failure, once no further retry will be made
+     */
+    public static <T> T execute(final VaultConfig config, final boolean shouldRetry, final Call<T> call)
+            throws VaultException {
+        final long startNanos = System.nanoTime();
+        int retryCount = 0;
+        while (true) {
+            try {
+                return call.call(retryCount);
+            } catch (RuntimeException | VaultException | RestException e) {
+                final long delay = shouldRetry ? nextDelayMilliseconds(config, retryCount, e, startNanos) : -1;
+                if (delay < 0) {
+                    throw toVaultException(e);
+                }
+                retryCount++;
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e1) {
+                    Thread.currentThread().interrupt();
+                    throw toVaultException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>Runs a non-blocking operation.  Rather than sleeping, each retry is scheduled on the supplied
+     * <code>ScheduledExecutorService</code>.  Cancelling the returned future prevents any further retries.</p>
+     *
+     * @param config    The config whose retry settings apply
+     * @param scheduler The scheduler used to delay retries
+     * @param call      Starts a single attempt at the operation
+     * @param <T>       The operation's result type
+     * @return A future completed with the result of the first successful attempt, or exceptionally with a
+     * <code>VaultException</code> once no further retry will be made
+     */
+    public static <T> CompletableFuture<T> executeAsync(final VaultConfig config,
+                                                        final ScheduledExecutorService scheduler,
+                                                        final AsyncCall<T> call) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        attemptAsync(config, scheduler, call, 0, System.nanoTime(), result);
+        return result;
+    }
+
+    /**
+     * <p>Whether a failed attempt might succeed if made again.</p>
+     *
+     * @param t The failure
+     * @return <code>true</code> for network errors (a <code>RestException</code> or <code>IOException</code>, or any
+     * exception caused by one), for a <code>VaultException</code> with no HTTP status code, and for HTTP 5xx or 429
+     * responses
+     */
+    public static boolean isRetryable(final Throwable t) {
+        if (t instanceof VaultException) {
+            final int status = ((VaultException) t).getHttpStatusCode();
+            return status == 0 || status == 429 || status >= 500;
+        }
+        for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RestException || cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <p>A shared single-thread scheduler, used to time async retries when the caller does not supply one.  Its
+     * only job is to hand each retry back to a transport, so one daemon thread is plenty.</p>
+     *
+     * @return The default retry scheduler
+     */
+    static ScheduledExecutorService defaultScheduler() {
+        return DefaultScheduler.INSTANCE;
+    }
+
+    private static <T> void attemptAsync(final VaultConfig config, final ScheduledExecutorService scheduler,
+                                         final AsyncCall<T> call, final int retryCount, final long startNanos,
+                                         final CompletableFuture<T> result) {
+        if (result.isDone()) {
+            // Cancelled by the caller, so don't bother
+            return;
+        }
+        CompletableFuture<T> pending;
+        try {
+            pending = call.call(retryCount);
+        } catch (RuntimeException e) {
+            pending = new CompletableFuture<>();
+            pending.completeExceptionally(e);
+        }
+        pending.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+            final Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            final long delay = nextDelayMilliseconds(config, retryCount, cause, startNanos);
+            if (delay >= 0) {
+                try {
+                    scheduler.schedule(() -> attemptAsync(config, scheduler, call, retryCount + 1, startNanos, result),
+                            delay, TimeUnit.MILLISECONDS);
+                    return;
+                } catch (RejectedExecutionException e) {
+                    // Scheduler has been shut down, so give up now
+                }
+            }
+            result.completeExceptionally(toVaultException(cause));
+        });
+    }
+
+    /**
+     * @return The number of milliseconds to wait before the next retry, or <code>-1</code> if there should be none
+     */
+    private static long nextDelayMilliseconds(final VaultConfig config, final int retryCount, final Throwable failure,
+                                              final long startNanos) {
+        if (retryCount >= config.getMaxRetries() || !isRetryable(failure)) {
+            return -1;
+        }
+        final RetryPolicy policy = config.getRetryPolicy();
+        final long delay = policy.delayMilliseconds(retryCount + 1, config.getRetryIntervalMilliseconds());
+        if (policy.getDeadlineMilliseconds() > 0) {
+            final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            if (elapsed + delay >= policy.getDeadlineMilliseconds()) {
+                return -1;
+            }
+        }
+        return delay;
+    }
+
+    private static VaultException toVaultException(final Throwable t) {
+        return t instanceof VaultException ? (VaultException) t : new VaultException(t);
+    }
+
+    /**
+     * <p>A single blocking attempt at an API operation.</p>
+     *
+     * @param <T> The operation's result type
+     */
+    @FunctionalInterface
+    public interface Call<T> {
+
+        /**
+         * @param retryCount The number of attempts already made (i.e. <code>0</code> on the first attempt)
+         * @return The operation's result
+         * @throws VaultException If Vault responds with an error, or the response cannot be processed
+         * @throws RestException  If no response is received
+         */
+        T call(int retryCount) throws VaultException, RestException;
+    }
+
+    /**
+     * <p>Starts a single non-blocking attempt at an API operation.</p>
+     *
+     * @param <T> The operation's result type
+     */
+    @FunctionalInterface
+    public interface AsyncCall<T> {
+
+        /**
+         * @param retryCount The number of attempts already made (i.e. <code>0</code> on the first attempt)
+         * @return A future completed with the operation's result, or exceptionally upon failure
+         */
+        CompletableFuture<T> call(int retryCount);
+    }
+
+    /**
+     * <p>Holder for the lazily-created default retry scheduler.</p>
+     */
+    private static final class DefaultScheduler {
+
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "vault-retry-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+}
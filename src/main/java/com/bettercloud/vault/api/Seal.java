@@ -41,43 +41,25 @@ public class Seal {
      * @throws VaultException If any error occurs, or unexpected response received from Vault
      */
     public void seal() throws VaultException {
-        int retryCount = 0;
-        while (true) {
-            try {
-                // HTTP request to Vault
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/sys/seal")
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 204) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                return;
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+        Retrier.execute(config, retryCount -> {
+            // HTTP request to Vault
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/sys/seal")
+                    .header("X-Vault-Token", config.getToken())
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 204) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
             }
-        }
+            return null;
+        });
     }
 
     /**
@@ -101,41 +83,23 @@ public class Seal {
      * @throws VaultException If any error occurs, or unexpected response received from Vault
      */
     public SealResponse unseal(final String key, final Boolean reset) throws VaultException {
-        int retryCount = 0;
-        while (true) {
-            try {
-                // HTTP request to Vault
-                final String requestJson = Json.object().add("key", key).add("reset", reset).toString();
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/sys/unseal")
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .body(requestJson.getBytes(StandardCharsets.UTF_8))
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
-
-                // Validate restResponse
-                return getSealResponse(retryCount, restResponse);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
-            }
-        }
+        return Retrier.execute(config, retryCount -> {
+            // HTTP request to Vault
+            final String requestJson = Json.object().add("key", key).add("reset", reset).toString();
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/sys/unseal")
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .body(requestJson.getBytes(StandardCharsets.UTF_8))
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
+
+            // Validate restResponse
+            return getSealResponse(retryCount, restResponse);
+        });
     }
 
     /**
@@ -145,39 +109,21 @@ public class Seal {
      * @throws VaultException If any error occurs, or unexpected response received from Vault
      */
     public SealResponse sealStatus() throws VaultException {
-        int retryCount = 0;
-        while (true) {
-            try {
-                // HTTP request to Vault
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(config.getAddress() + "/v1/sys/seal-status")
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .get();
-
-                // Validate restResponse
-                return getSealResponse(retryCount, restResponse);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
-            }
-        }
+        return Retrier.execute(config, retryCount -> {
+            // HTTP request to Vault
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(config.getAddress() + "/v1/sys/seal-status")
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .get();
+
+            // Validate restResponse
+            return getSealResponse(retryCount, restResponse);
+        });
     }
 
     private SealResponse getSealResponse(final int retryCount, final RestResponse restResponse) throws VaultException {
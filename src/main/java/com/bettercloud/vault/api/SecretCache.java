@@ -0,0 +1,559 @@
+package com.bettercloud.vault.api;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.bettercloud.vault.VaultException;
+import com.bettercloud.vault.response.LogicalResponse;
+
+
+/**
+ * <p>An opt-in, in-memory cache of secrets read through {@link Logical#read(String)}, for applications that read
+ * the same few secrets far more often than those secrets change.  It is set on a
+ * {@link com.bettercloud.vault.VaultConfig}, and shared by every <code>Logical</code> instance created with that
+ * config:</p>
+ *
+ * <blockquote>
+ * <pre>{@code
+ * final VaultConfig config = new VaultConfig()
+ *                              .address("http://127.0.0.1:8200")
+ *                              .secretCache(new SecretCache()
+ *                                      .maxEntries(500)
+ *                                      .maxTtlMilliseconds(60000))
+ *                              .build();
+ * }</pre>
+ * </blockquote>
+ *
+ * <p>Entries are keyed by namespace, path and (for KV version 2) secret version, and remember the token with which
+ * they were read.  Each entry lives for the secret's <code>lease_duration</code>, capped at
+ * <code>maxTtlMilliseconds</code>.  Secrets without a lease (e.g. in a KV version 2 engine, which always reports a
+ * <code>lease_duration</code> of zero) live for <code>maxTtlMilliseconds</code>.  Once <code>maxEntries</code> is
+ * reached, the least recently read entry is evicted.</p>
+ *
+ * <p>Writing, deleting, undeleting or destroying a path through any <code>Logical</code> instance sharing this cache
+ * invalidates every cached version of that path.  Changes made by other clients become visible once the entry
+ * expires, or after {@link #invalidateAll()}.</p>
+ *
+ * <p>Two optional modes keep hot secrets from ever stalling callers when they expire:</p>
+ *
+ * <ul>
+ *     <li><b>Refresh-ahead</b> (<code>refreshAheadRatio</code>):  a read late in an entry's lifetime starts a
+ *     background refresh, so that the entry is replaced before it expires.</li>
+ *     <li><b>Stale-while-revalidate</b> (<code>staleWhileRevalidateMilliseconds</code>):  for a while after an entry
+ *     expires, reads are served its last value, flagged by {@link LogicalResponse#isStale()}, while a background
+ *     refresh runs.  This also covers the case where Vault is briefly unreachable.</li>
+ * </ul>
+ *
+ * <p>In both modes, only one refresh per entry is in flight at a time, however many threads are reading it.  A
+ * failed refresh leaves the existing entry in place, and is attempted again on the next read.</p>
+ *
+ * <p>Each cache hit returns its own copy of the <code>LogicalResponse</code> that was originally read, so one caller
+ * modifying its <code>getData()</code> map does not affect any other.  The copies share the parsed data, so their
+ * <code>getDataObject()</code> is unmodifiable.</p>
+ */
+public class SecretCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    public static final long DEFAULT_MAX_TTL_MILLISECONDS = 300000L;
+
+    /**
+     * <p>The number of recently invalidated paths whose invalidation time is remembered individually.  Beyond this,
+     * the oldest is folded into <code>invalidationFloor</code>, which discards any fill started before it.</p>
+     */
+    static final int MAX_TRACKED_INVALIDATIONS = 1024;
+
+    private final LinkedHashMap<Key, CachedResponse> entries = new LinkedHashMap<Key, CachedResponse>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, CachedResponse> eldest) {
+            if (size() > maxEntries) {
+                evictionCount++;
+                unindex(eldest.getKey());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * <p>The cached versions of each path, so that a write invalidates them without scanning every entry.</p>
+     */
+    private final Map<PathKey, Set<Key>> keysByPath = new HashMap<>();
+
+    /**
+     * <p>The value of {@link #invalidationCount} at which each recently written or deleted path was invalidated.</p>
+     */
+    private final LinkedHashMap<PathKey, Long> invalidations = new LinkedHashMap<PathKey, Long>() {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<PathKey, Long> eldest) {
+            if (size() > MAX_TRACKED_INVALIDATIONS) {
+                invalidationFloor = Math.max(invalidationFloor, eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+    private long maxTtlMilliseconds = DEFAULT_MAX_TTL_MILLISECONDS;
+    private double refreshAheadRatio;
+    private long staleWhileRevalidateMilliseconds;
+    private Executor refreshExecutor = DefaultRefreshExecutor.INSTANCE;
+    private long invalidationCount;
+    private long invalidationFloor;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long staleHitCount;
+    private long refreshCount;
+    private long refreshFailureCount;
+
+    /**
+     * <p>The maximum number of secrets held at once.  Default is <code>1000</code>.</p>
+     *
+     * @param maxEntries The cache capacity
+     * @return This object, with maxEntries populated, ready for other builder-pattern config methods
+     */
+    public synchronized SecretCache maxEntries(final int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.maxEntries = maxEntries;
+        return this;
+    }
+
+    /**
+     * <p>The longest that any secret is served from the cache, however long its lease.  Default is
+     * <code>300000</code> (five minutes).</p>
+     *
+     * @param maxTtlMilliseconds The upper bound on an entry's lifetime
+     * @return This object, with maxTtlMilliseconds populated, ready for other builder-pattern config methods
+     */
+    public synchronized SecretCache maxTtlMilliseconds(final long maxTtlMilliseconds) {
+        if (maxTtlMilliseconds < 1) {
+            throw new IllegalArgumentException("maxTtlMilliseconds must be at least 1");
+        }
+        this.maxTtlMilliseconds = maxTtlMilliseconds;
+        return this;
+    }
+
+    /**
+     * <p>Enables refresh-ahead.  Once this fraction of an entry's lifetime has passed, the next read of it is still
+     * served from the cache, but also starts a refresh from Vault in the background.  A secret that is read
+     * regularly is therefore replaced before it expires, and no caller ever waits on Vault for it.  Default is
+     * <code>0.0</code>, meaning that entries are only re-read from Vault once they have expired.</p>
+     *
+     * @param refreshAheadRatio A value from <code>0.0</code> (disabled) up to, but not including, <code>1.0</code>
+     * @return This object, with refreshAheadRatio populated, ready for other builder-pattern config methods
+     */
+    public synchronized SecretCache refreshAheadRatio(final double refreshAheadRatio) {
+        if (refreshAheadRatio < 0.0 || refreshAheadRatio >= 1.0) {
+            throw new IllegalArgumentException("refreshAheadRatio must be at least 0.0 and less than 1.0");
+        }
+        this.refreshAheadRatio = refreshAheadRatio;
+        return this;
+    }
+
+    /**
+     * <p>Enables stale-while-revalidate.  For this long after an entry expires, reads of it are served the last
+     * known value straight away, flagged by {@link LogicalResponse#isStale()}, while a refresh from Vault runs in the
+     * background.  Should Vault be unreachable for a short while, callers keep getting the last good value rather
+     * than waiting out retries.  Default is <code>0</code>, meaning that an expired entry is never served.</p>
+     *
+     * @param staleWhileRevalidateMilliseconds How long past expiry an entry may still be served
+     * @return This object, with staleWhileRevalidateMilliseconds populated, ready for other builder-pattern config methods
+     */
+    public synchronized SecretCache staleWhileRevalidateMilliseconds(final long staleWhileRevalidateMilliseconds) {
+        if (staleWhileRevalidateMilliseconds < 0) {
+            throw new IllegalArgumentException("staleWhileRevalidateMilliseconds cannot be negative");
+        }
+        this.staleWhileRevalidateMilliseconds = staleWhileRevalidateMilliseconds;
+        return this;
+    }
+
+    /**
+     * <p>The executor on which background refreshes of blocking reads are run.  Default is a shared pool of daemon
+     * threads.  At most one refresh per entry is in progress at any time.</p>
+     *
+     * @param refreshExecutor The executor for background refreshes
+     * @return This object, with refreshExecutor populated, ready for other builder-pattern config methods
+     */
+    public synchronized SecretCache refreshExecutor(final Executor refreshExecutor) {
+        if (refreshExecutor == null) {
+            throw new IllegalArgumentException("refreshExecutor cannot be null");
+        }
+        this.refreshExecutor = refreshExecutor;
+        return this;
+    }
+
+    public synchronized int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public synchronized long getMaxTtlMilliseconds() {
+        return maxTtlMilliseconds;
+    }
+
+    public synchronized double getRefreshAheadRatio() {
+        return refreshAheadRatio;
+    }
+
+    public synchronized long getStaleWhileRevalidateMilliseconds() {
+        return staleWhileRevalidateMilliseconds;
+    }
+
+    /**
+     * @return The number of reads served from the cache
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return The number of reads that had to go to Vault
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return The number of reads served a stale entry (included in the hit count)
+     */
+    public synchronized long getStaleHitCount() {
+        return staleHitCount;
+    }
+
+    /**
+     * @return The number of background refreshes started
+     */
+    public synchronized long getRefreshCount() {
+        return refreshCount;
+    }
+
+    /**
+     * @return The number of background refreshes that failed
+     */
+    public synchronized long getRefreshFailureCount() {
+        return refreshFailureCount;
+    }
+
+    /**
+     * @return The number of entries evicted to make room for others
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return The number of entries currently held, including any that have expired but not yet been replaced
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * <p>Discards every cached secret, e.g. after a change made by some other client.</p>
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        keysByPath.clear();
+        invalidations.clear();
+        invalidationCount++;
+        invalidationFloor = invalidationCount;
+    }
+
+    /**
+     * <p>Serves a blocking read from the cache if possible, or else loads it from Vault and caches the result.  Any
+     * background refresh runs on the <code>refreshExecutor</code>.</p>
+     *
+     * @param nameSpace The namespace of the read (may be <code>null</code>)
+     * @param path      The secret path
+     * @param version   The KV version 2 secret version, or <code>null</code> for the latest
+     * @param token     The token with which the read is being made
+     * @param loader    Reads the secret from Vault
+     * @return The cached or freshly-read response
+     * @throws VaultException If there is no usable cached entry, and the read from Vault fails
+     */
+    LogicalResponse read(final String nameSpace, final String path, final Integer version, final String token,
+                         final Loader loader) throws VaultException {
+        final Key key = new Key(nameSpace, path, version);
+        final Lookup lookup = lookup(key, token);
+        if (lookup.refresh) {
+            try {
+                refreshExecutor.execute(() -> {
+                    try {
+                        put(key, token, loader.load(), lookup);
+                    } catch (VaultException | RuntimeException e) {
+                        refreshFailed(key);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                refreshFailed(key);
+            }
+        }
+        if (lookup.response != null) {
+            return lookup.response;
+        }
+        final LogicalResponse response = loader.load();
+        put(key, token, response, lookup);
+        return response;
+    }
+
+    /**
+     * <p>The non-blocking equivalent of {@link #read(String, String, Integer, String, Loader)}.  Background refreshes
+     * are started through the supplied loader itself, rather than on the <code>refreshExecutor</code>.</p>
+     */
+    CompletableFuture<LogicalResponse> readAsync(final String nameSpace, final String path, final Integer version,
+                                                 final String token,
+                                                 final Supplier<CompletableFuture<LogicalResponse>> loader) {
+        final Key key = new Key(nameSpace, path, version);
+        final Lookup lookup = lookup(key, token);
+        if (lookup.refresh) {
+            load(loader).whenComplete((response, error) -> {
+                if (error == null) {
+                    put(key, token, response, lookup);
+                } else {
+                    refreshFailed(key);
+                }
+            });
+        }
+        if (lookup.response != null) {
+            return CompletableFuture.completedFuture(lookup.response);
+        }
+        return load(loader).thenApply(response -> {
+            put(key, token, response, lookup);
+            return response;
+        });
+    }
+
+    private static CompletableFuture<LogicalResponse> load(final Supplier<CompletableFuture<LogicalResponse>> loader) {
+        try {
+            return loader.get();
+        } catch (RuntimeException e) {
+            final CompletableFuture<LogicalResponse> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    /**
+     * <p>Finds the entry for a read, and decides whether it should be served as-is, served stale, or refreshed.</p>
+     */
+    private synchronized Lookup lookup(final Key key, final String token) {
+        final CachedResponse entry = entries.get(key);
+        if (entry == null || !Objects.equals(entry.token, token)) {
+            missCount++;
+            return new Lookup(null, null, invalidationCount);
+        }
+        final long now = System.nanoTime();
+        if (now - entry.expiresAtNanos < 0) {
+            hitCount++;
+            final boolean refresh = !entry.refreshing && entry.refreshAtNanos != entry.expiresAtNanos
+                    && now - entry.refreshAtNanos >= 0;
+            if (refresh) {
+                entry.refreshing = true;
+                refreshCount++;
+            }
+            return new Lookup(new LogicalResponse(entry.response, false), refresh ? entry : null, invalidationCount);
+        }
+        if (now - entry.expiresAtNanos < TimeUnit.MILLISECONDS.toNanos(staleWhileRevalidateMilliseconds)) {
+            hitCount++;
+            staleHitCount++;
+            final boolean refresh = !entry.refreshing;
+            if (refresh) {
+                entry.refreshing = true;
+                refreshCount++;
+            }
+            return new Lookup(new LogicalResponse(entry.response, true), refresh ? entry : null, invalidationCount);
+        }
+        entries.remove(key);
+        unindex(key);
+        missCount++;
+        return new Lookup(null, null, invalidationCount);
+    }
+
+    private synchronized void put(final Key key, final String token, final LogicalResponse response,
+                                  final Lookup lookup) {
+        final Long invalidatedAt = invalidations.get(key.pathKey);
+        if (lookup.readStartedAt < invalidationFloor
+                || (invalidatedAt != null && invalidatedAt > lookup.readStartedAt)) {
+            // This path was written or deleted while the read was in flight, so the response may already be out of
+            // date.  A discarded refresh must still unlock its entry, or no further refresh of it would ever be
+            // started.
+            if (lookup.refreshing != null && entries.get(key) == lookup.refreshing) {
+                lookup.refreshing.refreshing = false;
+            }
+            return;
+        }
+        long ttlMilliseconds = maxTtlMilliseconds;
+        final Long leaseDuration = response.getLeaseDuration();
+        if (leaseDuration != null && leaseDuration > 0) {
+            ttlMilliseconds = Math.min(ttlMilliseconds, TimeUnit.SECONDS.toMillis(leaseDuration));
+        }
+        final long now = System.nanoTime();
+        final long expiresAtNanos = now + TimeUnit.MILLISECONDS.toNanos(ttlMilliseconds);
+        final long refreshAtNanos = refreshAheadRatio > 0.0
+                ? now + (long) (TimeUnit.MILLISECONDS.toNanos(ttlMilliseconds) * refreshAheadRatio)
+                : expiresAtNanos;
+        // A copy, so that the caller who read it cannot modify what later hits are served
+        entries.put(key, new CachedResponse(new LogicalResponse(response, false), token, refreshAtNanos,
+                expiresAtNanos));
+        keysByPath.computeIfAbsent(key.pathKey, pathKey -> new HashSet<>(2)).add(key);
+    }
+
+    private void unindex(final Key key) {
+        final Set<Key> keys = keysByPath.get(key.pathKey);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            keysByPath.remove(key.pathKey);
+        }
+    }
+
+    /**
+     * <p>Allows another refresh of an entry to be attempted, on its next read.</p>
+     */
+    private synchronized void refreshFailed(final Key key) {
+        refreshFailureCount++;
+        final CachedResponse entry = entries.get(key);
+        if (entry != null) {
+            entry.refreshing = false;
+        }
+    }
+
+    /**
+     * <p>Discards every cached version of a path.</p>
+     */
+    synchronized void invalidate(final String nameSpace, final String path) {
+        final PathKey pathKey = new PathKey(nameSpace, path);
+        final Set<Key> keys = keysByPath.remove(pathKey);
+        if (keys != null) {
+            entries.keySet().removeAll(keys);
+        }
+        invalidationCount++;
+        // Re-inserted, so that the most recently invalidated paths are the last to be forgotten
+        invalidations.remove(pathKey);
+        invalidations.put(pathKey, invalidationCount);
+    }
+
+    private static final class PathKey {
+
+        private final String nameSpace;
+        private final String path;
+
+        private PathKey(final String nameSpace, final String path) {
+            this.nameSpace = nameSpace;
+            this.path = path;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PathKey)) {
+                return false;
+            }
+            final PathKey other = (PathKey) o;
+            return path.equals(other.path) && Objects.equals(nameSpace, other.nameSpace);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(nameSpace) + path.hashCode();
+        }
+    }
+
+    private static final class Key {
+
+        private final PathKey pathKey;
+        private final Integer version;
+
+        private Key(final String nameSpace, final String path, final Integer version) {
+            this.pathKey = new PathKey(nameSpace, path);
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return pathKey.equals(other.pathKey) && Objects.equals(version, other.version);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * pathKey.hashCode() + Objects.hashCode(version);
+        }
+    }
+
+    private static final class CachedResponse {
+
+        private final LogicalResponse response;
+        private final String token;
+        private final long refreshAtNanos;
+        private final long expiresAtNanos;
+        private boolean refreshing;
+
+        private CachedResponse(final LogicalResponse response, final String token, final long refreshAtNanos,
+                               final long expiresAtNanos) {
+            this.response = response;
+            this.token = token;
+            this.refreshAtNanos = refreshAtNanos;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    /**
+     * <p>The outcome of looking up a read:  the response to serve (if any), the entry for which to start a background
+     * refresh (if any), and the invalidation count at the time of the lookup, against which any later invalidation of
+     * the same path is compared.</p>
+     */
+    private static final class Lookup {
+
+        private final LogicalResponse response;
+        private final boolean refresh;
+        private final CachedResponse refreshing;
+        private final long readStartedAt;
+
+        private Lookup(final LogicalResponse response, final CachedResponse refreshing, final long readStartedAt) {
+            this.response = response;
+            this.refresh = refreshing != null;
+            this.refreshing = refreshing;
+            this.readStartedAt = readStartedAt;
+        }
+    }
+
+    /**
+     * <p>A blocking read of a secret from Vault.</p>
+     */
+    interface Loader {
+        LogicalResponse load() throws VaultException;
+    }
+
+    /**
+     * <p>Holder for the lazily-created default refresh executor.</p>
+     */
+    private static final class DefaultRefreshExecutor {
+
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "vault-secret-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.bettercloud.vault.api;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import com.bettercloud.vault.VaultException;
+import com.bettercloud.vault.response.LogicalResponse;
+
+
+/**
+ * <p>Coalesces identical reads that are in flight at the same time.  The first caller for a given method, URL,
+ * namespace and token performs the read (including any retries), and every caller that arrives before it finishes
+ * waits for, and receives, the very same <code>LogicalResponse</code> (or failure).</p>
+ *
+ * <p>Only idempotent reads are ever coalesced.  A read is keyed by the token it is made with, so callers holding
+ * different tokens (and so, potentially, different policies) never see each other's responses.  Nothing is
+ * remembered once a read completes;  for that, see {@link SecretCache}.</p>
+ *
+ * <p>Each <code>VaultConfig</code> holds its own instance, so reads are only ever shared between callers using the
+ * same config, and so the same transport, SSL settings and retry policy.</p>
+ *
+ * <p>This class is not intended to be used directly by application code.  It is <code>public</code> only so that
+ * <code>VaultConfig</code> can hold one.</p>
+ */
+public final class SingleFlight {
+
+    private final ConcurrentMap<Key, CompletableFuture<LogicalResponse>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * <p>Performs a blocking read, or joins an identical one that is already in flight.</p>
+     *
+     * @param method    The HTTP method (e.g. <code>GET</code>)
+     * @param url       The full request URL, including any query parameters
+     * @param nameSpace The namespace of the read (may be <code>null</code>)
+     * @param token     The token with which the read is made
+     * @param loader    Performs the read
+     * @return The response, shared with every other caller that joined the same read
+     * @throws VaultException If the shared read fails
+     */
+    LogicalResponse execute(final String method, final String url, final String nameSpace, final String token,
+                            final SecretCache.Loader loader) throws VaultException {
+        final Key key = new Key(method, url, nameSpace, token);
+        final CompletableFuture<LogicalResponse> mine = new CompletableFuture<>();
+        final CompletableFuture<LogicalResponse> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            final LogicalResponse response = loader.load();
+            mine.complete(response);
+            return response;
+        } catch (VaultException | RuntimeException | Error e) {
+            // Even an Error, so that the callers that joined this read are not left waiting forever
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * <p>The non-blocking equivalent of {@link #execute(String, String, String, String, SecretCache.Loader)}.</p>
+     */
+    CompletableFuture<LogicalResponse> executeAsync(final String method, final String url, final String nameSpace,
+                                                    final String token,
+                                                    final Supplier<CompletableFuture<LogicalResponse>> loader) {
+        final Key key = new Key(method, url, nameSpace, token);
+        final CompletableFuture<LogicalResponse> mine = new CompletableFuture<>();
+        final CompletableFuture<LogicalResponse> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return dependent(existing);
+        }
+        CompletableFuture<LogicalResponse> pending;
+        try {
+            pending = loader.get();
+        } catch (RuntimeException e) {
+            pending = new CompletableFuture<>();
+            pending.completeExceptionally(e);
+        } catch (Error e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        pending.whenComplete((response, error) -> {
+            inFlight.remove(key, mine);
+            if (error == null) {
+                mine.complete(response);
+            } else {
+                mine.completeExceptionally(error);
+            }
+        });
+        return dependent(mine);
+    }
+
+    /**
+     * <p>A separate future for each caller, so that one caller cancelling its future does not cancel everyone else's.
+     * It fails with the very same exception as the shared read (e.g. a <code>VaultException</code>), rather than
+     * with a <code>CompletionException</code> wrapping it, just as an uncoalesced read would.</p>
+     */
+    private static CompletableFuture<LogicalResponse> dependent(final CompletableFuture<LogicalResponse> shared) {
+        final CompletableFuture<LogicalResponse> result = new CompletableFuture<>();
+        shared.whenComplete((response, error) -> {
+            if (error == null) {
+                result.complete(response);
+            } else {
+                result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+        });
+        return result;
+    }
+
+    private static LogicalResponse await(final CompletableFuture<LogicalResponse> inFlight) throws VaultException {
+        try {
+            return inFlight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new VaultException(e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof VaultException) {
+                throw (VaultException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new VaultException(cause);
+        }
+    }
+
+    private static final class Key {
+
+        private final String method;
+        private final String url;
+        private final String nameSpace;
+        private final String token;
+
+        private Key(final String method, final String url, final String nameSpace, final String token) {
+            this.method = method;
+            this.url = url;
+            this.nameSpace = nameSpace;
+            this.token = token;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return method.equals(other.method) && url.equals(other.url) && Objects.equals(nameSpace, other.nameSpace)
+                    && Objects.equals(token, other.token);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(method, url, nameSpace, token);
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.bettercloud.vault.api;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Counters for an export or import by {@link NdjsonTransfer}, which may be read from any thread while the transfer
+ * is running (e.g. to report progress), as well as after it has finished.</p>
+ */
+public final class TransferProgress {
+
+    private final AtomicLong secrets = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final long startNanos = System.nanoTime();
+    private volatile long endNanos;
+
+    TransferProgress() {
+    }
+
+    void secretTransferred() {
+        secrets.incrementAndGet();
+    }
+
+    void secretFailed() {
+        failures.incrementAndGet();
+    }
+
+    void bytesTransferred(final long count) {
+        bytes.addAndGet(count);
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    /**
+     * @return The number of secrets exported or imported so far
+     */
+    public long getSecrets() {
+        return secrets.get();
+    }
+
+    /**
+     * @return The number of secrets that could not be read (when exporting) or written (when importing) so far
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * @return The number of NDJSON bytes written (when exporting) or read (when importing) so far
+     */
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    /**
+     * @return Whether the transfer has finished, successfully or not
+     */
+    public boolean isFinished() {
+        return endNanos != 0;
+    }
+
+    /**
+     * @return The time taken by the transfer so far, or in all if it has finished
+     */
+    public long getElapsedMillis() {
+        final long end = endNanos;
+        return TimeUnit.NANOSECONDS.toMillis((end != 0 ? end : System.nanoTime()) - startNanos);
+    }
+
+    /**
+     * @return The average number of secrets transferred per second so far
+     */
+    public double getSecretsPerSecond() {
+        return perSecond(getSecrets());
+    }
+
+    /**
+     * @return The average number of bytes transferred per second so far
+     */
+    public double getBytesPerSecond() {
+        return perSecond(getBytes());
+    }
+
+    private double perSecond(final long count) {
+        final long end = endNanos;
+        final long nanos = (end != 0 ? end : System.nanoTime()) - startNanos;
+        return nanos <= 0 ? 0 : count * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "TransferProgress{secrets=" + getSecrets() + ", failures=" + getFailures() + ", bytes=" + getBytes()
+                + ", elapsedMillis=" + getElapsedMillis() + "}";
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.bettercloud.vault.api;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import com.bettercloud.vault.VaultConfig;
+import com.bettercloud.vault.VaultException;
+import com.bettercloud.vault.response.LogicalResponse;
+
+/**
+ * <p>The loop behind {@link Logical#deleteTree(String)} and {@link Logical#destroyTree(String, boolean)}, which walks a
+ * tree of secrets and removes each one as soon as it is found.</p>
+ *
+ * <p>The calling thread consumes the walk, starting one removal per path with at most <code>parallelism</code> of
+ * them in flight.  A removal that fails is recorded and does not stop the others.  When Vault responds with HTTP 429
+ * (once the config's own retries, if any, are exhausted), the path is tried again after a backoff that grows with each
+ * attempt, and no new removals are started until that backoff has passed.  So a rate-limited Vault sees the whole
+ * operation slow down, rather than a steady stream of requests it has to reject.</p>
+ */
+final class TreeDelete {
+
+    /**
+     * <p>The number of HTTP 429 responses for a single path after which it is reported as a failure.</p>
+     */
+    static final int MAX_RATE_LIMITED_ATTEMPTS = 8;
+
+    /**
+     * <p>The base backoff after an HTTP 429 response, unless the config sets a retry interval.</p>
+     */
+    static final long DEFAULT_BACKOFF_MILLISECONDS = 1000L;
+
+    private final Logical logical;
+    private final VaultConfig config;
+    private final Function<String, CompletableFuture<LogicalResponse>> removal;
+    private final int parallelism;
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler = Retrier.defaultScheduler();
+    private final Semaphore permits;
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong pausedUntilNanos = new AtomicLong(System.nanoTime());
+    private final Map<String, VaultException> failures = new ConcurrentHashMap<>();
+
+    TreeDelete(final Logical logical, final VaultConfig config,
+               final Function<String, CompletableFuture<LogicalResponse>> removal, final int parallelism,
+               final Executor executor) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.logical = logical;
+        this.config = config;
+        this.removal = removal;
+        this.parallelism = parallelism;
+        this.executor = executor;
+        this.permits = new Semaphore(parallelism);
+    }
+
+    /**
+     * @param prefix The Vault path beneath which to remove every secret
+     * @return The number of secrets removed, and the error for each one that was not
+     * @throws VaultException If a folder cannot be listed, or the thread is interrupted
+     */
+    BulkDeleteResult run(final String prefix) throws VaultException {
+        try (Stream<String> paths = logical.walk(prefix, parallelism, executor)) {
+            final Iterator<String> iterator = paths.iterator();
+            while (iterator.hasNext()) {
+                final String path = iterator.next();
+                permits.acquire();
+                awaitBackoff();
+                attempt(path, 1);
+            }
+        } catch (IllegalStateException e) {
+            throw e.getCause() instanceof VaultException ? (VaultException) e.getCause() : new VaultException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new VaultException(e);
+        } finally {
+            // Waits for the removals still in flight
+            permits.acquireUninterruptibly(parallelism);
+        }
+        return new BulkDeleteResult(deleted.get(), rateLimited.get(), failures);
+    }
+
+    private void awaitBackoff() throws InterruptedException {
+        long remaining;
+        while ((remaining = pausedUntilNanos.get() - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    private void attempt(final String path, final int attempt) {
+        CompletableFuture<LogicalResponse> pending;
+        try {
+            pending = removal.apply(path);
+        } catch (RuntimeException e) {
+            pending = new CompletableFuture<>();
+            pending.completeExceptionally(e);
+        }
+        pending.whenComplete((response, error) -> {
+            if (error == null) {
+                deleted.incrementAndGet();
+                permits.release();
+                return;
+            }
+            final Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            final VaultException failure = cause instanceof VaultException
+                    ? (VaultException) cause : new VaultException(cause);
+            if (failure.getHttpStatusCode() == 429 && attempt < MAX_RATE_LIMITED_ATTEMPTS) {
+                rateLimited.incrementAndGet();
+                final long delay = backoffMilliseconds(attempt);
+                final long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+                pausedUntilNanos.accumulateAndGet(until, (current, next) -> next - current > 0 ? next : current);
+                try {
+                    scheduler.schedule(() -> attempt(path, attempt + 1), delay, TimeUnit.MILLISECONDS);
+                    return;
+                } catch (RejectedExecutionException e) {
+                    // Scheduler has been shut down, so report the 429
+                }
+            }
+            failures.put(path, failure);
+            permits.release();
+        });
+    }
+
+    private long backoffMilliseconds(final int attempt) {
+        final long interval = config.getRetryIntervalMilliseconds() > 0
+                ? config.getRetryIntervalMilliseconds() : DEFAULT_BACKOFF_MILLISECONDS;
+        return config.getRetryPolicy().delayMilliseconds(attempt, interval);
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.bettercloud.vault.api;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * <p>The iterator behind {@link Logical#walk(String)}, which lists a tree of folders in parallel and yields the path
+ * of every secret found in it.</p>
+ *
+ * <p>Folders waiting to be listed are kept on a stack, so the tree is walked roughly depth-first and the number of
+ * pending folders stays small.  Listings are started by the consuming thread, whenever it asks for the next path,
+ * with at most <code>parallelism</code> of them in flight, and only while fewer than {@link #BUFFER_SIZE} listed
+ * paths are waiting to be consumed.  So a slow consumer slows the walk down, rather than letting listed paths pile
+ * up in memory.  Listings complete on other threads, which only record their keys and wake the consumer.</p>
+ */
+final class TreeWalk implements Iterator<String> {
+
+    /**
+     * <p>The number of listed paths beyond which no further listings are started until some are consumed.</p>
+     */
+    static final int BUFFER_SIZE = 4096;
+
+    private final AsyncLogical logical;
+    private final String root;
+    private final int parallelism;
+    private final Deque<String> folders = new ArrayDeque<>();
+    private final Deque<String> ready = new ArrayDeque<>();
+    private int inFlight;
+    private boolean closed;
+    private RuntimeException failure;
+
+    TreeWalk(final AsyncLogical logical, final String root, final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.logical = logical;
+        this.root = root.endsWith("/") ? root : root + "/";
+        this.parallelism = parallelism;
+        folders.push(this.root);
+    }
+
+    /**
+     * @throws IllegalStateException If a folder could not be listed (caused by a <code>VaultException</code>), or the
+     *                               thread was interrupted while waiting for a listing
+     */
+    @Override
+    public synchronized boolean hasNext() {
+        while (true) {
+            if (closed) {
+                return false;
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            listMore();
+            if (!ready.isEmpty()) {
+                return true;
+            }
+            if (inFlight == 0 && folders.isEmpty()) {
+                return false;
+            }
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while walking " + root, e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return ready.poll();
+    }
+
+    /**
+     * <p>Stops the walk.  Listings already in flight are left to complete, but their keys are discarded.</p>
+     */
+    synchronized void close() {
+        closed = true;
+        ready.clear();
+        folders.clear();
+        notifyAll();
+    }
+
+    private void listMore() {
+        while (inFlight < parallelism && !folders.isEmpty() && ready.size() < BUFFER_SIZE && failure == null) {
+            final String folder = folders.pop();
+            inFlight++;
+            CompletableFuture<List<String>> listing;
+            try {
+                listing = logical.listAsync(folder);
+            } catch (RuntimeException e) {
+                listing = new CompletableFuture<>();
+                listing.completeExceptionally(e);
+            }
+            listing.whenComplete((keys, error) -> listed(folder, keys, error));
+        }
+    }
+
+    private synchronized void listed(final String folder, final List<String> keys, final Throwable error) {
+        inFlight--;
+        if (closed) {
+            return;
+        }
+        if (error != null) {
+            final Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            if (failure == null) {
+                failure = new IllegalStateException("Could not list " + folder, cause);
+            }
+        } else {
+            // Pushed in reverse, so that sub-folders are listed in the order Vault returned them
+            for (int i = keys.size() - 1; i >= 0; i--) {
+                final String key = keys.get(i);
+                if (key.endsWith("/")) {
+                    folders.push(folder + key);
+                }
+            }
+            for (final String key : keys) {
+                if (!key.endsWith("/")) {
+                    ready.add(folder + key);
+                }
+            }
+        }
+        notifyAll();
+    }
+
+}
@@ -2,10 +2,13 @@ package com.bettercloud.vault.api.mounts;
 
 import com.bettercloud.vault.VaultConfig;
 import com.bettercloud.vault.VaultException;
+import com.bettercloud.vault.api.Retrier;
 import com.bettercloud.vault.response.MountResponse;
 import com.bettercloud.vault.rest.Rest;
 import com.bettercloud.vault.rest.RestResponse;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * <p>The implementing class for operations on Vault's <code>/v1/sys/mounts/*</code> REST endpoints.</p>
  *
@@ -41,44 +44,25 @@ public class Mounts {
      * @throws VaultException If any error occurs or unexpected response is received from Vault
      */
     public MountResponse list() throws VaultException {
-        int retryCount = 0;
-
-        while (true) {
-            try {
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(String.format("%s/v1/sys/mounts", config.getAddress()))
-                        .header("X-Vault-Token", config.getToken())
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .get();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 200) {
-                    String body = restResponse.getBody() != null ? new String(restResponse.getBody()) : "(no body)";
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus() + " " + body, restResponse.getStatus());
-                }
-
-                return new MountResponse(restResponse, retryCount, true);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up
-                    throw (VaultException)e;
-                } else {
-                    throw new VaultException(e);
-                }
+        return Retrier.execute(config, retryCount -> {
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(String.format("%s/v1/sys/mounts", config.getAddress()))
+                    .header("X-Vault-Token", config.getToken())
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .get();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 200) {
+                String body = restResponse.getBody() != null ? new String(restResponse.getBody()) : "(no body)";
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus() + " " + body, restResponse.getStatus());
             }
-        }
+
+            return new MountResponse(restResponse, retryCount, true);
+        });
     }
 
     /**
@@ -116,56 +100,36 @@ public class Mounts {
      * @throws VaultException If any error occurs or unexpected response is received from Vault
      */
     public MountResponse enable(final String path, final MountType type, final MountPayload payload) throws VaultException {
-        int retryCount = 0;
-
-        while (true) {
-            try {
-                if (type == null) {
-                    throw new VaultException("Mount type is missing");
-                }
-
-                if (payload == null) {
-                    throw new VaultException("MountPayload is missing");
-                }
-
-                final String requestJson = payload.toEnableJson(type).toString();
-
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(String.format("%s/v1/sys/mounts/%s", config.getAddress(), path))
-                        .header("X-Vault-Token", config.getToken())
-                        .body(requestJson.getBytes("UTF-8"))
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 204) {
-                    String body = restResponse.getBody() != null ? new String(restResponse.getBody()) : "(no body)";
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus() + " " + body, restResponse.getStatus());
-                }
+        return Retrier.execute(config, retryCount -> {
+            if (type == null) {
+                throw new VaultException("Mount type is missing");
+            }
 
-                return new MountResponse(restResponse, retryCount, false);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
+            if (payload == null) {
+                throw new VaultException("MountPayload is missing");
+            }
 
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException)e;
-                } else {
-                    throw new VaultException(e);
-                }
+            final String requestJson = payload.toEnableJson(type).toString();
+
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(String.format("%s/v1/sys/mounts/%s", config.getAddress(), path))
+                    .header("X-Vault-Token", config.getToken())
+                    .body(requestJson.getBytes(StandardCharsets.UTF_8))
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 204) {
+                String body = restResponse.getBody() != null ? new String(restResponse.getBody()) : "(no body)";
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus() + " " + body, restResponse.getStatus());
             }
-        }
+
+            return new MountResponse(restResponse, retryCount, false);
+        });
     }
 
     /**
@@ -193,45 +157,25 @@ public class Mounts {
      * @throws VaultException If any error occurs or unexpected response is received from Vault
      */
     public MountResponse disable(final String path) throws VaultException {
-        int retryCount = 0;
-
-        while (true) {
-            try {
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(String.format("%s/v1/sys/mounts/%s", config.getAddress(), path))
-                        .header("X-Vault-Token", config.getToken())
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .delete();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 204) {
-                    String body = restResponse.getBody() != null ? new String(restResponse.getBody()) : "(no body)";
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus() + " " + body, restResponse.getStatus());
-                }
-
-                return new MountResponse(restResponse, retryCount, false);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException)e;
-                } else {
-                    throw new VaultException(e);
-                }
+        return Retrier.execute(config, retryCount -> {
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(String.format("%s/v1/sys/mounts/%s", config.getAddress(), path))
+                    .header("X-Vault-Token", config.getToken())
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .delete();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 204) {
+                String body = restResponse.getBody() != null ? new String(restResponse.getBody()) : "(no body)";
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus() + " " + body, restResponse.getStatus());
             }
-        }
+
+            return new MountResponse(restResponse, retryCount, false);
+        });
     }
 
     /**
@@ -259,45 +203,25 @@ public class Mounts {
      * @throws VaultException If any error occurs or unexpected response is received from Vault
      */
     public MountResponse read(final String path) throws VaultException {
-        int retryCount = 0;
-
-        while (true) {
-            try {
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(String.format("%s/v1/sys/mounts/%s/tune", config.getAddress(), path))
-                        .header("X-Vault-Token", config.getToken())
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .get();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 200 && restResponse.getStatus() != 404) {
-                    String body = restResponse.getBody() != null ? new String(restResponse.getBody()) : "(no body)";
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus() + " " + body, restResponse.getStatus());
-                }
-
-                return new MountResponse(restResponse, retryCount, false);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException)e;
-                } else {
-                    throw new VaultException(e);
-                }
+        return Retrier.execute(config, retryCount -> {
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(String.format("%s/v1/sys/mounts/%s/tune", config.getAddress(), path))
+                    .header("X-Vault-Token", config.getToken())
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .get();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 200 && restResponse.getStatus() != 404) {
+                String body = restResponse.getBody() != null ? new String(restResponse.getBody()) : "(no body)";
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus() + " " + body, restResponse.getStatus());
             }
-        }
+
+            return new MountResponse(restResponse, retryCount, false);
+        });
     }
 
     /**
@@ -334,51 +258,31 @@ public class Mounts {
      * @throws VaultException If any error occurs or unexpected response is received from Vault
      */
     public MountResponse tune(final String path, final MountPayload payload) throws VaultException {
-        int retryCount = 0;
-
-        while (true) {
-            try {
-                if (payload == null) {
-                    throw new VaultException("MountPayload is missing");
-                }
-
-                final String requestJson = payload.toTuneJson().toString();
-
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(String.format("%s/v1/sys/mounts/%s/tune", config.getAddress(), path))
-                        .header("X-Vault-Token", config.getToken())
-                        .body(requestJson.getBytes("UTF-8"))
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
-
-                // Validate restResponse
-                if (restResponse.getStatus() != 204) {
-                    String body = restResponse.getBody() != null ? new String(restResponse.getBody()) : "(no body)";
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus() + " " + body, restResponse.getStatus());
-                }
-
-                return new MountResponse(restResponse, retryCount, false);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
+        return Retrier.execute(config, retryCount -> {
+            if (payload == null) {
+                throw new VaultException("MountPayload is missing");
+            }
 
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException)e;
-                } else {
-                    throw new VaultException(e);
-                }
+            final String requestJson = payload.toTuneJson().toString();
+
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(String.format("%s/v1/sys/mounts/%s/tune", config.getAddress(), path))
+                    .header("X-Vault-Token", config.getToken())
+                    .body(requestJson.getBytes(StandardCharsets.UTF_8))
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
+
+            // Validate restResponse
+            if (restResponse.getStatus() != 204) {
+                String body = restResponse.getBody() != null ? new String(restResponse.getBody()) : "(no body)";
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus() + " " + body, restResponse.getStatus());
             }
-        }
+
+            return new MountResponse(restResponse, retryCount, false);
+        });
     }
 }
@@ -2,6 +2,7 @@ package com.bettercloud.vault.api.pki;
 
 import com.bettercloud.vault.VaultConfig;
 import com.bettercloud.vault.VaultException;
+import com.bettercloud.vault.api.Retrier;
 import com.bettercloud.vault.json.Json;
 import com.bettercloud.vault.json.JsonObject;
 import com.bettercloud.vault.response.PkiResponse;
@@ -108,45 +109,27 @@ public class Pki {
      * @throws VaultException If any error occurs or unexpected response is received from Vault
      */
     public PkiResponse createOrUpdateRole(final String roleName, final RoleOptions options) throws VaultException {
-        int retryCount = 0;
-        while (true) {
-            try {
-                final String requestJson = roleOptionsToJson(options);
+        return Retrier.execute(config, retryCount -> {
+            final String requestJson = roleOptionsToJson(options);
 
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(String.format("%s/v1/%s/roles/%s", config.getAddress(), this.mountPath, roleName))
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .body(requestJson.getBytes(StandardCharsets.UTF_8))
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(String.format("%s/v1/%s/roles/%s", config.getAddress(), this.mountPath, roleName))
+                    .header("X-Vault-Token", config.getToken())
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .body(requestJson.getBytes(StandardCharsets.UTF_8))
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
 
-                // Validate restResponse
-                if (restResponse.getStatus() != 204) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                return new PkiResponse(restResponse, retryCount);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+            // Validate restResponse
+            if (restResponse.getStatus() != 204) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
             }
-        }
+            return new PkiResponse(restResponse, retryCount);
+        });
     }
 
     /**
@@ -171,43 +154,25 @@ public class Pki {
      * @throws VaultException If any error occurs or unexpected response is received from Vault
      */
     public PkiResponse getRole(final String roleName) throws VaultException {
-        int retryCount = 0;
-        while (true) {
+        return Retrier.execute(config, retryCount -> {
             // Make an HTTP request to Vault
-            try {
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(String.format("%s/v1/%s/roles/%s", config.getAddress(), this.mountPath, roleName))
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .get();
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(String.format("%s/v1/%s/roles/%s", config.getAddress(), this.mountPath, roleName))
+                    .header("X-Vault-Token", config.getToken())
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .get();
 
-                // Validate response
-                if (restResponse.getStatus() != 200 && restResponse.getStatus() != 404) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                return new PkiResponse(restResponse, retryCount);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+            // Validate response
+            if (restResponse.getStatus() != 200 && restResponse.getStatus() != 404) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
             }
-        }
+            return new PkiResponse(restResponse, retryCount);
+        });
     }
 
     /**
@@ -233,49 +198,31 @@ public class Pki {
      * @throws VaultException If any error occurs or unexpected response is received from Vault
      */
     public PkiResponse revoke(final String serialNumber) throws VaultException {
-        int retryCount = 0;
-        while (true) {
-            // Make an HTTP request to Vault
-            JsonObject jsonObject = new JsonObject();
-            if (serialNumber != null) {
-                jsonObject.add("serial_number", serialNumber);
-            }
-            final String requestJson = jsonObject.toString();
-            try {
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(String.format("%s/v1/%s/revoke", config.getAddress(), this.mountPath))
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .body(requestJson.getBytes(StandardCharsets.UTF_8))
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
+        return Retrier.execute(config, retryCount -> {
+        // Make an HTTP request to Vault
+        JsonObject jsonObject = new JsonObject();
+        if (serialNumber != null) {
+            jsonObject.add("serial_number", serialNumber);
+        }
+        final String requestJson = jsonObject.toString();
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(String.format("%s/v1/%s/revoke", config.getAddress(), this.mountPath))
+                    .header("X-Vault-Token", config.getToken())
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .body(requestJson.getBytes(StandardCharsets.UTF_8))
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
 
-                // Validate response
-                if (restResponse.getStatus() != 200) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                return new PkiResponse(restResponse, retryCount);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+            // Validate response
+            if (restResponse.getStatus() != 200) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
             }
-        }
+            return new PkiResponse(restResponse, retryCount);
+        });
     }
 
     /**
@@ -300,43 +247,25 @@ public class Pki {
      * @throws VaultException If any error occurs or unexpected response is received from Vault
      */
     public PkiResponse deleteRole(final String roleName) throws VaultException {
-        int retryCount = 0;
-        while (true) {
+        return Retrier.execute(config, retryCount -> {
             // Make an HTTP request to Vault
-            try {
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(String.format("%s/v1/%s/roles/%s", config.getAddress(), this.mountPath, roleName))
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .delete();
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(String.format("%s/v1/%s/roles/%s", config.getAddress(), this.mountPath, roleName))
+                    .header("X-Vault-Token", config.getToken())
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .delete();
 
-                // Validate response
-                if (restResponse.getStatus() != 204) {
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
-                }
-                return new PkiResponse(restResponse, retryCount);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+            // Validate response
+            if (restResponse.getStatus() != 204) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus(), restResponse.getStatus());
             }
-        }
+            return new PkiResponse(restResponse, retryCount);
+        });
     }
 
     /**
@@ -419,82 +348,64 @@ public class Pki {
             final CredentialFormat format,
             final String csr
     ) throws VaultException {
-        int retryCount = 0;
-        while (true) {
-            // Construct a JSON body from inputs
-            final JsonObject jsonObject = Json.object();
-            if (commonName != null) {
-                jsonObject.add("common_name", commonName);
-            }
-            if (altNames != null && !altNames.isEmpty()) {
-                final StringBuilder altNamesCsv = new StringBuilder();//NOPMD
-                for (int index = 0; index < altNames.size(); index++) {
-                    altNamesCsv.append(altNames.get(index));
-                    if (index + 1 < altNames.size()) {
-                        altNamesCsv.append(',');
-                    }
+        return Retrier.execute(config, retryCount -> {
+        // Construct a JSON body from inputs
+        final JsonObject jsonObject = Json.object();
+        if (commonName != null) {
+            jsonObject.add("common_name", commonName);
+        }
+        if (altNames != null && !altNames.isEmpty()) {
+            final StringBuilder altNamesCsv = new StringBuilder();//NOPMD
+            for (int index = 0; index < altNames.size(); index++) {
+                altNamesCsv.append(altNames.get(index));
+                if (index + 1 < altNames.size()) {
+                    altNamesCsv.append(',');
                 }
-                jsonObject.add("alt_names", altNamesCsv.toString());
             }
-            if (ipSans != null && !ipSans.isEmpty()) {
-                final StringBuilder ipSansCsv = new StringBuilder();//NOPMD
-                for (int index = 0; index < ipSans.size(); index++) {
-                    ipSansCsv.append(ipSans.get(index));
-                    if (index + 1 < ipSans.size()) {
-                        ipSansCsv.append(',');
-                    }
+            jsonObject.add("alt_names", altNamesCsv.toString());
+        }
+        if (ipSans != null && !ipSans.isEmpty()) {
+            final StringBuilder ipSansCsv = new StringBuilder();//NOPMD
+            for (int index = 0; index < ipSans.size(); index++) {
+                ipSansCsv.append(ipSans.get(index));
+                if (index + 1 < ipSans.size()) {
+                    ipSansCsv.append(',');
                 }
-                jsonObject.add("ip_sans", ipSansCsv.toString());
             }
-            if (ttl != null) {
-                jsonObject.add("ttl", ttl);
-            }
-            if (format != null) {
-                jsonObject.add("format", format.toString());
-            }
-            if (csr != null) {
-                jsonObject.add("csr", csr);
-            }
-            final String requestJson = jsonObject.toString();
+            jsonObject.add("ip_sans", ipSansCsv.toString());
+        }
+        if (ttl != null) {
+            jsonObject.add("ttl", ttl);
+        }
+        if (format != null) {
+            jsonObject.add("format", format.toString());
+        }
+        if (csr != null) {
+            jsonObject.add("csr", csr);
+        }
+        final String requestJson = jsonObject.toString();
 
-            // Make an HTTP request to Vault
-            try {
-                String endpoint = (csr == null || csr.isEmpty()) ? "%s/v1/%s/issue/%s" : "%s/v1/%s/sign/%s";
-                final RestResponse restResponse = new Rest()//NOPMD
-                        .url(String.format(endpoint, config.getAddress(), this.mountPath, roleName))
-                        .header("X-Vault-Token", config.getToken())
-                        .optionalHeader("X-Vault-Namespace", this.nameSpace)
-                        .body(requestJson.getBytes(StandardCharsets.UTF_8))
-                        .connectTimeoutSeconds(config.getOpenTimeout())
-                        .readTimeoutSeconds(config.getReadTimeout())
-                        .sslVerification(config.getSslConfig().isVerify())
-                        .sslContext(config.getSslConfig().getSslContext())
-                        .post();
+        // Make an HTTP request to Vault
+            String endpoint = (csr == null || csr.isEmpty()) ? "%s/v1/%s/issue/%s" : "%s/v1/%s/sign/%s";
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(String.format(endpoint, config.getAddress(), this.mountPath, roleName))
+                    .header("X-Vault-Token", config.getToken())
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .body(requestJson.getBytes(StandardCharsets.UTF_8))
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
 
-                // Validate response
-                if (restResponse.getStatus() != 200 && restResponse.getStatus() != 404) {
-                    String body = restResponse.getBody() != null ? new String(restResponse.getBody()) : "(no body)";
-                    throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus() + " " + body, restResponse.getStatus());
-                }
-                return new PkiResponse(restResponse, retryCount);
-            } catch (Exception e) {
-                // If there are retries to perform, then pause for the configured interval and then execute the loop again...
-                if (retryCount < config.getMaxRetries()) {
-                    retryCount++;
-                    try {
-                        final int retryIntervalMilliseconds = config.getRetryIntervalMilliseconds();
-                        Thread.sleep(retryIntervalMilliseconds);
-                    } catch (InterruptedException e1) {
-                        e1.printStackTrace();
-                    }
-                } else if (e instanceof VaultException) {
-                    // ... otherwise, give up.
-                    throw (VaultException) e;
-                } else {
-                    throw new VaultException(e);
-                }
+            // Validate response
+            if (restResponse.getStatus() != 200 && restResponse.getStatus() != 404) {
+                String body = restResponse.getBody() != null ? new String(restResponse.getBody()) : "(no body)";
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus() + " " + body, restResponse.getStatus());
             }
-        }
+            return new PkiResponse(restResponse, retryCount);
+        });
     }
 
 
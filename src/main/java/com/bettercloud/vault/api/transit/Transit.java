@@ -0,0 +1,347 @@
+package com.bettercloud.vault.api.transit;
+
+import com.bettercloud.vault.VaultConfig;
+import com.bettercloud.vault.VaultException;
+import com.bettercloud.vault.api.BulkExecutor;
+import com.bettercloud.vault.api.Retrier;
+import com.bettercloud.vault.json.Json;
+import com.bettercloud.vault.json.JsonArray;
+import com.bettercloud.vault.json.JsonObject;
+import com.bettercloud.vault.json.JsonValue;
+import com.bettercloud.vault.json.ParseException;
+import com.bettercloud.vault.rest.Rest;
+import com.bettercloud.vault.rest.RestResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+
+/**
+ * <p>The implementing class for operations on Vault's Transit backend, which encrypts and decrypts data with keys
+ * that never leave Vault.</p>
+ *
+ * <p>Every operation takes a list of inputs, and sends them to Vault as the <code>batch_input</code> of as few
+ * requests as possible:  the inputs are split into batches of at most {@link #batchSize(int)} items, and up to
+ * {@link #parallelism(int)} batches are sent at a time.  So encrypting a million rows takes a few thousand requests,
+ * rather than a million.  Results are returned in the same order as the inputs, however the batches complete.
+ * E.g.:</p>
+ *
+ * <blockquote>
+ * <pre>{@code
+ * final Transit transit = vault.transit("transit").batchSize(500).parallelism(4);
+ *
+ * final List<String> ciphertexts = transit.encrypt("orders", plaintexts);
+ * final List<byte[]> decrypted = transit.decrypt("orders", ciphertexts);
+ * }</pre>
+ * </blockquote>
+ *
+ * <p>Each batch is retried as configured through <code>Vault.withRetries()</code>.  If Vault rejects a batch, or any
+ * single item within one, then no further batches are sent, and the failure is thrown once the batches already in
+ * flight have completed.</p>
+ *
+ * <p>This class is not intended to be constructed directly.  Rather, it is meant to used by way of <code>Vault</code>
+ * in a DSL-style builder pattern.  See the Javadoc comments of each <code>public</code> method for usage examples.</p>
+ */
+public class Transit {
+
+    /**
+     * <p>The maximum number of items sent in a single request, unless set with {@link #batchSize(int)}.</p>
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * <p>The number of requests in flight at a time, unless set with {@link #parallelism(int)}.</p>
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private final VaultConfig config;
+    private final String mountPath;
+    private String nameSpace;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int parallelism = DEFAULT_PARALLELISM;
+    private Executor executor = BulkExecutor.defaultExecutor();
+
+    public Transit withNameSpace(final String nameSpace) {
+        this.nameSpace = nameSpace;
+        return this;
+    }
+
+    /**
+     * Constructor for use when the Transit backend is mounted on the default path (i.e. <code>/v1/transit</code>).
+     *
+     * @param config A container for the configuration settings needed to initialize a <code>Vault</code> driver instance
+     */
+    public Transit(final VaultConfig config) {
+        this(config, "transit");
+    }
+
+    /**
+     * Constructor for use when the Transit backend is mounted on some non-default custom path (e.g. <code>/v1/orders-transit</code>).
+     *
+     * @param config    A container for the configuration settings needed to initialize a <code>Vault</code> driver instance
+     * @param mountPath The path on which your Vault Transit backend is mounted, without the <code>/v1/</code> prefix (e.g. <code>"orders-transit"</code>)
+     */
+    public Transit(final VaultConfig config, final String mountPath) {
+        this.config = config;
+        this.mountPath = mountPath;
+        if (this.config.getNameSpace() != null && !this.config.getNameSpace().isEmpty()) {
+            this.nameSpace = this.config.getNameSpace();
+        }
+    }
+
+    /**
+     * <p>Sets the maximum number of items sent to Vault in a single request.  Defaults to
+     * {@link #DEFAULT_BATCH_SIZE}.</p>
+     *
+     * @param batchSize The maximum number of items per request
+     * @return This object, with the batch size set
+     */
+    public Transit batchSize(final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * <p>Sets the maximum number of requests in flight at a time.  Defaults to {@link #DEFAULT_PARALLELISM}.</p>
+     *
+     * @param parallelism The maximum number of requests in flight at a time
+     * @return This object, with the parallelism set
+     */
+    public Transit parallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * <p>Sets the executor on which batches are sent, besides the calling thread.  Defaults to a pool of daemon
+     * threads shared with the driver's other bulk operations (e.g. <code>Logical.readAll()</code>).</p>
+     *
+     * @param executor The executor on which batches are sent
+     * @return This object, with the executor set
+     */
+    public Transit executor(final Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor cannot be null");
+        }
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * <p>Encrypts a single value with the named key.  Example usage:</p>
+     *
+     * <blockquote>
+     * <pre>{@code
+     * final String ciphertext = vault.transit().encrypt("orders", "4111 1111 1111 1111".getBytes(UTF_8));
+     *
+     * assertTrue(ciphertext.startsWith("vault:v1:"));
+     * }</pre>
+     * </blockquote>
+     *
+     * @param keyName   The name of the encryption key
+     * @param plaintext The data to encrypt
+     * @return The ciphertext (e.g. <code>vault:v1:...</code>)
+     * @throws VaultException If any error occurs or unexpected response is received from Vault
+     */
+    public String encrypt(final String keyName, final byte[] plaintext) throws VaultException {
+        return encrypt(keyName, Collections.singletonList(plaintext)).get(0);
+    }
+
+    /**
+     * <p>Encrypts many values with the named key, in batches.</p>
+     *
+     * @param keyName    The name of the encryption key
+     * @param plaintexts The data to encrypt
+     * @return The ciphertext of each value, in the same order
+     * @throws VaultException If any error occurs or unexpected response is received from Vault
+     */
+    public List<String> encrypt(final String keyName, final List<byte[]> plaintexts) throws VaultException {
+        return inBatches("encrypt", keyName, plaintexts,
+                plaintext -> Json.object().add("plaintext", Base64.getEncoder().encodeToString(plaintext)),
+                "ciphertext", Function.identity());
+    }
+
+    /**
+     * <p>Decrypts a single value with the named key.</p>
+     *
+     * @param keyName    The name of the encryption key
+     * @param ciphertext The ciphertext, as returned by {@link #encrypt(String, byte[])}
+     * @return The decrypted data
+     * @throws VaultException If any error occurs or unexpected response is received from Vault
+     */
+    public byte[] decrypt(final String keyName, final String ciphertext) throws VaultException {
+        return decrypt(keyName, Collections.singletonList(ciphertext)).get(0);
+    }
+
+    /**
+     * <p>Decrypts many values with the named key, in batches.</p>
+     *
+     * @param keyName     The name of the encryption key
+     * @param ciphertexts The ciphertexts, as returned by {@link #encrypt(String, List)}
+     * @return The decrypted data of each value, in the same order
+     * @throws VaultException If any error occurs or unexpected response is received from Vault
+     */
+    public List<byte[]> decrypt(final String keyName, final List<String> ciphertexts) throws VaultException {
+        return inBatches("decrypt", keyName, ciphertexts, ciphertext -> Json.object().add("ciphertext", ciphertext),
+                "plaintext", plaintext -> Base64.getDecoder().decode(plaintext));
+    }
+
+    /**
+     * <p>Re-encrypts a single value with the latest version of the named key, without revealing its plaintext.</p>
+     *
+     * @param keyName    The name of the encryption key
+     * @param ciphertext The ciphertext, encrypted with any version of the key
+     * @return The ciphertext, encrypted with the latest version of the key
+     * @throws VaultException If any error occurs or unexpected response is received from Vault
+     */
+    public String rewrap(final String keyName, final String ciphertext) throws VaultException {
+        return rewrap(keyName, Collections.singletonList(ciphertext)).get(0);
+    }
+
+    /**
+     * <p>Re-encrypts many values with the latest version of the named key, in batches (e.g. after rotating the
+     * key).</p>
+     *
+     * @param keyName     The name of the encryption key
+     * @param ciphertexts The ciphertexts, encrypted with any version of the key
+     * @return The ciphertext of each value, encrypted with the latest version of the key, in the same order
+     * @throws VaultException If any error occurs or unexpected response is received from Vault
+     */
+    public List<String> rewrap(final String keyName, final List<String> ciphertexts) throws VaultException {
+        return inBatches("rewrap", keyName, ciphertexts, ciphertext -> Json.object().add("ciphertext", ciphertext),
+                "ciphertext", Function.identity());
+    }
+
+    /**
+     * <p>Splits the inputs into batches, and sends them from up to <code>parallelism</code> lanes, each of which sends
+     * one batch after another.  The calling thread runs the first lane, so a single batch is sent without involving
+     * the executor at all.</p>
+     */
+    private <I, O> List<O> inBatches(final String operation, final String keyName, final List<I> inputs,
+                                     final Function<I, JsonObject> toItem, final String resultField,
+                                     final Function<String, O> fromResult) throws VaultException {
+        if (keyName == null || keyName.isEmpty()) {
+            throw new IllegalArgumentException("keyName cannot be empty");
+        }
+        final Object[] outputs = new Object[inputs.size()];
+        final int batches = (inputs.size() + batchSize - 1) / batchSize;
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicReference<VaultException> failure = new AtomicReference<>();
+        final Runnable lane = () -> {
+            int batch;
+            while (failure.get() == null && (batch = next.getAndIncrement()) < batches) {
+                final int from = batch * batchSize;
+                final int to = Math.min(from + batchSize, inputs.size());
+                try {
+                    sendBatch(operation, keyName, inputs.subList(from, to), from, toItem, resultField, fromResult,
+                            outputs);
+                } catch (VaultException e) {
+                    failure.compareAndSet(null, e);
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, new VaultException(e));
+                }
+            }
+        };
+        final List<CompletableFuture<Void>> others = new ArrayList<>();
+        for (int i = 1; i < Math.min(parallelism, batches); i++) {
+            others.add(CompletableFuture.runAsync(lane, executor));
+        }
+        lane.run();
+        try {
+            CompletableFuture.allOf(others.toArray(new CompletableFuture<?>[0])).get();
+        } catch (InterruptedException e) {
+            failure.compareAndSet(null, new VaultException(e));
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            failure.compareAndSet(null, new VaultException(e.getCause()));
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        @SuppressWarnings("unchecked") final List<O> results = (List<O>) Arrays.asList(outputs);
+        return results;
+    }
+
+    private <I, O> void sendBatch(final String operation, final String keyName, final List<I> batch, final int offset,
+                                  final Function<I, JsonObject> toItem, final String resultField,
+                                  final Function<String, O> fromResult, final Object[] outputs) throws VaultException {
+        final JsonArray batchInput = new JsonArray();
+        for (final I input : batch) {
+            batchInput.add(toItem.apply(input));
+        }
+        final JsonObject requestJson = Json.object().add("batch_input", batchInput);
+        final JsonArray batchResults = Retrier.execute(config, retryCount -> {
+            final RestResponse restResponse = new Rest()//NOPMD
+                    .url(String.format("%s/v1/%s/%s/%s", config.getAddress(), this.mountPath, operation, keyName))
+                    .header("X-Vault-Token", config.getToken())
+                    .optionalHeader("X-Vault-Namespace", this.nameSpace)
+                    .body(requestJson)
+                    .connectTimeoutSeconds(config.getOpenTimeout())
+                    .readTimeoutSeconds(config.getReadTimeout())
+                    .sslVerification(config.getSslConfig().isVerify())
+                    .sslContext(config.getSslConfig().getSslContext())
+                    .transport(config.getTransport())
+                    .post();
+
+            // Vault responds with a 400 if any item fails, naming the failure in that item's result
+            final JsonArray results = batchResults(restResponse);
+            if (restResponse.getStatus() != 200 && results == null) {
+                throw new VaultException("Vault responded with HTTP status code: " + restResponse.getStatus()
+                        + "\nResponse body: " + new String(restResponse.getBody(), StandardCharsets.UTF_8),
+                        restResponse.getStatus());
+            }
+            if (results == null || results.size() != batch.size()) {
+                throw new VaultException("Expected " + batch.size() + " batch_results from " + operation + ", but "
+                        + "received " + (results == null ? "none" : results.size()), restResponse.getStatus());
+            }
+            for (int i = 0; i < results.size(); i++) {
+                final JsonObject result = results.get(i).isObject() ? results.get(i).asObject() : Json.object();
+                final JsonValue error = result.get("error");
+                if (error != null && error.isString() && !error.asString().isEmpty()) {
+                    throw new VaultException("Could not " + operation + " item " + (offset + i) + ": "
+                            + error.asString(), restResponse.getStatus());
+                }
+                if (result.getString(resultField, null) == null) {
+                    throw new VaultException("Expected a " + resultField + " for item " + (offset + i) + " from "
+                            + operation, restResponse.getStatus());
+                }
+            }
+            return results;
+        });
+        for (int i = 0; i < batchResults.size(); i++) {
+            outputs[offset + i] = fromResult.apply(batchResults.get(i).asObject().getString(resultField, null));
+        }
+    }
+
+    /**
+     * @return The <code>batch_results</code> array of a response, or <code>null</code> if it has none
+     */
+    private static JsonArray batchResults(final RestResponse restResponse) {
+        final JsonValue root;
+        try {
+            root = restResponse.getJson();
+        } catch (ParseException e) {
+            return null;
+        }
+        final JsonValue data = root != null && root.isObject() ? root.asObject().get("data") : null;
+        final JsonValue results = data != null && data.isObject() ? data.asObject().get("batch_results") : null;
+        return results != null && results.isArray() ? results.asArray() : null;
+    }
+
+}
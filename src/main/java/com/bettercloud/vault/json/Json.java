@@ -22,7 +22,9 @@
 package com.bettercloud.vault.json;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 
@@ -82,7 +84,7 @@ public final class Json {
    * @return a JSON value that represents the given value
    */
   public static JsonValue value(int value) {
-    return new JsonNumber(Integer.toString(value, 10));
+    return new JsonNumber(value);
   }
   /**
    * Returns a JsonValue instance that represents the given <code>int[]</code> value.
@@ -103,7 +105,7 @@ public final class Json {
    * @return a JSON value that represents the given value
    */
   public static JsonValue value(long value) {
-    return new JsonNumber(Long.toString(value, 10));
+    return new JsonNumber(value);
   }
 
   /**
@@ -335,6 +337,101 @@ public final class Json {
     return new JsonParser( reader ).parse();
   }
 
+  /**
+   * Parses the given UTF-8 encoded bytes as JSON. The input must contain a valid JSON value,
+   * optionally padded with whitespace.
+   * <p>
+   * The bytes are parsed directly, without first being decoded to a string. String values are
+   * only decoded when they are read, and refer to the given array until then, so the array must
+   * not be modified afterwards.
+   * </p>
+   *
+   * @param bytes
+   *          the input bytes, must be valid JSON in UTF-8
+   * @return a value that represents the parsed JSON
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public static JsonValue parse(byte[] bytes) {
+    if (bytes == null) {
+      throw new NullPointerException("bytes is null");
+    }
+    return new JsonByteParser(bytes).parse();
+  }
+
+  /**
+   * Parses the given range of UTF-8 encoded bytes as JSON, as {@link #parse(byte[])} does. The
+   * offset of a {@link ParseException} is relative to the start of the range.
+   *
+   * @param bytes
+   *          the array containing the input bytes
+   * @param offset
+   *          the index of the first byte of the input
+   * @param length
+   *          the number of bytes in the input
+   * @return a value that represents the parsed JSON
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public static JsonValue parse(byte[] bytes, int offset, int length) {
+    if (bytes == null) {
+      throw new NullPointerException("bytes is null");
+    }
+    return new JsonByteParser(bytes, offset, length).parse();
+  }
+
+  /**
+   * Parses the remaining UTF-8 encoded bytes of the given buffer as JSON, as
+   * {@link #parse(byte[])} does. The position of the buffer is not changed. A buffer that is
+   * backed by an accessible array is parsed in place, so its contents must not be modified
+   * afterwards; any other buffer is copied first.
+   *
+   * @param buffer
+   *          the buffer to read the JSON value from
+   * @return a value that represents the parsed JSON
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public static JsonValue parse(ByteBuffer buffer) {
+    if (buffer == null) {
+      throw new NullPointerException("buffer is null");
+    }
+    if (buffer.hasArray()) {
+      return parse(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    }
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return parse(bytes);
+  }
+
+  /**
+   * Reads the entire given input stream and parses it as UTF-8 encoded JSON, as
+   * {@link #parse(byte[])} does. The stream is not closed.
+   *
+   * @param input
+   *          the input stream to read the JSON value from
+   * @return a value that represents the parsed JSON
+   * @throws IOException
+   *           if an I/O error occurs in the input stream
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public static JsonValue parse(InputStream input) throws IOException {
+    if (input == null) {
+      throw new NullPointerException("input is null");
+    }
+    byte[] bytes = new byte[1024];
+    int length = 0;
+    int read;
+    while ((read = input.read(bytes, length, bytes.length - length)) != -1) {
+      length += read;
+      if (length == bytes.length) {
+        bytes = Arrays.copyOf(bytes, length * 2);
+      }
+    }
+    return parse(bytes, 0, length);
+  }
+
   private static String cutOffPointZero(String string) {
     if (string.endsWith(".0")) {
       return string.substring(0, string.length() - 2);
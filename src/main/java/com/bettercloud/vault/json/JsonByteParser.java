@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2013, 2015 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.bettercloud.vault.json;
+
+
+/**
+ * A parser that reads JSON directly from UTF-8 encoded bytes, without first decoding the whole
+ * input to characters. Member names and numbers are decoded as they are parsed, but string values
+ * that contain no escape sequences are only decoded when they are first read (see
+ * {@link JsonString#asString()}), so the parsed values refer to the given array.
+ */
+@SuppressWarnings("PMD")
+class JsonByteParser extends JsonByteScanner {
+
+  JsonByteParser(byte[] bytes) {
+    this(bytes, 0, bytes.length);
+  }
+
+  JsonByteParser(byte[] bytes, int offset, int length) {
+    super(bytes, offset, length);
+  }
+
+  JsonValue parse() {
+    skipWhiteSpace();
+    JsonValue result = readValue();
+    skipWhiteSpace();
+    if (!isEndOfText()) {
+      throw error("Unexpected character");
+    }
+    return result;
+  }
+
+  private JsonValue readValue() {
+    switch (current()) {
+      case 'n':
+        readNull();
+        return Json.NULL;
+      case 't':
+        readTrue();
+        return Json.TRUE;
+      case 'f':
+        readFalse();
+        return Json.FALSE;
+      case '"':
+        return readString();
+      case '[':
+        return readArray();
+      case '{':
+        return readObject();
+      case '-':
+      case '0':
+      case '1':
+      case '2':
+      case '3':
+      case '4':
+      case '5':
+      case '6':
+      case '7':
+      case '8':
+      case '9':
+        return readNumber();
+      default:
+        throw expected("value");
+    }
+  }
+
+  private JsonArray readArray() {
+    index++;
+    JsonArray array = new JsonArray();
+    skipWhiteSpace();
+    if (readChar(']')) {
+      return array;
+    }
+    do {
+      skipWhiteSpace();
+      array.add(readValue());
+      skipWhiteSpace();
+    } while (readChar(','));
+    if (!readChar(']')) {
+      throw expected("',' or ']'");
+    }
+    return array;
+  }
+
+  private JsonObject readObject() {
+    index++;
+    JsonObject object = new JsonObject();
+    skipWhiteSpace();
+    if (readChar('}')) {
+      return object;
+    }
+    do {
+      skipWhiteSpace();
+      String name = readName();
+      skipWhiteSpace();
+      if (!readChar(':')) {
+        throw expected("':'");
+      }
+      skipWhiteSpace();
+      object.add(name, readValue());
+      skipWhiteSpace();
+    } while (readChar(','));
+    if (!readChar('}')) {
+      throw expected("',' or '}'");
+    }
+    return object;
+  }
+
+  private String readName() {
+    if (current() != '"') {
+      throw expected("name");
+    }
+    int from = index + 1;
+    boolean escaped = skipString();
+    if (escaped) {
+      return decode(bytes, from, index - 1, true);
+    }
+    return NameTable.NAMES.intern(bytes, from, index - 1);
+  }
+
+  private JsonValue readString() {
+    int from = index + 1;
+    boolean escaped = skipString();
+    if (escaped) {
+      return new JsonString(decode(bytes, from, index - 1, true));
+    }
+    return new JsonString(bytes, from, index - 1 - from);
+  }
+
+  private JsonValue readNumber() {
+    int from = index;
+    skipNumber();
+    return JsonNumber.valueOf(bytes, from, index);
+  }
+
+}
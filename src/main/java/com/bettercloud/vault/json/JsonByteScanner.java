@@ -0,0 +1,302 @@
+/*******************************************************************************
+ * Copyright (c) 2013, 2015 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.bettercloud.vault.json;
+
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * The lexical half of parsing JSON directly from UTF-8 encoded bytes, shared by
+ * {@link JsonByteParser} (which builds a tree of values) and {@link JsonTape} (which records the
+ * positions of tokens). Offsets and columns in a {@link ParseException} are counted in bytes.
+ */
+@SuppressWarnings("PMD")
+abstract class JsonByteScanner {
+
+  final byte[] bytes;
+  final int start;
+  final int end;
+  int index;
+  private int line;
+  private int lineOffset;
+
+  JsonByteScanner(byte[] bytes, int offset, int length) {
+    if (offset < 0 || length < 0 || offset > bytes.length - length) {
+      throw new IndexOutOfBoundsException("offset " + offset + ", length " + length
+          + ", array length " + bytes.length);
+    }
+    this.bytes = bytes;
+    start = offset;
+    end = offset + length;
+    index = offset;
+    line = 1;
+    lineOffset = offset;
+  }
+
+  void readNull() {
+    index++;
+    readRequiredChar('u');
+    readRequiredChar('l');
+    readRequiredChar('l');
+  }
+
+  void readTrue() {
+    index++;
+    readRequiredChar('r');
+    readRequiredChar('u');
+    readRequiredChar('e');
+  }
+
+  void readFalse() {
+    index++;
+    readRequiredChar('a');
+    readRequiredChar('l');
+    readRequiredChar('s');
+    readRequiredChar('e');
+  }
+
+  private void readRequiredChar(char ch) {
+    if (!readChar(ch)) {
+      throw expected("'" + ch + "'");
+    }
+  }
+
+  /*
+   * Validates the string starting at the current quote and moves past its closing quote. Returns
+   * whether it contains any escape sequences. Multi-byte UTF-8 sequences never contain a byte
+   * below 0x80, so they cannot be mistaken for a quote, a backslash or a control character.
+   */
+  boolean skipString() {
+    index++;
+    boolean escaped = false;
+    while (true) {
+      if (isEndOfText()) {
+        throw expected("valid string character");
+      }
+      byte ch = bytes[index];
+      if (ch == '"') {
+        index++;
+        return escaped;
+      }
+      if (ch == '\\') {
+        escaped = true;
+        skipEscape();
+      } else if (ch >= 0 && ch < 0x20) {
+        throw expected("valid string character");
+      } else {
+        index++;
+      }
+    }
+  }
+
+  private void skipEscape() {
+    index++;
+    switch (current()) {
+      case '"':
+      case '/':
+      case '\\':
+      case 'b':
+      case 'f':
+      case 'n':
+      case 'r':
+      case 't':
+        break;
+      case 'u':
+        for (int i = 0; i < 4; i++) {
+          index++;
+          if (!isHexDigit()) {
+            throw expected("hexadecimal digit");
+          }
+        }
+        break;
+      default:
+        throw expected("valid escape sequence");
+    }
+    index++;
+  }
+
+  /*
+   * Decodes the contents of a string that has already been validated by skipString(), from just
+   * after its opening quote up to its closing quote.
+   */
+  static String decode(byte[] bytes, int from, int to, boolean escaped) {
+    if (!escaped) {
+      return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+    }
+    StringBuilder builder = new StringBuilder(to - from);
+    int run = from;
+    int i = from;
+    while (i < to) {
+      if (bytes[i] != '\\') {
+        i++;
+        continue;
+      }
+      if (i > run) {
+        builder.append(new String(bytes, run, i - run, StandardCharsets.UTF_8));
+      }
+      char escape = (char)bytes[i + 1];
+      switch (escape) {
+        case 'b':
+          builder.append('\b');
+          break;
+        case 'f':
+          builder.append('\f');
+          break;
+        case 'n':
+          builder.append('\n');
+          break;
+        case 'r':
+          builder.append('\r');
+          break;
+        case 't':
+          builder.append('\t');
+          break;
+        case 'u':
+          int code = 0;
+          for (int k = i + 2; k < i + 6; k++) {
+            code = code << 4 | Character.digit(bytes[k], 16);
+          }
+          builder.append((char)code);
+          i += 4;
+          break;
+        default:
+          builder.append(escape);
+      }
+      i += 2;
+      run = i;
+    }
+    if (to > run) {
+      builder.append(new String(bytes, run, to - run, StandardCharsets.UTF_8));
+    }
+    return builder.toString();
+  }
+
+  /*
+   * Validates the number starting at the current index and moves past it.
+   */
+  void skipNumber() {
+    readChar('-');
+    int firstDigit = current();
+    if (!readDigit()) {
+      throw expected("digit");
+    }
+    if (firstDigit != '0') {
+      while (readDigit()) {
+      }
+    }
+    readFraction();
+    readExponent();
+  }
+
+  private boolean readFraction() {
+    if (!readChar('.')) {
+      return false;
+    }
+    if (!readDigit()) {
+      throw expected("digit");
+    }
+    while (readDigit()) {
+    }
+    return true;
+  }
+
+  private boolean readExponent() {
+    if (!readChar('e') && !readChar('E')) {
+      return false;
+    }
+    if (!readChar('+')) {
+      readChar('-');
+    }
+    if (!readDigit()) {
+      throw expected("digit");
+    }
+    while (readDigit()) {
+    }
+    return true;
+  }
+
+  boolean readChar(char ch) {
+    if (current() != ch) {
+      return false;
+    }
+    index++;
+    return true;
+  }
+
+  private boolean readDigit() {
+    if (!isDigit()) {
+      return false;
+    }
+    index++;
+    return true;
+  }
+
+  void skipWhiteSpace() {
+    while (index < end) {
+      byte ch = bytes[index];
+      if (ch == '\n') {
+        line++;
+        lineOffset = index + 1;
+      } else if (ch != ' ' && ch != '\t' && ch != '\r') {
+        return;
+      }
+      index++;
+    }
+  }
+
+  /*
+   * The byte at the current index, or -1 at the end of the input. Bytes of multi-byte sequences
+   * are returned as they are (i.e. negative), as only ASCII bytes are ever compared against.
+   */
+  int current() {
+    return index < end ? bytes[index] : -1;
+  }
+
+  ParseException expected(String expected) {
+    if (isEndOfText()) {
+      return error("Unexpected end of input");
+    }
+    return error("Expected " + expected);
+  }
+
+  ParseException error(String message) {
+    int offset = Math.min(index, end);
+    return new ParseException(message, offset - start, line, offset - lineOffset);
+  }
+
+  private boolean isDigit() {
+    int ch = current();
+    return ch >= '0' && ch <= '9';
+  }
+
+  private boolean isHexDigit() {
+    int ch = current();
+    return ch >= '0' && ch <= '9'
+        || ch >= 'a' && ch <= 'f'
+        || ch >= 'A' && ch <= 'F';
+  }
+
+  boolean isEndOfText() {
+    return index >= end;
+  }
+
+}
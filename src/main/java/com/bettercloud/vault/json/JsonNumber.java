@@ -22,28 +22,87 @@
 package com.bettercloud.vault.json;
 
 import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
 
 
 @SuppressWarnings({"serial", "PMD"}) // use default serial UID
 class JsonNumber extends JsonValue {
 
-  private final String string;
+  /*
+   * The longest run of digits that always fits into a long.
+   */
+  static final int MAX_LONG_DIGITS = 18;
+
+  private String string;
+  private final transient long value;
+  private final transient boolean integral;
+  private transient double decoded;
+  private transient volatile boolean isDecoded;
 
   JsonNumber(String string) {
     if (string == null) {
       throw new NullPointerException("string is null");
     }
     this.string = string;
+    value = 0;
+    integral = false;
+  }
+
+  /*
+   * An integral number that is printed only when its text is first asked for. Printing is
+   * idempotent, so concurrent first reads are harmless.
+   */
+  JsonNumber(long value) {
+    this.value = value;
+    integral = true;
+  }
+
+  /*
+   * Returns the number for the JSON number text between from and to. Integers that fit into a long
+   * and print back exactly as they were written are decoded right away and keep no text.
+   */
+  static JsonNumber valueOf(byte[] bytes, int from, int to) {
+    boolean negative = bytes[from] == '-';
+    int position = negative ? from + 1 : from;
+    if (to - position <= MAX_LONG_DIGITS) {
+      long value = 0;
+      for (; position < to; position++) {
+        int digit = bytes[position] - '0';
+        if (digit < 0 || digit > 9) {
+          break;
+        }
+        value = value * 10 + digit;
+      }
+      if (position == to && (value != 0 || !negative)) {
+        return new JsonNumber(negative ? -value : value);
+      }
+    }
+    return new JsonNumber(new String(bytes, from, to - from, StandardCharsets.ISO_8859_1));
+  }
+
+  private String string() {
+    String text = string;
+    if (text == null) {
+      text = Long.toString(value);
+      string = text;
+    }
+    return text;
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    string();
+    out.defaultWriteObject();
   }
 
   @Override
   public String toString() {
-    return string;
+    return string();
   }
 
   @Override
   void write(JsonWriter writer) throws IOException {
-    writer.writeNumber(string);
+    writer.writeNumber(string());
   }
 
   @Override
@@ -53,27 +112,40 @@ class JsonNumber extends JsonValue {
 
   @Override
   public int asInt() {
-    return Integer.parseInt(string, 10);
+    if (!integral) {
+      return Integer.parseInt(string, 10);
+    }
+    if ((int)value != value) {
+      throw new NumberFormatException("For input string: \"" + string() + "\"");
+    }
+    return (int)value;
   }
 
   @Override
   public long asLong() {
-    return Long.parseLong(string, 10);
+    return integral ? value : Long.parseLong(string, 10);
   }
 
   @Override
   public float asFloat() {
-    return Float.parseFloat(string);
+    return integral ? (float)value : Float.parseFloat(string);
   }
 
   @Override
   public double asDouble() {
-    return Double.parseDouble(string);
+    if (integral) {
+      return value;
+    }
+    if (!isDecoded) {
+      decoded = Double.parseDouble(string);
+      isDecoded = true;
+    }
+    return decoded;
   }
 
   @Override
   public int hashCode() {
-    return string.hashCode();
+    return string().hashCode();
   }
 
   @Override
@@ -88,7 +160,10 @@ class JsonNumber extends JsonValue {
       return false;
     }
     JsonNumber other = (JsonNumber)object;
-    return string.equals(other.string);
+    if (integral && other.integral) {
+      return value == other.value;
+    }
+    return string().equals(other.string());
   }
 
 }
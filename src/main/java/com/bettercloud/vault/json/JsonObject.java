@@ -22,7 +22,6 @@
 package com.bettercloud.vault.json;
 
 import java.io.IOException;
-import java.io.ObjectInputStream;
 import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -74,7 +73,8 @@ public class JsonObject extends JsonValue implements Iterable<Member> {
 
   private final List<String> names;
   private final List<JsonValue> values;
-  private transient HashIndexTable table;
+  private final transient JsonObject backing;
+  private transient volatile HashIndexTable table;
 
   /**
    * Creates a new empty JsonObject.
@@ -82,7 +82,7 @@ public class JsonObject extends JsonValue implements Iterable<Member> {
   public JsonObject() {
     names = new ArrayList<String>();
     values = new ArrayList<JsonValue>();
-    table = new HashIndexTable();
+    backing = null;
   }
 
   /**
@@ -102,12 +102,15 @@ public class JsonObject extends JsonValue implements Iterable<Member> {
     if (unmodifiable) {
       names = Collections.unmodifiableList(object.names);
       values = Collections.unmodifiableList(object.values);
+      // look up names in the backing object, so that lookups reflect changes to it
+      backing = object;
     } else {
       names = new ArrayList<String>(object.names);
       values = new ArrayList<JsonValue>(object.values);
+      backing = null;
+      HashIndexTable index = object.table;
+      table = index == null ? null : new HashIndexTable(index);
     }
-    table = new HashIndexTable();
-    updateHashIndex();
   }
 
   /**
@@ -354,9 +357,12 @@ public class JsonObject extends JsonValue implements Iterable<Member> {
     if (value == null) {
       throw new NullPointerException("value is null");
     }
-    table.add(name, names.size());
     names.add(name);
     values.add(value);
+    HashIndexTable index = table;
+    if (index != null) {
+      index.add(name, names.size() - 1);
+    }
     return this;
   }
 
@@ -519,9 +525,7 @@ public class JsonObject extends JsonValue implements Iterable<Member> {
     if (index != -1) {
       values.set(index, value);
     } else {
-      table.add(name, names.size());
-      names.add(name);
-      values.add(value);
+      add(name, value);
     }
     return this;
   }
@@ -541,9 +545,17 @@ public class JsonObject extends JsonValue implements Iterable<Member> {
     }
     int index = indexOf(name);
     if (index != -1) {
-      table.remove(index);
       names.remove(index);
       values.remove(index);
+      HashIndexTable hashIndex = table;
+      if (hashIndex != null) {
+        hashIndex.remove(index);
+        // an earlier member with the same name, if any, becomes the one found by name
+        int previous = names.lastIndexOf(name);
+        if (previous != -1) {
+          hashIndex.add(name, previous);
+        }
+      }
     }
     return this;
   }
@@ -907,26 +919,29 @@ public class JsonObject extends JsonValue implements Iterable<Member> {
   }
 
   int indexOf(String name) {
-    int index = table.get(name);
-    if (index != -1 && name.equals(names.get(index))) {
-      return index;
+    if (backing != null) {
+      return backing.indexOf(name);
     }
-    return names.lastIndexOf(name);
-  }
-
-  private synchronized void readObject(ObjectInputStream inputStream)
-      throws IOException, ClassNotFoundException
-  {
-    inputStream.defaultReadObject();
-    table = new HashIndexTable();
-    updateHashIndex();
+    HashIndexTable index = table;
+    if (index == null) {
+      index = updateHashIndex();
+    }
+    return index.get(name);
   }
 
-  private void updateHashIndex() {
+  /*
+   * The index is built on the first lookup by name, rather than as members are added, so that
+   * objects which are only iterated (or not read at all) never pay for it, and so that the table
+   * can be sized for all of the members at once.
+   */
+  private HashIndexTable updateHashIndex() {
     int size = names.size();
+    HashIndexTable index = new HashIndexTable(size);
     for (int i = 0; i < size; i++) {
-      table.add(names.get(i), i);
+      index.add(names.get(i), i);
     }
+    table = index;
+    return index;
   }
 
   /**
@@ -985,45 +1000,135 @@ public class JsonObject extends JsonValue implements Iterable<Member> {
 
   }
 
+  /**
+   * An open-addressing hash index from member names to the index of the last member with each
+   * name. Slots are probed linearly, and the table doubles in size whenever it becomes three
+   * quarters full, so lookups take constant time however many members an object has. A table
+   * built for an existing object is sized for all of its members up front.
+   */
   static class HashIndexTable {
 
-    private final byte[] hashTable = new byte[32]; // must be a power of two
+    private static final int INITIAL_CAPACITY = 8; // must be a power of two
+
+    private String[] names;
+    private int[] indexes;
+    private int size;
 
     public HashIndexTable() {
     }
 
+    HashIndexTable(int expectedSize) {
+      if (expectedSize > 0) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity - (capacity >> 2) <= expectedSize) {
+          capacity <<= 1;
+        }
+        names = new String[capacity];
+        indexes = new int[capacity];
+      }
+    }
+
     public HashIndexTable(HashIndexTable original) {
-      System.arraycopy(original.hashTable, 0, hashTable, 0, hashTable.length);
+      if (original.names != null) {
+        names = original.names.clone();
+        indexes = original.indexes.clone();
+        size = original.size;
+      }
     }
 
     void add(String name, int index) {
-      int slot = hashSlotFor(name);
-      if (index < 0xff) {
-        // increment by 1, 0 stands for empty
-        hashTable[slot] = (byte)(index + 1);
-      } else {
-        hashTable[slot] = 0;
+      if (names == null) {
+        names = new String[INITIAL_CAPACITY];
+        indexes = new int[INITIAL_CAPACITY];
+      } else if (size >= names.length - (names.length >> 2)) {
+        grow();
+      }
+      int hash = name.hashCode();
+      int mask = names.length - 1;
+      int slot = slotFor(hash, mask);
+      while (names[slot] != null) {
+        if (names[slot].hashCode() == hash && names[slot].equals(name)) {
+          indexes[slot] = index;
+          return;
+        }
+        slot = slot + 1 & mask;
       }
+      names[slot] = name;
+      indexes[slot] = index;
+      size++;
     }
 
     void remove(int index) {
-      for (int i = 0; i < hashTable.length; i++) {
-        if (hashTable[i] == index + 1) {
-          hashTable[i] = 0;
-        } else if (hashTable[i] > index + 1) {
-          hashTable[i]--;
+      if (names == null) {
+        return;
+      }
+      for (int slot = 0; slot < names.length; slot++) {
+        if (names[slot] != null && indexes[slot] == index) {
+          delete(slot);
+          break;
+        }
+      }
+      for (int slot = 0; slot < names.length; slot++) {
+        if (names[slot] != null && indexes[slot] > index) {
+          indexes[slot]--;
         }
       }
     }
 
     int get(Object name) {
-      int slot = hashSlotFor(name);
-      // subtract 1, 0 stands for empty
-      return (hashTable[slot] & 0xff) - 1;
+      if (names == null) {
+        return -1;
+      }
+      int hash = name.hashCode();
+      int mask = names.length - 1;
+      for (int slot = slotFor(hash, mask); names[slot] != null; slot = slot + 1 & mask) {
+        if (names[slot].hashCode() == hash && names[slot].equals(name)) {
+          return indexes[slot];
+        }
+      }
+      return -1;
+    }
+
+    private void grow() {
+      String[] oldNames = names;
+      int[] oldIndexes = indexes;
+      names = new String[oldNames.length * 2];
+      indexes = new int[oldNames.length * 2];
+      int mask = names.length - 1;
+      for (int i = 0; i < oldNames.length; i++) {
+        if (oldNames[i] != null) {
+          int slot = slotFor(oldNames[i].hashCode(), mask);
+          while (names[slot] != null) {
+            slot = slot + 1 & mask;
+          }
+          names[slot] = oldNames[i];
+          indexes[slot] = oldIndexes[i];
+        }
+      }
+    }
+
+    /*
+     * Empties a slot, moving any later entries in the same probe sequence back into the gap, so
+     * that no lookup stops short of them.
+     */
+    private void delete(int slot) {
+      int mask = names.length - 1;
+      int gap = slot;
+      for (int next = gap + 1 & mask; names[next] != null; next = next + 1 & mask) {
+        int home = slotFor(names[next].hashCode(), mask);
+        if ((next - home & mask) >= (next - gap & mask)) {
+          names[gap] = names[next];
+          indexes[gap] = indexes[next];
+          gap = next;
+        }
+      }
+      names[gap] = null;
+      indexes[gap] = 0;
+      size--;
     }
 
-    private int hashSlotFor(Object element) {
-      return element.hashCode() & hashTable.length - 1;
+    private static int slotFor(int hash, int mask) {
+      return (hash ^ hash >>> 16) & mask;
     }
 
   }
@@ -79,7 +79,7 @@ class JsonParser {
     return result;
   }
 
-  private JsonValue readValue() throws IOException {
+  JsonValue readValue() throws IOException {
     switch (current) {
       case 'n':
         return readNull();
@@ -152,14 +152,14 @@ class JsonParser {
     return object;
   }
 
-  private String readName() throws IOException {
+  String readName() throws IOException {
     if (current != '"') {
       throw expected("name");
     }
-    return readStringInternal();
+    return readString(NameTable.NAMES);
   }
 
-  private JsonValue readNull() throws IOException {
+  JsonValue readNull() throws IOException {
     read();
     readRequiredChar('u');
     readRequiredChar('l');
@@ -167,7 +167,7 @@ class JsonParser {
     return Json.NULL;
   }
 
-  private JsonValue readTrue() throws IOException {
+  JsonValue readTrue() throws IOException {
     read();
     readRequiredChar('r');
     readRequiredChar('u');
@@ -175,7 +175,7 @@ class JsonParser {
     return Json.TRUE;
   }
 
-  private JsonValue readFalse() throws IOException {
+  JsonValue readFalse() throws IOException {
     read();
     readRequiredChar('a');
     readRequiredChar('l');
@@ -194,7 +194,11 @@ class JsonParser {
     return new JsonString(readStringInternal());
   }
 
-  private String readStringInternal() throws IOException {
+  String readStringInternal() throws IOException {
+    return readString(null);
+  }
+
+  private String readString(NameTable table) throws IOException {
     read();
     startCapture();
     while (current != '"') {
@@ -208,7 +212,7 @@ class JsonParser {
         read();
       }
     }
-    String string = endCapture();
+    String string = endCapture(table);
     read();
     return string;
   }
@@ -254,6 +258,32 @@ class JsonParser {
   }
 
   private JsonValue readNumber() throws IOException {
+    startCapture();
+    boolean negative = readChar('-');
+    int firstDigit = current;
+    if (!readDigit()) {
+      throw expected("digit");
+    }
+    long value = firstDigit - '0';
+    int digits = 1;
+    if (firstDigit != '0') {
+      for (; isDigit(); digits++) {
+        value = value * 10 + current - '0';
+        read();
+      }
+    }
+    if (current != '.' && current != 'e' && current != 'E'
+        && digits <= JsonNumber.MAX_LONG_DIGITS && (value != 0 || !negative)) {
+      // An integer that prints back as it was written needs no text
+      cancelCapture();
+      return new JsonNumber(negative ? -value : value);
+    }
+    readFraction();
+    readExponent();
+    return new JsonNumber(endCapture());
+  }
+
+  String readNumberText() throws IOException {
     startCapture();
     readChar('-');
     int firstDigit = current;
@@ -266,7 +296,7 @@ class JsonParser {
     }
     readFraction();
     readExponent();
-    return new JsonNumber(endCapture());
+    return endCapture();
   }
 
   private boolean readFraction() throws IOException {
@@ -296,7 +326,7 @@ class JsonParser {
     return true;
   }
 
-  private boolean readChar(char ch) throws IOException {
+  boolean readChar(char ch) throws IOException {
     if (current != ch) {
       return false;
     }
@@ -312,13 +342,13 @@ class JsonParser {
     return true;
   }
 
-  private void skipWhiteSpace() throws IOException {
+  void skipWhiteSpace() throws IOException {
     while (isWhiteSpace()) {
       read();
     }
   }
 
-  private void read() throws IOException {
+  void read() throws IOException {
     if (index == fill) {
       if (captureStart != -1) {
         captureBuffer.append(buffer, captureStart, fill - captureStart);
@@ -352,13 +382,28 @@ class JsonParser {
     captureStart = -1;
   }
 
+  private void cancelCapture() {
+    captureBuffer.setLength(0);
+    captureStart = -1;
+  }
+
   private String endCapture() {
+    return endCapture(null);
+  }
+
+  /*
+   * Returns the captured text, resolved through the given table unless it is null or the text
+   * spans more than the current buffer (e.g. because it contains escape sequences).
+   */
+  private String endCapture(NameTable table) {
     int end = current == -1 ? index : index - 1;
     String captured;
     if (captureBuffer.length() > 0) {
       captureBuffer.append(buffer, captureStart, end - captureStart);
       captured = captureBuffer.toString();
       captureBuffer.setLength(0);
+    } else if (table != null) {
+      captured = table.intern(buffer, captureStart, end - captureStart);
     } else {
       captured = new String(buffer, captureStart, end - captureStart);
     }
@@ -366,14 +411,14 @@ class JsonParser {
     return captured;
   }
 
-  private ParseException expected(String expected) {
+  ParseException expected(String expected) {
     if (isEndOfText()) {
       return error("Unexpected end of input");
     }
     return error("Expected " + expected);
   }
 
-  private ParseException error(String message) {
+  ParseException error(String message) {
     int absIndex = bufferOffset + index;
     int column = absIndex - lineOffset;
     int offset = isEndOfText() ? absIndex : absIndex - 1;
@@ -394,8 +439,12 @@ class JsonParser {
         || current >= 'A' && current <= 'F';
   }
 
-  private boolean isEndOfText() {
+  boolean isEndOfText() {
     return current == -1;
   }
 
+  int current() {
+    return current;
+  }
+
 }
@@ -0,0 +1,536 @@
+/*******************************************************************************
+ * Copyright (c) 2013, 2015 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.bettercloud.vault.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+
+/**
+ * A streaming pull parser, which reads a JSON text one token at a time rather than building a
+ * tree of values for all of it. Memory use depends only on the nesting depth of the input and the
+ * size of the largest single token, so arbitrarily large inputs can be processed incrementally.
+ * <p>
+ * Input is read in chunks and buffered internally, exactly as by {@link Json#parse(Reader)}, and
+ * the same {@link ParseException}s are thrown for invalid input. Calling a method for a token other
+ * than the next one (e.g. {@link #nextString()} when {@link #peek()} returns
+ * {@link Token#NUMBER}) throws an <code>IllegalStateException</code>.
+ * </p>
+ * <pre>
+ * try (JsonReader reader = new JsonReader(input)) {
+ *   reader.beginObject();
+ *   while (reader.hasNext()) {
+ *     if (reader.nextName().equals("keys")) {
+ *       reader.beginArray();
+ *       while (reader.hasNext()) {
+ *         process(reader.nextString());
+ *       }
+ *       reader.endArray();
+ *     } else {
+ *       reader.skipValue();
+ *     }
+ *   }
+ *   reader.endObject();
+ * }
+ * </pre>
+ */
+@SuppressWarnings("PMD")
+public class JsonReader implements Closeable {
+
+  /**
+   * The kinds of token in a JSON text.
+   */
+  public enum Token {
+    BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL,
+    END_DOCUMENT
+  }
+
+  private static final int EMPTY_DOCUMENT = 0;
+  private static final int NONEMPTY_DOCUMENT = 1;
+  private static final int EMPTY_ARRAY = 2;
+  private static final int NONEMPTY_ARRAY = 3;
+  private static final int EMPTY_OBJECT = 4;
+  private static final int DANGLING_NAME = 5;
+  private static final int NONEMPTY_OBJECT = 6;
+
+  private final Reader reader;
+  private final JsonParser parser;
+  private int[] stack = new int[16];
+  private int depth;
+  private Token peeked;
+  private String text;
+
+  /**
+   * Creates a reader for the given JSON text.
+   *
+   * @param string
+   *          the input string
+   */
+  public JsonReader(String string) {
+    this(new StringReader(string));
+  }
+
+  /**
+   * Creates a reader for the given input stream of UTF-8 encoded JSON.
+   *
+   * @param input
+   *          the input stream
+   */
+  public JsonReader(InputStream input) {
+    this(new InputStreamReader(input, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Creates a reader for the given reader.
+   *
+   * @param reader
+   *          the reader to read the JSON text from
+   */
+  public JsonReader(Reader reader) {
+    if (reader == null) {
+      throw new NullPointerException("reader is null");
+    }
+    this.reader = reader;
+    parser = new JsonParser(reader);
+    stack[depth++] = EMPTY_DOCUMENT;
+  }
+
+  /**
+   * Returns the kind of the next token, without consuming it.
+   *
+   * @return the kind of the next token
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public Token peek() throws IOException {
+    if (peeked == null) {
+      peeked = doPeek();
+    }
+    return peeked;
+  }
+
+  /**
+   * Consumes the next token, whatever its kind. The text of a name, string, number or literal is
+   * then available from {@link #getText()}.
+   *
+   * @return the kind of the consumed token
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public Token nextToken() throws IOException {
+    Token token = peek();
+    switch (token) {
+      case BEGIN_OBJECT:
+        parser.read();
+        push(EMPTY_OBJECT);
+        text = null;
+        break;
+      case BEGIN_ARRAY:
+        parser.read();
+        push(EMPTY_ARRAY);
+        text = null;
+        break;
+      case END_OBJECT:
+      case END_ARRAY:
+        parser.read();
+        depth--;
+        text = null;
+        break;
+      case NAME:
+        text = parser.readName();
+        break;
+      case STRING:
+        text = parser.readStringInternal();
+        break;
+      case NUMBER:
+        text = parser.readNumberText();
+        break;
+      case BOOLEAN:
+        text = parser.current() == 't' ? parser.readTrue().toString() : parser.readFalse().toString();
+        break;
+      case NULL:
+        text = parser.readNull().toString();
+        break;
+      default:
+        text = null;
+        return token;
+    }
+    peeked = null;
+    return token;
+  }
+
+  /**
+   * Returns the text of the token last consumed by {@link #nextToken()}: the decoded contents of
+   * a name or string, or the JSON text of a number or literal.
+   *
+   * @return the text of the last token, or <code>null</code> if it was an object or array
+   *         delimiter
+   */
+  public String getText() {
+    return text;
+  }
+
+  /**
+   * Returns whether the current object or array has another member or element.
+   *
+   * @return <code>true</code> unless the next token ends an object, array or the whole input
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public boolean hasNext() throws IOException {
+    Token token = peek();
+    return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+  }
+
+  /**
+   * Consumes the start of an object.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public void beginObject() throws IOException {
+    consume(Token.BEGIN_OBJECT);
+  }
+
+  /**
+   * Consumes the end of the current object.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public void endObject() throws IOException {
+    consume(Token.END_OBJECT);
+  }
+
+  /**
+   * Consumes the start of an array.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public void beginArray() throws IOException {
+    consume(Token.BEGIN_ARRAY);
+  }
+
+  /**
+   * Consumes the end of the current array.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public void endArray() throws IOException {
+    consume(Token.END_ARRAY);
+  }
+
+  /**
+   * Consumes the name of the next object member.
+   *
+   * @return the member name
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public String nextName() throws IOException {
+    consume(Token.NAME);
+    return text;
+  }
+
+  /**
+   * Consumes a string value.
+   *
+   * @return the decoded string
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public String nextString() throws IOException {
+    consume(Token.STRING);
+    return text;
+  }
+
+  /**
+   * Consumes a number value that can be interpreted as a Java <code>int</code>.
+   *
+   * @return the number
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws NumberFormatException
+   *           if the number can not be interpreted as <code>int</code> value
+   */
+  public int nextInt() throws IOException {
+    consume(Token.NUMBER);
+    return Integer.parseInt(text, 10);
+  }
+
+  /**
+   * Consumes a number value that can be interpreted as a Java <code>long</code>.
+   *
+   * @return the number
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws NumberFormatException
+   *           if the number can not be interpreted as <code>long</code> value
+   */
+  public long nextLong() throws IOException {
+    consume(Token.NUMBER);
+    return Long.parseLong(text, 10);
+  }
+
+  /**
+   * Consumes a number value as a Java <code>double</code>.
+   *
+   * @return the number
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   */
+  public double nextDouble() throws IOException {
+    consume(Token.NUMBER);
+    return Double.parseDouble(text);
+  }
+
+  /**
+   * Consumes a boolean value.
+   *
+   * @return the boolean
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   */
+  public boolean nextBoolean() throws IOException {
+    consume(Token.BOOLEAN);
+    return "true".equals(text);
+  }
+
+  /**
+   * Consumes a <code>null</code> value.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   */
+  public void nextNull() throws IOException {
+    consume(Token.NULL);
+  }
+
+  /**
+   * Consumes the next value, and builds a tree for it, as {@link Json#parse(Reader)} would. Useful
+   * for reading a small part of a large input as a whole.
+   *
+   * @return the value
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public JsonValue nextValue() throws IOException {
+    Token token = peek();
+    if (!isValue(token)) {
+      throw new IllegalStateException("Expected a value but was " + token);
+    }
+    JsonValue value = parser.readValue();
+    peeked = null;
+    text = null;
+    return value;
+  }
+
+  /**
+   * Skips the next value, including everything nested within it. If the next token is the name
+   * of an object member, both the name and the member value are skipped.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public void skipValue() throws IOException {
+    Token token = peek();
+    if (token == Token.NAME) {
+      nextToken();
+      token = peek();
+    }
+    if (!isValue(token)) {
+      throw new IllegalStateException("Expected a value but was " + token);
+    }
+    int nesting = 0;
+    do {
+      token = nextToken();
+      if (token == Token.BEGIN_OBJECT || token == Token.BEGIN_ARRAY) {
+        nesting++;
+      } else if (token == Token.END_OBJECT || token == Token.END_ARRAY) {
+        nesting--;
+      }
+    } while (nesting > 0);
+    text = null;
+  }
+
+  /**
+   * Closes the underlying reader.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   */
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private static boolean isValue(Token token) {
+    return token != Token.NAME && token != Token.END_OBJECT && token != Token.END_ARRAY
+        && token != Token.END_DOCUMENT;
+  }
+
+  private void consume(Token expected) throws IOException {
+    Token token = peek();
+    if (token != expected) {
+      throw new IllegalStateException("Expected " + expected + " but was " + token);
+    }
+    nextToken();
+  }
+
+  private void push(int state) {
+    if (depth == stack.length) {
+      stack = Arrays.copyOf(stack, depth * 2);
+    }
+    stack[depth++] = state;
+  }
+
+  /*
+   * Moves past any separators to the start of the next token, validating the structure around
+   * it, and returns its kind. The token itself is left to be consumed by nextToken().
+   */
+  private Token doPeek() throws IOException {
+    switch (stack[depth - 1]) {
+      case EMPTY_DOCUMENT:
+        stack[depth - 1] = NONEMPTY_DOCUMENT;
+        parser.read();
+        parser.skipWhiteSpace();
+        return peekValue();
+      case NONEMPTY_DOCUMENT:
+        parser.skipWhiteSpace();
+        if (!parser.isEndOfText()) {
+          throw parser.error("Unexpected character");
+        }
+        return Token.END_DOCUMENT;
+      case EMPTY_ARRAY:
+        stack[depth - 1] = NONEMPTY_ARRAY;
+        parser.skipWhiteSpace();
+        if (parser.current() == ']') {
+          return Token.END_ARRAY;
+        }
+        return peekValue();
+      case NONEMPTY_ARRAY:
+        parser.skipWhiteSpace();
+        if (parser.current() == ']') {
+          return Token.END_ARRAY;
+        }
+        if (!parser.readChar(',')) {
+          throw parser.expected("',' or ']'");
+        }
+        parser.skipWhiteSpace();
+        return peekValue();
+      case EMPTY_OBJECT:
+        parser.skipWhiteSpace();
+        if (parser.current() == '}') {
+          return Token.END_OBJECT;
+        }
+        return peekName();
+      case NONEMPTY_OBJECT:
+        parser.skipWhiteSpace();
+        if (parser.current() == '}') {
+          return Token.END_OBJECT;
+        }
+        if (!parser.readChar(',')) {
+          throw parser.expected("',' or '}'");
+        }
+        parser.skipWhiteSpace();
+        return peekName();
+      default:
+        // DANGLING_NAME
+        stack[depth - 1] = NONEMPTY_OBJECT;
+        parser.skipWhiteSpace();
+        if (!parser.readChar(':')) {
+          throw parser.expected("':'");
+        }
+        parser.skipWhiteSpace();
+        return peekValue();
+    }
+  }
+
+  private Token peekName() throws IOException {
+    if (parser.current() != '"') {
+      throw parser.expected("name");
+    }
+    stack[depth - 1] = DANGLING_NAME;
+    return Token.NAME;
+  }
+
+  private Token peekValue() throws IOException {
+    switch (parser.current()) {
+      case '{':
+        return Token.BEGIN_OBJECT;
+      case '[':
+        return Token.BEGIN_ARRAY;
+      case '"':
+        return Token.STRING;
+      case 't':
+      case 'f':
+        return Token.BOOLEAN;
+      case 'n':
+        return Token.NULL;
+      case '-':
+      case '0':
+      case '1':
+      case '2':
+      case '3':
+      case '4':
+      case '5':
+      case '6':
+      case '7':
+      case '8':
+      case '9':
+        return Token.NUMBER;
+      default:
+        throw parser.expected("value");
+    }
+  }
+
+}
@@ -22,23 +22,55 @@
 package com.bettercloud.vault.json;
 
 import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
 
 
 @SuppressWarnings({"serial", "PMD"}) // use default serial UID
 class JsonString extends JsonValue {
 
-  private final String string;
+  private String string;
+  private final transient byte[] utf8;
+  private final transient int offset;
+  private final transient int length;
 
   JsonString(String string) {
     if (string == null) {
       throw new NullPointerException("string is null");
     }
     this.string = string;
+    utf8 = null;
+    offset = 0;
+    length = 0;
+  }
+
+  /*
+   * A string that is decoded from the given UTF-8 bytes (containing no escape sequences) when it is
+   * first read. Decoding is idempotent, so concurrent first reads are harmless.
+   */
+  JsonString(byte[] utf8, int offset, int length) {
+    this.utf8 = utf8;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  private String string() {
+    String decoded = string;
+    if (decoded == null) {
+      decoded = new String(utf8, offset, length, StandardCharsets.UTF_8);
+      string = decoded;
+    }
+    return decoded;
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    string();
+    out.defaultWriteObject();
   }
 
   @Override
   void write(JsonWriter writer) throws IOException {
-    writer.writeString(string);
+    writer.writeString(string());
   }
 
   @Override
@@ -48,12 +80,12 @@ class JsonString extends JsonValue {
 
   @Override
   public String asString() {
-    return string;
+    return string();
   }
 
   @Override
   public int hashCode() {
-    return string.hashCode();
+    return string().hashCode();
   }
 
   @Override
@@ -68,7 +100,7 @@ class JsonString extends JsonValue {
       return false;
     }
     JsonString other = (JsonString)object;
-    return string.equals(other.string);
+    return string().equals(other.string());
   }
 
 }
@@ -0,0 +1,692 @@
+/*******************************************************************************
+ * Copyright (c) 2013, 2015 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.bettercloud.vault.json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * A compact, read-only representation of a JSON text, for reading a few values out of a large
+ * input without building a tree of {@link JsonValue}s for all of it.
+ * <p>
+ * Parsing makes a single pass over the UTF-8 encoded input, recording the type and byte offsets of
+ * each token in an <code>int[]</code> "tape". Values are only decoded when they are accessed,
+ * through {@link Cursor}s: lightweight views of a position on the tape, which implement the
+ * familiar accessors of <code>JsonValue</code> (e.g. <code>asString()</code>) as well as
+ * <code>get(name)</code> and <code>get(index)</code>.
+ * </p>
+ * <pre>
+ * JsonTape.Cursor data = JsonTape.parse(bytes).root().get("data");
+ * for (JsonTape.Cursor mount = data.first(); mount != null; mount = mount.next()) {
+ *   String type = mount.get("type").asString();
+ *   ...
+ * }
+ * </pre>
+ * <p>
+ * The tape refers to the given array, which must therefore not be modified afterwards. Member
+ * lookups scan the members of an object in order, so for reading most of a large object, a tree
+ * built by {@link Json#parse(byte[])} is the better choice.
+ * </p>
+ */
+@SuppressWarnings("PMD")
+public final class JsonTape {
+
+  /*
+   * Each token takes three ints on the tape: its type, then two values depending on the type.
+   * Containers hold the tape index just past their last token, and their number of elements (or
+   * members). Strings and numbers hold the byte offsets of their first and past their last byte
+   * (excluding the quotes). An object member is its name (a string token) followed by its value.
+   */
+  private static final int STRIDE = 3;
+  private static final int OBJECT = 1;
+  private static final int ARRAY = 2;
+  private static final int STRING = 3;
+  private static final int ESCAPED_STRING = 4;
+  private static final int NUMBER = 5;
+  private static final int TRUE = 6;
+  private static final int FALSE = 7;
+  private static final int NULL = 8;
+
+  private final byte[] bytes;
+  private final int[] tape;
+  private final int size;
+
+  private JsonTape(byte[] bytes, int[] tape, int size) {
+    this.bytes = bytes;
+    this.tape = tape;
+    this.size = size;
+  }
+
+  /**
+   * Parses the given UTF-8 encoded bytes as JSON. The input must contain a valid JSON value,
+   * optionally padded with whitespace.
+   *
+   * @param bytes
+   *          the input bytes, must be valid JSON in UTF-8
+   * @return the tape of the parsed input
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public static JsonTape parse(byte[] bytes) {
+    if (bytes == null) {
+      throw new NullPointerException("bytes is null");
+    }
+    return parse(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Parses the given range of UTF-8 encoded bytes as JSON. The offset of a {@link ParseException}
+   * is relative to the start of the range.
+   *
+   * @param bytes
+   *          the array containing the input bytes
+   * @param offset
+   *          the index of the first byte of the input
+   * @param length
+   *          the number of bytes in the input
+   * @return the tape of the parsed input
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public static JsonTape parse(byte[] bytes, int offset, int length) {
+    if (bytes == null) {
+      throw new NullPointerException("bytes is null");
+    }
+    Parser parser = new Parser(bytes, offset, length);
+    parser.parse();
+    return new JsonTape(bytes, parser.tape, parser.size);
+  }
+
+  /**
+   * Returns a cursor on the top-level value of the input.
+   *
+   * @return a cursor on the root value
+   */
+  public Cursor root() {
+    return new Cursor(this, 0, -1, size);
+  }
+
+  private int next(int index) {
+    int type = tape[index];
+    return type == OBJECT || type == ARRAY ? tape[index + 1] : index + STRIDE;
+  }
+
+  private String decodeString(int index) {
+    return JsonByteScanner.decode(bytes, tape[index + 1], tape[index + 2],
+        tape[index] == ESCAPED_STRING);
+  }
+
+  private String decodeName(int index) {
+    if (tape[index] == ESCAPED_STRING) {
+      return decodeString(index);
+    }
+    return NameTable.NAMES.intern(bytes, tape[index + 1], tape[index + 2]);
+  }
+
+  private String text(int index) {
+    return new String(bytes, tape[index + 1], tape[index + 2] - tape[index + 1],
+        StandardCharsets.ISO_8859_1);
+  }
+
+  /*
+   * Compares a string token with the given name, without decoding it unless either contains
+   * anything but ASCII characters.
+   */
+  private boolean stringEquals(int index, String name) {
+    int from = tape[index + 1];
+    int to = tape[index + 2];
+    int length = name.length();
+    if (tape[index] == ESCAPED_STRING || to - from < length) {
+      return to - from >= length && decodeString(index).equals(name);
+    }
+    int position = from;
+    for (int i = 0; i < length; i++) {
+      char ch = name.charAt(i);
+      if (ch >= 0x80) {
+        return decodeString(index).equals(name);
+      }
+      if (bytes[position++] != ch) {
+        return false;
+      }
+    }
+    return position == to;
+  }
+
+  private long longValue(int index) {
+    int from = tape[index + 1];
+    int to = tape[index + 2];
+    boolean negative = bytes[from] == '-';
+    int position = negative ? from + 1 : from;
+    if (to - position > 18) {
+      // May not fit into a long
+      return Long.parseLong(text(index));
+    }
+    long value = 0;
+    for (; position < to; position++) {
+      int digit = bytes[position] - '0';
+      if (digit < 0 || digit > 9) {
+        throw new NumberFormatException("For input string: \"" + text(index) + "\"");
+      }
+      value = value * 10 + digit;
+    }
+    return negative ? -value : value;
+  }
+
+  private JsonValue toJsonValue(int index) {
+    switch (tape[index]) {
+      case OBJECT:
+        JsonObject object = new JsonObject();
+        for (int i = index + STRIDE; i < tape[index + 1]; i = next(i + STRIDE)) {
+          object.add(decodeName(i), toJsonValue(i + STRIDE));
+        }
+        return object;
+      case ARRAY:
+        JsonArray array = new JsonArray();
+        for (int i = index + STRIDE; i < tape[index + 1]; i = next(i)) {
+          array.add(toJsonValue(i));
+        }
+        return array;
+      case STRING:
+        return new JsonString(bytes, tape[index + 1], tape[index + 2] - tape[index + 1]);
+      case ESCAPED_STRING:
+        return new JsonString(decodeString(index));
+      case NUMBER:
+        return JsonNumber.valueOf(bytes, tape[index + 1], tape[index + 2]);
+      case TRUE:
+        return Json.TRUE;
+      case FALSE:
+        return Json.FALSE;
+      default:
+        return Json.NULL;
+    }
+  }
+
+  private void write(int index, JsonWriter writer) throws IOException {
+    switch (tape[index]) {
+      case OBJECT:
+        writer.writeObjectOpen();
+        for (int i = index + STRIDE; i < tape[index + 1]; i = next(i + STRIDE)) {
+          if (i != index + STRIDE) {
+            writer.writeObjectSeparator();
+          }
+          writer.writeMemberName(decodeString(i));
+          writer.writeMemberSeparator();
+          write(i + STRIDE, writer);
+        }
+        writer.writeObjectClose();
+        break;
+      case ARRAY:
+        writer.writeArrayOpen();
+        for (int i = index + STRIDE; i < tape[index + 1]; i = next(i)) {
+          if (i != index + STRIDE) {
+            writer.writeArraySeparator();
+          }
+          write(i, writer);
+        }
+        writer.writeArrayClose();
+        break;
+      case STRING:
+      case ESCAPED_STRING:
+        writer.writeString(decodeString(index));
+        break;
+      case NUMBER:
+        writer.writeNumber(text(index));
+        break;
+      default:
+        writer.writeLiteral(tape[index] == TRUE ? "true" : tape[index] == FALSE ? "false" : "null");
+    }
+  }
+
+  /**
+   * A view of a single value on a {@link JsonTape}. Its accessors decode the value from the input
+   * bytes on each call, and its navigation methods (e.g. {@link #get(String)}, {@link #next()})
+   * return new cursors. A cursor on an object or array can be converted to a {@link JsonObject}
+   * or {@link JsonArray} with {@link #asObject()} or {@link #asArray()}, which builds a copy of
+   * the whole value.
+   * <p>
+   * Two cursors are equal if they refer to the same value on the same tape.
+   * </p>
+   */
+  @SuppressWarnings({"serial", "PMD"}) // serialized as a regular JsonValue, see writeReplace()
+  public static final class Cursor extends JsonValue {
+
+    private final JsonTape tape;
+    private final int index;
+    private final int nameIndex;
+    private final int limit;
+
+    private Cursor(JsonTape tape, int index, int nameIndex, int limit) {
+      this.tape = tape;
+      this.index = index;
+      this.nameIndex = nameIndex;
+      this.limit = limit;
+    }
+
+    private int type() {
+      return tape.tape[index];
+    }
+
+    /**
+     * Returns a cursor on the value of the member with the specified name in this object. If this
+     * object contains multiple members with the given name, the last one is returned.
+     *
+     * @param name
+     *          the name of the member whose value is to be returned
+     * @return a cursor on the value of the last member with the specified name, or
+     *         <code>null</code> if this object does not contain a member with that name
+     * @throws UnsupportedOperationException
+     *           if this value is not a JSON object
+     */
+    public Cursor get(String name) {
+      if (name == null) {
+        throw new NullPointerException("name is null");
+      }
+      if (type() != OBJECT) {
+        throw new UnsupportedOperationException("Not an object: " + toString());
+      }
+      int end = tape.tape[index + 1];
+      int found = -1;
+      for (int i = index + STRIDE; i < end; i = tape.next(i + STRIDE)) {
+        if (tape.stringEquals(i, name)) {
+          found = i;
+        }
+      }
+      return found == -1 ? null : new Cursor(tape, found + STRIDE, found, end);
+    }
+
+    /**
+     * Returns a cursor on the element at the specified position in this array.
+     *
+     * @param index
+     *          the index of the array element to return
+     * @return a cursor on the element at the specified position
+     * @throws IndexOutOfBoundsException
+     *           if the index is out of range, i.e. <code>index &lt; 0</code> or
+     *           <code>index &gt;= size</code>
+     * @throws UnsupportedOperationException
+     *           if this value is not a JSON array
+     */
+    public Cursor get(int index) {
+      if (type() != ARRAY) {
+        throw new UnsupportedOperationException("Not an array: " + toString());
+      }
+      if (index < 0 || index >= size()) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+      }
+      int i = this.index + STRIDE;
+      for (int skipped = 0; skipped < index; skipped++) {
+        i = tape.next(i);
+      }
+      return new Cursor(tape, i, -1, tape.tape[this.index + 1]);
+    }
+
+    /**
+     * Returns the number of members of this object, or elements of this array.
+     *
+     * @return the number of members or elements
+     * @throws UnsupportedOperationException
+     *           if this value is neither a JSON object nor a JSON array
+     */
+    public int size() {
+      if (type() != OBJECT && type() != ARRAY) {
+        throw new UnsupportedOperationException("Not an object or array: " + toString());
+      }
+      return tape.tape[index + 2];
+    }
+
+    /**
+     * Returns a cursor on the first member value of this object, or first element of this array.
+     *
+     * @return a cursor on the first member value or element, or <code>null</code> if this object
+     *         or array is empty
+     * @throws UnsupportedOperationException
+     *           if this value is neither a JSON object nor a JSON array
+     */
+    public Cursor first() {
+      if (size() == 0) {
+        return null;
+      }
+      int end = tape.tape[index + 1];
+      if (type() == OBJECT) {
+        return new Cursor(tape, index + 2 * STRIDE, index + STRIDE, end);
+      }
+      return new Cursor(tape, index + STRIDE, -1, end);
+    }
+
+    /**
+     * Returns a cursor on the next member value (or element) of the object (or array) containing
+     * this value.
+     *
+     * @return a cursor on the next member value or element, or <code>null</code> if this is the
+     *         last one, or the root value
+     */
+    public Cursor next() {
+      int next = tape.next(index);
+      if (next >= limit) {
+        return null;
+      }
+      if (nameIndex == -1) {
+        return new Cursor(tape, next, -1, limit);
+      }
+      return new Cursor(tape, next + STRIDE, next, limit);
+    }
+
+    /**
+     * Returns the name of the object member whose value this is.
+     *
+     * @return the member name, or <code>null</code> if this value is not a member of an object
+     */
+    public String name() {
+      return nameIndex == -1 ? null : tape.decodeName(nameIndex);
+    }
+
+    /**
+     * Returns the names of the members of this object, in document order.
+     *
+     * @return a list of the member names
+     * @throws UnsupportedOperationException
+     *           if this value is not a JSON object
+     */
+    public List<String> names() {
+      if (type() != OBJECT) {
+        throw new UnsupportedOperationException("Not an object: " + toString());
+      }
+      List<String> names = new ArrayList<>(size());
+      for (int i = index + STRIDE; i < tape.tape[index + 1]; i = tape.next(i + STRIDE)) {
+        names.add(tape.decodeName(i));
+      }
+      return names;
+    }
+
+    @Override
+    void write(JsonWriter writer) throws IOException {
+      tape.write(index, writer);
+    }
+
+    @Override
+    public boolean isObject() {
+      return type() == OBJECT;
+    }
+
+    @Override
+    public boolean isArray() {
+      return type() == ARRAY;
+    }
+
+    @Override
+    public boolean isNumber() {
+      return type() == NUMBER;
+    }
+
+    @Override
+    public boolean isString() {
+      return type() == STRING || type() == ESCAPED_STRING;
+    }
+
+    @Override
+    public boolean isBoolean() {
+      return type() == TRUE || type() == FALSE;
+    }
+
+    @Override
+    public boolean isTrue() {
+      return type() == TRUE;
+    }
+
+    @Override
+    public boolean isFalse() {
+      return type() == FALSE;
+    }
+
+    @Override
+    public boolean isNull() {
+      return type() == NULL;
+    }
+
+    @Override
+    public JsonObject asObject() {
+      if (type() != OBJECT) {
+        return super.asObject();
+      }
+      return (JsonObject)tape.toJsonValue(index);
+    }
+
+    @Override
+    public JsonArray asArray() {
+      if (type() != ARRAY) {
+        return super.asArray();
+      }
+      return (JsonArray)tape.toJsonValue(index);
+    }
+
+    @Override
+    public int asInt() {
+      if (type() != NUMBER) {
+        return super.asInt();
+      }
+      long value = tape.longValue(index);
+      if ((int)value != value) {
+        throw new NumberFormatException("For input string: \"" + tape.text(index) + "\"");
+      }
+      return (int)value;
+    }
+
+    @Override
+    public long asLong() {
+      if (type() != NUMBER) {
+        return super.asLong();
+      }
+      return tape.longValue(index);
+    }
+
+    @Override
+    public float asFloat() {
+      if (type() != NUMBER) {
+        return super.asFloat();
+      }
+      return Float.parseFloat(tape.text(index));
+    }
+
+    @Override
+    public double asDouble() {
+      if (type() != NUMBER) {
+        return super.asDouble();
+      }
+      return Double.parseDouble(tape.text(index));
+    }
+
+    @Override
+    public String asString() {
+      if (!isString()) {
+        return super.asString();
+      }
+      return tape.decodeString(index);
+    }
+
+    @Override
+    public boolean asBoolean() {
+      if (!isBoolean()) {
+        return super.asBoolean();
+      }
+      return type() == TRUE;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(tape) + index;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+      if (this == object) {
+        return true;
+      }
+      if (object == null || getClass() != object.getClass()) {
+        return false;
+      }
+      Cursor other = (Cursor)object;
+      return tape == other.tape && index == other.index;
+    }
+
+    private Object writeReplace() {
+      return tape.toJsonValue(index);
+    }
+
+  }
+
+  private static final class Parser extends JsonByteScanner {
+
+    private int[] tape;
+    private int size;
+
+    Parser(byte[] bytes, int offset, int length) {
+      super(bytes, offset, length);
+      // Roughly one token per eight bytes of typical input
+      tape = new int[(length / 8 + 4) * STRIDE];
+    }
+
+    void parse() {
+      skipWhiteSpace();
+      readValue();
+      skipWhiteSpace();
+      if (!isEndOfText()) {
+        throw error("Unexpected character");
+      }
+    }
+
+    private int add(int type, int first, int second) {
+      if (size == tape.length) {
+        tape = Arrays.copyOf(tape, tape.length * 2);
+      }
+      int at = size;
+      tape[at] = type;
+      tape[at + 1] = first;
+      tape[at + 2] = second;
+      size += STRIDE;
+      return at;
+    }
+
+    private void readValue() {
+      switch (current()) {
+        case 'n':
+          readNull();
+          add(NULL, 0, 0);
+          break;
+        case 't':
+          readTrue();
+          add(TRUE, 0, 0);
+          break;
+        case 'f':
+          readFalse();
+          add(FALSE, 0, 0);
+          break;
+        case '"':
+          readString();
+          break;
+        case '[':
+          readArray();
+          break;
+        case '{':
+          readObject();
+          break;
+        case '-':
+        case '0':
+        case '1':
+        case '2':
+        case '3':
+        case '4':
+        case '5':
+        case '6':
+        case '7':
+        case '8':
+        case '9':
+          int from = index;
+          skipNumber();
+          add(NUMBER, from, index);
+          break;
+        default:
+          throw expected("value");
+      }
+    }
+
+    private void readArray() {
+      index++;
+      int at = add(ARRAY, 0, 0);
+      int count = 0;
+      skipWhiteSpace();
+      if (!readChar(']')) {
+        do {
+          skipWhiteSpace();
+          readValue();
+          count++;
+          skipWhiteSpace();
+        } while (readChar(','));
+        if (!readChar(']')) {
+          throw expected("',' or ']'");
+        }
+      }
+      tape[at + 1] = size;
+      tape[at + 2] = count;
+    }
+
+    private void readObject() {
+      index++;
+      int at = add(OBJECT, 0, 0);
+      int count = 0;
+      skipWhiteSpace();
+      if (!readChar('}')) {
+        do {
+          skipWhiteSpace();
+          if (current() != '"') {
+            throw expected("name");
+          }
+          readString();
+          skipWhiteSpace();
+          if (!readChar(':')) {
+            throw expected("':'");
+          }
+          skipWhiteSpace();
+          readValue();
+          count++;
+          skipWhiteSpace();
+        } while (readChar(','));
+        if (!readChar('}')) {
+          throw expected("',' or '}'");
+        }
+      }
+      tape[at + 1] = size;
+      tape[at + 2] = count;
+    }
+
+    private void readString() {
+      int from = index + 1;
+      boolean escaped = skipString();
+      add(escaped ? ESCAPED_STRING : STRING, from, index - 1);
+    }
+
+  }
+
+}
@@ -22,6 +22,7 @@
 package com.bettercloud.vault.json;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Serializable;
 import java.io.StringWriter;
@@ -292,6 +293,26 @@ public abstract class JsonValue implements Serializable {
     buffer.flush();
   }
 
+  /**
+   * Writes the JSON representation of this value to the given output stream as UTF-8, in its
+   * minimal form. Characters are encoded into a small internal buffer, which is written to the
+   * stream whenever it fills up, so the JSON text is never held in memory as a whole. The stream is
+   * neither flushed nor closed.
+   *
+   * @param output
+   *          the output stream to write this value to
+   * @throws IOException
+   *           if an I/O error occurs in the output stream
+   */
+  public void writeTo(OutputStream output) throws IOException {
+    if (output == null) {
+      throw new NullPointerException("output is null");
+    }
+    Utf8Writer writer = new Utf8Writer(output, 8192);
+    write(WriterConfig.MINIMAL.createWriter(writer));
+    writer.close();
+  }
+
   /**
    * Returns the JSON string for this value in its minimal form, without any additional whitespace.
    *
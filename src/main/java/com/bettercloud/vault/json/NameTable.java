@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2013, 2015 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.bettercloud.vault.json;
+
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * A bounded table of member names, shared by all parsers, through which every short name read
+ * from JSON text is resolved to a single <code>String</code> instance. Vault responses repeat the
+ * same few names (<code>request_id</code>, <code>lease_id</code>, <code>data</code>, ...) over and
+ * over, so parsed objects that are kept around, e.g. in a secret cache, share those strings
+ * instead of each holding a copy of its own.
+ * <p>
+ * The table is direct-mapped: each name hashes to a single slot, and a name that is not found
+ * replaces whatever that slot held. Names are immutable and safely published, so the slots need
+ * no locking; a thread that misses another's update only creates one more copy of a name. Names
+ * longer than {@link #MAX_LENGTH} characters are not cached.
+ * </p>
+ */
+@SuppressWarnings("PMD")
+final class NameTable {
+
+  static final int MAX_LENGTH = 32;
+  private static final int SIZE = 512;
+
+  static final NameTable NAMES = new NameTable(SIZE);
+
+  private final String[] names;
+
+  NameTable(int size) {
+    names = new String[size];
+  }
+
+  /*
+   * Returns the name made of the given characters.
+   */
+  String intern(char[] chars, int offset, int length) {
+    if (length > MAX_LENGTH) {
+      return new String(chars, offset, length);
+    }
+    int hash = 0;
+    for (int i = offset; i < offset + length; i++) {
+      hash = 31 * hash + chars[i];
+    }
+    int slot = slotFor(hash);
+    String name = names[slot];
+    if (name != null && name.length() == length) {
+      int i = 0;
+      while (i < length && name.charAt(i) == chars[offset + i]) {
+        i++;
+      }
+      if (i == length) {
+        return name;
+      }
+    }
+    name = new String(chars, offset, length);
+    names[slot] = name;
+    return name;
+  }
+
+  /*
+   * Returns the name made of the given UTF-8 bytes, which contain no escape sequences. Only ASCII
+   * names are cached.
+   */
+  String intern(byte[] bytes, int from, int to) {
+    int length = to - from;
+    if (length > MAX_LENGTH) {
+      return new String(bytes, from, length, StandardCharsets.UTF_8);
+    }
+    int hash = 0;
+    for (int i = from; i < to; i++) {
+      if (bytes[i] < 0) {
+        return new String(bytes, from, length, StandardCharsets.UTF_8);
+      }
+      hash = 31 * hash + bytes[i];
+    }
+    int slot = slotFor(hash);
+    String name = names[slot];
+    if (name != null && name.length() == length) {
+      int i = 0;
+      while (i < length && name.charAt(i) == bytes[from + i]) {
+        i++;
+      }
+      if (i == length) {
+        return name;
+      }
+    }
+    name = new String(bytes, from, length, StandardCharsets.ISO_8859_1);
+    names[slot] = name;
+    return name;
+  }
+
+  private int slotFor(int hash) {
+    return (hash ^ hash >>> 16) & names.length - 1;
+  }
+
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2013, 2015 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.bettercloud.vault.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+
+/**
+ * A writer that encodes characters as UTF-8 into an internal byte buffer, which is written to the
+ * underlying output stream whenever it fills up. This replaces the combination of a
+ * {@link WritingBuffer} and an {@link java.io.OutputStreamWriter OutputStreamWriter}, with a
+ * single buffer and no charset encoder. Unpaired surrogates are written as <code>'?'</code>, as by
+ * {@link String#getBytes(java.nio.charset.Charset)}. This implementation is not thread-safe. Like
+ * <code>WritingBuffer</code>, it does not flush or close the wrapped stream.
+ */
+@SuppressWarnings("PMD")
+class Utf8Writer extends Writer {
+
+  private final OutputStream output;
+  private final byte[] buffer;
+  private int fill = 0;
+  private char highSurrogate = 0;
+
+  Utf8Writer(OutputStream output, int bufferSize) {
+    this.output = output;
+    buffer = new byte[Math.max(bufferSize, 4)];
+  }
+
+  @Override
+  public void write(int c) throws IOException {
+    encode((char)c);
+  }
+
+  @Override
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    for (int i = off; i < off + len; i++) {
+      encode(cbuf[i]);
+    }
+  }
+
+  @Override
+  public void write(String str, int off, int len) throws IOException {
+    for (int i = off; i < off + len; i++) {
+      char ch = str.charAt(i);
+      if (ch < 0x80 && highSurrogate == 0 && fill < buffer.length) {
+        buffer[fill++] = (byte)ch;
+      } else {
+        encode(ch);
+      }
+    }
+  }
+
+  private void encode(char ch) throws IOException {
+    if (fill > buffer.length - 4) {
+      flush();
+    }
+    if (highSurrogate != 0) {
+      char high = highSurrogate;
+      highSurrogate = 0;
+      if (Character.isLowSurrogate(ch)) {
+        int codePoint = Character.toCodePoint(high, ch);
+        buffer[fill++] = (byte)(0xf0 | codePoint >> 18);
+        buffer[fill++] = (byte)(0x80 | codePoint >> 12 & 0x3f);
+        buffer[fill++] = (byte)(0x80 | codePoint >> 6 & 0x3f);
+        buffer[fill++] = (byte)(0x80 | codePoint & 0x3f);
+        return;
+      }
+      buffer[fill++] = '?';
+      if (fill > buffer.length - 4) {
+        flush();
+      }
+    }
+    if (ch < 0x80) {
+      buffer[fill++] = (byte)ch;
+    } else if (ch < 0x800) {
+      buffer[fill++] = (byte)(0xc0 | ch >> 6);
+      buffer[fill++] = (byte)(0x80 | ch & 0x3f);
+    } else if (Character.isHighSurrogate(ch)) {
+      highSurrogate = ch;
+    } else if (Character.isLowSurrogate(ch)) {
+      buffer[fill++] = '?';
+    } else {
+      buffer[fill++] = (byte)(0xe0 | ch >> 12);
+      buffer[fill++] = (byte)(0x80 | ch >> 6 & 0x3f);
+      buffer[fill++] = (byte)(0x80 | ch & 0x3f);
+    }
+  }
+
+  /**
+   * Writes the internal buffer to the wrapped stream, but does not flush the wrapped stream. A high
+   * surrogate at the end of the input so far is held back, until the character after it is known.
+   */
+  @Override
+  public void flush() throws IOException {
+    output.write(buffer, 0, fill);
+    fill = 0;
+  }
+
+  /**
+   * Writes out everything remaining, but does not close or flush the wrapped stream.
+   */
+  @Override
+  public void close() throws IOException {
+    if (highSurrogate != 0) {
+      highSurrogate = 0;
+      if (fill == buffer.length) {
+        flush();
+      }
+      buffer[fill++] = '?';
+    }
+    flush();
+  }
+
+}
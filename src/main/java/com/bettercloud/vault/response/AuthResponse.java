@@ -1,13 +1,11 @@
 package com.bettercloud.vault.response;
 
-import com.bettercloud.vault.json.Json;
 import com.bettercloud.vault.json.JsonArray;
 import com.bettercloud.vault.json.JsonObject;
 import com.bettercloud.vault.json.JsonValue;
 import com.bettercloud.vault.json.ParseException;
 import com.bettercloud.vault.rest.RestResponse;
 
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -36,8 +34,7 @@ public class AuthResponse extends VaultResponse {
         super(restResponse, retries);
 
         try {
-            final String responseJson = new String(restResponse.getBody(), StandardCharsets.UTF_8);
-            final JsonObject jsonObject = Json.parse(responseJson).asObject();
+            final JsonObject jsonObject = getJsonRoot();
             final JsonObject authJsonObject = jsonObject.get("auth").asObject();
 
             renewable = jsonObject.get("renewable").asBoolean();
@@ -1,21 +1,14 @@
 package com.bettercloud.vault.response;
 
 import com.bettercloud.vault.VaultException;
-import com.bettercloud.vault.json.Json;
 import com.bettercloud.vault.json.JsonObject;
 import com.bettercloud.vault.rest.RestResponse;
 
-import java.io.Serializable;
-import java.nio.charset.StandardCharsets;
-
 /**
  * This class is a container for the information returned by Vault in <code>v1/sys/health</code>
  * operations.
  */
-public class HealthResponse implements Serializable {
-
-    private RestResponse restResponse;
-    private int retries;
+public class HealthResponse extends VaultResponse {
 
     private Boolean initialized;
     private Boolean sealed;
@@ -38,23 +31,22 @@ public class HealthResponse implements Serializable {
      * @throws VaultException If any error occurs or unexpected response is received from Vault
      */
     public HealthResponse(final RestResponse restResponse, final int retries) throws VaultException {
-        this.restResponse = restResponse;
-        this.retries = retries;
+        super(restResponse, retries);
 
         if (restResponse == null) {
             throw new VaultException("Response is null");
         }
-        if (restResponse.getBody() == null) {
+        final byte[] body = restResponse.getBody();
+        if (body == null) {
             throw new VaultException("Response contains a bad payload", restResponse.getStatus());
         }
-        if (restResponse.getBody().length > 0) {
+        if (body.length > 0) {
             final String mimeType = restResponse.getMimeType() == null ? "null" : restResponse.getMimeType();
             if (!mimeType.equals("application/json")) {
                 throw new VaultException("Vault responded with MIME type: " + mimeType, restResponse.getStatus());
             }
             try {
-                final String jsonString = new String(restResponse.getBody(), StandardCharsets.UTF_8);//NOPMD
-                final JsonObject jsonObject = Json.parse(jsonString).asObject();
+                final JsonObject jsonObject = getJsonRoot();
                 this.initialized = jsonObject.get("initialized") == null ? null : jsonObject.get("initialized").asBoolean();
                 this.sealed = jsonObject.get("sealed") == null ? null : jsonObject.get("sealed").asBoolean();
                 this.standby = jsonObject.get("standby") == null ? null : jsonObject.get("standby").asBoolean();
@@ -65,14 +57,6 @@ public class HealthResponse implements Serializable {
         }
     }
 
-    public RestResponse getRestResponse() {
-        return restResponse;
-    }
-
-    public int getRetries() {
-        return retries;
-    }
-
     public Boolean getInitialized() {
         return initialized;
     }
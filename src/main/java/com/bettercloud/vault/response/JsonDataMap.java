@@ -0,0 +1,247 @@
+package com.bettercloud.vault.response;
+
+import com.bettercloud.vault.json.JsonObject;
+import com.bettercloud.vault.json.JsonValue;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <p>A <code>Map&lt;String, String&gt;</code> view of a parsed JSON object, as returned by
+ * {@link LogicalResponse#getData()}.  Each value is converted to a <code>String</code> only when it is read:  string
+ * values as they are, <code>null</code> values not at all (they are omitted from the map), and any other value as its
+ * JSON representation (each time it is read).  So a secret carrying large JSON blobs costs nothing for the blobs that
+ * are never read.  Until the map is modified, it reflects the <code>JsonObject</code> returned by
+ * {@link LogicalResponse#getDataObject()}.</p>
+ *
+ * <p>The map is mutable, as the eagerly-built <code>HashMap</code> it replaces was.  The first modification (whether
+ * through the map itself, an iterator's <code>remove()</code> or an entry's <code>setValue()</code>) copies every value
+ * into a private <code>HashMap</code>, to which every later call is delegated, so the underlying
+ * <code>JsonObject</code> is never changed.</p>
+ */
+final class JsonDataMap extends AbstractMap<String, String> implements Serializable {
+
+    private final transient JsonObject object;
+    private volatile Map<String, String> materialized;
+
+    JsonDataMap(final JsonObject object) {
+        this.object = object;
+    }
+
+    @Override
+    public String get(final Object key) {
+        final Map<String, String> copy = materialized;
+        if (copy != null) {
+            return copy.get(key);
+        }
+        if (!(key instanceof String)) {
+            return null;
+        }
+        return convert(object.get((String) key));
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        final Map<String, String> copy = materialized;
+        if (copy != null) {
+            return copy.containsKey(key);
+        }
+        if (!(key instanceof String)) {
+            return false;
+        }
+        final JsonValue value = object.get((String) key);
+        return value != null && !value.isNull();
+    }
+
+    @Override
+    public int size() {
+        final Map<String, String> copy = materialized;
+        if (copy != null) {
+            return copy.size();
+        }
+        int size = 0;
+        for (final JsonObject.Member member : object) {
+            if (isVisible(member)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        final Map<String, String> copy = materialized;
+        if (copy != null) {
+            return copy.entrySet();
+        }
+        return new EntrySet();
+    }
+
+    @Override
+    public synchronized String put(final String key, final String value) {
+        return materialize().put(key, value);
+    }
+
+    @Override
+    public synchronized String remove(final Object key) {
+        return materialize().remove(key);
+    }
+
+    @Override
+    public synchronized void putAll(final Map<? extends String, ? extends String> map) {
+        materialize().putAll(map);
+    }
+
+    @Override
+    public synchronized void clear() {
+        materialize().clear();
+    }
+
+    private synchronized String removeMaterialized(final String key) {
+        return materialize().remove(key);
+    }
+
+    private synchronized String putMaterialized(final String key, final String value) {
+        return materialize().put(key, value);
+    }
+
+    private Map<String, String> materialize() {
+        Map<String, String> copy = materialized;
+        if (copy == null) {
+            copy = new HashMap<>();
+            for (final Entry<String, String> entry : new EntrySet()) {
+                copy.put(entry.getKey(), entry.getValue());
+            }
+            materialized = copy;
+        }
+        return copy;
+    }
+
+    private static String convert(final JsonValue value) {
+        if (value == null || value.isNull()) {
+            return null;
+        } else if (value.isString()) {
+            return value.asString();
+        }
+        return value.toString();
+    }
+
+    /**
+     * A member is omitted if its value is <code>null</code>, or if a later member has the same name (which, as with
+     * <code>JsonObject.get()</code>, takes precedence).
+     */
+    private boolean isVisible(final JsonObject.Member member) {
+        return !member.getValue().isNull() && object.get(member.getName()) == member.getValue();
+    }
+
+    private Object writeReplace() {
+        final Map<String, String> copy = materialized;
+        return new HashMap<>(copy != null ? copy : this);
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, String>> {
+
+        @Override
+        public int size() {
+            return JsonDataMap.this.size();
+        }
+
+        @Override
+        public Iterator<Entry<String, String>> iterator() {
+            final Iterator<JsonObject.Member> members = object.iterator();
+            return new Iterator<Entry<String, String>>() {
+                private JsonObject.Member next = advance();
+                private JsonObject.Member last;
+
+                private JsonObject.Member advance() {
+                    while (members.hasNext()) {
+                        final JsonObject.Member member = members.next();
+                        if (isVisible(member)) {
+                            return member;
+                        }
+                    }
+                    return null;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public Entry<String, String> next() {
+                    if (next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    last = next;
+                    next = advance();
+                    return new LazyEntry(last);
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) {
+                        throw new IllegalStateException();
+                    }
+                    // The members of the JsonObject are still walked, but the removal is made to the copy
+                    removeMaterialized(last.getName());
+                    last = null;
+                }
+            };
+        }
+    }
+
+    private final class LazyEntry implements Entry<String, String> {
+
+        private final JsonObject.Member member;
+
+        private LazyEntry(final JsonObject.Member member) {
+            this.member = member;
+        }
+
+        @Override
+        public String getKey() {
+            return member.getName();
+        }
+
+        @Override
+        public String getValue() {
+            final Map<String, String> copy = materialized;
+            if (copy != null) {
+                return copy.get(member.getName());
+            }
+            return convert(member.getValue());
+        }
+
+        @Override
+        public String setValue(final String value) {
+            return putMaterialized(member.getName(), value);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            final Entry<?, ?> other = (Entry<?, ?>) o;
+            return getKey().equals(other.getKey()) && Objects.equals(getValue(), other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
@@ -1,12 +1,11 @@
 package com.bettercloud.vault.response;
 
 import com.bettercloud.vault.api.Logical;
-import com.bettercloud.vault.json.Json;
 import com.bettercloud.vault.json.JsonObject;
-import com.bettercloud.vault.json.JsonValue;
 import com.bettercloud.vault.rest.RestResponse;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,42 +20,109 @@ public class LogicalResponse extends VaultResponse {
     private String leaseId;
     private Boolean renewable;
     private Long leaseDuration;
+    private boolean stale;
+    private final Logical.logicalOperations operation;
+    private volatile boolean parsed;
 
     /**
+     * <p>The fields of the response are parsed from the raw HTTP response when any of them is first read, so a response
+     * whose fields are never read (e.g. to a list operation, whose keys are streamed from the raw response) is never
+     * parsed into a tree at all.</p>
+     *
      * @param restResponse The raw HTTP response from Vault.
      * @param retries      The number of retry attempts that occurred during the API call (can be zero).
      * @param operation      The operation requested.
      */
     public LogicalResponse(final RestResponse restResponse, final int retries, final Logical.logicalOperations operation) {
         super(restResponse, retries);
-        parseMetadataFields();
-        parseResponseData(operation);
+        this.operation = operation;
     }
 
+    /**
+     * <p>Copies another response, flagging whether the copy is being served past its expiry.  The copy takes the
+     * original's parsed data rather than parsing the raw HTTP response again, but modifying one response does not
+     * modify the other:  the copy has its own <code>getData()</code> map, and its <code>getDataObject()</code> is an
+     * unmodifiable copy of the original's (the members themselves are not copied).</p>
+     *
+     * @param response The response to copy.
+     * @param stale    Whether the response is past its expiry (see {@link #isStale()}).
+     */
+    public LogicalResponse(final LogicalResponse response, final boolean stale) {
+        super(response.getRestResponse(), response.getRetries());
+        response.ensureParsed();
+        this.operation = response.operation;
+        this.parsed = true;
+        if (response.dataObject != null) {
+            this.dataObject = JsonObject.unmodifiableObject(new JsonObject(response.dataObject));
+            this.data = new JsonDataMap(this.dataObject);
+        } else {
+            this.data = new HashMap<>(response.data);
+        }
+        this.leaseId = response.leaseId;
+        this.renewable = response.renewable;
+        this.leaseDuration = response.leaseDuration;
+        this.stale = stale;
+    }
+
+    /**
+     * <p>The <code>data</code> of the response, with every value as a <code>String</code> (non-string values in their
+     * JSON representation), and <code>null</code> values omitted.  Values are converted only as they are read.</p>
+     *
+     * @return The response data
+     */
     public Map<String, String> getData() {
+        ensureParsed();
         return data;
     }
 
     public JsonObject getDataObject() {
+        ensureParsed();
         return dataObject;
     }
 
     public String getLeaseId() {
+        ensureParsed();
         return leaseId;
     }
 
     public Boolean getRenewable() {
+        ensureParsed();
         return renewable;
     }
 
     public Long getLeaseDuration() {
+        ensureParsed();
         return leaseDuration;
     }
 
+    /**
+     * @return <code>true</code> if this response was served from a <code>SecretCache</code> after its expiry, because
+     * it could not (yet) be refreshed from Vault
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    private void ensureParsed() {
+        if (!parsed) {
+            synchronized (this) {
+                if (!parsed) {
+                    parseMetadataFields();
+                    parseResponseData(operation);
+                    parsed = true;
+                }
+            }
+        }
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        ensureParsed();
+        out.defaultWriteObject();
+    }
+
     private void parseMetadataFields() {
         try {
-            final String jsonString = new String(getRestResponse().getBody(), StandardCharsets.UTF_8);
-            final JsonObject jsonObject = Json.parse(jsonString).asObject();
+            final JsonObject jsonObject = getJsonRoot();
 
             this.leaseId = jsonObject.get("lease_id").asString();
             this.renewable = jsonObject.get("renewable").asBoolean();
@@ -67,23 +133,12 @@ public class LogicalResponse extends VaultResponse {
 
     private void parseResponseData(final Logical.logicalOperations operation) {
         try {
-            final String jsonString = new String(getRestResponse().getBody(), StandardCharsets.UTF_8);
-            JsonObject jsonObject = Json.parse(jsonString).asObject();
+            JsonObject jsonObject = getJsonRoot();
             if (operation.equals(Logical.logicalOperations.readV2)) {
                 jsonObject = jsonObject.get("data").asObject();
             }
-            data = new HashMap<>();
             dataObject = jsonObject.get("data").asObject();
-            for (final JsonObject.Member member : dataObject) {
-                final JsonValue jsonValue = member.getValue();
-                if (jsonValue == null || jsonValue.isNull()) {
-                    continue;
-                } else if (jsonValue.isString()) {
-                    data.put(member.getName(), jsonValue.asString());
-                } else {
-                    data.put(member.getName(), jsonValue.toString());
-                }
-            }
+            data = new JsonDataMap(dataObject);
         } catch (Exception ignored) {
         }
     }
@@ -1,10 +1,8 @@
 package com.bettercloud.vault.response;
 
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.bettercloud.vault.json.Json;
 import com.bettercloud.vault.json.JsonArray;
 import com.bettercloud.vault.json.JsonObject;
 import com.bettercloud.vault.json.JsonValue;
@@ -41,8 +39,7 @@ public class LookupResponse extends VaultResponse {
         super(restResponse, retries);
 
         try {
-            final String responseJson = new String(restResponse.getBody(), StandardCharsets.UTF_8);
-            final JsonObject jsonObject = Json.parse(responseJson).asObject();
+            final JsonObject jsonObject = getJsonRoot();
             final JsonObject dataJsonObject = jsonObject.get("data").asObject();
 
             accessor = dataJsonObject.getString("accessor", "");
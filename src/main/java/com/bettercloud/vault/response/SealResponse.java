@@ -1,12 +1,9 @@
 package com.bettercloud.vault.response;
 
-import com.bettercloud.vault.json.Json;
 import com.bettercloud.vault.json.JsonObject;
 import com.bettercloud.vault.json.ParseException;
 import com.bettercloud.vault.rest.RestResponse;
 
-import java.nio.charset.StandardCharsets;
-
 /**
  * This class is a container for the information returned by Vault in <code>v1/sys/*seal*</code>
  * operations.
@@ -27,8 +24,7 @@ public class SealResponse extends VaultResponse {
         super(restResponse, retries);
 
         try {
-            final String responseJson = new String(restResponse.getBody(), StandardCharsets.UTF_8);
-            final JsonObject jsonObject = Json.parse(responseJson).asObject();
+            final JsonObject jsonObject = getJsonRoot();
 
             sealed = jsonObject.getBoolean("sealed", false);
             threshold = jsonObject.getLong("t", 0);
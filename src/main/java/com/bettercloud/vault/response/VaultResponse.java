@@ -1,5 +1,7 @@
 package com.bettercloud.vault.response;
 
+import com.bettercloud.vault.json.JsonObject;
+import com.bettercloud.vault.json.ParseException;
 import com.bettercloud.vault.rest.RestResponse;
 
 import java.io.Serializable;
@@ -32,4 +34,17 @@ public class VaultResponse implements Serializable {
     public int getRetries() {
         return retries;
     }
+
+    /**
+     * <p>The root object of the JSON response body, from which subclasses derive their fields.  The body is parsed at
+     * most once (see {@link RestResponse#getJson()}), however many fields, or classes in the hierarchy, are read from
+     * it.</p>
+     *
+     * @return The root object of the response body
+     * @throws ParseException If the body is not valid JSON
+     * @throws UnsupportedOperationException If the body is valid JSON, but not an object
+     */
+    protected JsonObject getJsonRoot() {
+        return restResponse.getJson().asObject();
+    }
 }
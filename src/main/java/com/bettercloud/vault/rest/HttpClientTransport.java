@@ -0,0 +1,28 @@
+package com.bettercloud.vault.rest;
+
+/**
+ * <p>A {@link VaultTransport} built on the <code>java.net.http.HttpClient</code> introduced in Java 11, which
+ * negotiates HTTP/2 with servers that support it.  Many concurrent requests to the same Vault node are then
+ * multiplexed over a single connection, rather than each holding a socket of its own.</p>
+ *
+ * <p>This library is built as a multi-release JAR.  When running on a Java 11+ JRE, the HTTP/2 implementation of this
+ * class is loaded from <code>META-INF/versions/11</code>.  This version, which is what Java 8 users will get, simply
+ * sends requests through {@link HttpURLConnectionTransport}.  Use {@link #isSupported()} to check which one is in
+ * effect.</p>
+ */
+public class HttpClientTransport implements VaultTransport {
+
+    /**
+     * @return <code>true</code> if requests are sent through <code>java.net.http.HttpClient</code>, or
+     * <code>false</code> if this JRE predates Java 11 and requests fall back to <code>HttpURLConnection</code>
+     */
+    public static boolean isSupported() {
+        return false;
+    }
+
+    @Override
+    public RestResponse send(final RestRequest request) throws RestException {
+        return HttpURLConnectionTransport.getInstance().send(request);
+    }
+
+}
@@ -0,0 +1,270 @@
+package com.bettercloud.vault.rest;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>The default {@link VaultTransport}, which sends each request through a new <code>HttpURLConnection</code> (or
+ * <code>HttpsURLConnection</code>) from the Java standard library.</p>
+ *
+ * <p>Sockets may still be reused between requests, via the JVM's own keep-alive cache, but that cache can only be
+ * tuned through JVM-wide system properties.  Use a {@link RestConnectionPool} for per-config control over
+ * connection reuse.</p>
+ */
+public class HttpURLConnectionTransport implements VaultTransport {
+
+    /**
+     * A dummy SSLContext, for use when SSL verification is disabled.  Overwrites Java's default server certificate
+     * verification process, to always trust any certificates.
+     */
+    static SSLContext DISABLED_SSL_CONTEXT;
+
+    static {
+        try {
+            DISABLED_SSL_CONTEXT = SSLContext.getInstance("TLS");
+            DISABLED_SSL_CONTEXT.init(null, new TrustManager[]{new X509TrustManager() {
+                @Override
+                public void checkClientTrusted(final X509Certificate[] x509Certificates, final String s) throws CertificateException {
+                }
+
+                @Override
+                public void checkServerTrusted(final X509Certificate[] x509Certificates, final String s) throws CertificateException {
+                }
+
+                @Override
+                public X509Certificate[] getAcceptedIssuers() {
+                    return new X509Certificate[0];
+                }
+            }}, new java.security.SecureRandom());
+        } catch (NoSuchAlgorithmException | KeyManagementException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static final HttpURLConnectionTransport INSTANCE = new HttpURLConnectionTransport();
+
+    /**
+     * @return A shared instance of this stateless transport
+     */
+    public static HttpURLConnectionTransport getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public RestResponse send(final RestRequest request) throws RestException {
+        try {
+            // Initialize HTTP(S) connection, and set any header values
+            final URLConnection connection = initURLConnection(request);
+            for (final Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+                connection.setRequestProperty(header.getKey(), header.getValue());
+            }
+
+            if ("POST".equals(request.getMethod()) || "PUT".equals(request.getMethod())) {
+                connection.setDoOutput(true);
+                final RequestBody body = request.getRequestBody();
+                if (body != null) {
+                    writeBody(connection, body);
+                }
+            }
+
+            // Get the resulting status code
+            final int statusCode = connectionStatus(connection);
+            // Download and parse response
+            final String mimeType = connection.getContentType();
+            final byte[] body = responseBodyBytes(connection);
+            final Map<String, String> headers = new HashMap<>();
+            for (final Map.Entry<String, List<String>> header : connection.getHeaderFields().entrySet()) {
+                // The status line is included under a null key
+                if (header.getKey() != null && !header.getValue().isEmpty()) {
+                    headers.put(header.getKey(), header.getValue().get(0));
+                }
+            }
+            return new RestResponse(statusCode, mimeType, body, headers);
+        } catch (RestException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RestException(e);
+        }
+    }
+
+    /**
+     * <p>This helper method writes the request body to the connection.  A body of up to
+     * <code>RequestBodyWriter.BUFFER_SIZE</code> bytes is written in the connection's default mode, in which it is
+     * buffered until the request is sent (so that it can be sent again, e.g. when following a redirect).  A larger
+     * body is streamed, either with a fixed length or in chunks, so the connection does not hold a second copy of it.
+     * A streamed body cannot be sent again, so a redirect in response to it fails with a <code>RestException</code>.</p>
+     *
+     * @param connection An HTTP(S) connection, which has not yet been connected
+     * @param body The request body
+     * @throws IOException If an I/O error occurs
+     */
+    private void writeBody(final URLConnection connection, final RequestBody body) throws IOException {
+        final HttpURLConnection httpURLConnection = (HttpURLConnection) connection;
+        new RequestBodyWriter() {
+            @Override
+            OutputStream fixedLength(final long length) throws IOException {
+                if (length > BUFFER_SIZE) {
+                    httpURLConnection.setFixedLengthStreamingMode(length);
+                }
+                return httpURLConnection.getOutputStream();
+            }
+
+            @Override
+            OutputStream chunked() throws IOException {
+                httpURLConnection.setChunkedStreamingMode(BUFFER_SIZE);
+                return httpURLConnection.getOutputStream();
+            }
+
+            @Override
+            void abort() {
+                httpURLConnection.disconnect();
+            }
+        }.write(body);
+    }
+
+    /**
+     * <p>This helper method constructs a new <code>HttpURLConnection</code> or <code>HttpsURLConnection</code>,
+     * configured with all of the settings that were passed in with the request (e.g. timeout thresholds, SSL
+     * verification, SSL certificate data).</p>
+     *
+     * @param request The request for which this connection will be made
+     * @return
+     * @throws RestException If the URL cannot be successfully parsed, or if there are errors processing an SSL cert, etc.
+     */
+    private URLConnection initURLConnection(final RestRequest request) throws RestException {
+        try {
+            final URL url = new URL(request.getUrl());
+            final URLConnection connection = url.openConnection();
+
+            // Timeout settings, if applicable
+            if (request.getConnectTimeoutSeconds() != null) {
+                connection.setConnectTimeout(request.getConnectTimeoutSeconds() * 1000);
+            }
+            if (request.getReadTimeoutSeconds() != null) {
+                connection.setReadTimeout(request.getReadTimeoutSeconds() * 1000);
+            }
+
+            // SSL settings, if applicable
+            if (connection instanceof HttpsURLConnection) {
+                final HttpsURLConnection httpsURLConnection = (HttpsURLConnection) connection;
+                if (request.getSslVerification() != null && !request.getSslVerification().booleanValue()) {
+                    // SSL verification disabled
+                    httpsURLConnection.setSSLSocketFactory(DISABLED_SSL_CONTEXT.getSocketFactory());
+                    httpsURLConnection.setHostnameVerifier(new HostnameVerifier() {
+                        @Override
+                        public boolean verify(final String s, final SSLSession sslSession) {
+                            return true;
+                        }
+                    });
+                } else if (request.getSslContext() != null) {
+                    // Cert file supplied
+                    httpsURLConnection.setSSLSocketFactory(request.getSslContext().getSocketFactory());
+                }
+                httpsURLConnection.setRequestMethod(request.getMethod());
+            } else if (connection instanceof HttpURLConnection) {
+                final HttpURLConnection httpURLConnection = (HttpURLConnection) connection;
+                httpURLConnection.setRequestMethod(request.getMethod());
+            } else {
+                final String message = "URL string " + request.getUrl() + " cannot be parsed as an instance of HttpURLConnection or HttpsURLConnection";
+                throw new RestException(message);
+            }
+
+            return connection;
+        } catch (RestException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RestException(e);
+        }
+    }
+
+    /**
+     * <p>This helper method downloads the body of an HTTP response (e.g. a clob of JSON text) as binary data.</p>
+     *
+     * @param connection An active HTTP(S) connection
+     * @return The body payload, downloaded from the HTTP connection response
+     * @throws RestException
+     */
+    private byte[] responseBodyBytes(final URLConnection connection) throws RestException {
+        try {
+            final InputStream inputStream;
+            final int responseCode = this.connectionStatus(connection);
+            if (200 <= responseCode && responseCode <= 299) {
+                inputStream = connection.getInputStream();
+            } else {
+                if (connection instanceof HttpsURLConnection) {
+                    final HttpsURLConnection httpsURLConnection = (HttpsURLConnection) connection;
+                    inputStream = httpsURLConnection.getErrorStream();
+                } else {
+                    final HttpURLConnection httpURLConnection = (HttpURLConnection) connection;
+                    inputStream = httpURLConnection.getErrorStream();
+                }
+            }
+            if (inputStream == null) {
+                // No error body was sent
+                return new byte[0];
+            }
+            final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            int bytesRead;
+            final byte[] bytes = new byte[16384];
+            while ((bytesRead = inputStream.read(bytes, 0, bytes.length)) != -1) {
+                byteArrayOutputStream.write(bytes, 0, bytesRead);
+            }
+            byteArrayOutputStream.flush();
+            // Fully reading and then closing the stream (rather than disconnecting) leaves the underlying socket in
+            // the JVM's keep-alive cache, for reuse by later requests.
+            inputStream.close();
+            return byteArrayOutputStream.toByteArray();
+        } catch (IOException e) {
+            return new byte[0];
+        }
+    }
+
+
+    /**
+     * <p>This helper method extracts the HTTP(S) status code from a <code>URLConnection</code>, provided
+     * that it is an <code>HttpURLConnection</code> or a <code>HttpsUrlConnection</code>.</p>
+     *
+     * @param connection An active HTTP(S) connection
+     * @return
+     * @throws IOException
+     * @throws RestException
+     */
+    private int connectionStatus(final URLConnection connection) throws IOException, RestException {
+        int statusCode;
+        if (connection instanceof HttpsURLConnection) {
+            final HttpsURLConnection httpsURLConnection = (HttpsURLConnection) connection;
+            statusCode = httpsURLConnection.getResponseCode();
+        } else if (connection instanceof HttpURLConnection) {
+            final HttpURLConnection httpURLConnection = (HttpURLConnection) connection;
+            statusCode = httpURLConnection.getResponseCode();
+        } else {
+            final String className = connection != null ? connection.getClass().getName() : "null";
+            throw new RestException("Expecting a URLConnection of type "
+                    + HttpURLConnection.class.getName()
+                    + " or "
+                    + HttpsURLConnection.class.getName()
+                    + ", found "
+                    + className);
+        }
+        return statusCode;
+    }
+
+}
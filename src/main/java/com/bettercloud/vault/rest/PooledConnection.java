@@ -0,0 +1,422 @@
+package com.bettercloud.vault.rest;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>A single persistent HTTP/1.1 connection, managed by a {@link RestConnectionPool}.</p>
+ *
+ * <p>This is a deliberately minimal HTTP/1.1 implementation, supporting only what the Vault HTTP API needs:
+ * fixed-length request bodies, and responses framed by either <code>Content-Length</code>, chunked transfer
+ * encoding, or connection close.  Instances are not thread-safe, and are only ever used by one request at a
+ * time.</p>
+ */
+final class PooledConnection implements Closeable {
+
+    private static final int MAX_LINE_LENGTH = 65536;
+
+    private final Route route;
+    private final Socket socket;
+    private final InputStream inputStream;
+    private final OutputStream outputStream;
+    private long lastUsedNanos;
+    private boolean keepAlive;
+    private boolean stale;
+
+    private PooledConnection(final Route route, final Socket socket) throws IOException {
+        this.route = route;
+        this.socket = socket;
+        this.inputStream = new BufferedInputStream(socket.getInputStream(), 16384);
+        this.outputStream = new BufferedOutputStream(socket.getOutputStream(), 16384);
+        this.lastUsedNanos = System.nanoTime();
+    }
+
+    /**
+     * <p>Opens a new TCP connection (with a TLS handshake, for HTTPS routes).</p>
+     *
+     * @param route                The scheme, host, port, and TLS settings to connect with
+     * @param connectTimeoutMillis Milliseconds to wait for the connection to establish, or zero to wait indefinitely
+     * @return A newly-opened connection
+     * @throws IOException If the connection or TLS handshake fails
+     */
+    static PooledConnection open(final Route route, final int connectTimeoutMillis) throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            socket.connect(new InetSocketAddress(route.host, route.port), connectTimeoutMillis);
+            if (route.https) {
+                final SSLSocketFactory socketFactory = route.sslContext == null
+                        ? (SSLSocketFactory) SSLSocketFactory.getDefault()
+                        : route.sslContext.getSocketFactory();
+                final SSLSocket sslSocket = (SSLSocket) socketFactory.createSocket(socket, route.host, route.port, true);
+                socket = sslSocket;
+                if (route.verifyHostname) {
+                    final SSLParameters sslParameters = sslSocket.getSSLParameters();
+                    sslParameters.setEndpointIdentificationAlgorithm("HTTPS");
+                    sslSocket.setSSLParameters(sslParameters);
+                }
+                sslSocket.startHandshake();
+            }
+            return new PooledConnection(route, socket);
+        } catch (IOException | RuntimeException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * <p>Sends one HTTP request over this connection, and downloads the complete response.</p>
+     *
+     * @param method            The request method (e.g. "GET", "POST", etc)
+     * @param url               The request URL, which must match this connection's route
+     * @param headers           Request headers, excluding <code>Host</code> and <code>Content-Length</code>
+     * @param body              The request body, or <code>null</code> when no body should be sent
+     * @param readTimeoutMillis Milliseconds to wait on each socket read, or zero to wait indefinitely
+     * @return The downloaded response
+     * @throws IOException If the connection fails, or the server sends a malformed response
+     */
+    RestResponse exchange(
+            final String method,
+            final URL url,
+            final Map<String, String> headers,
+            final RequestBody body,
+            final int readTimeoutMillis
+    ) throws IOException {
+        stale = false;
+        keepAlive = false;
+        socket.setSoTimeout(readTimeoutMillis);
+        try {
+            writeRequest(method, url, headers, body);
+        } catch (SocketException e) {
+            // The server never received the whole request, so it cannot have acted on it
+            stale = true;
+            throw e;
+        }
+        awaitResponse();
+
+        // Skip over any interim 1xx responses (e.g. "100 Continue")
+        int status;
+        String protocol;
+        Map<String, String> responseHeaders;
+        do {
+            final String statusLine = readLine(true);
+            final int firstSpace = statusLine.indexOf(' ');
+            if (firstSpace == -1 || !statusLine.startsWith("HTTP/")) {
+                throw new IOException("Malformed HTTP status line: " + statusLine);
+            }
+            final int secondSpace = statusLine.indexOf(' ', firstSpace + 1);
+            protocol = statusLine.substring(0, firstSpace);
+            try {
+                status = Integer.parseInt(statusLine.substring(firstSpace + 1,
+                        secondSpace == -1 ? statusLine.length() : secondSpace).trim());
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed HTTP status line: " + statusLine, e);
+            }
+            responseHeaders = readHeaders();
+        } while (status >= 100 && status < 200);
+
+        final String connectionHeader = responseHeaders.get("connection");
+        if ("HTTP/1.0".equals(protocol)) {
+            keepAlive = "keep-alive".equalsIgnoreCase(connectionHeader);
+        } else {
+            keepAlive = !"close".equalsIgnoreCase(connectionHeader);
+        }
+
+        final byte[] responseBody;
+        final String transferEncoding = responseHeaders.get("transfer-encoding");
+        final String contentLength = responseHeaders.get("content-length");
+        if ("HEAD".equals(method) || status == 204 || status == 304) {
+            responseBody = new byte[0];
+        } else if (transferEncoding != null && transferEncoding.toLowerCase(Locale.ROOT).contains("chunked")) {
+            responseBody = readChunkedBody();
+        } else if (contentLength != null) {
+            try {
+                responseBody = readFixedLengthBody(Long.parseLong(contentLength.trim()));
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed Content-Length header: " + contentLength, e);
+            }
+        } else {
+            // No framing information, so the body runs until the server closes the connection
+            responseBody = readUntilClosed();
+            keepAlive = false;
+        }
+        lastUsedNanos = System.nanoTime();
+        return new RestResponse(status, responseHeaders.get("content-type"), responseBody, responseHeaders);
+    }
+
+    Route getRoute() {
+        return route;
+    }
+
+    long getLastUsedNanos() {
+        return lastUsedNanos;
+    }
+
+    /**
+     * @return Whether the most recent exchange left this connection in a state where it can be reused
+     */
+    boolean isKeepAlive() {
+        return keepAlive && !socket.isClosed();
+    }
+
+    /**
+     * @return Whether the most recent exchange failed in a way showing that the server had closed this connection:
+     * either the request could not be written, or the connection was closed or reset before a single byte of the
+     * response arrived.  When a reused connection fails like this, then the server most likely closed it while idle,
+     * and the request can safely be sent again on a fresh connection.  A read timeout is never such a failure, as the
+     * server may still be acting on the request.
+     */
+    boolean isStale() {
+        return stale;
+    }
+
+    @Override
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nothing useful can be done if closing fails
+        }
+    }
+
+    private void writeRequest(
+            final String method,
+            final URL url,
+            final Map<String, String> headers,
+            final RequestBody body
+    ) throws IOException {
+        final String file = url.getFile();
+        final StringBuilder head = new StringBuilder(256);
+        head.append(method).append(' ').append(file == null || file.isEmpty() ? "/" : file).append(" HTTP/1.1\r\n");
+        head.append("Host: ").append(route.host);
+        if (url.getPort() != -1 && url.getPort() != url.getDefaultPort()) {
+            head.append(':').append(url.getPort());
+        }
+        head.append("\r\n");
+        for (final Map.Entry<String, String> header : headers.entrySet()) {
+            head.append(header.getKey()).append(": ").append(header.getValue()).append("\r\n");
+        }
+        if (body == null) {
+            if ("POST".equals(method) || "PUT".equals(method)) {
+                head.append("Content-Length: 0\r\n");
+            }
+            head.append("\r\n");
+            outputStream.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+            outputStream.flush();
+            return;
+        }
+        // The head is written only once the body's framing is known
+        new RequestBodyWriter() {
+            @Override
+            OutputStream fixedLength(final long length) throws IOException {
+                head.append("Content-Length: ").append(length).append("\r\n\r\n");
+                outputStream.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+                return new FilterOutputStream(outputStream) {
+                    @Override
+                    public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+                        out.write(bytes, offset, length);
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        flush();
+                    }
+                };
+            }
+
+            @Override
+            OutputStream chunked() throws IOException {
+                head.append("Transfer-Encoding: chunked\r\n\r\n");
+                outputStream.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+                return new ChunkedOutputStream(outputStream);
+            }
+
+            @Override
+            void abort() {
+                close();
+            }
+        }.write(body);
+    }
+
+    /**
+     * <p>Waits for the first byte of the response, without consuming it.</p>
+     */
+    private void awaitResponse() throws IOException {
+        inputStream.mark(1);
+        final int b;
+        try {
+            b = inputStream.read();
+        } catch (SocketException e) {
+            stale = true;
+            throw e;
+        }
+        if (b == -1) {
+            stale = true;
+            throw new EOFException("Connection closed by server before a response was received");
+        }
+        inputStream.reset();
+    }
+
+    private Map<String, String> readHeaders() throws IOException {
+        final Map<String, String> responseHeaders = new HashMap<>();
+        String line;
+        while (!(line = readLine(false)).isEmpty()) {
+            final int colon = line.indexOf(':');
+            if (colon > 0) {
+                responseHeaders.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+            }
+        }
+        return responseHeaders;
+    }
+
+    private byte[] readChunkedBody() throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        while (true) {
+            String sizeLine = readLine(false);
+            final int extension = sizeLine.indexOf(';');
+            if (extension != -1) {
+                sizeLine = sizeLine.substring(0, extension);
+            }
+            final long chunkSize;
+            try {
+                chunkSize = Long.parseLong(sizeLine.trim(), 16);
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed chunk size: " + sizeLine, e);
+            }
+            if (chunkSize == 0) {
+                // Discard any trailer headers
+                readHeaders();
+                return body.toByteArray();
+            }
+            copyFully(body, chunkSize);
+            readLine(false);
+        }
+    }
+
+    private byte[] readFixedLengthBody(final long contentLength) throws IOException {
+        if (contentLength > Integer.MAX_VALUE) {
+            throw new IOException("Response body too large: " + contentLength + " bytes");
+        }
+        final ByteArrayOutputStream body = new ByteArrayOutputStream((int) contentLength);
+        copyFully(body, contentLength);
+        return body.toByteArray();
+    }
+
+    private byte[] readUntilClosed() throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[16384];
+        int bytesRead;
+        while ((bytesRead = inputStream.read(buffer)) != -1) {
+            body.write(buffer, 0, bytesRead);
+        }
+        return body.toByteArray();
+    }
+
+    private void copyFully(final ByteArrayOutputStream destination, final long length) throws IOException {
+        final byte[] buffer = new byte[16384];
+        long remaining = length;
+        while (remaining > 0) {
+            final int bytesRead = inputStream.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (bytesRead == -1) {
+                throw new EOFException("Connection closed with " + remaining + " bytes of the response body unread");
+            }
+            destination.write(buffer, 0, bytesRead);
+            remaining -= bytesRead;
+        }
+    }
+
+    /**
+     * <p>Reads a single CRLF- (or bare LF-) terminated line of ISO-8859-1 text from the connection.</p>
+     *
+     * @param statusLine Whether this is the first line of a response, in which case a closed connection is reported
+     *                   as an {@link EOFException} to signal that the server dropped an idle connection
+     */
+    private String readLine(final boolean statusLine) throws IOException {
+        final StringBuilder line = new StringBuilder(64);
+        int b;
+        while ((b = inputStream.read()) != -1) {
+            if (b == '\n') {
+                final int length = line.length();
+                if (length > 0 && line.charAt(length - 1) == '\r') {
+                    line.setLength(length - 1);
+                }
+                return line.toString();
+            }
+            if (line.length() >= MAX_LINE_LENGTH) {
+                throw new IOException("HTTP response line exceeds " + MAX_LINE_LENGTH + " characters");
+            }
+            line.append((char) b);
+        }
+        throw new EOFException(statusLine ? "Connection closed by server before a response was received"
+                : "Connection closed by server in the middle of a response");
+    }
+
+    /**
+     * <p>Identifies the pool partition to which a connection belongs.  Connections can only be reused for requests
+     * to the same scheme, host, and port... with the same TLS settings.</p>
+     */
+    static final class Route {
+
+        private final boolean https;
+        private final String host;
+        private final int port;
+        private final SSLContext sslContext;
+        private final boolean verifyHostname;
+
+        Route(final URL url, final SSLContext sslContext, final boolean verifyHostname) {
+            this.https = "https".equalsIgnoreCase(url.getProtocol());
+            this.host = url.getHost();
+            this.port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+            this.sslContext = https ? sslContext : null;
+            this.verifyHostname = https && verifyHostname;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Route)) {
+                return false;
+            }
+            final Route other = (Route) o;
+            return https == other.https
+                    && port == other.port
+                    && verifyHostname == other.verifyHostname
+                    && sslContext == other.sslContext
+                    && host.equalsIgnoreCase(other.host);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(https, host.toLowerCase(Locale.ROOT), port, verifyHostname, System.identityHashCode(sslContext));
+        }
+
+        @Override
+        public String toString() {
+            return (https ? "https://" : "http://") + host + ":" + port;
+        }
+    }
+
+}
@@ -0,0 +1,554 @@
+package com.bettercloud.vault.rest;
+
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>A {@link VaultTransport} that wraps another transport, and throttles requests when Vault starts rejecting them
+ * with HTTP 429 (e.g. because a rate limit quota has been exceeded).</p>
+ *
+ * <p>Because the transport is set on a {@link com.bettercloud.vault.VaultConfig}, every <code>Vault</code> instance
+ * sharing that config shares one set of limits:</p>
+ *
+ * <blockquote>
+ * <pre>{@code
+ * final VaultConfig config = new VaultConfig()
+ *                              .address("https://127.0.0.1:8200")
+ *                              .transport(new RateLimitingTransport(new RestConnectionPool()))
+ *                              .build();
+ * }</pre>
+ * </blockquote>
+ *
+ * <p>Requests are grouped into endpoints, by server and by mount (e.g. <code>secret</code>, <code>auth/token</code> or
+ * <code>sys/health</code>), which is also the granularity at which Vault applies its rate limit quotas.  Each endpoint
+ * has an adaptive concurrency limit, managed with AIMD (additive increase, multiplicative decrease):</p>
+ *
+ * <ul>
+ *     <li>Each request that is not rate limited raises the limit by <code>1 / limit</code>, i.e. by roughly one for
+ *     every full window of requests.</li>
+ *     <li>A 429 response multiplies the limit by <code>backoffRatio</code>.  Only one decrease is applied per window,
+ *     so a burst of 429's from requests that were already in flight does not collapse the limit to its minimum.</li>
+ *     <li>A <code>Retry-After</code> header on a 429 response (in seconds, or as an HTTP date) pauses every request
+ *     to that endpoint until the given time, capped at <code>maxRetryAfterMilliseconds</code>.</li>
+ * </ul>
+ *
+ * <p>Requests beyond the limit wait, in order, for an earlier request to finish.  Throughput therefore ramps back up
+ * smoothly once Vault stops rejecting requests, rather than every client retrying at once.</p>
+ */
+public class RateLimitingTransport implements VaultTransport {
+
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    public static final int DEFAULT_MAX_LIMIT = 200;
+    public static final double DEFAULT_BACKOFF_RATIO = 0.5;
+    public static final long DEFAULT_MAX_RETRY_AFTER_MILLISECONDS = 60000L;
+
+    private static final double RATE_LIMITED_RATIO_SMOOTHING = 0.05;
+
+    private final VaultTransport delegate;
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private volatile int initialLimit = DEFAULT_INITIAL_LIMIT;
+    private volatile int minLimit = DEFAULT_MIN_LIMIT;
+    private volatile int maxLimit = DEFAULT_MAX_LIMIT;
+    private volatile double backoffRatio = DEFAULT_BACKOFF_RATIO;
+    private volatile long maxRetryAfterMilliseconds = DEFAULT_MAX_RETRY_AFTER_MILLISECONDS;
+
+    /**
+     * Throttles requests sent through a new <code>HttpURLConnection</code> for each request.
+     */
+    public RateLimitingTransport() {
+        this(HttpURLConnectionTransport.getInstance());
+    }
+
+    /**
+     * @param delegate The transport through which requests are actually sent
+     */
+    public RateLimitingTransport(final VaultTransport delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate cannot be null");
+        }
+        this.delegate = delegate;
+    }
+
+    /**
+     * <p>The concurrency limit with which each endpoint starts.  Must be set before the transport is first used.
+     * Default is <code>20</code>.</p>
+     *
+     * @param initialLimit The starting number of concurrent requests per endpoint
+     * @return This object, with initialLimit populated, ready for other builder-pattern config methods
+     */
+    public RateLimitingTransport initialLimit(final int initialLimit) {
+        if (initialLimit < 1) {
+            throw new IllegalArgumentException("initialLimit must be at least 1");
+        }
+        this.initialLimit = initialLimit;
+        return this;
+    }
+
+    /**
+     * <p>The lowest that an endpoint's concurrency limit may fall.  Default is <code>1</code>.</p>
+     *
+     * @param minLimit The minimum number of concurrent requests per endpoint
+     * @return This object, with minLimit populated, ready for other builder-pattern config methods
+     */
+    public RateLimitingTransport minLimit(final int minLimit) {
+        if (minLimit < 1) {
+            throw new IllegalArgumentException("minLimit must be at least 1");
+        }
+        this.minLimit = minLimit;
+        return this;
+    }
+
+    /**
+     * <p>The highest that an endpoint's concurrency limit may rise.  Default is <code>200</code>.</p>
+     *
+     * @param maxLimit The maximum number of concurrent requests per endpoint
+     * @return This object, with maxLimit populated, ready for other builder-pattern config methods
+     */
+    public RateLimitingTransport maxLimit(final int maxLimit) {
+        if (maxLimit < 1) {
+            throw new IllegalArgumentException("maxLimit must be at least 1");
+        }
+        this.maxLimit = maxLimit;
+        return this;
+    }
+
+    /**
+     * <p>The factor applied to an endpoint's concurrency limit upon a 429 response.  Default is <code>0.5</code>.</p>
+     *
+     * @param backoffRatio A value greater than <code>0.0</code> and less than <code>1.0</code>
+     * @return This object, with backoffRatio populated, ready for other builder-pattern config methods
+     */
+    public RateLimitingTransport backoffRatio(final double backoffRatio) {
+        if (backoffRatio <= 0.0 || backoffRatio >= 1.0) {
+            throw new IllegalArgumentException("backoffRatio must be between 0.0 and 1.0");
+        }
+        this.backoffRatio = backoffRatio;
+        return this;
+    }
+
+    /**
+     * <p>The longest that a <code>Retry-After</code> header may pause an endpoint.  Default is
+     * <code>60000</code>.</p>
+     *
+     * @param maxRetryAfterMilliseconds The upper bound on any pause
+     * @return This object, with maxRetryAfterMilliseconds populated, ready for other builder-pattern config methods
+     */
+    public RateLimitingTransport maxRetryAfterMilliseconds(final long maxRetryAfterMilliseconds) {
+        if (maxRetryAfterMilliseconds < 0) {
+            throw new IllegalArgumentException("maxRetryAfterMilliseconds cannot be negative");
+        }
+        this.maxRetryAfterMilliseconds = maxRetryAfterMilliseconds;
+        return this;
+    }
+
+    /**
+     * @return A point-in-time snapshot of the limits and 429 statistics for every endpoint used so far
+     */
+    public List<EndpointStatistics> getEndpointStatistics() {
+        final List<EndpointStatistics> statistics = new ArrayList<>();
+        for (final Endpoint endpoint : endpoints.values()) {
+            statistics.add(endpoint.statistics());
+        }
+        return statistics;
+    }
+
+    /**
+     * @param request A request
+     * @return A snapshot of the limits and 429 statistics for the endpoint to which the request belongs
+     */
+    public EndpointStatistics getEndpointStatistics(final RestRequest request) {
+        return endpoint(request).statistics();
+    }
+
+    @Override
+    public RestResponse send(final RestRequest request) throws RestException {
+        final Endpoint endpoint = endpoint(request);
+        final Permit permit = awaitPermit(endpoint);
+        RestResponse response = null;
+        try {
+            response = delegate.send(request);
+            return response;
+        } finally {
+            endpoint.release(permit, response);
+        }
+    }
+
+    /**
+     * <p>Cancelling the returned future while the request is still waiting for a permit withdraws it, so that it is
+     * never sent.</p>
+     */
+    @Override
+    public CompletableFuture<RestResponse> sendAsync(final RestRequest request, final Executor executor) {
+        final Endpoint endpoint = endpoint(request);
+        final CompletableFuture<RestResponse> result = new CompletableFuture<>();
+        final CompletableFuture<Permit> waiter = endpoint.acquire();
+        waiter.thenAccept(permit -> {
+            if (result.isDone()) {
+                // Cancelled just as the permit was granted, so hand it straight back
+                endpoint.release(permit, null);
+                return;
+            }
+            CompletableFuture<RestResponse> pending;
+            try {
+                pending = delegate.sendAsync(request, executor);
+            } catch (RuntimeException e) {
+                pending = new CompletableFuture<>();
+                pending.completeExceptionally(new RestException(e));
+            }
+            pending.whenComplete((response, error) -> {
+                endpoint.release(permit, response);
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(response);
+                }
+            });
+        });
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                endpoint.withdraw(waiter);
+            }
+        });
+        return result;
+    }
+
+    private Permit awaitPermit(final Endpoint endpoint) throws RestException {
+        final CompletableFuture<Permit> pending = endpoint.acquire();
+        try {
+            return pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!endpoint.withdraw(pending)) {
+                // Granted just as we gave up, so hand it straight back
+                endpoint.release(pending.join(), null);
+            }
+            throw new RestException(e);
+        } catch (ExecutionException e) {
+            throw new RestException(e.getCause());
+        }
+    }
+
+    private Endpoint endpoint(final RestRequest request) {
+        final String key = endpointKey(request.getUrl());
+        Endpoint endpoint = endpoints.get(key);
+        if (endpoint == null) {
+            final Endpoint newEndpoint = new Endpoint(key);
+            endpoint = endpoints.putIfAbsent(key, newEndpoint);
+            if (endpoint == null) {
+                endpoint = newEndpoint;
+            }
+        }
+        return endpoint;
+    }
+
+    /**
+     * <p>Groups a request URL into an endpoint, made up of the scheme, host and port plus the first path segment
+     * after <code>/v1/</code> (or the first two, under <code>auth/</code> and <code>sys/</code>).  This keeps the
+     * number of endpoints bounded by the number of mounts in use, rather than the number of secrets.</p>
+     *
+     * @param url A request URL
+     * @return The endpoint key (e.g. <code>https://vault:8200/v1/secret</code>)
+     */
+    static String endpointKey(final String url) {
+        try {
+            final URI uri = new URI(url);
+            final StringBuilder key = new StringBuilder();
+            key.append(uri.getScheme()).append("://").append(uri.getHost());
+            if (uri.getPort() != -1) {
+                key.append(':').append(uri.getPort());
+            }
+            final String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+            int segments = 0;
+            int index = path.startsWith("/v1/") ? 4 : 1;
+            key.append(path, 0, Math.min(index, path.length()));
+            final int maxSegments = path.startsWith("auth/", index) || path.startsWith("sys/", index) ? 2 : 1;
+            while (index < path.length() && segments < maxSegments) {
+                int next = path.indexOf('/', index);
+                if (next == -1) {
+                    next = path.length();
+                }
+                if (segments > 0) {
+                    key.append('/');
+                }
+                key.append(path, index, next);
+                segments++;
+                index = next + 1;
+            }
+            return key.toString();
+        } catch (Exception e) {
+            return url;
+        }
+    }
+
+    /**
+     * <p>Parses a <code>Retry-After</code> header value, which may be either a number of seconds or an HTTP date.</p>
+     *
+     * @param retryAfter The header value (may be <code>null</code>)
+     * @return The number of milliseconds to wait, or <code>0</code> if the value is missing or cannot be parsed
+     */
+    static long parseRetryAfterMilliseconds(final String retryAfter) {
+        if (retryAfter == null || retryAfter.trim().isEmpty()) {
+            return 0;
+        }
+        final String value = retryAfter.trim();
+        try {
+            return Math.max(0, TimeUnit.SECONDS.toMillis(Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            try {
+                final ZonedDateTime date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, date.toInstant().toEpochMilli() - System.currentTimeMillis());
+            } catch (DateTimeParseException e1) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * <p>A concurrency slot granted to a single request, remembering which window it was granted in.</p>
+     */
+    private static final class Permit {
+
+        private final long window;
+
+        private Permit(final long window) {
+            this.window = window;
+        }
+    }
+
+    /**
+     * <p>The adaptive limit, wait queue and statistics for a single endpoint.</p>
+     */
+    private final class Endpoint {
+
+        private final String key;
+        private final Deque<CompletableFuture<Permit>> waiters = new ArrayDeque<>();
+        private double limit = initialLimit;
+        private int inFlight;
+        private long window;
+        private boolean paused;
+        private long pausedUntilNanos;
+        private boolean resumeScheduled;
+        private long requestCount;
+        private long rateLimitedCount;
+        private double rateLimitedRatio;
+
+        private Endpoint(final String key) {
+            this.key = key;
+        }
+
+        private CompletableFuture<Permit> acquire() {
+            final CompletableFuture<Permit> permit = new CompletableFuture<>();
+            synchronized (this) {
+                waiters.addLast(permit);
+            }
+            grantPermits();
+            return permit;
+        }
+
+        /**
+         * <p>Takes a waiter that no longer wants a permit out of the queue.</p>
+         *
+         * @return Whether it was withdrawn before being granted a permit (otherwise, the caller must release it)
+         */
+        private boolean withdraw(final CompletableFuture<Permit> waiter) {
+            synchronized (this) {
+                waiters.remove(waiter);
+            }
+            return waiter.cancel(false);
+        }
+
+        private void release(final Permit permit, final RestResponse response) {
+            synchronized (this) {
+                inFlight--;
+                if (response != null) {
+                    requestCount++;
+                    final boolean rateLimited = response.getStatus() == 429;
+                    rateLimitedRatio += RATE_LIMITED_RATIO_SMOOTHING * ((rateLimited ? 1.0 : 0.0) - rateLimitedRatio);
+                    if (rateLimited) {
+                        rateLimitedCount++;
+                        if (permit.window == window) {
+                            limit = Math.max(minLimit, limit * backoffRatio);
+                            window++;
+                        }
+                        final long retryAfter = Math.min(maxRetryAfterMilliseconds,
+                                parseRetryAfterMilliseconds(response.getHeader("Retry-After")));
+                        if (retryAfter > 0) {
+                            // Compared by difference, as nanoTime() values may be negative or wrap around
+                            final long untilNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryAfter);
+                            if (!paused || untilNanos - pausedUntilNanos > 0) {
+                                pausedUntilNanos = untilNanos;
+                            }
+                            paused = true;
+                        }
+                    } else {
+                        limit = Math.min(maxLimit, limit + 1.0 / limit);
+                    }
+                }
+            }
+            grantPermits();
+        }
+
+        /**
+         * <p>Hands out as many permits as the current limit allows, to waiters in arrival order.  Futures are
+         * completed outside the lock, as that may run the caller's dependent stages.</p>
+         */
+        private void grantPermits() {
+            while (true) {
+                final CompletableFuture<Permit> waiter;
+                final Permit permit;
+                synchronized (this) {
+                    if (waiters.isEmpty() || inFlight >= Math.max(1, (int) limit)) {
+                        return;
+                    }
+                    if (paused) {
+                        final long pausedNanos = pausedUntilNanos - System.nanoTime();
+                        if (pausedNanos > 0) {
+                            if (!resumeScheduled) {
+                                resumeScheduled = true;
+                                Scheduler.INSTANCE.schedule(this::resume, pausedNanos, TimeUnit.NANOSECONDS);
+                            }
+                            return;
+                        }
+                        paused = false;
+                    }
+                    waiter = waiters.pollFirst();
+                    permit = new Permit(window);
+                    inFlight++;
+                }
+                if (!waiter.complete(permit)) {
+                    // The waiter gave up (e.g. was interrupted), so return the slot
+                    synchronized (this) {
+                        inFlight--;
+                    }
+                }
+            }
+        }
+
+        private void resume() {
+            synchronized (this) {
+                resumeScheduled = false;
+            }
+            grantPermits();
+        }
+
+        private synchronized EndpointStatistics statistics() {
+            final long pausedMillis = paused
+                    ? Math.max(0, TimeUnit.NANOSECONDS.toMillis(pausedUntilNanos - System.nanoTime())) : 0;
+            return new EndpointStatistics(key, (int) limit, inFlight, waiters.size(), requestCount, rateLimitedCount,
+                    rateLimitedRatio, pausedMillis);
+        }
+    }
+
+    /**
+     * <p>A point-in-time snapshot of the throttling state of a single endpoint.</p>
+     */
+    public static final class EndpointStatistics {
+
+        private final String endpoint;
+        private final int limit;
+        private final int inFlight;
+        private final int queued;
+        private final long requestCount;
+        private final long rateLimitedCount;
+        private final double rateLimitedRatio;
+        private final long pausedMilliseconds;
+
+        private EndpointStatistics(final String endpoint, final int limit, final int inFlight, final int queued,
+                                   final long requestCount, final long rateLimitedCount, final double rateLimitedRatio,
+                                   final long pausedMilliseconds) {
+            this.endpoint = endpoint;
+            this.limit = limit;
+            this.inFlight = inFlight;
+            this.queued = queued;
+            this.requestCount = requestCount;
+            this.rateLimitedCount = rateLimitedCount;
+            this.rateLimitedRatio = rateLimitedRatio;
+            this.pausedMilliseconds = pausedMilliseconds;
+        }
+
+        /**
+         * @return The endpoint key (e.g. <code>https://vault:8200/v1/secret</code>)
+         */
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        /**
+         * @return The current concurrency limit
+         */
+        public int getLimit() {
+            return limit;
+        }
+
+        /**
+         * @return The number of requests currently being sent
+         */
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        /**
+         * @return The number of requests waiting for a slot under the limit
+         */
+        public int getQueued() {
+            return queued;
+        }
+
+        /**
+         * @return The total number of responses received
+         */
+        public long getRequestCount() {
+            return requestCount;
+        }
+
+        /**
+         * @return The total number of 429 responses received
+         */
+        public long getRateLimitedCount() {
+            return rateLimitedCount;
+        }
+
+        /**
+         * @return An exponentially-weighted moving average of the fraction of recent responses that were 429's
+         */
+        public double getRateLimitedRatio() {
+            return rateLimitedRatio;
+        }
+
+        /**
+         * @return How much longer requests are paused by a <code>Retry-After</code> header, or <code>0</code>
+         */
+        public long getPausedMilliseconds() {
+            return pausedMilliseconds;
+        }
+    }
+
+    /**
+     * <p>Holder for the lazily-created scheduler that resumes endpoints once a <code>Retry-After</code> pause ends.</p>
+     */
+    private static final class Scheduler {
+
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "vault-rate-limit-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.bettercloud.vault.rest;
+
+import com.bettercloud.vault.json.JsonValue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * <p>The body of an HTTP request, which a {@link VaultTransport} writes directly to the connection's output
+ * stream.</p>
+ *
+ * <p>A body built from a <code>JsonValue</code> (see {@link #of(JsonValue)}) is serialized as UTF-8 straight into the
+ * connection as the request is sent, so no complete copy of it (as a <code>String</code> or a byte array) is ever
+ * held in memory.  Its length is not known in advance:  the built-in transports send it with a
+ * <code>Content-Length</code> header if it turns out to fit within a small buffer, and otherwise with chunked transfer
+ * encoding.</p>
+ *
+ * <p>A body may be written more than once (e.g. when a request is sent again on another connection), so any
+ * implementation must produce the same bytes each time {@link #writeTo(OutputStream)} is called.</p>
+ */
+public abstract class RequestBody {
+
+    /**
+     * <p>A body consisting of the given bytes.</p>
+     *
+     * @param bytes The payload, which is copied
+     * @return The request body
+     */
+    public static RequestBody of(final byte[] bytes) {
+        return new ByteArrayBody(Arrays.copyOf(bytes, bytes.length));
+    }
+
+    /**
+     * <p>A body consisting of the minimal JSON representation of the given value, encoded as UTF-8 only as the body
+     * is written.  The value must not be modified until the request has been sent.</p>
+     *
+     * @param json The payload
+     * @return The request body
+     */
+    public static RequestBody of(final JsonValue json) {
+        if (json == null) {
+            throw new NullPointerException("json is null");
+        }
+        return new JsonBody(json);
+    }
+
+    /**
+     * <p>A body consisting of the given bytes, without copying them.</p>
+     */
+    static RequestBody wrap(final byte[] bytes) {
+        return new ByteArrayBody(bytes);
+    }
+
+    /**
+     * @return The length of the body in bytes, or <code>-1</code> if it is not known until the body is written
+     */
+    public long contentLength() {
+        return -1;
+    }
+
+    /**
+     * <p>Writes the body to the given stream, which is neither flushed nor closed.</p>
+     *
+     * @param outputStream The stream to write to
+     * @throws IOException If an I/O error occurs in the stream
+     */
+    public abstract void writeTo(OutputStream outputStream) throws IOException;
+
+    /**
+     * @return The complete body, which may be this body's own array (and so must not be modified)
+     */
+    byte[] bytes() {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            writeTo(outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static final class ByteArrayBody extends RequestBody {
+
+        private final byte[] bytes;
+
+        private ByteArrayBody(final byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public long contentLength() {
+            return bytes.length;
+        }
+
+        @Override
+        public void writeTo(final OutputStream outputStream) throws IOException {
+            outputStream.write(bytes);
+        }
+
+        @Override
+        byte[] bytes() {
+            return bytes;
+        }
+    }
+
+    private static final class JsonBody extends RequestBody {
+
+        private final JsonValue json;
+
+        private JsonBody(final JsonValue json) {
+            this.json = json;
+        }
+
+        @Override
+        public void writeTo(final OutputStream outputStream) throws IOException {
+            json.writeTo(outputStream);
+        }
+    }
+
+}
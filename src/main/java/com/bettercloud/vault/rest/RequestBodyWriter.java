@@ -0,0 +1,162 @@
+package com.bettercloud.vault.rest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>Writes a {@link RequestBody} to a connection, choosing how the body is framed.  A body of known length is sent
+ * with that length.  A body of unknown length is buffered until either it ends, when it is sent with the buffered
+ * length, or the buffer fills up, when the rest of it is streamed with chunked transfer encoding.  So small bodies
+ * (i.e. almost every Vault request) are framed exactly as they would be if serialized up front, while large ones are
+ * sent without ever being held in memory as a whole.</p>
+ *
+ * <p>Each transport supplies the two ways of opening the connection's output stream, and a way of abandoning the
+ * connection.  Whichever stream is used, it is closed once the whole body has been written.  If writing the body
+ * fails part way through, then the stream is never closed (which would end the body as though it were complete), and
+ * the connection is aborted instead.</p>
+ */
+abstract class RequestBodyWriter {
+
+    /**
+     * The number of bytes of a body of unknown length that are buffered, before switching to chunked transfer
+     * encoding.  Also used as the chunk size.
+     */
+    static final int BUFFER_SIZE = 16384;
+
+    /**
+     * <p>Opens the connection's output stream, for a body of the given length.</p>
+     *
+     * @param length The exact number of bytes that will be written
+     * @return The stream to write the body to
+     * @throws IOException If the stream cannot be opened
+     */
+    abstract OutputStream fixedLength(long length) throws IOException;
+
+    /**
+     * <p>Opens the connection's output stream, for a body to be sent with chunked transfer encoding.  Bytes written to
+     * the returned stream must be framed as chunks by it, and closing it must end the body.</p>
+     *
+     * @return The stream to write the body to
+     * @throws IOException If the stream cannot be opened
+     */
+    abstract OutputStream chunked() throws IOException;
+
+    /**
+     * <p>Abandons the connection after writing the body has failed, so that the server never receives the partial
+     * body as a complete request.</p>
+     */
+    abstract void abort();
+
+    /**
+     * <p>Writes the given body through one of the streams opened by this writer.</p>
+     *
+     * @param body The body to write
+     * @throws IOException If an I/O error occurs, in which case the connection has been aborted
+     */
+    final void write(final RequestBody body) throws IOException {
+        final long length = body.contentLength();
+        final OutputStream outputStream = length >= 0 ? fixedLength(length) : new SpillingOutputStream();
+        try {
+            body.writeTo(outputStream);
+        } catch (Throwable e) {
+            abort();
+            throw e;
+        }
+        outputStream.close();
+    }
+
+    /**
+     * <p>Buffers up to <code>BUFFER_SIZE</code> bytes, and then spills everything into a chunked stream.</p>
+     */
+    private final class SpillingOutputStream extends OutputStream {
+
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int count;
+        private OutputStream target;
+        private boolean closed;
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            if (target == null) {
+                if (count + length <= buffer.length) {
+                    System.arraycopy(bytes, offset, buffer, count, length);
+                    count += length;
+                    return;
+                }
+                target = chunked();
+                target.write(buffer, 0, count);
+            }
+            target.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (target == null) {
+                target = fixedLength(count);
+                target.write(buffer, 0, count);
+            }
+            target.close();
+        }
+    }
+
+    /**
+     * <p>Frames everything written to it as HTTP/1.1 chunks, and ends the body when closed.  Does not close the
+     * underlying stream, which belongs to a connection that may be reused.</p>
+     */
+    static final class ChunkedOutputStream extends OutputStream {
+
+        private static final byte[] CRLF = {'\r', '\n'};
+        private static final byte[] LAST_CHUNK = {'0', '\r', '\n', '\r', '\n'};
+
+        private final OutputStream outputStream;
+        private boolean closed;
+
+        ChunkedOutputStream(final OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            if (length == 0) {
+                return;
+            }
+            outputStream.write(Integer.toHexString(length).getBytes(StandardCharsets.ISO_8859_1));
+            outputStream.write(CRLF);
+            outputStream.write(bytes, offset, length);
+            outputStream.write(CRLF);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            outputStream.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                outputStream.write(LAST_CHUNK);
+                outputStream.flush();
+            }
+        }
+    }
+
+}
@@ -1,29 +1,17 @@
 package com.bettercloud.vault.rest;
 
-import javax.net.ssl.HostnameVerifier;
-import javax.net.ssl.HttpsURLConnection;
+import com.bettercloud.vault.json.JsonValue;
+
 import javax.net.ssl.SSLContext;
-import javax.net.ssl.SSLSession;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.X509TrustManager;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.net.URLConnection;
 import java.net.URLEncoder;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
-import java.security.cert.CertificateException;
-import java.security.cert.X509Certificate;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * <p>A simple client for issuing HTTP requests.  Supports the HTTP verbs:</p>
@@ -59,39 +47,15 @@ import java.util.TreeMap;
  *
  * <p>Header and parameter names and values are url-encoded by the Rest client prior to sending the request.  The URL
  * string should be url-encoded by you (if necessary) prior to passing it.</p>
+ *
+ * <p>The HTTP verb methods assemble an immutable {@link RestRequest}, and hand it to a {@link VaultTransport} to
+ * actually send.  Unless a different transport is set with <code>transport()</code>, requests go through a new
+ * <code>HttpURLConnection</code>.</p>
  */
 public class Rest {
 
-    /**
-     * A dummy SSLContext, for use when SSL verification is disabled.  Overwrites Java's default server certificate
-     * verification process, to always trust any certificates.
-     */
-    private static SSLContext DISABLED_SSL_CONTEXT;
-
-    static {
-        try {
-            DISABLED_SSL_CONTEXT = SSLContext.getInstance("TLS");
-            DISABLED_SSL_CONTEXT.init(null, new TrustManager[]{new X509TrustManager() {
-                @Override
-                public void checkClientTrusted(final X509Certificate[] x509Certificates, final String s) throws CertificateException {
-                }
-
-                @Override
-                public void checkServerTrusted(final X509Certificate[] x509Certificates, final String s) throws CertificateException {
-                }
-
-                @Override
-                public X509Certificate[] getAcceptedIssuers() {
-                    return new X509Certificate[0];
-                }
-            }}, new java.security.SecureRandom());
-        } catch (NoSuchAlgorithmException | KeyManagementException e) {
-            e.printStackTrace();
-        }
-    }
-
     private String urlString;
-    private byte[] body;
+    private RequestBody body;
     private final Map<String, String> parameters = new TreeMap<>();
     private final Map<String, String> headers = new TreeMap<>();
 
@@ -99,6 +63,7 @@ public class Rest {
     private Integer readTimeoutSeconds;
     private Boolean sslVerification;
     private SSLContext sslContext;
+    private VaultTransport transport;
 
     /**
      * <p>Sets the base URL to which the HTTP request will be sent.  The URL may or may not include query parameters
@@ -126,7 +91,32 @@ public class Rest {
      * @return This object, with body populated, ready for other builder-pattern config methods or an HTTP verb method
      */
     public Rest body(final byte[] body) {
-        this.body = body == null ? null : Arrays.copyOf(body, body.length);
+        this.body = body == null ? null : RequestBody.of(body);
+        return this;
+    }
+
+    /**
+     * <p>Sets a JSON payload that will be sent as the request body for POST or PUT requests, in the same way as
+     * <code>body(byte[])</code>.  The value is serialized as UTF-8 directly into the connection as the request is
+     * sent (see {@link RequestBody#of(JsonValue)}), rather than first being converted to a <code>String</code> and
+     * then to bytes.</p>
+     *
+     * @param body The payload to send with a POST or PUT request
+     * @return This object, with body populated, ready for other builder-pattern config methods or an HTTP verb method
+     */
+    public Rest body(final JsonValue body) {
+        this.body = body == null ? null : RequestBody.of(body);
+        return this;
+    }
+
+    /**
+     * <p>Sets the request body for POST or PUT requests, in the same way as <code>body(byte[])</code>.</p>
+     *
+     * @param body The payload to send with a POST or PUT request
+     * @return This object, with body populated, ready for other builder-pattern config methods or an HTTP verb method
+     */
+    public Rest body(final RequestBody body) {
+        this.body = body;
         return this;
     }
 
@@ -245,6 +235,18 @@ public class Rest {
         return this;
     }
 
+    /**
+     * <p>The transport through which the request will actually be sent.  If this is not set (or is set to
+     * <code>null</code>), then the request is sent through a new <code>HttpURLConnection</code>.</p>
+     *
+     * @param transport A transport implementation, typically shared through a {@link com.bettercloud.vault.VaultConfig}
+     * @return This object, with transport populated, ready for other builder-pattern config methods or an HTTP verb method
+     */
+    public Rest transport(final VaultTransport transport) {
+        this.transport = transport;
+        return this;
+    }
+
     /**
      * <p>Executes an HTTP GET request with the settings already configured.  Parameters and headers are optional, but
      * a <code>RestException</code> will be thrown if the caller has not first set a base URL with the
@@ -257,33 +259,7 @@ public class Rest {
      * @throws RestException If an error occurs, or an unexpected response received
      */
     public RestResponse get() throws RestException {
-        if (urlString == null) {
-            throw new RestException("No URL is set");
-        }
-        try {
-            if (!parameters.isEmpty()) {
-                // Append parameters to existing query string, or create one
-                if (urlString.indexOf('?') == -1) {
-                    urlString = urlString + "?" + parametersToQueryString();
-                } else {
-                    urlString = urlString + "&" + parametersToQueryString();
-                }
-            }
-            // Initialize HTTP(S) connection, and set any header values
-            final URLConnection connection = initURLConnection(urlString, "GET");
-            for (final Map.Entry<String, String> header : headers.entrySet()) {
-                connection.setRequestProperty(header.getKey(), header.getValue());
-            }
-
-            // Get the resulting status code
-            final int statusCode = connectionStatus(connection);
-            // Download and parse response
-            final String mimeType = connection.getContentType();
-            final byte[] body = responseBodyBytes(connection);
-            return new RestResponse(statusCode, mimeType, body);
-        } catch (Exception e) {
-            throw new RestException(e);
-        }
+        return send("GET");
     }
 
     /**
@@ -300,7 +276,7 @@ public class Rest {
      * @throws RestException If an error occurs, or an unexpected response received
      */
     public RestResponse post() throws RestException {
-        return postOrPutImpl(true);
+        return send("POST");
     }
 
     /**
@@ -317,7 +293,7 @@ public class Rest {
      * @throws RestException If an error occurs, or an unexpected response received
      */
     public RestResponse put() throws RestException {
-        return postOrPutImpl(false);
+        return send("PUT");
     }
 
     /**
@@ -332,145 +308,108 @@ public class Rest {
      * @throws RestException If an error occurs, or an unexpected response received
      */
     public RestResponse delete() throws RestException {
-        if (urlString == null) {
-            throw new RestException("No URL is set");
-        }
-        try {
-            if (!parameters.isEmpty()) {
-                // Append parameters to existing query string, or create one
-                if (urlString.indexOf('?') == -1) {
-                    urlString = urlString + "?" + parametersToQueryString();
-                } else {
-                    urlString = urlString + "&" + parametersToQueryString();
-                }
-            }
-            // Initialize HTTP(S) connection, and set any header values
-            final URLConnection connection = initURLConnection(urlString, "DELETE");
-            for (final Map.Entry<String, String> header : headers.entrySet()) {
-                connection.setRequestProperty(header.getKey(), header.getValue());
-            }
+        return send("DELETE");
+    }
 
-            // Get the resulting status code
-            final int statusCode = connectionStatus(connection);
-            // Download and parse response
-            final String mimeType = connection.getContentType();
-            final byte[] body = responseBodyBytes(connection);
-            return new RestResponse(statusCode, mimeType, body);
-        } catch (Exception e) {
-            throw new RestException(e);
+    /**
+     * <p>The non-blocking equivalent of <code>get()</code>.  Whether a thread is occupied while waiting on the
+     * response depends upon the transport (see {@link VaultTransport#sendAsync(RestRequest, Executor)}).</p>
+     *
+     * @param executor The executor on which any blocking work may be run
+     * @return A future completed with the result of the HTTP operation, or with a <code>RestException</code>
+     */
+    public CompletableFuture<RestResponse> getAsync(final Executor executor) {
+        return sendAsync("GET", executor);
+    }
+
+    /**
+     * <p>The non-blocking equivalent of <code>post()</code>.</p>
+     *
+     * @param executor The executor on which any blocking work may be run
+     * @return A future completed with the result of the HTTP operation, or with a <code>RestException</code>
+     */
+    public CompletableFuture<RestResponse> postAsync(final Executor executor) {
+        return sendAsync("POST", executor);
+    }
+
+    /**
+     * <p>The non-blocking equivalent of <code>put()</code>.</p>
+     *
+     * @param executor The executor on which any blocking work may be run
+     * @return A future completed with the result of the HTTP operation, or with a <code>RestException</code>
+     */
+    public CompletableFuture<RestResponse> putAsync(final Executor executor) {
+        return sendAsync("PUT", executor);
+    }
+
+    /**
+     * <p>The non-blocking equivalent of <code>delete()</code>.</p>
+     *
+     * @param executor The executor on which any blocking work may be run
+     * @return A future completed with the result of the HTTP operation, or with a <code>RestException</code>
+     */
+    public CompletableFuture<RestResponse> deleteAsync(final Executor executor) {
+        return sendAsync("DELETE", executor);
+    }
+
+    private RestResponse send(final String method) throws RestException {
+        return transport().send(buildRequest(method));
+    }
+
+    private CompletableFuture<RestResponse> sendAsync(final String method, final Executor executor) {
+        try {
+            return transport().sendAsync(buildRequest(method), executor);
+        } catch (RestException e) {
+            final CompletableFuture<RestResponse> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
         }
     }
 
+    private VaultTransport transport() {
+        return transport == null ? HttpURLConnectionTransport.getInstance() : transport;
+    }
 
     /**
-     * Since the implementations of a POST request and PUT request differ by only one line of code, they are refactored
-     * into this private method which is turned wrapped by <code>post()</code> and <code>put()</code>.
+     * <p>Builds an immutable {@link RestRequest} from the settings already configured, ready to be sent through the
+     * configured transport.</p>
      *
-     * @param doPost If <code>true</code>, then a POST operation will be performed.  If false, then a PUT.
-     * @return The result of the HTTP operation
-     * @throws RestException
+     * <p>For GET and DELETE requests, any parameters are appended to the URL's query string.  For POST and PUT
+     * requests, a body payload set via <code>body()</code> takes precedence... and otherwise, any parameters are sent
+     * as form data.</p>
+     *
+     * @param method The applicable request method (e.g. "GET", "POST", etc)
+     * @return The request to send
+     * @throws RestException If no URL has been set
      */
-    private RestResponse postOrPutImpl(final boolean doPost) throws RestException {
+    private RestRequest buildRequest(final String method) throws RestException {
         if (urlString == null) {
             throw new RestException("No URL is set");
         }
-        try {
-            // Initialize HTTP connection, and set any header values
-            URLConnection connection;
-            if (doPost) {
-                connection = initURLConnection(urlString, "POST");
-            } else {
-                connection = initURLConnection(urlString, "PUT");
-            }
-            for (final Map.Entry<String, String> header : headers.entrySet()) {
-                connection.setRequestProperty(header.getKey(), header.getValue());
-            }
-
-            connection.setDoOutput(true);
-            connection.setRequestProperty("Accept-Charset", "UTF-8");
-
+        String requestUrl = urlString;
+        RequestBody requestBody = null;
+        final Map<String, String> requestHeaders = new TreeMap<>(headers);
+        if ("POST".equals(method) || "PUT".equals(method)) {
+            requestHeaders.put("Accept-Charset", "UTF-8");
             // If a body payload has been provided, then it takes precedence.  Otherwise, look for any additional
             // parameters to send as form field values.  Parameters sent via the base URL query string are left
             // as-is regardless.
             if (body != null) {
-                final OutputStream outputStream = connection.getOutputStream();
-                outputStream.write(body);
-                outputStream.close();
+                requestBody = body;
             } else if (!parameters.isEmpty()) {
-                connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded;charset=UTF-8");
-                final OutputStream outputStream = connection.getOutputStream();
-                outputStream.write(parametersToQueryString().getBytes("UTF-8"));
-                outputStream.close();
-            }
-
-            // Get the resulting status code
-            final int statusCode = connectionStatus(connection);
-            // Download and parse response
-            final String mimeType = connection.getContentType();
-            final byte[] body = responseBodyBytes(connection);
-            return new RestResponse(statusCode, mimeType, body);
-        } catch (IOException e) {
-            throw new RestException(e);
-        }
-    }
-
-    /**
-     * <p>This helper method constructs a new <code>HttpURLConnection</code> or <code>HttpsURLConnection</code>,
-     * configured with all of the settings that were passed in when first initializing this <code>Rest</code>
-     * instance (e.g. timeout thresholds, SSL verification, SSL certificate data).</p>
-     *
-     * @param urlString The URL to which this connection will be made
-     * @param method    The applicable request method (e.g. "GET", "POST", etc)
-     * @return
-     * @throws RestException If the URL cannot be successfully parsed, or if there are errors processing an SSL cert, etc.
-     */
-    private URLConnection initURLConnection(final String urlString, final String method) throws RestException {
-        URLConnection connection = null;
-        try {
-            final URL url = new URL(urlString);
-            connection = url.openConnection();
-
-            // Timeout settings, if applicable
-            if (connectTimeoutSeconds != null) {
-                connection.setConnectTimeout(connectTimeoutSeconds * 1000);
-            }
-            if (readTimeoutSeconds != null) {
-                connection.setReadTimeout(readTimeoutSeconds * 1000);
+                requestHeaders.put("Content-Type", "application/x-www-form-urlencoded;charset=UTF-8");
+                requestBody = RequestBody.wrap(parametersToQueryString().getBytes(StandardCharsets.UTF_8));
             }
-
-            // SSL settings, if applicable
-            if (connection instanceof HttpsURLConnection) {
-                final HttpsURLConnection httpsURLConnection = (HttpsURLConnection) connection;
-                if (sslVerification != null && !sslVerification.booleanValue()) {
-                    // SSL verification disabled
-                    httpsURLConnection.setSSLSocketFactory(DISABLED_SSL_CONTEXT.getSocketFactory());
-                    httpsURLConnection.setHostnameVerifier(new HostnameVerifier() {
-                        @Override
-                        public boolean verify(final String s, final SSLSession sslSession) {
-                            return true;
-                        }
-                    });
-                } else if (sslContext != null) {
-                    // Cert file supplied
-                    httpsURLConnection.setSSLSocketFactory(sslContext.getSocketFactory());
-                }
-                httpsURLConnection.setRequestMethod(method);
-            } else if (connection instanceof HttpURLConnection) {
-                final HttpURLConnection httpURLConnection = (HttpURLConnection) connection;
-                httpURLConnection.setRequestMethod(method);
+        } else if (!parameters.isEmpty()) {
+            // Append parameters to existing query string, or create one
+            if (requestUrl.indexOf('?') == -1) {
+                requestUrl = requestUrl + "?" + parametersToQueryString();
             } else {
-                final String message = "URL string " + urlString + " cannot be parsed as an instance of HttpURLConnection or HttpsURLConnection";
-                throw new RestException(message);
-            }
-
-            return connection;
-        } catch (Exception e) {
-            throw new RestException(e);
-        } finally {
-            if (connection != null && connection instanceof HttpURLConnection) {
-                ((HttpURLConnection) connection).disconnect();
+                requestUrl = requestUrl + "&" + parametersToQueryString();
             }
         }
+        return new RestRequest(method, requestUrl, requestHeaders, requestBody,
+                connectTimeoutSeconds, readTimeoutSeconds, sslVerification, sslContext);
     }
 
     /**
@@ -493,70 +432,4 @@ public class Rest {
         return queryString.toString();
     }
 
-    /**
-     * <p>This helper method downloads the body of an HTTP response (e.g. a clob of JSON text) as binary data.</p>
-     *
-     * @param connection An active HTTP(S) connection
-     * @return The body payload, downloaded from the HTTP connection response
-     * @throws RestException
-     */
-    private byte[] responseBodyBytes(final URLConnection connection) throws RestException {
-        try {
-            final InputStream inputStream;
-            final int responseCode = this.connectionStatus(connection);
-            if (200 <= responseCode && responseCode <= 299) {
-                inputStream = connection.getInputStream();
-            } else {
-                if (connection instanceof HttpsURLConnection) {
-                    final HttpsURLConnection httpsURLConnection = (HttpsURLConnection) connection;
-                    inputStream = httpsURLConnection.getErrorStream();
-                } else {
-                    final HttpURLConnection httpURLConnection = (HttpURLConnection) connection;
-                    inputStream = httpURLConnection.getErrorStream();
-                }
-            }
-            final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-            int bytesRead;
-            final byte[] bytes = new byte[16384];
-            while ((bytesRead = inputStream.read(bytes, 0, bytes.length)) != -1) {
-                byteArrayOutputStream.write(bytes, 0, bytesRead);
-            }
-            byteArrayOutputStream.flush();
-            return byteArrayOutputStream.toByteArray();
-        } catch (IOException e) {
-            return new byte[0];
-        }
-    }
-
-
-    /**
-     * <p>This helper method extracts the HTTP(S) status code from a <code>URLConnection</code>, provided
-     * that it is an <code>HttpURLConnection</code> or a <code>HttpsUrlConnection</code>.</p>
-     *
-     * @param connection An active HTTP(S) connection
-     * @return
-     * @throws IOException
-     * @throws RestException
-     */
-    private int connectionStatus(final URLConnection connection) throws IOException, RestException {
-        int statusCode;
-        if (connection instanceof HttpsURLConnection) {
-            final HttpsURLConnection httpsURLConnection = (HttpsURLConnection) connection;
-            statusCode = httpsURLConnection.getResponseCode();
-        } else if (connection instanceof HttpURLConnection) {
-            final HttpURLConnection httpURLConnection = (HttpURLConnection) connection;
-            statusCode = httpURLConnection.getResponseCode();
-        } else {
-            final String className = connection != null ? connection.getClass().getName() : "null";
-            throw new RestException("Expecting a URLConnection of type "
-                    + HttpURLConnection.class.getName()
-                    + " or "
-                    + HttpsURLConnection.class.getName()
-                    + ", found "
-                    + className);
-        }
-        return statusCode;
-    }
-
 }
-
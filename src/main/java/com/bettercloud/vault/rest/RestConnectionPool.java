@@ -0,0 +1,306 @@
+package com.bettercloud.vault.rest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>A {@link VaultTransport} backed by a pool of persistent HTTP/1.1 connections, which <code>Rest</code> can use
+ * in place of a new <code>HttpURLConnection</code> for each request.  Reusing connections avoids paying for a new
+ * TCP (and TLS) handshake on every Vault API call.</p>
+ *
+ * <p>A single pool is meant to be shared by all requests to a Vault server, typically by setting it on a
+ * {@link com.bettercloud.vault.VaultConfig} object:</p>
+ *
+ * <blockquote>
+ * <pre>{@code
+ * final RestConnectionPool connectionPool = new RestConnectionPool()
+ *                              .maxConnectionsPerHost(10)
+ *                              .idleTimeoutMilliseconds(60000);
+ * final VaultConfig config = new VaultConfig()
+ *                              .address("https://127.0.0.1:8200")
+ *                              .transport(connectionPool)
+ *                              .build();
+ * }</pre>
+ * </blockquote>
+ *
+ * <p>Connections are partitioned by scheme, host, port and TLS settings.  At most
+ * <code>maxConnectionsPerHost</code> requests to the same partition are in flight at any time, and additional
+ * requests wait for a connection to be released.  Connections left idle for longer than
+ * <code>idleTimeoutMilliseconds</code> are closed the next time the pool is used, or whenever
+ * {@link #evictIdleConnections()} is called.</p>
+ *
+ * <p>Unlike <code>HttpURLConnection</code>, pooled connections do not honor the JVM's proxy settings.</p>
+ */
+public class RestConnectionPool implements VaultTransport, Closeable {
+
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 5;
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLISECONDS = 30000L;
+
+    private final ConcurrentMap<PooledConnection.Route, HostPool> hostPools = new ConcurrentHashMap<>();
+    private final AtomicLong connectionsCreated = new AtomicLong();
+    private final AtomicLong connectionsReused = new AtomicLong();
+    private final AtomicLong connectionsEvicted = new AtomicLong();
+
+    private volatile int maxConnectionsPerHost = DEFAULT_MAX_CONNECTIONS_PER_HOST;
+    private volatile long idleTimeoutMilliseconds = DEFAULT_IDLE_TIMEOUT_MILLISECONDS;
+    private volatile boolean closed;
+
+    /**
+     * <p>The maximum number of connections that may be open to a single host at once.  Must be set before the
+     * pool is first used.  Default is <code>5</code>.</p>
+     *
+     * @param maxConnectionsPerHost The maximum number of concurrent connections per host
+     * @return This object, with maxConnectionsPerHost populated, ready for other builder-pattern config methods
+     */
+    public RestConnectionPool maxConnectionsPerHost(final int maxConnectionsPerHost) {
+        if (maxConnectionsPerHost < 1) {
+            throw new IllegalArgumentException("maxConnectionsPerHost must be at least 1");
+        }
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        return this;
+    }
+
+    /**
+     * <p>The number of milliseconds that a connection may sit unused in the pool before it is closed.  Default is
+     * <code>30000</code>.  This should be shorter than any idle timeout enforced by the Vault server or by load
+     * balancers in between.</p>
+     *
+     * @param idleTimeoutMilliseconds Milliseconds after which an idle connection is evicted
+     * @return This object, with idleTimeoutMilliseconds populated, ready for other builder-pattern config methods
+     */
+    public RestConnectionPool idleTimeoutMilliseconds(final long idleTimeoutMilliseconds) {
+        if (idleTimeoutMilliseconds < 0) {
+            throw new IllegalArgumentException("idleTimeoutMilliseconds cannot be negative");
+        }
+        this.idleTimeoutMilliseconds = idleTimeoutMilliseconds;
+        return this;
+    }
+
+    public int getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    public long getIdleTimeoutMilliseconds() {
+        return idleTimeoutMilliseconds;
+    }
+
+    /**
+     * @return The total number of connections this pool has opened
+     */
+    public long getConnectionsCreated() {
+        return connectionsCreated.get();
+    }
+
+    /**
+     * @return The total number of requests that were sent over an already-open connection
+     */
+    public long getConnectionsReused() {
+        return connectionsReused.get();
+    }
+
+    /**
+     * @return The total number of idle connections that were closed for exceeding the idle timeout
+     */
+    public long getConnectionsEvicted() {
+        return connectionsEvicted.get();
+    }
+
+    /**
+     * @return The number of open connections currently sitting idle in the pool
+     */
+    public int getIdleConnectionCount() {
+        int count = 0;
+        for (final HostPool hostPool : hostPools.values()) {
+            synchronized (hostPool) {
+                count += hostPool.idle.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of connections currently in use by a request
+     */
+    public int getLeasedConnectionCount() {
+        int count = 0;
+        for (final HostPool hostPool : hostPools.values()) {
+            count += hostPool.maxConnections - hostPool.permits.availablePermits();
+        }
+        return count;
+    }
+
+    /**
+     * <p>Closes every idle connection that has exceeded the idle timeout.  This happens automatically as the pool is
+     * used, so calling it directly is only useful for releasing sockets promptly after a burst of activity.</p>
+     */
+    public void evictIdleConnections() {
+        final long now = System.nanoTime();
+        for (final HostPool hostPool : hostPools.values()) {
+            evictIdleConnections(hostPool, now);
+        }
+    }
+
+    /**
+     * <p>Closes every idle connection, and prevents any further requests from being sent through this pool.
+     * Connections currently in use are closed as soon as their requests complete.</p>
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (final HostPool hostPool : hostPools.values()) {
+            synchronized (hostPool) {
+                for (final PooledConnection connection : hostPool.idle) {
+                    connection.close();
+                }
+                hostPool.idle.clear();
+            }
+        }
+    }
+
+    /**
+     * <p>Sends an HTTP request over a pooled connection, opening a new one if none are idle.</p>
+     *
+     * @param request The request to send
+     * @return The result of the HTTP operation
+     * @throws RestException If an error occurs, or an unexpected response received
+     */
+    @Override
+    public RestResponse send(final RestRequest request) throws RestException {
+        if (closed) {
+            throw new RestException("Connection pool has been closed");
+        }
+        final boolean verify = request.getSslVerification() == null || request.getSslVerification();
+        final int connectTimeoutMillis = request.getConnectTimeoutSeconds() == null ? 0 : request.getConnectTimeoutSeconds() * 1000;
+        final int readTimeoutMillis = request.getReadTimeoutSeconds() == null ? 0 : request.getReadTimeoutSeconds() * 1000;
+        try {
+            final URL url = new URL(request.getUrl());
+            if (!"http".equalsIgnoreCase(url.getProtocol()) && !"https".equalsIgnoreCase(url.getProtocol())) {
+                throw new RestException("URL string " + request.getUrl() + " is not an HTTP or HTTPS URL");
+            }
+            final PooledConnection.Route route = new PooledConnection.Route(url,
+                    verify ? request.getSslContext() : HttpURLConnectionTransport.DISABLED_SSL_CONTEXT, verify);
+            final RequestBody body = request.getRequestBody();
+            final HostPool hostPool = hostPool(route);
+            acquirePermit(hostPool, connectTimeoutMillis);
+            try {
+                while (true) {
+                    PooledConnection connection = takeIdleConnection(hostPool);
+                    final boolean reused = connection != null;
+                    if (connection == null) {
+                        connection = PooledConnection.open(route, connectTimeoutMillis);
+                        connectionsCreated.incrementAndGet();
+                    }
+                    try {
+                        final RestResponse response = connection.exchange(request.getMethod(), url, request.getHeaders(), body, readTimeoutMillis);
+                        if (reused) {
+                            connectionsReused.incrementAndGet();
+                        }
+                        release(hostPool, connection);
+                        return response;
+                    } catch (IOException | RuntimeException e) {
+                        connection.close();
+                        // A reused connection that the server had already closed while idle fails without the
+                        // request having been acted on.  Only then is it safe to try again on another connection.
+                        if (!reused || !connection.isStale()) {
+                            throw e;
+                        }
+                    }
+                }
+            } finally {
+                hostPool.permits.release();
+            }
+        } catch (RestException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RestException(e);
+        }
+    }
+
+    private HostPool hostPool(final PooledConnection.Route route) {
+        HostPool hostPool = hostPools.get(route);
+        if (hostPool == null) {
+            final HostPool newHostPool = new HostPool(maxConnectionsPerHost);
+            hostPool = hostPools.putIfAbsent(route, newHostPool);
+            if (hostPool == null) {
+                hostPool = newHostPool;
+            }
+        }
+        return hostPool;
+    }
+
+    private void acquirePermit(final HostPool hostPool, final int connectTimeoutMillis) throws RestException {
+        try {
+            if (connectTimeoutMillis > 0) {
+                if (!hostPool.permits.tryAcquire(connectTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new RestException("Timed out after " + connectTimeoutMillis
+                            + " milliseconds waiting for a pooled connection");
+                }
+            } else {
+                hostPool.permits.acquire();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RestException(e);
+        }
+    }
+
+    private PooledConnection takeIdleConnection(final HostPool hostPool) {
+        evictIdleConnections(hostPool, System.nanoTime());
+        synchronized (hostPool) {
+            // Most-recently-used first, so that surplus connections age out and get evicted
+            return hostPool.idle.pollFirst();
+        }
+    }
+
+    private void release(final HostPool hostPool, final PooledConnection connection) {
+        if (closed || !connection.isKeepAlive()) {
+            connection.close();
+            return;
+        }
+        synchronized (hostPool) {
+            hostPool.idle.addFirst(connection);
+        }
+    }
+
+    private void evictIdleConnections(final HostPool hostPool, final long now) {
+        final long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMilliseconds);
+        synchronized (hostPool) {
+            final Iterator<PooledConnection> iterator = hostPool.idle.descendingIterator();
+            while (iterator.hasNext()) {
+                final PooledConnection connection = iterator.next();
+                if (now - connection.getLastUsedNanos() < idleTimeoutNanos) {
+                    // Remaining connections were used more recently
+                    break;
+                }
+                iterator.remove();
+                connection.close();
+                connectionsEvicted.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * <p>The idle connections, and in-flight request limit, for a single route.</p>
+     */
+    private static final class HostPool {
+
+        private final int maxConnections;
+        private final Semaphore permits;
+        private final Deque<PooledConnection> idle = new ArrayDeque<>();
+
+        private HostPool(final int maxConnections) {
+            this.maxConnections = maxConnections;
+            this.permits = new Semaphore(maxConnections, true);
+        }
+    }
+
+}
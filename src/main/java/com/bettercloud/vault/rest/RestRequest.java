@@ -0,0 +1,119 @@
+package com.bettercloud.vault.rest;
+
+import javax.net.ssl.SSLContext;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>An immutable description of a single HTTP request, as assembled by <code>Rest</code> and handed to a
+ * {@link VaultTransport} for sending.</p>
+ *
+ * <p>By the time a request reaches a transport, all of the <code>Rest</code> builder-pattern settings have been
+ * resolved:  any parameters have either been appended to the URL's query string or encoded as a form body, and
+ * method-specific headers (e.g. <code>Content-Type</code> for form data) have been added.</p>
+ */
+public class RestRequest {
+
+    private final String method;
+    private final String url;
+    private final Map<String, String> headers;
+    private final RequestBody body;
+    private final Integer connectTimeoutSeconds;
+    private final Integer readTimeoutSeconds;
+    private final Boolean sslVerification;
+    private final SSLContext sslContext;
+
+    /**
+     * @param method                The HTTP verb (i.e. "GET", "POST", "PUT", or "DELETE")
+     * @param url                   The fully-constructed request URL, including any query string
+     * @param headers               Request headers, sorted by name
+     * @param body                  The request body, or <code>null</code> when no body should be sent
+     * @param connectTimeoutSeconds Seconds to wait for a connection to establish (<code>null</code> for no limit)
+     * @param readTimeoutSeconds    Seconds to wait for response data (<code>null</code> for no limit)
+     * @param sslVerification       Whether HTTPS server certificates should be verified (<code>null</code> means yes)
+     * @param sslContext            TLS settings for HTTPS connections, or <code>null</code> for the JVM defaults
+     */
+    RestRequest(
+            final String method,
+            final String url,
+            final Map<String, String> headers,
+            final RequestBody body,
+            final Integer connectTimeoutSeconds,
+            final Integer readTimeoutSeconds,
+            final Boolean sslVerification,
+            final SSLContext sslContext
+    ) {
+        this.method = method;
+        this.url = url;
+        this.headers = Collections.unmodifiableMap(new TreeMap<>(headers));
+        this.body = body;
+        this.connectTimeoutSeconds = connectTimeoutSeconds;
+        this.readTimeoutSeconds = readTimeoutSeconds;
+        this.sslVerification = sslVerification;
+        this.sslContext = sslContext;
+    }
+
+    /**
+     * @return The HTTP verb (i.e. "GET", "POST", "PUT", or "DELETE")
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return The fully-constructed request URL, including any query string
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return An unmodifiable view of the request headers, sorted by name
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return A copy of the complete request body (serialized now, if it was supplied as JSON), or <code>null</code>
+     * when no body should be sent
+     */
+    public byte[] getBody() {
+        if (body == null) {
+            return null;
+        }
+        final byte[] bytes = body.bytes();
+        return body.contentLength() >= 0 ? Arrays.copyOf(bytes, bytes.length) : bytes;
+    }
+
+    /**
+     * @return The request body, for writing directly to a connection, or <code>null</code> when no body should be
+     * sent
+     */
+    public RequestBody getRequestBody() {
+        return body;
+    }
+
+    public Integer getConnectTimeoutSeconds() {
+        return connectTimeoutSeconds;
+    }
+
+    public Integer getReadTimeoutSeconds() {
+        return readTimeoutSeconds;
+    }
+
+    /**
+     * @return Whether HTTPS server certificates should be verified.  Only an explicit <code>false</code> disables
+     * verification.
+     */
+    public Boolean getSslVerification() {
+        return sslVerification;
+    }
+
+    public SSLContext getSslContext() {
+        return sslContext;
+    }
+
+}
@@ -1,7 +1,16 @@
 package com.bettercloud.vault.rest;
 
+import com.bettercloud.vault.json.Json;
+import com.bettercloud.vault.json.JsonTape;
+import com.bettercloud.vault.json.JsonValue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * This class contains the metadata and data that was downloaded by <code>Rest</code>
@@ -12,6 +21,8 @@ public class RestResponse implements Serializable {
     private int status;
     private String mimeType;
     private byte[] body;
+    private Map<String, String> headers;
+    private transient volatile JsonValue json;
 
     /**
      *
@@ -20,9 +31,29 @@ public class RestResponse implements Serializable {
      * @param body The binary payload of the response body.
      */
     public RestResponse(final int status, final String mimeType, final byte[] body) {
+        this(status, mimeType, body, null);
+    }
+
+    /**
+     *
+     * @param status The HTTP status code issues for the response (e.g. <code>200 == OK</code>).
+     * @param mimeType The MIME type for the body contents (e.g. <code>application/json</code>).
+     * @param body The binary payload of the response body.
+     * @param headers The response headers, with the first value for each name (may be <code>null</code>).
+     */
+    public RestResponse(final int status, final String mimeType, final byte[] body, final Map<String, String> headers) {
         this.status = status;
         this.mimeType = mimeType;
         this.body = body == null ? null : Arrays.copyOf(body, body.length);
+        final TreeMap<String, String> headerMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (headers != null) {
+            for (final Map.Entry<String, String> header : headers.entrySet()) {
+                if (header.getKey() != null) {
+                    headerMap.put(header.getKey(), header.getValue());
+                }
+            }
+        }
+        this.headers = Collections.unmodifiableMap(headerMap);
     }
 
     /**
@@ -46,4 +77,54 @@ public class RestResponse implements Serializable {
         return Arrays.copyOf(body, body.length);
     }
 
+    /**
+     * @return A stream over the binary payload of the response body, which (unlike {@link #getBody()}) does not copy it.
+     */
+    public InputStream getBodyStream() {
+        return new ByteArrayInputStream(body == null ? new byte[0] : body);
+    }
+
+    /**
+     * <p>Parses the response body as JSON, directly from its UTF-8 bytes and without copying them.  The result is
+     * cached, so the body is parsed at most once however many times this is called, and every caller receives the
+     * same value.  It should therefore be treated as read-only.</p>
+     *
+     * @return The parsed response body.
+     * @throws com.bettercloud.vault.json.ParseException If the body is missing or empty, or is not valid JSON.
+     */
+    public JsonValue getJson() {
+        JsonValue parsed = json;
+        if (parsed == null) {
+            parsed = Json.parse(body == null ? new byte[0] : body);
+            json = parsed;
+        }
+        return parsed;
+    }
+
+    /**
+     * <p>Indexes the response body as JSON, directly from its UTF-8 bytes and without copying them or building a
+     * tree of values (see {@link JsonTape}).  Unlike {@link #getJson()}, the result is not cached.</p>
+     *
+     * @return A tape over the response body.
+     * @throws com.bettercloud.vault.json.ParseException If the body is not valid JSON.
+     */
+    public JsonTape getJsonTape() {
+        return JsonTape.parse(body == null ? new byte[0] : body);
+    }
+
+    /**
+     * @return An unmodifiable view of the response headers, keyed case-insensitively by name.
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @param name A header name, in any case (e.g. <code>Retry-After</code>).
+     * @return The first value of the named response header, or <code>null</code> if it was not sent.
+     */
+    public String getHeader(final String name) {
+        return headers.get(name);
+    }
+
 }
@@ -0,0 +1,67 @@
+package com.bettercloud.vault.rest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>The mechanism through which <code>Rest</code> actually sends HTTP requests.</p>
+ *
+ * <p>By default, each request is sent through a new <code>HttpURLConnection</code> (see
+ * {@link HttpURLConnectionTransport}).  An alternative implementation can be supplied through
+ * {@link com.bettercloud.vault.VaultConfig#transport(VaultTransport)}, and every API call made with that config
+ * will be routed through it.  E.g.:</p>
+ *
+ * <blockquote>
+ * <pre>{@code
+ * final VaultConfig config = new VaultConfig()
+ *                              .address("http://127.0.0.1:8200")
+ *                              .transport(new RestConnectionPool().maxConnectionsPerHost(10))
+ *                              .build();
+ * }</pre>
+ * </blockquote>
+ *
+ * <p>Implementations must be thread-safe, as a single instance is typically shared by every request made with a
+ * given config.  HTTP error statuses (e.g. 404 or 500) are not errors at this level, and should be returned as a
+ * normal <code>RestResponse</code>.  A <code>RestException</code> should only be thrown when no response was
+ * received at all.</p>
+ */
+public interface VaultTransport {
+
+    /**
+     * <p>Sends an HTTP request, and downloads the complete response.</p>
+     *
+     * @param request The request to send
+     * @return The response received
+     * @throws RestException If the request could not be sent, or no response was received
+     */
+    RestResponse send(RestRequest request) throws RestException;
+
+    /**
+     * <p>Sends an HTTP request without blocking the calling thread.</p>
+     *
+     * <p>The default implementation simply runs {@link #send(RestRequest)} on the supplied executor, so a thread is
+     * still occupied for the duration of the round trip.  Transports built on a non-blocking HTTP client should
+     * override this.</p>
+     *
+     * @param request  The request to send
+     * @param executor The executor on which blocking work may be run
+     * @return A future completed with the response received, or completed exceptionally with a
+     * <code>RestException</code> if no response was received
+     */
+    default CompletableFuture<RestResponse> sendAsync(final RestRequest request, final Executor executor) {
+        final CompletableFuture<RestResponse> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(send(request));
+                } catch (RestException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            future.completeExceptionally(new RestException(e));
+        }
+        return future;
+    }
+
+}
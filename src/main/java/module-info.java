@@ -2,6 +2,7 @@ module vault.java.driver {
     requires java.logging;
     exports com.bettercloud.vault;
     exports com.bettercloud.vault.api;
+    exports com.bettercloud.vault.api.transit;
     exports com.bettercloud.vault.json;
     exports com.bettercloud.vault.response;
     exports com.bettercloud.vault.rest;
@@ -0,0 +1,161 @@
+package com.bettercloud.vault.rest;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>A {@link VaultTransport} built on the <code>java.net.http.HttpClient</code> introduced in Java 11, which
+ * negotiates HTTP/2 with servers that support it.  Many concurrent requests to the same Vault node are then
+ * multiplexed over a single connection, rather than each holding a socket of its own.</p>
+ *
+ * <p>This is the Java 11+ implementation of this class, packaged under <code>META-INF/versions/11</code> of the
+ * multi-release JAR.  Servers that do not support HTTP/2 are spoken to over pooled HTTP/1.1 connections.</p>
+ *
+ * <p>An <code>HttpClient</code> fixes its TLS settings and connect timeout when it is built, so one client is
+ * created (and cached) for each distinct combination of those settings found on incoming requests.  Note that
+ * <code>HttpClient</code> always verifies server hostnames unless the
+ * <code>jdk.internal.httpclient.disableHostnameVerification</code> system property is set... so disabling SSL
+ * verification through <code>SslConfig</code> only disables certificate chain validation here.</p>
+ *
+ * <p>{@link #sendAsync(RestRequest, Executor)} is fully non-blocking, and does not occupy a thread while waiting on
+ * the server.</p>
+ */
+public class HttpClientTransport implements VaultTransport {
+
+    private final ConcurrentMap<ClientKey, HttpClient> clients = new ConcurrentHashMap<>();
+
+    /**
+     * @return <code>true</code> if requests are sent through <code>java.net.http.HttpClient</code>, or
+     * <code>false</code> if this JRE predates Java 11 and requests fall back to <code>HttpURLConnection</code>
+     */
+    public static boolean isSupported() {
+        return true;
+    }
+
+    @Override
+    public RestResponse send(final RestRequest request) throws RestException {
+        try {
+            final HttpResponse<byte[]> response = client(request)
+                    .send(httpRequest(request), HttpResponse.BodyHandlers.ofByteArray());
+            return restResponse(response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RestException(e);
+        } catch (IOException | RuntimeException e) {
+            throw new RestException(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<RestResponse> sendAsync(final RestRequest request, final Executor executor) {
+        try {
+            return client(request)
+                    .sendAsync(httpRequest(request), HttpResponse.BodyHandlers.ofByteArray())
+                    .handle((response, error) -> {
+                        if (error != null) {
+                            final Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                    ? error.getCause() : error;
+                            throw new CompletionException(new RestException(cause));
+                        }
+                        return restResponse(response);
+                    });
+        } catch (RuntimeException e) {
+            final CompletableFuture<RestResponse> future = new CompletableFuture<>();
+            future.completeExceptionally(new RestException(e));
+            return future;
+        }
+    }
+
+    private static RestResponse restResponse(final HttpResponse<byte[]> response) {
+        final String mimeType = response.headers().firstValue("Content-Type").orElse(null);
+        final Map<String, String> headers = new HashMap<>();
+        for (final Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            if (!header.getValue().isEmpty()) {
+                headers.put(header.getKey(), header.getValue().get(0));
+            }
+        }
+        return new RestResponse(response.statusCode(), mimeType, response.body(), headers);
+    }
+
+    private HttpRequest httpRequest(final RestRequest request) {
+        // HttpClient pulls the body from a publisher, rather than letting it be pushed into an output stream, so a
+        // body supplied as JSON is serialized up front.  The publisher does not modify the array, so it is not copied.
+        final RequestBody body = request.getRequestBody();
+        final HttpRequest.BodyPublisher bodyPublisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(body.bytes());
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.getUrl()))
+                .method(request.getMethod(), bodyPublisher);
+        // As with the other transports, a timeout of zero means waiting indefinitely (and HttpClient rejects it)
+        if (request.getReadTimeoutSeconds() != null && request.getReadTimeoutSeconds() > 0) {
+            builder.timeout(Duration.ofSeconds(request.getReadTimeoutSeconds()));
+        }
+        for (final Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            builder.header(header.getKey(), header.getValue());
+        }
+        return builder.build();
+    }
+
+    private HttpClient client(final RestRequest request) {
+        final boolean verify = request.getSslVerification() == null || request.getSslVerification();
+        final Integer connectTimeoutSeconds = request.getConnectTimeoutSeconds() != null
+                && request.getConnectTimeoutSeconds() > 0 ? request.getConnectTimeoutSeconds() : null;
+        final ClientKey key = new ClientKey(verify ? request.getSslContext() : HttpURLConnectionTransport.DISABLED_SSL_CONTEXT,
+                connectTimeoutSeconds);
+        return clients.computeIfAbsent(key, k -> {
+            final HttpClient.Builder builder = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .followRedirects(HttpClient.Redirect.NORMAL);
+            if (k.sslContext != null) {
+                builder.sslContext(k.sslContext);
+            }
+            if (k.connectTimeoutSeconds != null) {
+                builder.connectTimeout(Duration.ofSeconds(k.connectTimeoutSeconds));
+            }
+            return builder.build();
+        });
+    }
+
+    /**
+     * <p>The client-level settings that distinguish one cached <code>HttpClient</code> from another.</p>
+     */
+    private static final class ClientKey {
+
+        private final SSLContext sslContext;
+        private final Integer connectTimeoutSeconds;
+
+        private ClientKey(final SSLContext sslContext, final Integer connectTimeoutSeconds) {
+            this.sslContext = sslContext;
+            this.connectTimeoutSeconds = connectTimeoutSeconds;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof ClientKey)) {
+                return false;
+            }
+            final ClientKey other = (ClientKey) o;
+            return sslContext == other.sslContext && Objects.equals(connectTimeoutSeconds, other.connectTimeoutSeconds);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(sslContext) + Objects.hashCode(connectTimeoutSeconds);
+        }
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.bettercloud.vault;
+
+import com.bettercloud.vault.api.AsyncLogical;
+import com.bettercloud.vault.response.LogicalResponse;
+import com.bettercloud.vault.rest.HttpClientTransport;
+import com.bettercloud.vault.vault.VaultTestUtils;
+import com.bettercloud.vault.vault.mock.MockVault;
+import com.bettercloud.vault.vault.mock.RetriesMockVault;
+import org.eclipse.jetty.server.Server;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Unit tests for the Vault driver, having no dependency on an actual Vault server instance being available.  The
+ * tests in this class relate to the non-blocking <code>AsyncLogical</code> API.</p>
+ */
+public class AsyncLogicalTests {
+
+    private static final String READ_RESPONSE =
+            "{\"lease_id\":\"12345\",\"renewable\":false,\"lease_duration\":10000,\"data\":{\"value\":\"mock\"}}";
+
+    @Test
+    public void testReadAsync_WithRetries() throws Exception {
+        final RetriesMockVault retriesMockVault = new RetriesMockVault(3, 200, READ_RESPONSE);
+        final Server server = VaultTestUtils.initHttpMockVault(retriesMockVault);
+        server.start();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final VaultConfig vaultConfig = new VaultConfig().address("http://127.0.0.1:8999").token("mock_token").build();
+            final Vault vault = new Vault(vaultConfig, 1);
+            final LogicalResponse response = vault.withRetries(5, 100).logical().async(executor)
+                    .readAsync("secret/hello")
+                    .get(10, TimeUnit.SECONDS);
+            assertEquals(3, response.getRetries());
+            assertEquals("mock", response.getData().get("value"));
+            assertEquals("12345", response.getLeaseId());
+        } finally {
+            executor.shutdown();
+            VaultTestUtils.shutdownMockVault(server);
+        }
+    }
+
+    @Test
+    public void testWriteAndDeleteAsync() throws Exception {
+        final MockVault mockVault = new MockVault(204, null);
+        final Server server = VaultTestUtils.initHttpMockVault(mockVault);
+        server.start();
+
+        final VaultConfig vaultConfig = new VaultConfig().address("http://127.0.0.1:8999").token("mock_token").build();
+        final AsyncLogical logical = new Vault(vaultConfig, 1).logical().async();
+
+        final LogicalResponse writeResponse = logical.writeAsync("secret/hello", new HashMap<String, Object>() {{
+            put("value", "world");
+        }}).get(10, TimeUnit.SECONDS);
+        assertEquals(204, writeResponse.getRestResponse().getStatus());
+        assertEquals("world", mockVault.getRequestBody().get().getString("value", null));
+        assertEquals("mock_token", mockVault.getRequestHeaders().get("X-Vault-Token"));
+
+        final LogicalResponse deleteResponse = logical.deleteAsync("secret/hello").get(10, TimeUnit.SECONDS);
+        assertEquals(204, deleteResponse.getRestResponse().getStatus());
+        assertEquals("http://127.0.0.1:8999/v1/secret/hello", mockVault.getRequestUrl());
+
+        VaultTestUtils.shutdownMockVault(server);
+    }
+
+    @Test
+    public void testListAsync() throws Exception {
+        final MockVault mockVault = new MockVault(200, "{\"data\":{\"keys\":[\"first\",\"nested/\"]}}");
+        final Server server = VaultTestUtils.initHttpMockVault(mockVault);
+        server.start();
+
+        final VaultConfig vaultConfig = new VaultConfig().address("http://127.0.0.1:8999").token("mock_token").build();
+        final List<String> keys = new Vault(vaultConfig, 2).logical().async().listAsync("secret")
+                .get(10, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList("first", "nested/"), keys);
+        assertTrue(mockVault.getRequestUrl().startsWith("http://127.0.0.1:8999/v1/secret/metadata"));
+
+        VaultTestUtils.shutdownMockVault(server);
+    }
+
+    @Test
+    public void testListAsync_NotFound() throws Exception {
+        final MockVault mockVault = new MockVault(404, "{\"errors\":[]}");
+        final Server server = VaultTestUtils.initHttpMockVault(mockVault);
+        server.start();
+
+        final VaultConfig vaultConfig = new VaultConfig().address("http://127.0.0.1:8999").token("mock_token").build();
+        final List<String> keys = new Vault(vaultConfig, 1).logical().async().listAsync("secret")
+                .get(10, TimeUnit.SECONDS);
+        assertTrue(keys.isEmpty());
+
+        VaultTestUtils.shutdownMockVault(server);
+    }
+
+    @Test
+    public void testReadAsync_FailsAfterMaxRetries() throws Exception {
+        final RetriesMockVault retriesMockVault = new RetriesMockVault(10, 200, READ_RESPONSE);
+        final Server server = VaultTestUtils.initHttpMockVault(retriesMockVault);
+        server.start();
+
+        final VaultConfig vaultConfig = new VaultConfig().address("http://127.0.0.1:8999").token("mock_token").build();
+        final CompletableFuture<LogicalResponse> future = new Vault(vaultConfig, 1).withRetries(2, 50).logical()
+                .async().readAsync("secret/hello");
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("Expected the read to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof VaultException);
+            assertEquals(500, ((VaultException) e.getCause()).getHttpStatusCode());
+        }
+
+        VaultTestUtils.shutdownMockVault(server);
+    }
+
+    @Test
+    public void testReadAsync_ManyConcurrentReads() throws Exception {
+        final MockVault mockVault = new MockVault(200, READ_RESPONSE);
+        final Server server = VaultTestUtils.initHttpMockVault(mockVault);
+        server.start();
+
+        final VaultConfig vaultConfig = new VaultConfig()
+                .address("http://127.0.0.1:8999")
+                .token("mock_token")
+                .transport(new HttpClientTransport())
+                .build();
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final AsyncLogical logical = new Vault(vaultConfig, 1).logical().async(executor);
+            final List<CompletableFuture<LogicalResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                futures.add(logical.readAsync("secret/hello" + i));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+            for (final CompletableFuture<LogicalResponse> future : futures) {
+                assertEquals("mock", future.get().getData().get("value"));
+            }
+        } finally {
+            executor.shutdown();
+            VaultTestUtils.shutdownMockVault(server);
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.bettercloud.vault;
+
+import com.bettercloud.vault.api.BulkReadResult;
+import com.bettercloud.vault.vault.mock.RecordingMockTransport;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.bettercloud.vault.vault.mock.RecordingMockTransport.response;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>Unit tests for the Vault driver, having no dependency on an actual Vault server instance being available.  The
+ * tests in this class relate to reading many secrets at once, with bounded parallelism, via
+ * <code>Logical.readAll()</code>.</p>
+ */
+public class BulkReadTests {
+
+    /**
+     * <p>Responds to each read with the last segment of its URL as the secret's value, or with a 404 for any path
+     * containing "missing".</p>
+     */
+    private static RecordingMockTransport echo() {
+        return new RecordingMockTransport(request -> {
+            if (request.getUrl().contains("missing")) {
+                return response(404, "{\"errors\":[]}");
+            }
+            final String value = request.getUrl().substring(request.getUrl().lastIndexOf('/') + 1);
+            return response(200, "{\"data\":{\"value\":\"" + value + "\"}}");
+        });
+    }
+
+    @Test
+    public void testReadAllCollectsResponsesAndFailuresInOrder() throws Exception {
+        final RecordingMockTransport transport = echo();
+        final BulkReadResult result = transport.vault(1).logical()
+                .readAll(Arrays.asList("secret/c", "secret/missing", "secret/a", "secret/b"));
+
+        assertFalse(result.isComplete());
+        assertEquals(Arrays.asList("secret/c", "secret/a", "secret/b"), new ArrayList<>(result.getResponses().keySet()));
+        assertEquals("c", result.getResponses().get("secret/c").getData().get("value"));
+        assertEquals("a", result.getResponses().get("secret/a").getData().get("value"));
+        assertEquals(Collections.singleton("secret/missing"), result.getFailures().keySet());
+        assertEquals(404, result.getFailures().get("secret/missing").getHttpStatusCode());
+    }
+
+    @Test
+    public void testReadAllRewritesVersionedPaths() throws Exception {
+        final RecordingMockTransport transport = echo();
+
+        final BulkReadResult result = transport.vault(2).logical().readAll(Collections.singletonList("secret/a"));
+
+        assertTrue(result.isComplete());
+        assertEquals(Collections.singletonList("http://vault.example.com:8200/v1/secret/data/a"), transport.getUrls());
+    }
+
+    @Test
+    public void testReadAllBoundsParallelism() throws Exception {
+        final RecordingMockTransport transport = echo().delay(20);
+        final List<String> paths = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            paths.add("secret/" + i);
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            final BulkReadResult result = transport.vault(1).logical().readAll(paths, 3, executor);
+
+            assertTrue(result.isComplete());
+            assertEquals(24, result.getResponses().size());
+            assertTrue(transport.getMaxInFlight() <= 3);
+            assertEquals(3, transport.getMaxInFlight());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testReadAllReadsDuplicatesOnce() throws Exception {
+        final RecordingMockTransport transport = echo();
+        final BulkReadResult result = transport.vault(1).logical()
+                .readAll(Arrays.asList("secret/a", "secret/a", "secret/b"));
+
+        assertEquals(2, result.getResponses().size());
+        assertEquals(2, transport.getUrls().size());
+    }
+
+    @Test
+    public void testReadAllOfNothing() throws Exception {
+        final BulkReadResult result = echo().vault(1).logical().readAll(Collections.emptyList());
+
+        assertTrue(result.isComplete());
+        assertTrue(result.getResponses().isEmpty());
+    }
+
+    @Test
+    public void testReadAllCompletingInlineDoesNotRecurse() throws Exception {
+        final RecordingMockTransport transport = echo();
+        final List<String> paths = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            paths.add("secret/" + i);
+        }
+
+        final BulkReadResult result = transport.vault(1).logical().readAll(paths, 1, Runnable::run);
+
+        assertEquals(20000, result.getResponses().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReadAllRejectsZeroParallelism() throws Exception {
+        echo().vault(1).logical().readAll(Collections.singletonList("secret/a"), 0, Runnable::run);
+    }
+
+}
@@ -0,0 +1,215 @@
+package com.bettercloud.vault;
+
+import com.bettercloud.vault.response.LogicalResponse;
+import com.bettercloud.vault.rest.HttpURLConnectionTransport;
+import com.bettercloud.vault.rest.RestException;
+import com.bettercloud.vault.rest.RestRequest;
+import com.bettercloud.vault.rest.RestResponse;
+import com.bettercloud.vault.rest.VaultTransport;
+import com.bettercloud.vault.vault.VaultTestUtils;
+import com.bettercloud.vault.vault.mock.ConnectionTrackingMockVault;
+import org.eclipse.jetty.server.Server;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Unit tests for the Vault driver, having no dependency on an actual Vault server instance being available.  The
+ * tests in this class relate to coalescing identical concurrent reads, as enabled by
+ * <code>VaultConfig.coalesceReads()</code>.</p>
+ */
+public class CoalesceReadsTests {
+
+    private static final String READ_RESPONSE =
+            "{\"lease_id\":\"\",\"renewable\":false,\"lease_duration\":0,\"data\":{\"value\":\"mock\"}}";
+    private static final int THREADS = 20;
+
+    private ConnectionTrackingMockVault mockVault;
+    private Server server;
+
+    @After
+    public void stopMockVault() throws Exception {
+        VaultTestUtils.shutdownMockVault(server);
+    }
+
+    @Test
+    public void testConcurrentReads_ShareOneRequest() throws Exception {
+        startMockVault(200, READ_RESPONSE);
+        final Vault vault = new Vault(config("mock_token", true), 1);
+
+        final List<LogicalResponse> responses = concurrently(() -> vault.logical().read("secret/hello"));
+        assertEquals(1, mockVault.getRequestCount());
+        for (final LogicalResponse response : responses) {
+            assertSame(responses.get(0), response);
+            assertEquals("mock", response.getData().get("value"));
+        }
+    }
+
+    @Test
+    public void testConcurrentReads_NotCoalescedByDefault() throws Exception {
+        startMockVault(200, READ_RESPONSE);
+        final Vault vault = new Vault(config("mock_token", false), 1);
+
+        concurrently(() -> vault.logical().read("secret/hello"));
+        assertEquals(THREADS, mockVault.getRequestCount());
+    }
+
+    @Test
+    public void testConcurrentReads_KeyedByTokenAndPath() throws Exception {
+        startMockVault(200, READ_RESPONSE);
+        final Vault first = new Vault(config("first_token", true), 1);
+        final Vault second = new Vault(config("second_token", true), 1);
+
+        final AtomicInteger counter = new AtomicInteger();
+        final List<LogicalResponse> responses = concurrently(() -> {
+            final int thread = counter.getAndIncrement() % 3;
+            if (thread == 0) {
+                return first.logical().read("secret/hello");
+            } else if (thread == 1) {
+                return second.logical().read("secret/hello");
+            }
+            return first.logical().read("secret/other");
+        });
+        assertEquals(THREADS, responses.size());
+        assertEquals(3, mockVault.getRequestCount());
+    }
+
+    @Test
+    public void testConcurrentReads_NotSharedBetweenConfigs() throws Exception {
+        startMockVault(200, READ_RESPONSE);
+        final Vault first = new Vault(config("mock_token", true), 1);
+        final Vault second = new Vault(config("mock_token", true), 1);
+
+        final AtomicInteger counter = new AtomicInteger();
+        concurrently(() -> (counter.getAndIncrement() % 2 == 0 ? first : second).logical().read("secret/hello"));
+        assertEquals(2, mockVault.getRequestCount());
+    }
+
+    @Test
+    public void testConcurrentReads_ShareFailure() throws Exception {
+        startMockVault(403, "{\"errors\":[\"permission denied\"]}");
+        final Vault vault = new Vault(config("mock_token", true), 1);
+
+        try {
+            concurrently(() -> vault.logical().read("secret/hello"));
+            fail("Expected the reads to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof VaultException);
+            assertEquals(403, ((VaultException) e.getCause()).getHttpStatusCode());
+        }
+        assertEquals(1, mockVault.getRequestCount());
+    }
+
+    @Test
+    public void testConcurrentReads_ShareError() throws Exception {
+        startMockVault(200, READ_RESPONSE);
+        final VaultConfig vaultConfig = new VaultConfig()
+                .address("http://127.0.0.1:8999")
+                .token("mock_token")
+                .transport(request -> {
+                    new SlowTransport().send(request);
+                    throw new AssertionError("transport failed");
+                })
+                .coalesceReads(true)
+                .build();
+        final Vault vault = new Vault(vaultConfig, 1);
+
+        try {
+            concurrently(() -> vault.logical().read("secret/hello"));
+            fail("Expected the reads to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof AssertionError);
+        }
+        assertEquals(1, mockVault.getRequestCount());
+    }
+
+    @Test
+    public void testConcurrentAsyncReads_ShareOneRequest() throws Exception {
+        startMockVault(200, READ_RESPONSE);
+        final Vault vault = new Vault(config("mock_token", true), 1);
+
+        final List<CompletableFuture<LogicalResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(vault.logical().async().readAsync("secret/hello"));
+        }
+        // A blocking read of the same path joins the async one too
+        final LogicalResponse blocking = vault.logical().read("secret/hello");
+        for (final CompletableFuture<LogicalResponse> future : futures) {
+            assertSame(blocking, future.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, mockVault.getRequestCount());
+    }
+
+    private void startMockVault(final int status, final String response) throws Exception {
+        mockVault = new ConnectionTrackingMockVault(status, response);
+        server = VaultTestUtils.initHttpMockVault(mockVault);
+        server.start();
+    }
+
+    private static VaultConfig config(final String token, final boolean coalesceReads) throws VaultException {
+        return new VaultConfig()
+                .address("http://127.0.0.1:8999")
+                .token(token)
+                .transport(new SlowTransport())
+                .coalesceReads(coalesceReads)
+                .build();
+    }
+
+    /**
+     * <p>Runs a read on many threads, all released at the same moment.</p>
+     */
+    private static <T> List<T> concurrently(final Callable<T> read) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return read.call();
+                }));
+            }
+            start.countDown();
+            final List<T> results = new ArrayList<>();
+            for (final Future<T> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * <p>Holds each request back briefly, so that concurrent reads are sure to overlap.</p>
+     */
+    private static class SlowTransport implements VaultTransport {
+
+        @Override
+        public RestResponse send(final RestRequest request) throws RestException {
+            try {
+                TimeUnit.MILLISECONDS.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return HttpURLConnectionTransport.getInstance().send(request);
+        }
+    }
+
+}
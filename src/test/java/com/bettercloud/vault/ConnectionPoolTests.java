@@ -0,0 +1,304 @@
+package com.bettercloud.vault;
+
+import com.bettercloud.vault.response.LogicalResponse;
+import com.bettercloud.vault.rest.RestConnectionPool;
+import com.bettercloud.vault.vault.VaultTestUtils;
+import com.bettercloud.vault.vault.mock.ConnectionTrackingMockVault;
+import org.eclipse.jetty.server.Server;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Unit tests for the Vault driver, having no dependency on an actual Vault server instance being available.  The
+ * tests in this class relate to reuse of pooled connections.</p>
+ */
+public class ConnectionPoolTests {
+
+    private static final String READ_RESPONSE =
+            "{\"lease_id\":\"12345\",\"renewable\":false,\"lease_duration\":10000,\"data\":{\"value\":\"mock\"}}";
+
+    @Test
+    public void testPooledReads_ReuseSameSocket() throws Exception {
+        final ConnectionTrackingMockVault mockVault = new ConnectionTrackingMockVault(200, READ_RESPONSE);
+        final Server server = VaultTestUtils.initHttpMockVault(mockVault);
+        server.start();
+
+        final RestConnectionPool connectionPool = new RestConnectionPool();
+        final VaultConfig vaultConfig = new VaultConfig()
+                .address("http://127.0.0.1:8999")
+                .token("mock_token")
+                .engineVersion(1)
+                .transport(connectionPool)
+                .build();
+        final Vault vault = new Vault(vaultConfig);
+        for (int index = 0; index < 10; index++) {
+            final LogicalResponse response = vault.logical().read("secret/hello");
+            assertEquals("mock", response.getData().get("value"));
+        }
+
+        assertEquals(10, mockVault.getRequestCount());
+        assertEquals(1, mockVault.getConnectionCount());
+        assertEquals(1, connectionPool.getConnectionsCreated());
+        assertEquals(9, connectionPool.getConnectionsReused());
+        assertEquals(1, connectionPool.getIdleConnectionCount());
+        assertEquals(0, connectionPool.getLeasedConnectionCount());
+
+        connectionPool.close();
+        VaultTestUtils.shutdownMockVault(server);
+    }
+
+    @Test
+    public void testPooledWritesAndDeletes_ReuseSameSocket() throws Exception {
+        final ConnectionTrackingMockVault mockVault = new ConnectionTrackingMockVault(204, null);
+        final Server server = VaultTestUtils.initHttpMockVault(mockVault);
+        server.start();
+
+        final RestConnectionPool connectionPool = new RestConnectionPool();
+        final VaultConfig vaultConfig = new VaultConfig()
+                .address("http://127.0.0.1:8999")
+                .token("mock_token")
+                .engineVersion(1)
+                .transport(connectionPool)
+                .build();
+        final Vault vault = new Vault(vaultConfig);
+        for (int index = 0; index < 5; index++) {
+            vault.logical().write("secret/hello", new HashMap<String, Object>() {{
+                put("value", "world");
+            }});
+            vault.logical().delete("secret/hello");
+        }
+
+        assertEquals(10, mockVault.getRequestCount());
+        assertEquals(1, mockVault.getConnectionCount());
+        assertEquals(9, connectionPool.getConnectionsReused());
+
+        connectionPool.close();
+        VaultTestUtils.shutdownMockVault(server);
+    }
+
+    @Test
+    public void testIdleConnections_AreEvicted() throws Exception {
+        final ConnectionTrackingMockVault mockVault = new ConnectionTrackingMockVault(200, READ_RESPONSE);
+        final Server server = VaultTestUtils.initHttpMockVault(mockVault);
+        server.start();
+
+        final RestConnectionPool connectionPool = new RestConnectionPool().idleTimeoutMilliseconds(100);
+        final VaultConfig vaultConfig = new VaultConfig()
+                .address("http://127.0.0.1:8999")
+                .token("mock_token")
+                .engineVersion(1)
+                .transport(connectionPool)
+                .build();
+        final Vault vault = new Vault(vaultConfig);
+        vault.logical().read("secret/hello");
+        assertEquals(1, connectionPool.getIdleConnectionCount());
+
+        Thread.sleep(250);
+        connectionPool.evictIdleConnections();
+        assertEquals(0, connectionPool.getIdleConnectionCount());
+        assertEquals(1, connectionPool.getConnectionsEvicted());
+
+        vault.logical().read("secret/hello");
+        assertEquals(2, mockVault.getConnectionCount());
+        assertEquals(2, connectionPool.getConnectionsCreated());
+
+        connectionPool.close();
+        VaultTestUtils.shutdownMockVault(server);
+    }
+
+    @Test
+    public void testConcurrentReads_RespectMaxConnectionsPerHost() throws Exception {
+        final ConnectionTrackingMockVault mockVault = new ConnectionTrackingMockVault(200, READ_RESPONSE);
+        final Server server = VaultTestUtils.initHttpMockVault(mockVault);
+        server.start();
+
+        final RestConnectionPool connectionPool = new RestConnectionPool().maxConnectionsPerHost(2);
+        final VaultConfig vaultConfig = new VaultConfig()
+                .address("http://127.0.0.1:8999")
+                .token("mock_token")
+                .engineVersion(1)
+                .transport(connectionPool)
+                .build();
+        final Vault vault = new Vault(vaultConfig);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<LogicalResponse>> futures = new ArrayList<>();
+            for (int index = 0; index < 40; index++) {
+                futures.add(executor.submit(() -> vault.logical().read("secret/hello")));
+            }
+            for (final Future<LogicalResponse> future : futures) {
+                assertEquals("mock", future.get().getData().get("value"));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(40, mockVault.getRequestCount());
+        assertTrue(mockVault.getConnectionCount() <= 2);
+        assertTrue(connectionPool.getConnectionsCreated() <= 2);
+        assertEquals(40, connectionPool.getConnectionsCreated() + connectionPool.getConnectionsReused());
+
+        connectionPool.close();
+        VaultTestUtils.shutdownMockVault(server);
+    }
+
+    @Test
+    public void testConnectionClosedWhileIdle_IsRetriedOnNewConnection() throws Exception {
+        // The server closes each connection as soon as it has answered one request, without saying so
+        try (ScriptedServer server = new ScriptedServer(requestNumber -> Action.RESPOND_AND_CLOSE)) {
+            final RestConnectionPool connectionPool = new RestConnectionPool();
+            final Vault vault = server.vault(connectionPool);
+            assertEquals("mock", vault.logical().read("secret/hello").getData().get("value"));
+            assertEquals("mock", vault.logical().read("secret/hello").getData().get("value"));
+
+            assertEquals(2, server.getRequestCount());
+            assertEquals(2, server.getConnectionCount());
+            assertEquals(2, connectionPool.getConnectionsCreated());
+            connectionPool.close();
+        }
+    }
+
+    @Test
+    public void testReadTimeoutOnReusedConnection_IsNotRetried() throws Exception {
+        // The server answers the first request, and then receives the second but never answers it
+        final IntFunction<Action> script = requestNumber -> requestNumber == 1 ? Action.RESPOND : Action.HANG;
+        try (ScriptedServer server = new ScriptedServer(script)) {
+            final RestConnectionPool connectionPool = new RestConnectionPool();
+            final Vault vault = server.vault(connectionPool);
+            assertEquals("mock", vault.logical().read("secret/hello").getData().get("value"));
+            try {
+                vault.logical().write("secret/hello", new HashMap<String, Object>() {{
+                    put("value", "world");
+                }});
+                fail("The write should have timed out");
+            } catch (VaultException e) {
+                // Expected
+            }
+
+            assertEquals(2, server.getRequestCount());
+            assertEquals(1, server.getConnectionCount());
+            connectionPool.close();
+        }
+    }
+
+    private enum Action { RESPOND, RESPOND_AND_CLOSE, HANG }
+
+    /**
+     * <p>A bare-bones HTTP server, for scripting connection-level behavior that Jetty would not exhibit.</p>
+     */
+    private static final class ScriptedServer implements AutoCloseable {
+
+        private final ServerSocket serverSocket = new ServerSocket(0);
+        private final IntFunction<Action> script;
+        private final AtomicInteger requestCount = new AtomicInteger();
+        private final AtomicInteger connectionCount = new AtomicInteger();
+        private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+
+        ScriptedServer(final IntFunction<Action> script) throws IOException {
+            this.script = script;
+            final Thread acceptor = new Thread(this::acceptConnections);
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        Vault vault(final RestConnectionPool connectionPool) throws VaultException {
+            return new Vault(new VaultConfig()
+                    .address("http://127.0.0.1:" + serverSocket.getLocalPort())
+                    .token("mock_token")
+                    .engineVersion(1)
+                    .readTimeout(1)
+                    .transport(connectionPool)
+                    .build());
+        }
+
+        int getRequestCount() {
+            return requestCount.get();
+        }
+
+        int getConnectionCount() {
+            return connectionCount.get();
+        }
+
+        private void acceptConnections() {
+            try {
+                while (true) {
+                    final Socket socket = serverSocket.accept();
+                    connectionCount.incrementAndGet();
+                    sockets.add(socket);
+                    final Thread handler = new Thread(() -> handle(socket));
+                    handler.setDaemon(true);
+                    handler.start();
+                }
+            } catch (IOException e) {
+                // The server has been closed
+            }
+        }
+
+        private void handle(final Socket socket) {
+            try {
+                final BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+                final OutputStream outputStream = socket.getOutputStream();
+                while (true) {
+                    int contentLength = 0;
+                    String line = reader.readLine();
+                    if (line == null) {
+                        return;
+                    }
+                    while (!(line = reader.readLine()).isEmpty()) {
+                        if (line.toLowerCase().startsWith("content-length:")) {
+                            contentLength = Integer.parseInt(line.substring("content-length:".length()).trim());
+                        }
+                    }
+                    reader.skip(contentLength);
+                    final Action action = script.apply(requestCount.incrementAndGet());
+                    if (action == Action.HANG) {
+                        // Wait for the client to give up, and close the connection
+                        reader.read();
+                        return;
+                    }
+                    final byte[] body = READ_RESPONSE.getBytes(StandardCharsets.UTF_8);
+                    outputStream.write(("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: "
+                            + body.length + "\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+                    outputStream.write(body);
+                    outputStream.flush();
+                    if (action == Action.RESPOND_AND_CLOSE) {
+                        socket.close();
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                // The connection has been closed
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+            for (final Socket socket : sockets) {
+                socket.close();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,261 @@
+package com.bettercloud.vault;
+
+import com.bettercloud.vault.api.BulkDeleteResult;
+import com.bettercloud.vault.json.Json;
+import com.bettercloud.vault.json.JsonValue;
+import com.bettercloud.vault.rest.RestRequest;
+import com.bettercloud.vault.rest.RestResponse;
+import com.bettercloud.vault.vault.mock.RecordingMockTransport;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.bettercloud.vault.vault.mock.RecordingMockTransport.response;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Unit tests for the Vault driver, having no dependency on an actual Vault server instance being available.  The
+ * tests in this class relate to deleting and destroying every secret beneath a path, via
+ * <code>Logical.deleteTree()</code> and <code>Logical.destroyTree()</code>.</p>
+ */
+public class DeleteTreeTests {
+
+    private static final String ADDRESS = "http://vault.example.com:8200/v1/";
+
+    /**
+     * <p>Keeps the URLs of secrets in memory, answering list requests from them and removing them upon delete.  The
+     * metadata of every secret holds versions 1 to 3.  Deletes of paths containing "locked" are refused (403), and
+     * a given number of requests to paths containing "busy" are rate limited (429).</p>
+     */
+    private static class Tree {
+
+        private final Set<String> secrets = new ConcurrentSkipListSet<>();
+        private final AtomicInteger rateLimited;
+
+        private Tree(final int rateLimited) {
+            this.rateLimited = new AtomicInteger(rateLimited);
+        }
+
+        private Tree secrets(final String... urls) {
+            for (final String url : urls) {
+                secrets.add(ADDRESS + url);
+            }
+            return this;
+        }
+
+        /**
+         * @return A transport routing to this tree, which records, delays and counts every request but the listings
+         */
+        private RecordingMockTransport transport() {
+            return new RecordingMockTransport(this::route)
+                    .tracking(request -> !request.getUrl().endsWith("?list=true"));
+        }
+
+        private RestResponse route(final RestRequest request) {
+            final String url = request.getUrl();
+            if (url.endsWith("?list=true")) {
+                final String folder = url.replace("?list=true", "");
+                final TreeSet<String> keys = new TreeSet<>();
+                for (final String secret : secrets) {
+                    if (secret.startsWith(folder)) {
+                        final String rest = secret.substring(folder.length());
+                        keys.add(rest.contains("/") ? rest.substring(0, rest.indexOf('/') + 1) : rest);
+                    }
+                }
+                if (keys.isEmpty()) {
+                    return response(404, "{\"errors\":[]}");
+                }
+                return response(200, keys.stream().map(key -> "\"" + key + "\"")
+                        .collect(Collectors.joining(",", "{\"data\":{\"keys\":[", "]}}")));
+            }
+            if (url.contains("busy") && rateLimited.getAndDecrement() > 0) {
+                return response(429, "{\"errors\":[\"rate limited\"]}");
+            }
+            if (url.contains("locked")) {
+                return response(403, "{\"errors\":[\"permission denied\"]}");
+            }
+            if ("GET".equals(request.getMethod())) {
+                return response(200, "{\"data\":{\"current_version\":3,\"versions\":{\"2\":{},\"1\":{},\"3\":{}}}}");
+            }
+            if ("DELETE".equals(request.getMethod())) {
+                secrets.remove(url);
+            }
+            return response(204, "");
+        }
+    }
+
+    private static Vault vault(final RecordingMockTransport transport, final int engineVersion) throws VaultException {
+        final VaultConfig vaultConfig = transport.config(engineVersion)
+                .retryPolicy(new RetryPolicy().jitterFactor(0.0))
+                .build();
+        return new Vault(vaultConfig, engineVersion).withRetries(0, 5);
+    }
+
+    /**
+     * @return The method and URL of every request but the listings, e.g. <code>DELETE http://...</code>
+     */
+    private static List<String> requests(final RecordingMockTransport transport) {
+        return transport.getRequests().stream().map(request -> request.getMethod() + " " + request.getUrl())
+                .collect(Collectors.toList());
+    }
+
+    private static JsonValue body(final RecordingMockTransport transport, final String url) {
+        for (final RestRequest request : transport.getRequests()) {
+            if (request.getUrl().equals(url) && request.getBody() != null && request.getBody().length > 0) {
+                return Json.parse(new String(request.getBody(), StandardCharsets.UTF_8));
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void testDeleteTreeDeletesEverySecretBeneathThePrefix() throws Exception {
+        final Tree tree = new Tree(0)
+                .secrets("secret/acme/db", "secret/acme/team/api", "secret/acme/team/nested/queue", "secret/other");
+        final RecordingMockTransport transport = tree.transport();
+
+        final BulkDeleteResult result = vault(transport, 1).logical().deleteTree("secret/acme");
+
+        assertTrue(result.isComplete());
+        assertEquals(3, result.getDeleted());
+        assertEquals(Collections.singleton(ADDRESS + "secret/other"), tree.secrets);
+        assertEquals(new HashSet<>(Arrays.asList("DELETE " + ADDRESS + "secret/acme/db",
+                "DELETE " + ADDRESS + "secret/acme/team/api", "DELETE " + ADDRESS + "secret/acme/team/nested/queue")),
+                new HashSet<>(requests(transport)));
+    }
+
+    @Test
+    public void testDeleteTreeOfVersionedSecretsDeletesMetadata() throws Exception {
+        final Tree tree = new Tree(0)
+                .secrets("secret/metadata/acme/db", "secret/metadata/acme/team/api");
+        final RecordingMockTransport transport = tree.transport();
+
+        final BulkDeleteResult result = vault(transport, 2).logical().deleteTree("secret/acme/");
+
+        assertEquals(2, result.getDeleted());
+        assertTrue(tree.secrets.isEmpty());
+    }
+
+    @Test
+    public void testDeleteTreeReportsEachFailure() throws Exception {
+        final Tree tree = new Tree(0)
+                .secrets("secret/acme/a", "secret/acme/locked-1", "secret/acme/b", "secret/acme/team/locked-2");
+        final RecordingMockTransport transport = tree.transport();
+
+        final BulkDeleteResult result = vault(transport, 1).logical().deleteTree("secret/acme");
+
+        assertFalse(result.isComplete());
+        assertEquals(2, result.getDeleted());
+        assertEquals(Arrays.asList("secret/acme/locked-1", "secret/acme/team/locked-2"),
+                Arrays.asList(result.getFailures().keySet().toArray()));
+        assertEquals(403, result.getFailures().get("secret/acme/locked-1").getHttpStatusCode());
+    }
+
+    @Test
+    public void testDeleteTreeBacksOffWhenRateLimited() throws Exception {
+        final Tree tree = new Tree(3).secrets("secret/acme/busy", "secret/acme/idle");
+        final RecordingMockTransport transport = tree.transport();
+
+        final long start = System.nanoTime();
+        final BulkDeleteResult result = vault(transport, 1).logical().deleteTree("secret/acme", 1, Runnable::run);
+        final long elapsedMillis = (System.nanoTime() - start) / 1000000;
+
+        assertTrue(result.isComplete());
+        assertEquals(2, result.getDeleted());
+        assertEquals(3, result.getRateLimited());
+        // Backoffs of 5, 10 and 20 milliseconds
+        assertTrue("Took " + elapsedMillis + "ms", elapsedMillis >= 35);
+        assertEquals(5, transport.getRequests().size());
+    }
+
+    @Test
+    public void testDeleteTreeGivesUpWhenAlwaysRateLimited() throws Exception {
+        final Tree tree = new Tree(Integer.MAX_VALUE).secrets("secret/acme/busy");
+        final RecordingMockTransport transport = tree.transport();
+        final Vault vault = vault(transport, 1);
+        vault.withRetries(0, 1);
+
+        final BulkDeleteResult result = vault.logical().deleteTree("secret/acme");
+
+        assertEquals(0, result.getDeleted());
+        assertEquals(429, result.getFailures().get("secret/acme/busy").getHttpStatusCode());
+        assertEquals(transport.getRequests().size() - 1, result.getRateLimited());
+    }
+
+    @Test
+    public void testDeleteTreeBoundsParallelism() throws Exception {
+        final Tree tree = new Tree(0);
+        final RecordingMockTransport transport = tree.transport().delay(10);
+        for (int i = 0; i < 24; i++) {
+            tree.secrets("secret/acme/team-" + (i % 4) + "/" + i);
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            final BulkDeleteResult result = vault(transport, 1).logical().deleteTree("secret/acme", 3, executor);
+
+            assertEquals(24, result.getDeleted());
+            assertEquals(3, transport.getMaxInFlight());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testDestroyTreeDestroysEveryVersion() throws Exception {
+        final Tree tree = new Tree(0).secrets("secret/metadata/acme/db");
+        final RecordingMockTransport transport = tree.transport();
+
+        final BulkDeleteResult result = vault(transport, 2).logical().destroyTree("secret/acme", true);
+
+        assertEquals(1, result.getDeleted());
+        assertEquals(Arrays.asList("GET " + ADDRESS + "secret/metadata/acme/db",
+                "POST " + ADDRESS + "secret/destroy/acme/db"), requests(transport));
+        assertEquals(Json.array(1, 2, 3), body(transport, ADDRESS + "secret/destroy/acme/db")
+                .asObject().get("versions"));
+        assertEquals(Collections.singleton(ADDRESS + "secret/metadata/acme/db"), tree.secrets);
+    }
+
+    @Test
+    public void testDestroyTreeDestroysCurrentVersion() throws Exception {
+        final Tree tree = new Tree(0)
+                .secrets("secret/metadata/acme/db", "secret/metadata/acme/locked");
+        final RecordingMockTransport transport = tree.transport();
+
+        final BulkDeleteResult result = vault(transport, 2).logical().destroyTree("secret/acme", false);
+
+        assertEquals(1, result.getDeleted());
+        assertEquals(403, result.getFailures().get("secret/acme/locked").getHttpStatusCode());
+        assertEquals(Json.array(3), body(transport, ADDRESS + "secret/destroy/acme/db")
+                .asObject().get("versions"));
+    }
+
+    @Test
+    public void testDestroyTreeRequiresVersionedEngine() throws Exception {
+        try {
+            vault(new Tree(0).transport(), 1).logical().destroyTree("secret/acme", true);
+            fail("Expected a VaultException");
+        } catch (VaultException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("KV Engine 2"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDeleteTreeRejectsZeroParallelism() throws Exception {
+        vault(new Tree(0).transport(), 1).logical().deleteTree("secret/acme", 0, Runnable::run);
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.bettercloud.vault;
+
+import com.bettercloud.vault.response.LogicalResponse;
+import com.bettercloud.vault.rest.HttpClientTransport;
+import com.bettercloud.vault.vault.VaultTestUtils;
+import com.bettercloud.vault.vault.mock.ConnectionTrackingMockVault;
+import com.bettercloud.vault.vault.mock.MockVault;
+import org.eclipse.jetty.server.Server;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>Unit tests for the Vault driver, having no dependency on an actual Vault server instance being available.  The
+ * tests in this class relate to the <code>HttpClientTransport</code>, which uses <code>java.net.http.HttpClient</code>
+ * on Java 11+ and falls back to <code>HttpURLConnection</code> on older JRE's.</p>
+ */
+public class HttpClientTransportTests {
+
+    private static final String READ_RESPONSE =
+            "{\"lease_id\":\"12345\",\"renewable\":false,\"lease_duration\":10000,\"data\":{\"value\":\"mock\"}}";
+
+    @Test
+    public void testIsSupported_MatchesRuntimeVersion() {
+        boolean java11 = true;
+        try {
+            Class.forName("java.net.http.HttpClient");
+        } catch (ClassNotFoundException e) {
+            java11 = false;
+        }
+        // The Java 11 implementation is only on the classpath when running from the multi-release JAR (or its
+        // "java11" source set), so this can only be asserted in one direction.
+        if (HttpClientTransport.isSupported()) {
+            assertTrue(java11);
+        }
+    }
+
+    @Test
+    public void testReadWriteDelete() throws Exception {
+        final MockVault mockVault = new MockVault(200, READ_RESPONSE);
+        final Server server = VaultTestUtils.initHttpMockVault(mockVault);
+        server.start();
+
+        final VaultConfig vaultConfig = new VaultConfig()
+                .address("http://127.0.0.1:8999")
+                .token("mock_token")
+                .transport(new HttpClientTransport())
+                .build();
+        final Vault vault = new Vault(vaultConfig, 1);
+
+        final LogicalResponse readResponse = vault.logical().read("secret/hello");
+        assertEquals("mock", readResponse.getData().get("value"));
+        assertEquals("mock_token", mockVault.getRequestHeaders().get("X-Vault-Token"));
+
+        vault.logical().write("secret/hello", new HashMap<String, Object>() {{
+            put("value", "world");
+        }});
+        assertEquals("world", mockVault.getRequestBody().get().getString("value", null));
+
+        VaultTestUtils.shutdownMockVault(server);
+    }
+
+    @Test
+    public void testZeroTimeouts_WaitIndefinitely() throws Exception {
+        final MockVault mockVault = new MockVault(200, READ_RESPONSE);
+        final Server server = VaultTestUtils.initHttpMockVault(mockVault);
+        server.start();
+
+        final VaultConfig vaultConfig = new VaultConfig()
+                .address("http://127.0.0.1:8999")
+                .token("mock_token")
+                .openTimeout(0)
+                .readTimeout(0)
+                .transport(new HttpClientTransport())
+                .build();
+        final Vault vault = new Vault(vaultConfig, 1);
+
+        final LogicalResponse readResponse = vault.logical().read("secret/hello");
+        assertEquals("mock", readResponse.getData().get("value"));
+
+        VaultTestUtils.shutdownMockVault(server);
+    }
+
+    @Test
+    public void testConcurrentReads_ShareConnections() throws Exception {
+        final ConnectionTrackingMockVault mockVault = new ConnectionTrackingMockVault(200, READ_RESPONSE);
+        final Server server = VaultTestUtils.initHttpMockVault(mockVault);
+        server.start();
+
+        final VaultConfig vaultConfig = new VaultConfig()
+                .address("http://127.0.0.1:8999")
+                .token("mock_token")
+                .transport(new HttpClientTransport())
+                .build();
+        final Vault vault = new Vault(vaultConfig, 1);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<LogicalResponse>> futures = new ArrayList<>();
+            for (int index = 0; index < 40; index++) {
+                futures.add(executor.submit(() -> vault.logical().read("secret/hello")));
+            }
+            for (final Future<LogicalResponse> future : futures) {
+                assertEquals("mock", future.get().getData().get("value"));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(40, mockVault.getRequestCount());
+        assertTrue(mockVault.getConnectionCount() < 40);
+
+        VaultTestUtils.shutdownMockVault(server);
+    }
+
+    @Test
+    public void testHttps_WithPemCertificate() throws Exception {
+        final MockVault mockVault = new MockVault(200, READ_RESPONSE);
+        final Server server = VaultTestUtils.initHttpsMockVault(mockVault);
+        server.start();
+
+        final VaultConfig vaultConfig = new VaultConfig()
+                .address("https://127.0.0.1:9998")
+                .token("mock_token")
+                .sslConfig(new SslConfig().pemResource("/cert.pem").build())
+                .transport(new HttpClientTransport())
+                .build();
+        final Vault vault = new Vault(vaultConfig, 1);
+
+        final LogicalResponse response = vault.logical().read("secret/hello");
+        assertEquals("mock", response.getData().get("value"));
+
+        VaultTestUtils.shutdownMockVault(server);
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.bettercloud.vault;
+
+import com.bettercloud.vault.vault.VaultTestUtils;
+import com.bettercloud.vault.vault.mock.MockVault;
+import com.bettercloud.vault.vault.mock.RecordingMockTransport;
+import org.eclipse.jetty.server.Server;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.bettercloud.vault.vault.mock.RecordingMockTransport.response;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Unit tests for the Vault driver, having no dependency on an actual Vault server instance being available.  The
+ * tests in this class relate to resolving secret paths to their mount points and KV engine versions with
+ * <code>MountIndex</code>.</p>
+ */
+public class MountIndexTests {
+
+    private static final String MOUNTS_RESPONSE = "{\"data\":{"
+            + "\"secret/\":{\"type\":\"kv\",\"options\":{\"version\":\"%s\"}},"
+            + "\"sys/\":{\"type\":\"system\",\"options\":null}}}";
+
+    @Test
+    public void testLongestPrefixMatch() {
+        final MountIndex index = MountIndex.compile(mounts());
+
+        assertEquals(2, index.engineVersion("secret/app/db"));
+        assertEquals("secret/", index.mountPath("secret/app/db"));
+        assertEquals(1, index.engineVersion("secret/legacy/app/db"));
+        assertEquals("secret/legacy/", index.mountPath("secret/legacy/app/db"));
+        assertEquals(2, index.engineVersion("secret/legacy-other/db"));
+        assertEquals(1, index.engineVersion("team/a/kv/app"));
+        assertEquals("team/a/kv/", index.mountPath("team/a/kv/app"));
+    }
+
+    @Test
+    public void testMountItself() {
+        final MountIndex index = MountIndex.compile(mounts());
+
+        assertEquals(2, index.engineVersion("secret"));
+        assertEquals(2, index.engineVersion("secret/"));
+        assertEquals(1, index.engineVersion("/secret/legacy"));
+        assertEquals(1, index.engineVersion("secret//legacy//app"));
+    }
+
+    @Test
+    public void testNoMatch() {
+        final MountIndex index = MountIndex.compile(mounts());
+
+        assertEquals(-1, index.engineVersion("other/app"));
+        assertNull(index.mountPath("other/app"));
+        assertEquals(-1, index.engineVersion("team/a"));
+        assertEquals(-1, index.engineVersion("team/a/kv2"));
+        assertEquals(-1, index.engineVersion(""));
+        assertEquals(-1, index.engineVersion(null));
+        assertTrue(MountIndex.compile(new HashMap<>()).isEmpty());
+        assertEquals(-1, MountIndex.compile(new HashMap<>()).engineVersion("secret/app"));
+    }
+
+    @Test
+    public void testVersionParsing() {
+        final Map<String, String> mounts = new HashMap<>();
+        mounts.put("old/", "unknown");
+        mounts.put("/leading/", "2");
+        mounts.put("not-a-mount", "2");
+        final MountIndex index = MountIndex.compile(mounts);
+
+        assertEquals(1, index.engineVersion("old/app"));
+        assertEquals(2, index.engineVersion("leading/app"));
+        assertEquals("leading/", index.mountPath("leading/app"));
+        assertEquals(-1, index.engineVersion("not-a-mount/app"));
+    }
+
+    @Test
+    public void testManyMounts() {
+        final Map<String, String> mounts = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            mounts.put("kv" + i + "/", String.valueOf(i % 2 + 1));
+        }
+        final MountIndex index = MountIndex.compile(mounts);
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i % 2 + 1, index.engineVersion("kv" + i + "/app/db"));
+        }
+    }
+
+    @Test
+    public void testLogical_ResolvesDeepPaths() {
+        final VaultConfig vaultConfig = new VaultConfig().secretsEnginePathMap(mounts());
+        final Vault vault = new Vault(vaultConfig, 2);
+
+        assertEquals(1, vault.logical().getEngineVersionForSecretPath("secret/legacy/app/db").intValue());
+        assertEquals(2, vault.logical().getEngineVersionForSecretPath("secret/app/db").intValue());
+
+        // Changes to the map are picked up by the index
+        vaultConfig.putSecretsEngineVersionForPath("secret/app/", "1");
+        assertEquals(1, vault.logical().getEngineVersionForSecretPath("secret/app/db").intValue());
+    }
+
+    @Test
+    public void testDiscoveredMounts_RefreshedInBackground() throws Exception {
+        Server server = VaultTestUtils.initHttpMockVault(new MockVault(200, String.format(MOUNTS_RESPONSE, "1")));
+        server.start();
+        final VaultConfig vaultConfig = new VaultConfig()
+                .address("http://127.0.0.1:8999")
+                .token("mock_token")
+                .mountRefreshIntervalMilliseconds(200)
+                .build();
+        final Vault vault;
+        try {
+            vault = new Vault(vaultConfig, true, 2);
+            assertEquals(1, vault.logical().getEngineVersionForSecretPath("secret/app").intValue());
+        } finally {
+            VaultTestUtils.shutdownMockVault(server);
+        }
+
+        // The secret/ mount has since been upgraded
+        server = VaultTestUtils.initHttpMockVault(new MockVault(200, String.format(MOUNTS_RESPONSE, "2")));
+        server.start();
+        try {
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (vault.logical().getEngineVersionForSecretPath("secret/app") != 2) {
+                if (System.nanoTime() > deadline) {
+                    fail("The mount index was not refreshed");
+                }
+                TimeUnit.MILLISECONDS.sleep(50);
+            }
+            assertEquals("2", vaultConfig.getSecretsEnginePathMap().get("secret/"));
+        } finally {
+            VaultTestUtils.shutdownMockVault(server);
+        }
+    }
+
+    @Test
+    public void testRefreshedMounts_DoNotReplaceSuppliedMounts() throws Exception {
+        final RecordingMockTransport transport = new RecordingMockTransport(
+                request -> response(200, String.format(MOUNTS_RESPONSE, "2"))).delay(300);
+        final VaultConfig vaultConfig = transport.config(2).mountRefreshIntervalMilliseconds(100).build();
+        final Vault vault = new Vault(vaultConfig, true, 2);
+        TimeUnit.MILLISECONDS.sleep(150);
+
+        // Starts a refresh, which is still reading the mounts when other ones are supplied
+        assertEquals(2, vault.logical().getEngineVersionForSecretPath("secret/app").intValue());
+        final Map<String, String> supplied = new HashMap<>();
+        supplied.put("secret/", "1");
+        vaultConfig.secretsEnginePathMap(supplied);
+        TimeUnit.MILLISECONDS.sleep(600);
+
+        assertEquals(2, transport.getRequests().size());
+        assertEquals("1", vaultConfig.getSecretsEnginePathMap().get("secret/"));
+        assertEquals(1, vault.logical().getEngineVersionForSecretPath("secret/app").intValue());
+    }
+
+    @Test
+    public void testMountsResponseWithoutData_FailsCleanly() throws Exception {
+        final RecordingMockTransport transport = new RecordingMockTransport(request -> response(200, "{}"));
+        try {
+            new Vault(transport.config(2).build(), true, 2);
+            fail("Discovering the mounts should have failed");
+        } catch (VaultException e) {
+            assertTrue(e.getMessage().contains("data"));
+        }
+        assertNull(transport.vault(2).getSecretEngineVersions());
+    }
+
+    private static Map<String, String> mounts() {
+        final Map<String, String> mounts = new HashMap<>();
+        mounts.put("secret/", "2");
+        mounts.put("secret/legacy/", "1");
+        mounts.put("team/a/kv/", "1");
+        return mounts;
+    }
+
+}
@@ -0,0 +1,246 @@
+package com.bettercloud.vault;
+
+import com.bettercloud.vault.api.NdjsonTransfer;
+import com.bettercloud.vault.api.TransferProgress;
+import com.bettercloud.vault.json.Json;
+import com.bettercloud.vault.json.JsonObject;
+import com.bettercloud.vault.json.ParseException;
+import com.bettercloud.vault.rest.RestRequest;
+import com.bettercloud.vault.rest.RestResponse;
+import com.bettercloud.vault.vault.mock.RecordingMockTransport;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static com.bettercloud.vault.vault.mock.RecordingMockTransport.response;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Unit tests for the Vault driver, having no dependency on an actual Vault server instance being available.  The
+ * tests in this class relate to exporting and importing trees of secrets as NDJSON, via
+ * <code>Logical.ndjson()</code>.</p>
+ */
+public class NdjsonTransferTests {
+
+    private static final String ADDRESS = "http://vault.example.com:8200/v1/";
+
+    /**
+     * <p>Keeps secrets in memory, keyed by their URL, answering list, read and write requests for them.  Reads of
+     * paths containing "broken" fail (500).</p>
+     */
+    private static class Store {
+
+        private final Map<String, String> secrets = new ConcurrentSkipListMap<>();
+        private final List<String> writes = new CopyOnWriteArrayList<>();
+
+        private Store secret(final String url, final String data) {
+            secrets.put(ADDRESS + url, data);
+            return this;
+        }
+
+        private RestResponse route(final RestRequest request) {
+            final String url = request.getUrl();
+            if (url.endsWith("?list=true")) {
+                final String folder = url.replace("?list=true", "");
+                final TreeSet<String> keys = new TreeSet<>();
+                for (final String secret : secrets.keySet()) {
+                    if (secret.startsWith(folder)) {
+                        final String rest = secret.substring(folder.length());
+                        keys.add(rest.contains("/") ? rest.substring(0, rest.indexOf('/') + 1) : rest);
+                    }
+                }
+                if (keys.isEmpty()) {
+                    return response(404, "{\"errors\":[]}");
+                }
+                return response(200, keys.stream().map(key -> "\"" + key + "\"")
+                        .collect(Collectors.joining(",", "{\"data\":{\"keys\":[", "]}}")));
+            }
+            if ("GET".equals(request.getMethod())) {
+                if (url.contains("broken")) {
+                    return response(500, "{\"errors\":[]}");
+                }
+                final String data = secrets.get(url);
+                return data == null ? response(404, "{\"errors\":[]}") : response(200, "{\"data\":" + data + "}");
+            }
+            final String body = new String(request.getBody(), StandardCharsets.UTF_8);
+            writes.add(url);
+            secrets.put(url, body);
+            return response(204, "");
+        }
+
+        private Vault vault(final int engineVersion) throws VaultException {
+            return new RecordingMockTransport(this::route).vault(engineVersion);
+        }
+    }
+
+    private static Store apps() {
+        return new Store()
+                .secret("secret/apps/shared", "{\"region\":\"eu\"}")
+                .secret("secret/apps/team-a/db", "{\"username\":\"app\",\"port\":5432}")
+                .secret("secret/apps/team-a/nested/deep", "{\"enabled\":true}")
+                .secret("secret/other", "{\"value\":\"not exported\"}");
+    }
+
+    @Test
+    public void testExportWritesOneLinePerSecret() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final TransferProgress progress = apps().vault(1).logical().ndjson().exportTree("secret/apps", output);
+
+        final List<String> lines = Arrays.asList(new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n"));
+        assertEquals(3, lines.size());
+        assertTrue(lines.contains("{\"path\":\"shared\",\"data\":{\"region\":\"eu\"}}"));
+        assertTrue(lines.contains("{\"path\":\"team-a/db\",\"data\":{\"username\":\"app\",\"port\":5432}}"));
+        assertTrue(lines.contains("{\"path\":\"team-a/nested/deep\",\"data\":{\"enabled\":true}}"));
+
+        assertTrue(progress.isFinished());
+        assertEquals(3, progress.getSecrets());
+        assertEquals(0, progress.getFailures());
+        assertEquals(output.size(), progress.getBytes());
+    }
+
+    @Test
+    public void testImportWritesBeneathAnotherRoot() throws Exception {
+        final String ndjson = "{\"path\":\"shared\",\"data\":{\"region\":\"eu\"}}\n"
+                + "\n"
+                + "{\"path\":\"team-a/db\",\"data\":{\"port\":5432}}\n";
+        final Store store = new Store();
+        final byte[] bytes = ndjson.getBytes(StandardCharsets.UTF_8);
+
+        final TransferProgress progress = store.vault(1).logical().ndjson()
+                .importTree("kv/restored/", new ByteArrayInputStream(bytes));
+
+        assertEquals(2, progress.getSecrets());
+        assertEquals(bytes.length, progress.getBytes());
+        assertEquals("{\"region\":\"eu\"}", store.secrets.get(ADDRESS + "kv/restored/shared"));
+        assertEquals("{\"port\":5432}", store.secrets.get(ADDRESS + "kv/restored/team-a/db"));
+    }
+
+    @Test
+    public void testExportThenImportRoundTrips() throws Exception {
+        final Store store = apps();
+        final NdjsonTransfer transfer = store.vault(1).logical().ndjson().parallelism(2);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        transfer.exportTree("secret/apps", output);
+
+        transfer.importTree("secret/copy", new ByteArrayInputStream(output.toByteArray()));
+
+        assertEquals(3, transfer.getProgress().getSecrets());
+        for (final String path : Arrays.asList("shared", "team-a/db", "team-a/nested/deep")) {
+            assertEquals(Json.parse(store.secrets.get(ADDRESS + "secret/apps/" + path)),
+                    Json.parse(store.secrets.get(ADDRESS + "secret/copy/" + path)));
+        }
+    }
+
+    @Test
+    public void testExportCountsUnreadableSecrets() throws Exception {
+        final Store store = apps().secret("secret/apps/broken", "{}");
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        final TransferProgress progress = store.vault(1).logical().ndjson().exportTree("secret/apps", output);
+
+        assertEquals(3, progress.getSecrets());
+        assertEquals(1, progress.getFailures());
+        assertEquals(3, new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n").length);
+    }
+
+    @Test
+    public void testExportOfVersionedSecrets() throws Exception {
+        final Store store = new Store()
+                .secret("secret/data/apps/db", "{\"data\":{\"port\":5432},\"metadata\":{\"version\":3}}")
+                .secret("secret/metadata/apps/db", "{}");
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        store.vault(2).logical().ndjson().exportTree("secret/apps", output);
+
+        assertEquals("{\"path\":\"db\",\"data\":{\"port\":5432}}\n",
+                new String(output.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testImportOfVersionedSecrets() throws Exception {
+        final Store store = new Store();
+        final byte[] ndjson = "{\"path\":\"db\",\"data\":{\"port\":5432}}\n".getBytes(StandardCharsets.UTF_8);
+
+        store.vault(2).logical().ndjson().importTree("secret/apps", new ByteArrayInputStream(ndjson));
+
+        assertEquals(Collections.singletonList(ADDRESS + "secret/data/apps/db"), store.writes);
+        final JsonObject body = Json.parse(store.secrets.get(ADDRESS + "secret/data/apps/db")).asObject();
+        assertEquals(5432, body.get("data").asObject().getInt("port", 0));
+    }
+
+    @Test
+    public void testImportStopsAtMalformedLine() throws Exception {
+        final String ndjson = "{\"path\":\"a\",\"data\":{\"value\":\"1\"}}\n"
+                + "{\"path\":\"b\"}\n"
+                + "{\"path\":\"c\",\"data\":{\"value\":\"3\"}}\n";
+        final Store store = new Store();
+        final NdjsonTransfer transfer = store.vault(1).logical().ndjson();
+
+        try {
+            transfer.importTree("secret", new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+            fail("Expected a VaultException");
+        } catch (VaultException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Line 2 "));
+        }
+        assertEquals(Collections.singletonList(ADDRESS + "secret/a"), store.writes);
+        assertTrue(transfer.getProgress().isFinished());
+        assertEquals(1, transfer.getProgress().getSecrets());
+    }
+
+    @Test
+    public void testImportReportsUnparseableLine() throws Exception {
+        final String ndjson = "{\"path\":\"a\",\"data\":{\"value\":\"1\"}}\n"
+                + "{\"path\":\"b\",\n";
+        final Store store = new Store();
+
+        try {
+            store.vault(1).logical().ndjson()
+                    .importTree("secret", new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+            fail("Expected a VaultException");
+        } catch (VaultException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Line 2 "));
+            assertTrue(e.getCause() instanceof ParseException);
+        }
+    }
+
+    @Test
+    public void testImportBoundsParallelism() throws Exception {
+        final Store store = new Store();
+        final RecordingMockTransport transport = new RecordingMockTransport(store::route).delay(10);
+        final StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 24; i++) {
+            ndjson.append("{\"path\":\"").append(i).append("\",\"data\":{\"value\":\"").append(i).append("\"}}\n");
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            final TransferProgress progress = transport.vault(1).logical().ndjson().parallelism(3).executor(executor)
+                    .importTree("secret", new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+
+            assertEquals(24, progress.getSecrets());
+            assertEquals(24, store.secrets.size());
+            assertEquals(3, transport.getMaxInFlight());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsZeroParallelism() throws Exception {
+        new Store().vault(1).logical().ndjson().parallelism(0);
+    }
+
+}
@@ -0,0 +1,221 @@
+package com.bettercloud.vault;
+
+import com.bettercloud.vault.rest.RateLimitingTransport;
+import com.bettercloud.vault.rest.Rest;
+import com.bettercloud.vault.rest.RestException;
+import com.bettercloud.vault.rest.RestRequest;
+import com.bettercloud.vault.rest.RestResponse;
+import com.bettercloud.vault.rest.VaultTransport;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>Unit tests for the Vault driver, having no dependency on an actual Vault server instance being available.  The
+ * tests in this class relate to throttling requests with <code>RateLimitingTransport</code>, in response to HTTP 429
+ * responses from Vault.</p>
+ */
+public class RateLimitingTransportTests {
+
+    @Test
+    public void testRateLimitedResponse_HalvesLimitAndHonorsRetryAfter() throws Exception {
+        final ScriptedTransport delegate = new ScriptedTransport(1, "1");
+        final RateLimitingTransport transport = new RateLimitingTransport(delegate).initialLimit(8);
+
+        assertEquals(429, send(transport, "http://127.0.0.1:8999/v1/secret/data/first").getStatus());
+        RateLimitingTransport.EndpointStatistics statistics = transport.getEndpointStatistics().get(0);
+        assertEquals("http://127.0.0.1:8999/v1/secret", statistics.getEndpoint());
+        assertEquals(4, statistics.getLimit());
+        assertEquals(1, statistics.getRateLimitedCount());
+        assertTrue(statistics.getPausedMilliseconds() > 0);
+
+        // Paused by the Retry-After header, so the next request on the same endpoint has to wait
+        final long start = System.nanoTime();
+        assertEquals(200, send(transport, "http://127.0.0.1:8999/v1/secret/data/second").getStatus());
+        final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("Waited only " + elapsed + "ms", elapsed >= 900);
+
+        statistics = transport.getEndpointStatistics().get(0);
+        assertEquals(2, statistics.getRequestCount());
+        assertEquals(0, statistics.getPausedMilliseconds());
+    }
+
+    @Test
+    public void testRateLimitedResponse_OtherEndpointsUnaffected() throws Exception {
+        final ScriptedTransport delegate = new ScriptedTransport(1, "30");
+        final RateLimitingTransport transport = new RateLimitingTransport(delegate);
+
+        assertEquals(429, send(transport, "http://127.0.0.1:8999/v1/secret/data/first").getStatus());
+        final long start = System.nanoTime();
+        assertEquals(200, send(transport, "http://127.0.0.1:8999/v1/auth/token/lookup-self").getStatus());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+        assertEquals(2, transport.getEndpointStatistics().size());
+    }
+
+    @Test
+    public void testRetryAfter_CappedAtMaximum() throws Exception {
+        final ScriptedTransport delegate = new ScriptedTransport(1, "3600");
+        final RateLimitingTransport transport = new RateLimitingTransport(delegate).maxRetryAfterMilliseconds(200);
+
+        send(transport, "http://127.0.0.1:8999/v1/secret/first");
+        final long start = System.nanoTime();
+        assertEquals(200, send(transport, "http://127.0.0.1:8999/v1/secret/second").getStatus());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+    }
+
+    @Test
+    public void testRetryAfter_HttpDate() throws Exception {
+        final String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(2));
+        final ScriptedTransport delegate = new ScriptedTransport(1, date);
+        final RateLimitingTransport transport = new RateLimitingTransport(delegate);
+
+        send(transport, "http://127.0.0.1:8999/v1/secret/first");
+        assertTrue(transport.getEndpointStatistics().get(0).getPausedMilliseconds() > 0);
+    }
+
+    @Test
+    public void testBurstOfRateLimitedResponses_DecreasesLimitOncePerWindow() throws Exception {
+        final ScriptedTransport delegate = new ScriptedTransport(10, null);
+        delegate.delayMilliseconds = 100;
+        final RateLimitingTransport transport = new RateLimitingTransport(delegate).initialLimit(10);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(10);
+        try {
+            final List<CompletableFuture<RestResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(sendAsync(transport, "http://127.0.0.1:8999/v1/secret/key" + i, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+        // All ten were in flight together, so they count as a single overload signal
+        final RateLimitingTransport.EndpointStatistics statistics = transport.getEndpointStatistics().get(0);
+        assertEquals(5, statistics.getLimit());
+        assertEquals(10, statistics.getRateLimitedCount());
+    }
+
+    @Test
+    public void testConcurrency_BoundedByLimit() throws Exception {
+        final ScriptedTransport delegate = new ScriptedTransport(0, null);
+        delegate.delayMilliseconds = 50;
+        final RateLimitingTransport transport = new RateLimitingTransport(delegate).initialLimit(2).maxLimit(2);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<CompletableFuture<RestResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(sendAsync(transport, "http://127.0.0.1:8999/v1/secret/key" + i, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(2, delegate.maxConcurrent.get());
+        assertEquals(20, transport.getEndpointStatistics().get(0).getRequestCount());
+    }
+
+    @Test
+    public void testSuccessfulResponses_RecoverLimit() throws Exception {
+        final ScriptedTransport delegate = new ScriptedTransport(1, null);
+        final RateLimitingTransport transport = new RateLimitingTransport(delegate).initialLimit(4);
+
+        send(transport, "http://127.0.0.1:8999/v1/secret/first");
+        assertEquals(2, transport.getEndpointStatistics().get(0).getLimit());
+        for (int i = 0; i < 10; i++) {
+            send(transport, "http://127.0.0.1:8999/v1/secret/first");
+        }
+        assertTrue(transport.getEndpointStatistics().get(0).getLimit() >= 4);
+    }
+
+    @Test
+    public void testCancelledWhileQueued_NeverSent() throws Exception {
+        final ScriptedTransport delegate = new ScriptedTransport(0, null);
+        delegate.delayMilliseconds = 200;
+        final RateLimitingTransport transport = new RateLimitingTransport(delegate).initialLimit(1).maxLimit(1);
+
+        final String url = "http://127.0.0.1:8999/v1/secret/";
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final CompletableFuture<RestResponse> first = sendAsync(transport, url + "first", executor);
+            final CompletableFuture<RestResponse> second = sendAsync(transport, url + "second", executor);
+            final CompletableFuture<RestResponse> third = sendAsync(transport, url + "third", executor);
+            assertEquals(2, transport.getEndpointStatistics().get(0).getQueued());
+            assertTrue(second.cancel(false));
+            assertEquals(1, transport.getEndpointStatistics().get(0).getQueued());
+
+            assertEquals(200, first.get(10, TimeUnit.SECONDS).getStatus());
+            assertEquals(200, third.get(10, TimeUnit.SECONDS).getStatus());
+        } finally {
+            executor.shutdown();
+        }
+        final RateLimitingTransport.EndpointStatistics statistics = transport.getEndpointStatistics().get(0);
+        assertEquals(2, statistics.getRequestCount());
+        assertEquals(0, statistics.getInFlight());
+        assertEquals(0, statistics.getQueued());
+    }
+
+    private static RestResponse send(final VaultTransport transport, final String url) throws RestException {
+        return new Rest().url(url).transport(transport).get();
+    }
+
+    private static CompletableFuture<RestResponse> sendAsync(final VaultTransport transport, final String url,
+                                                             final ExecutorService executor) {
+        return new Rest().url(url).transport(transport).getAsync(executor);
+    }
+
+    /**
+     * <p>A transport that answers the first few requests with HTTP 429, and every later one with HTTP 200, while
+     * recording the peak number of concurrent requests.</p>
+     */
+    private static class ScriptedTransport implements VaultTransport {
+
+        private final AtomicInteger rateLimitedRemaining;
+        private final String retryAfter;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+        private volatile long delayMilliseconds;
+
+        private ScriptedTransport(final int rateLimited, final String retryAfter) {
+            this.rateLimitedRemaining = new AtomicInteger(rateLimited);
+            this.retryAfter = retryAfter;
+        }
+
+        @Override
+        public RestResponse send(final RestRequest request) throws RestException {
+            final int current = inFlight.incrementAndGet();
+            maxConcurrent.accumulateAndGet(current, Math::max);
+            try {
+                if (delayMilliseconds > 0) {
+                    Thread.sleep(delayMilliseconds);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            final byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            if (rateLimitedRemaining.getAndDecrement() > 0) {
+                return new RestResponse(429, "application/json", body, retryAfter == null
+                        ? Collections.<String, String>emptyMap()
+                        : Collections.singletonMap("Retry-After", retryAfter));
+            }
+            return new RestResponse(200, "application/json", body, null);
+        }
+    }
+
+}
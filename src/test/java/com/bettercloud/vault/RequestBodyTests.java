@@ -0,0 +1,169 @@
+package com.bettercloud.vault;
+
+import com.bettercloud.vault.json.Json;
+import com.bettercloud.vault.json.JsonObject;
+import com.bettercloud.vault.rest.RequestBody;
+import com.bettercloud.vault.rest.Rest;
+import com.bettercloud.vault.rest.RestConnectionPool;
+import com.bettercloud.vault.rest.RestException;
+import com.bettercloud.vault.rest.RestRequest;
+import com.bettercloud.vault.rest.VaultTransport;
+import com.bettercloud.vault.vault.VaultTestUtils;
+import com.bettercloud.vault.vault.mock.MockVault;
+import org.eclipse.jetty.server.Server;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Unit tests for the Vault driver, having no dependency on an actual Vault server instance being available.  The
+ * tests in this class relate to writing request bodies directly to the connection, with a <code>Content-Length</code>
+ * for small bodies and chunked transfer encoding for large ones.</p>
+ */
+public class RequestBodyTests {
+
+    private MockVault mockVault;
+    private Server server;
+
+    @Before
+    public void setUp() throws Exception {
+        mockVault = new MockVault(204, null);
+        server = VaultTestUtils.initHttpMockVault(mockVault);
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        VaultTestUtils.shutdownMockVault(server);
+    }
+
+    private static String largeValue() {
+        final StringBuilder value = new StringBuilder();
+        for (int index = 0; index < 10000; index++) {
+            value.append("line ").append(index).append(" of a large secret\n");
+        }
+        return value.toString();
+    }
+
+    private void write(final VaultTransport transport, final String value) throws VaultException {
+        final VaultConfig vaultConfig = new VaultConfig()
+                .address("http://127.0.0.1:8999")
+                .token("mock_token")
+                .engineVersion(1)
+                .transport(transport)
+                .build();
+        final Map<String, Object> nameValuePairs = new HashMap<>();
+        nameValuePairs.put("value", value);
+        new Vault(vaultConfig).logical().write("secret/hello", nameValuePairs);
+    }
+
+    @Test
+    public void testSmallJsonBody_SentWithContentLength() throws Exception {
+        write(null, "world");
+
+        assertEquals("{\"value\":\"world\"}", mockVault.getRequestBody().get().toString());
+        assertEquals("17", mockVault.getRequestHeaders().get("Content-Length"));
+        assertNull(mockVault.getRequestHeaders().get("Transfer-Encoding"));
+    }
+
+    @Test
+    public void testLargeJsonBody_SentChunked() throws Exception {
+        final String value = largeValue();
+        write(null, value);
+
+        assertEquals(value, mockVault.getRequestBody().get().getString("value", null));
+        assertEquals("chunked", mockVault.getRequestHeaders().get("Transfer-Encoding"));
+        assertNull(mockVault.getRequestHeaders().get("Content-Length"));
+    }
+
+    @Test
+    public void testPooledConnection_SmallAndLargeJsonBodies() throws Exception {
+        final String value = largeValue();
+        try (RestConnectionPool connectionPool = new RestConnectionPool()) {
+            write(connectionPool, value);
+            assertEquals(value, mockVault.getRequestBody().get().getString("value", null));
+            assertEquals("chunked", mockVault.getRequestHeaders().get("Transfer-Encoding"));
+
+            write(connectionPool, "world");
+            assertEquals("{\"value\":\"world\"}", mockVault.getRequestBody().get().toString());
+            assertEquals("17", mockVault.getRequestHeaders().get("Content-Length"));
+
+            assertEquals(1, connectionPool.getConnectionsCreated());
+        }
+    }
+
+    @Test
+    public void testLargeByteArrayBody_SentWithContentLength() throws Exception {
+        final byte[] body = Json.object().add("value", largeValue()).toString().getBytes(StandardCharsets.UTF_8);
+        new Rest().url("http://127.0.0.1:8999/v1/secret/hello").body(body).post();
+
+        assertEquals(String.valueOf(body.length), mockVault.getRequestHeaders().get("Content-Length"));
+        assertEquals(largeValue(), mockVault.getRequestBody().get().getString("value", null));
+    }
+
+    @Test
+    public void testJsonBody_MaterializedForCustomTransports() throws Exception {
+        final JsonObject json = Json.object().add("value", "é🔑");
+        final RestRequest[] sent = new RestRequest[1];
+        new Rest().url("http://127.0.0.1:8999/v1/secret/hello").body(json).transport(request -> {
+            sent[0] = request;
+            return null;
+        }).post();
+
+        final byte[] expected = json.toString().getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(expected, sent[0].getBody());
+        assertEquals(-1, sent[0].getRequestBody().contentLength());
+        final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        RequestBody.of(json).writeTo(written);
+        assertArrayEquals(expected, written.toByteArray());
+    }
+
+    @Test
+    public void testFailingBody_NotSentAsComplete() throws Exception {
+        assertFailingBodyNotSent(null);
+    }
+
+    @Test
+    public void testPooledConnection_FailingBodyNotSentAsComplete() throws Exception {
+        try (RestConnectionPool connectionPool = new RestConnectionPool()) {
+            assertFailingBodyNotSent(connectionPool);
+            assertEquals(0, connectionPool.getIdleConnectionCount());
+        }
+    }
+
+    private void assertFailingBodyNotSent(final VaultTransport transport) throws Exception {
+        // A body of unknown length, which fails only after writing a complete JSON object that spills into chunks
+        final byte[] json = Json.object().add("value", largeValue()).toString().getBytes(StandardCharsets.UTF_8);
+        final RequestBody body = new RequestBody() {
+            @Override
+            public void writeTo(final OutputStream outputStream) throws IOException {
+                outputStream.write(json);
+                throw new IOException("Body source failed");
+            }
+        };
+        try {
+            new Rest().url("http://127.0.0.1:8999/v1/secret/hello").body(body).transport(transport).post();
+            fail("The request should have failed");
+        } catch (RestException e) {
+            // Expected
+        }
+
+        // Give the server time to handle a request that it should never have been sent in full
+        Thread.sleep(250);
+        assertFalse(mockVault.getRequestBody().isPresent());
+    }
+
+}
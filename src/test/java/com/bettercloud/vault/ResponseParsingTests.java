@@ -0,0 +1,281 @@
+package com.bettercloud.vault;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.bettercloud.vault.api.Logical;
+import com.bettercloud.vault.json.JsonObject;
+import com.bettercloud.vault.json.ParseException;
+import com.bettercloud.vault.response.AuthResponse;
+import com.bettercloud.vault.response.HealthResponse;
+import com.bettercloud.vault.response.LogicalResponse;
+import com.bettercloud.vault.response.MountResponse;
+import com.bettercloud.vault.response.SealResponse;
+import com.bettercloud.vault.rest.RestResponse;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Unit tests for the Vault driver, having no dependency on an actual Vault server instance being available.  The
+ * tests in this class relate to deriving the fields of response objects from a response body that is parsed only
+ * once, and converting its data to strings only as it is read.</p>
+ */
+public class ResponseParsingTests {
+
+    private static RestResponse json(final String body) {
+        return new RestResponse(200, "application/json", body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testRestResponseParsesBodyOnce() {
+        final RestResponse restResponse = json("{\"data\":{\"value\":\"mock\"}}");
+
+        assertSame(restResponse.getJson(), restResponse.getJson());
+        assertEquals("mock", restResponse.getJson().asObject().get("data").asObject().getString("value", null));
+    }
+
+    @Test
+    public void testLogicalResponseSharesParsedRoot() {
+        final RestResponse restResponse = json("{\"lease_id\":\"lease\",\"renewable\":true,\"lease_duration\":60,"
+                + "\"data\":{\"value\":\"mock\",\"count\":3,\"nothing\":null}}");
+        final LogicalResponse response = new LogicalResponse(restResponse, 0, Logical.logicalOperations.readV1);
+
+        assertSame(restResponse.getJson().asObject().get("data"), response.getDataObject());
+        assertEquals("lease", response.getLeaseId());
+        assertTrue(response.getRenewable());
+        assertEquals(Long.valueOf(60), response.getLeaseDuration());
+        assertEquals("mock", response.getData().get("value"));
+        assertEquals("3", response.getData().get("count"));
+        assertFalse(response.getData().containsKey("nothing"));
+    }
+
+    @Test
+    public void testLogicalResponseUnwrapsVersionedData() {
+        final RestResponse restResponse = json("{\"lease_id\":\"\",\"renewable\":false,\"lease_duration\":0,"
+                + "\"data\":{\"data\":{\"value\":\"mock\"},\"metadata\":{\"version\":2}}}");
+        final LogicalResponse response = new LogicalResponse(restResponse, 0, Logical.logicalOperations.readV2);
+
+        final JsonObject root = restResponse.getJson().asObject();
+        assertSame(root.get("data").asObject().get("data"), response.getDataObject());
+        assertEquals("mock", response.getData().get("value"));
+    }
+
+    @Test
+    public void testRestResponseWithoutBodyIsNotJson() {
+        for (final byte[] body : Arrays.asList(null, new byte[0])) {
+            try {
+                new RestResponse(204, null, body).getJson();
+                fail("Expected a ParseException");
+            } catch (ParseException e) {
+                // Expected
+            }
+        }
+    }
+
+    @Test
+    public void testLogicalResponseToleratesBodyThatIsNotJson() {
+        final RestResponse restResponse = new RestResponse(204, null, new byte[0]);
+        final LogicalResponse response = new LogicalResponse(restResponse, 0, Logical.logicalOperations.deleteV1);
+
+        assertNull(response.getDataObject());
+        assertTrue(response.getData().isEmpty());
+        assertNull(response.getLeaseId());
+    }
+
+    @Test
+    public void testLogicalResponseDataIsConvertedOnRead() {
+        final RestResponse restResponse = json("{\"data\":{\"value\":\"mock\",\"blob\":{\"type\":\"service_account\"},"
+                + "\"list\":[1,2],\"nothing\":null,\"flag\":true}}");
+        final LogicalResponse response = new LogicalResponse(restResponse, 0, Logical.logicalOperations.readV1);
+        final Map<String, String> data = response.getData();
+
+        assertEquals(4, data.size());
+        assertEquals("mock", data.get("value"));
+        assertEquals("{\"type\":\"service_account\"}", data.get("blob"));
+        assertEquals("[1,2]", data.get("list"));
+        assertEquals("true", data.get("flag"));
+        assertNull(data.get("nothing"));
+        assertFalse(data.containsKey("nothing"));
+        assertFalse(data.containsKey("missing"));
+
+        final Map<String, String> expected = new HashMap<>();
+        expected.put("value", "mock");
+        expected.put("blob", "{\"type\":\"service_account\"}");
+        expected.put("list", "[1,2]");
+        expected.put("flag", "true");
+        assertEquals(expected, data);
+        assertEquals(data, expected);
+        assertEquals(expected.hashCode(), data.hashCode());
+        assertEquals(expected.keySet(), data.keySet());
+    }
+
+    @Test
+    public void testLogicalResponseDataIsCopiedOnWrite() {
+        final RestResponse restResponse = json("{\"data\":{\"value\":\"mock\",\"other\":\"other\"}}");
+        final LogicalResponse response = new LogicalResponse(restResponse, 0, Logical.logicalOperations.readV1);
+        final Map<String, String> data = response.getData();
+
+        assertEquals("mock", data.put("value", "changed"));
+        assertEquals("other", data.remove("other"));
+        data.put("added", "added");
+
+        assertEquals("changed", data.get("value"));
+        assertFalse(data.containsKey("other"));
+        assertEquals(2, data.size());
+        assertEquals("mock", response.getDataObject().getString("value", null));
+        assertEquals("other", response.getDataObject().getString("other", null));
+    }
+
+    @Test
+    public void testLogicalResponseDataIsCopiedOnIteratorRemove() {
+        final RestResponse restResponse = json("{\"data\":{\"value\":\"mock\",\"other\":\"other\",\"last\":\"last\"}}");
+        final LogicalResponse response = new LogicalResponse(restResponse, 0, Logical.logicalOperations.readV1);
+        final Map<String, String> data = response.getData();
+
+        final Iterator<Map.Entry<String, String>> iterator = data.entrySet().iterator();
+        int seen = 0;
+        while (iterator.hasNext()) {
+            if ("other".equals(iterator.next().getKey())) {
+                iterator.remove();
+            }
+            seen++;
+        }
+
+        assertEquals(3, seen);
+        assertEquals(2, data.size());
+        assertFalse(data.containsKey("other"));
+        assertEquals("other", response.getDataObject().getString("other", null));
+    }
+
+    @Test
+    public void testLogicalResponseDataIsCopiedOnSetValue() {
+        final RestResponse restResponse = json("{\"data\":{\"value\":\"mock\",\"count\":3}}");
+        final LogicalResponse response = new LogicalResponse(restResponse, 0, Logical.logicalOperations.readV1);
+        final Map<String, String> data = response.getData();
+
+        for (final Map.Entry<String, String> entry : data.entrySet()) {
+            if ("value".equals(entry.getKey())) {
+                assertEquals("mock", entry.setValue("changed"));
+                assertEquals("changed", entry.getValue());
+            }
+        }
+
+        assertEquals("changed", data.get("value"));
+        assertEquals("3", data.get("count"));
+        assertEquals("mock", response.getDataObject().getString("value", null));
+    }
+
+    @Test
+    public void testLogicalResponseDataViewsAreMutable() {
+        final RestResponse restResponse = json("{\"data\":{\"value\":\"mock\",\"other\":\"other\",\"count\":3}}");
+        final LogicalResponse response = new LogicalResponse(restResponse, 0, Logical.logicalOperations.readV1);
+        final Map<String, String> data = response.getData();
+
+        assertTrue(data.keySet().remove("other"));
+        assertFalse(data.keySet().remove("missing"));
+        assertTrue(data.values().removeIf("3"::equals));
+
+        assertEquals(Collections.singletonMap("value", "mock"), data);
+        assertEquals(3, response.getDataObject().size());
+    }
+
+    @Test
+    public void testStaleCopyHasItsOwnData() {
+        final RestResponse restResponse = json("{\"data\":{\"value\":\"mock\"}}");
+        final LogicalResponse response = new LogicalResponse(restResponse, 0, Logical.logicalOperations.readV1);
+        final LogicalResponse stale = new LogicalResponse(response, true);
+
+        stale.getData().put("value", "changed");
+
+        assertEquals("mock", response.getData().get("value"));
+        assertEquals("changed", stale.getData().get("value"));
+        assertEquals(response.getDataObject(), stale.getDataObject());
+        response.getDataObject().set("value", "changed");
+        assertEquals("mock", stale.getDataObject().getString("value", null));
+        try {
+            stale.getDataObject().set("value", "changed");
+            fail("Expected the copy's data object to be unmodifiable");
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+
+    @Test
+    public void testLogicalResponseDataIsSerializable() throws Exception {
+        final RestResponse restResponse = json("{\"data\":{\"value\":\"mock\",\"count\":3}}");
+        final LogicalResponse response = new LogicalResponse(restResponse, 0, Logical.logicalOperations.readV1);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(response);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            final LogicalResponse copy = (LogicalResponse) in.readObject();
+            assertEquals(response.getData(), copy.getData());
+            assertEquals("3", copy.getData().get("count"));
+        }
+    }
+
+    @Test
+    public void testAuthResponse() {
+        final RestResponse restResponse = json("{\"renewable\":false,\"auth\":{\"client_token\":\"token\","
+                + "\"policies\":[\"default\",\"admin\"],\"lease_duration\":3600,\"renewable\":true,"
+                + "\"metadata\":{\"username\":\"user\"}}}");
+        final AuthResponse response = new AuthResponse(restResponse, 0);
+
+        assertEquals("token", response.getAuthClientToken());
+        assertEquals(Arrays.asList("default", "admin"), response.getAuthPolicies());
+        assertEquals(3600, response.getAuthLeaseDuration());
+        assertTrue(response.isAuthRenewable());
+        assertFalse(response.getRenewable());
+        assertEquals("user", response.getUsername());
+    }
+
+    @Test
+    public void testMountResponse() {
+        final RestResponse restResponse = json("{\"data\":{\"secret/\":{\"type\":\"kv\",\"description\":\"KV\","
+                + "\"config\":{\"default_lease_ttl\":60,\"max_lease_ttl\":120}}}}");
+        final MountResponse response = new MountResponse(restResponse, 0, true);
+
+        assertEquals("KV", response.getMounts().get("secret/").getDescription());
+        assertEquals(Integer.valueOf(120), response.getMounts().get("secret/").getConfig().getMaxLeaseTtl());
+    }
+
+    @Test
+    public void testSealResponse() {
+        final SealResponse response = new SealResponse(json("{\"sealed\":true,\"t\":3,\"n\":5,\"progress\":1}"), 0);
+
+        assertTrue(response.getSealed());
+        assertEquals(Long.valueOf(3), response.getThreshold());
+        assertEquals(Long.valueOf(5), response.getNumberOfShares());
+        assertEquals(Long.valueOf(1), response.getProgress());
+    }
+
+    @Test
+    public void testHealthResponse() throws VaultException {
+        final RestResponse restResponse = json("{\"initialized\":true,\"sealed\":false,\"standby\":false,"
+                + "\"server_time_utc\":1500000000}");
+        final HealthResponse response = new HealthResponse(restResponse, 2);
+
+        assertSame(restResponse, response.getRestResponse());
+        assertEquals(2, response.getRetries());
+        assertTrue(response.getInitialized());
+        assertFalse(response.getSealed());
+        assertFalse(response.getStandby());
+        assertEquals(Long.valueOf(1500000000L), response.getServerTimeUTC());
+    }
+
+}
@@ -1,15 +1,22 @@
 package com.bettercloud.vault;
 
+import com.bettercloud.vault.api.Retrier;
 import com.bettercloud.vault.response.LogicalResponse;
 import com.bettercloud.vault.vault.VaultTestUtils;
+import com.bettercloud.vault.vault.mock.ConnectionTrackingMockVault;
 import com.bettercloud.vault.vault.mock.RetriesMockVault;
 import org.eclipse.jetty.server.Server;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * <p>Unit tests for the Vault driver, having no dependency on an actual Vault server instance being available.  The
@@ -53,4 +60,133 @@ public class RetryTests {
         VaultTestUtils.shutdownMockVault(server);
     }
 
+    @Test
+    public void testRetries_ForbiddenIsNotRetried() throws Exception {
+        assertEquals(1, countRequestsUntilFailure(403, new RetryPolicy()));
+    }
+
+    @Test
+    public void testRetries_NotFoundIsNotRetried() throws Exception {
+        assertEquals(1, countRequestsUntilFailure(404, new RetryPolicy()));
+    }
+
+    @Test
+    public void testRetries_RateLimitedIsRetried() throws Exception {
+        assertEquals(4, countRequestsUntilFailure(429, new RetryPolicy()));
+    }
+
+    @Test
+    public void testRetries_OnlyTransientFailuresAreRetryable() {
+        assertTrue(Retrier.isRetryable(new VaultException("Vault responded with HTTP status code: 503", 503)));
+        assertTrue(Retrier.isRetryable(new VaultException("Vault responded with HTTP status code: 429", 429)));
+        assertTrue(Retrier.isRetryable(new VaultException(new IOException("Connection reset"))));
+        assertTrue(Retrier.isRetryable(new UncheckedIOException(new IOException("Connection reset"))));
+        assertFalse(Retrier.isRetryable(new VaultException("Vault responded with HTTP status code: 403", 403)));
+        assertFalse(Retrier.isRetryable(new IllegalArgumentException("bad input")));
+        assertFalse(Retrier.isRetryable(new NullPointerException()));
+        assertFalse(Retrier.isRetryable(new UnsupportedOperationException("Not an object: null")));
+    }
+
+    @Test
+    public void testRetries_RuntimeExceptionIsNotRetried() throws Exception {
+        final VaultConfig vaultConfig = new VaultConfig().address("http://127.0.0.1:8999").token("mock_token").build();
+        new Vault(vaultConfig).withRetries(3, 10);
+        final AtomicInteger attempts = new AtomicInteger();
+        try {
+            Retrier.execute(vaultConfig, retryCount -> {
+                attempts.incrementAndGet();
+                throw new IllegalStateException("bug");
+            });
+            fail("Expected the call to fail");
+        } catch (VaultException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void testRetries_StopAtDeadline() throws Exception {
+        // Fixed 200ms waits, so attempts start at roughly 0ms, 200ms and 400ms.  A fourth would start past the deadline.
+        final RetryPolicy retryPolicy = new RetryPolicy()
+                .backoffMultiplier(1.0)
+                .jitterFactor(0.0)
+                .deadlineMilliseconds(500);
+        assertEquals(3, countRequestsUntilFailure(500, retryPolicy, 10, 200));
+    }
+
+    @Test
+    public void testRetries_InterruptStopsRetrying() throws Exception {
+        final ConnectionTrackingMockVault mockVault = new ConnectionTrackingMockVault(500, null);
+        final Server server = VaultTestUtils.initHttpMockVault(mockVault);
+        server.start();
+
+        final VaultConfig vaultConfig = new VaultConfig().address("http://127.0.0.1:8999").token("mock_token").build();
+        final Vault vault = new Vault(vaultConfig, 1);
+        final long start = System.currentTimeMillis();
+        Thread.currentThread().interrupt();
+        try {
+            vault.withRetries(5, 10000).logical().read("secret/hello");
+            fail("Expected the read to fail");
+        } catch (VaultException e) {
+            assertEquals(500, e.getHttpStatusCode());
+        } finally {
+            // Clears the interrupt flag, so that it doesn't leak into other tests
+            assertTrue(Thread.interrupted());
+        }
+        assertEquals(1, mockVault.getRequestCount());
+        assertTrue(System.currentTimeMillis() - start < 10000);
+
+        VaultTestUtils.shutdownMockVault(server);
+    }
+
+    @Test
+    public void testRetryPolicy_ExponentialBackoff() {
+        final RetryPolicy retryPolicy = new RetryPolicy()
+                .backoffMultiplier(2.0)
+                .maxIntervalMilliseconds(300)
+                .jitterFactor(0.0);
+        assertEquals(100, retryPolicy.delayMilliseconds(1, 100));
+        assertEquals(200, retryPolicy.delayMilliseconds(2, 100));
+        assertEquals(300, retryPolicy.delayMilliseconds(3, 100));
+        assertEquals(300, retryPolicy.delayMilliseconds(10, 100));
+        // A base interval above the cap is never shortened
+        assertEquals(1000, retryPolicy.delayMilliseconds(1, 1000));
+    }
+
+    @Test
+    public void testRetryPolicy_Jitter() {
+        final RetryPolicy retryPolicy = new RetryPolicy().jitterFactor(0.5);
+        for (int i = 0; i < 100; i++) {
+            final long delay = retryPolicy.delayMilliseconds(2, 100);
+            assertTrue(delay >= 100 && delay <= 200);
+        }
+    }
+
+    private int countRequestsUntilFailure(final int status, final RetryPolicy retryPolicy) throws Exception {
+        return countRequestsUntilFailure(status, retryPolicy, 3, 10);
+    }
+
+    private int countRequestsUntilFailure(final int status, final RetryPolicy retryPolicy, final int maxRetries,
+                                          final int retryIntervalMilliseconds) throws Exception {
+        final ConnectionTrackingMockVault mockVault = new ConnectionTrackingMockVault(status, "{\"errors\":[]}");
+        final Server server = VaultTestUtils.initHttpMockVault(mockVault);
+        server.start();
+
+        final VaultConfig vaultConfig = new VaultConfig()
+                .address("http://127.0.0.1:8999")
+                .token("mock_token")
+                .retryPolicy(retryPolicy)
+                .build();
+        final Vault vault = new Vault(vaultConfig, 1);
+        try {
+            vault.withRetries(maxRetries, retryIntervalMilliseconds).logical().read("secret/hello");
+            fail("Expected the read to fail");
+        } catch (VaultException e) {
+            assertEquals(status, e.getHttpStatusCode());
+        } finally {
+            VaultTestUtils.shutdownMockVault(server);
+        }
+        return mockVault.getRequestCount();
+    }
+
 }
@@ -0,0 +1,402 @@
+package com.bettercloud.vault;
+
+import com.bettercloud.vault.api.Logical;
+import com.bettercloud.vault.api.SecretCache;
+import com.bettercloud.vault.response.LogicalResponse;
+import com.bettercloud.vault.rest.HttpURLConnectionTransport;
+import com.bettercloud.vault.rest.RestException;
+import com.bettercloud.vault.rest.RestRequest;
+import com.bettercloud.vault.rest.RestResponse;
+import com.bettercloud.vault.rest.VaultTransport;
+import com.bettercloud.vault.vault.VaultTestUtils;
+import com.bettercloud.vault.vault.mock.ConnectionTrackingMockVault;
+import org.eclipse.jetty.server.Server;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Unit tests for the Vault driver, having no dependency on an actual Vault server instance being available.  The
+ * tests in this class relate to caching the results of <code>Logical.read()</code> with a <code>SecretCache</code>, including its
+ * refresh-ahead and stale-while-revalidate modes.</p>
+ */
+public class SecretCacheTests {
+
+    private static final String READ_RESPONSE =
+            "{\"lease_id\":\"\",\"renewable\":false,\"lease_duration\":%d,\"data\":{\"value\":\"mock\"}}";
+    private static final String READ_V2_RESPONSE =
+            "{\"lease_id\":\"\",\"renewable\":false,\"lease_duration\":0,\"data\":{\"data\":{\"value\":\"mock\"}}}";
+
+    private ConnectionTrackingMockVault mockVault;
+    private Server server;
+
+    @Before
+    public void startMockVault() throws Exception {
+        startMockVault(String.format(READ_RESPONSE, 3600));
+    }
+
+    @After
+    public void stopMockVault() throws Exception {
+        VaultTestUtils.shutdownMockVault(server);
+    }
+
+    @Test
+    public void testRead_ServedFromCache() throws Exception {
+        final SecretCache cache = new SecretCache();
+        final VaultConfig config = config(cache);
+        final Logical logical = new Vault(config, 1).logical();
+
+        final LogicalResponse first = logical.read("secret/hello");
+        final LogicalResponse second = logical.read("secret/hello");
+        // A fresh Logical instance, from the same config, shares the cache
+        final LogicalResponse third = new Vault(config, 1).logical().read("secret/hello");
+
+        assertEquals(1, mockVault.getRequestCount());
+        assertSame(first.getRestResponse(), second.getRestResponse());
+        assertSame(first.getRestResponse(), third.getRestResponse());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testRead_HitsCannotModifyCachedResponse() throws Exception {
+        final Logical logical = logical(new SecretCache(), 1);
+
+        final LogicalResponse first = logical.read("secret/hello");
+        first.getData().remove("value");
+        first.getDataObject().set("value", "mutated");
+        final LogicalResponse second = logical.read("secret/hello");
+        second.getData().remove("value");
+        try {
+            second.getDataObject().set("value", "mutated");
+            fail("Expected the cached data object to be unmodifiable");
+        } catch (UnsupportedOperationException expected) {
+        }
+        final LogicalResponse third = logical.read("secret/hello");
+
+        assertEquals(1, mockVault.getRequestCount());
+        assertNotSame(second, third);
+        assertEquals("mock", third.getData().get("value"));
+        assertEquals("mock", third.getDataObject().getString("value", null));
+    }
+
+    @Test
+    public void testRead_DisabledByDefault() throws Exception {
+        final Logical logical = new Vault(config(null), 1).logical();
+        logical.read("secret/hello");
+        logical.read("secret/hello");
+        assertEquals(2, mockVault.getRequestCount());
+    }
+
+    @Test
+    public void testWriteAndDelete_InvalidateCache() throws Exception {
+        final SecretCache cache = new SecretCache();
+        final Logical logical = logical(cache, 1);
+
+        logical.read("secret/hello");
+        logical.read("secret/other");
+        logical.write("secret/hello", new HashMap<String, Object>() {{
+            put("value", "world");
+        }});
+        logical.read("secret/hello");
+        logical.read("secret/other");
+        assertEquals(4, mockVault.getRequestCount());
+
+        // The mock answers 200 rather than 204, so the delete itself is reported as a failure
+        try {
+            logical.delete("secret/other");
+        } catch (VaultException expected) {
+        }
+        logical.read("secret/other");
+        assertEquals(6, mockVault.getRequestCount());
+    }
+
+    @Test
+    public void testAsyncDelete_FailureStillInvalidatesCache() throws Exception {
+        // The delete is lost on the way back from Vault, which may well have applied it
+        final VaultTransport transport = new VaultTransport() {
+            @Override
+            public RestResponse send(final RestRequest request) throws RestException {
+                return HttpURLConnectionTransport.getInstance().send(request);
+            }
+
+            @Override
+            public CompletableFuture<RestResponse> sendAsync(final RestRequest request, final Executor executor) {
+                if ("DELETE".equals(request.getMethod())) {
+                    final CompletableFuture<RestResponse> lost = new CompletableFuture<>();
+                    lost.completeExceptionally(new UncheckedIOException(new IOException("Connection reset")));
+                    return lost;
+                }
+                return VaultTransport.super.sendAsync(request, executor);
+            }
+        };
+        final VaultConfig vaultConfig = new VaultConfig()
+                .address("http://127.0.0.1:8999")
+                .token("mock_token")
+                .secretCache(new SecretCache())
+                .transport(transport)
+                .build();
+        final Logical logical = new Vault(vaultConfig, 1).logical();
+
+        logical.read("secret/other");
+        try {
+            logical.async().deleteAsync("secret/other").get(10, TimeUnit.SECONDS);
+            fail("Expected the delete to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof VaultException);
+        }
+        logical.read("secret/other");
+        assertEquals(2, mockVault.getRequestCount());
+    }
+
+    @Test
+    public void testRead_ExpiresWithMaxTtl() throws Exception {
+        final SecretCache cache = new SecretCache().maxTtlMilliseconds(100);
+        final Logical logical = logical(cache, 1);
+
+        logical.read("secret/hello");
+        logical.read("secret/hello");
+        assertEquals(1, mockVault.getRequestCount());
+
+        TimeUnit.MILLISECONDS.sleep(150);
+        logical.read("secret/hello");
+        assertEquals(2, mockVault.getRequestCount());
+    }
+
+    @Test
+    public void testRead_ExpiresWithLeaseDuration() throws Exception {
+        stopMockVault();
+        startMockVault(String.format(READ_RESPONSE, 1));
+        final SecretCache cache = new SecretCache().maxTtlMilliseconds(60000);
+        final Logical logical = logical(cache, 1);
+
+        logical.read("secret/hello");
+        logical.read("secret/hello");
+        assertEquals(1, mockVault.getRequestCount());
+
+        TimeUnit.MILLISECONDS.sleep(1100);
+        logical.read("secret/hello");
+        assertEquals(2, mockVault.getRequestCount());
+    }
+
+    @Test
+    public void testRead_EvictsLeastRecentlyUsed() throws Exception {
+        final SecretCache cache = new SecretCache().maxEntries(2);
+        final Logical logical = logical(cache, 1);
+
+        logical.read("secret/a");
+        logical.read("secret/b");
+        logical.read("secret/a");
+        logical.read("secret/c");
+        assertEquals(3, mockVault.getRequestCount());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+
+        logical.read("secret/a");
+        assertEquals(3, mockVault.getRequestCount());
+        logical.read("secret/b");
+        assertEquals(4, mockVault.getRequestCount());
+    }
+
+    @Test
+    public void testRead_KeyedByNamespace() throws Exception {
+        final SecretCache cache = new SecretCache();
+        final VaultConfig config = config(cache);
+
+        new Vault(config, 1).logical().read("secret/hello");
+        new Vault(config, 1).logical().withNameSpace("team").read("secret/hello");
+        new Vault(config, 1).logical().withNameSpace("team").read("secret/hello");
+        assertEquals(2, mockVault.getRequestCount());
+    }
+
+    @Test
+    public void testVersionedRead_DestroyInvalidatesAllVersions() throws Exception {
+        stopMockVault();
+        startMockVault(READ_V2_RESPONSE);
+        final SecretCache cache = new SecretCache();
+        final Logical logical = logical(cache, 2);
+
+        logical.read("secret/hello");
+        logical.read("secret/hello", true, 1);
+        logical.read("secret/hello", true, 1);
+        logical.read("secret/hello");
+        assertEquals(2, mockVault.getRequestCount());
+
+        // The mock answers 200 rather than 204, so the destroy itself is reported as a failure
+        try {
+            logical.destroy("secret/hello", new int[]{1});
+        } catch (VaultException expected) {
+        }
+        logical.read("secret/hello");
+        logical.read("secret/hello", true, 1);
+        assertEquals(5, mockVault.getRequestCount());
+    }
+
+    @Test
+    public void testRefreshAhead_ReplacesEntryBeforeExpiry() throws Exception {
+        final SecretCache cache = new SecretCache().maxTtlMilliseconds(1000).refreshAheadRatio(0.5);
+        final Logical logical = logical(cache, 1);
+
+        logical.read("secret/hello");
+        TimeUnit.MILLISECONDS.sleep(600);
+        // Served from the cache, while a refresh starts in the background
+        assertFalse(logical.read("secret/hello").isStale());
+        awaitRequestCount(2);
+        assertEquals(1, cache.getRefreshCount());
+
+        // Past the original expiry, but the refreshed entry is still good
+        TimeUnit.MILLISECONDS.sleep(500);
+        assertFalse(logical.read("secret/hello").isStale());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testRefreshAhead_WriteDuringRefreshDoesNotBlockLaterRefreshes() throws Exception {
+        final List<Runnable> refreshes = new ArrayList<>();
+        final SecretCache cache = new SecretCache().maxTtlMilliseconds(2000).refreshAheadRatio(0.05)
+                .refreshExecutor(refreshes::add);
+        final Logical logical = logical(cache, 1);
+
+        logical.read("secret/hello");
+        TimeUnit.MILLISECONDS.sleep(150);
+        logical.read("secret/hello");
+        assertEquals(1, refreshes.size());
+
+        // A write elsewhere lands while the refresh is in flight
+        logical.write("secret/other", new HashMap<>());
+        refreshes.get(0).run();
+
+        TimeUnit.MILLISECONDS.sleep(150);
+        logical.read("secret/hello");
+        assertEquals(2, refreshes.size());
+        assertEquals(2, cache.getRefreshCount());
+    }
+
+    @Test
+    public void testRefreshAhead_WriteToOtherPathKeepsRefreshedEntry() throws Exception {
+        final List<Runnable> refreshes = new ArrayList<>();
+        final SecretCache cache = new SecretCache().maxTtlMilliseconds(2000).refreshAheadRatio(0.05)
+                .refreshExecutor(refreshes::add);
+        final Logical logical = logical(cache, 1);
+
+        final LogicalResponse first = logical.read("secret/hello");
+        TimeUnit.MILLISECONDS.sleep(150);
+        logical.read("secret/hello");
+        logical.write("secret/other", new HashMap<>());
+        refreshes.get(0).run();
+
+        final LogicalResponse refreshed = logical.read("secret/hello");
+        assertNotSame(first.getRestResponse(), refreshed.getRestResponse());
+        assertSame(refreshed.getRestResponse(), logical.read("secret/hello").getRestResponse());
+        assertEquals(1, refreshes.size());
+    }
+
+    @Test
+    public void testRefreshAhead_WriteToSamePathDiscardsRefresh() throws Exception {
+        final List<Runnable> refreshes = new ArrayList<>();
+        final SecretCache cache = new SecretCache().maxTtlMilliseconds(2000).refreshAheadRatio(0.05)
+                .refreshExecutor(refreshes::add);
+        final Logical logical = logical(cache, 1);
+
+        logical.read("secret/hello");
+        TimeUnit.MILLISECONDS.sleep(150);
+        logical.read("secret/hello");
+        logical.write("secret/hello", new HashMap<>());
+        refreshes.get(0).run();
+
+        assertEquals(0, cache.size());
+        logical.read("secret/hello");
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testStaleWhileRevalidate_ServesLastGoodValueWhileVaultUnreachable() throws Exception {
+        final SecretCache cache = new SecretCache().maxTtlMilliseconds(100).staleWhileRevalidateMilliseconds(60000);
+        final Logical logical = logical(cache, 1);
+
+        logical.read("secret/hello");
+        stopMockVault();
+        TimeUnit.MILLISECONDS.sleep(150);
+
+        final LogicalResponse stale = logical.read("secret/hello");
+        assertTrue(stale.isStale());
+        assertEquals("mock", stale.getData().get("value"));
+        awaitCondition(() -> cache.getRefreshFailureCount() == 1);
+        assertTrue(logical.read("secret/hello").isStale());
+
+        // Once Vault is back, the next refresh replaces the stale entry
+        startMockVault(String.format(READ_RESPONSE, 3600));
+        awaitCondition(() -> {
+            try {
+                return !logical.read("secret/hello").isStale();
+            } catch (VaultException e) {
+                return false;
+            }
+        });
+        assertEquals(1, mockVault.getRequestCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testStaleWhileRevalidate_ExpiredEntryNotServedAfterWindow() throws Exception {
+        final SecretCache cache = new SecretCache().maxTtlMilliseconds(100).staleWhileRevalidateMilliseconds(100);
+        final Logical logical = logical(cache, 1);
+
+        logical.read("secret/hello");
+        TimeUnit.MILLISECONDS.sleep(250);
+        assertFalse(logical.read("secret/hello").isStale());
+        assertEquals(2, mockVault.getRequestCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    private void awaitRequestCount(final int count) throws InterruptedException {
+        awaitCondition(() -> mockVault.getRequestCount() >= count);
+    }
+
+    private static void awaitCondition(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for condition");
+            }
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+    }
+
+    private void startMockVault(final String response) throws Exception {
+        mockVault = new ConnectionTrackingMockVault(200, response);
+        server = VaultTestUtils.initHttpMockVault(mockVault);
+        server.start();
+    }
+
+    private static VaultConfig config(final SecretCache cache) throws VaultException {
+        return new VaultConfig()
+                .address("http://127.0.0.1:8999")
+                .token("mock_token")
+                .secretCache(cache)
+                .build();
+    }
+
+    private static Logical logical(final SecretCache cache, final int engineVersion) throws VaultException {
+        return new Vault(config(cache), engineVersion).logical();
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.bettercloud.vault;
+
+import com.bettercloud.vault.api.transit.Transit;
+import com.bettercloud.vault.json.Json;
+import com.bettercloud.vault.json.JsonArray;
+import com.bettercloud.vault.json.JsonObject;
+import com.bettercloud.vault.json.JsonValue;
+import com.bettercloud.vault.rest.RestRequest;
+import com.bettercloud.vault.rest.RestResponse;
+import com.bettercloud.vault.vault.mock.RecordingMockTransport;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static com.bettercloud.vault.vault.mock.RecordingMockTransport.response;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Unit tests for the Vault driver, having no dependency on an actual Vault server instance being available.  The
+ * tests in this class relate to the Transit secrets engine, and sending its inputs in batches, via
+ * <code>Vault.transit()</code>.</p>
+ */
+public class TransitTests {
+
+    /**
+     * <p>Encrypts by prefixing the base64 plaintext with a key version, decrypts by removing it, and rewraps by
+     * bumping the version.  Items whose input is "bad" fail, with a 400 for the whole batch as Vault does.</p>
+     */
+    private static RestResponse transit(final RestRequest request) {
+        final String operation = request.getUrl().split("/")[5];
+        final JsonArray batchResults = new JsonArray();
+        boolean failed = false;
+        for (final JsonValue item : batchInput(request)) {
+            final JsonObject input = item.asObject();
+            final String value = "encrypt".equals(operation)
+                    ? input.getString("plaintext", null) : input.getString("ciphertext", null);
+            if (value.contains("bad") || new String(Base64.getDecoder().decode(value.startsWith("vault:")
+                    ? value.substring(9) : value), StandardCharsets.UTF_8).contains("bad")) {
+                batchResults.add(Json.object().add("error", "invalid input"));
+                failed = true;
+            } else if ("encrypt".equals(operation)) {
+                batchResults.add(Json.object().add("ciphertext", "vault:v1:" + value));
+            } else if ("decrypt".equals(operation)) {
+                batchResults.add(Json.object().add("plaintext", value.substring(9)));
+            } else {
+                batchResults.add(Json.object().add("ciphertext", "vault:v2:" + value.substring(9)));
+            }
+        }
+        return response(failed ? 400 : 200,
+                Json.object().add("data", Json.object().add("batch_results", batchResults)).toString());
+    }
+
+    private static JsonArray batchInput(final RestRequest request) {
+        return Json.parse(new String(request.getBody(), StandardCharsets.UTF_8)).asObject()
+                .get("batch_input").asArray();
+    }
+
+    /**
+     * @param maxDelayMillis The (exclusive) upper bound of a random hold for each request, so that batches complete
+     *                       out of order
+     * @return A transport answering Transit requests
+     */
+    private static RecordingMockTransport transport(final long maxDelayMillis) {
+        return new RecordingMockTransport(TransitTests::transit).randomDelay(maxDelayMillis);
+    }
+
+    /**
+     * @return The number of items in every batch sent
+     */
+    private static List<Integer> batchSizes(final RecordingMockTransport transport) {
+        return transport.getRequests().stream().map(request -> batchInput(request).size()).collect(Collectors.toList());
+    }
+
+    private static List<byte[]> rows(final int count) {
+        final List<byte[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(("row-" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        return rows;
+    }
+
+    @Test
+    public void testEncryptSingleValue() throws Exception {
+        final RecordingMockTransport transport = transport(0);
+
+        final String ciphertext = transport.vault(1).transit()
+                .encrypt("orders", "secret".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("vault:v1:" + Base64.getEncoder().encodeToString("secret".getBytes(StandardCharsets.UTF_8)),
+                ciphertext);
+        assertEquals(Collections.singletonList("http://vault.example.com:8200/v1/transit/encrypt/orders"),
+                transport.getUrls());
+    }
+
+    @Test
+    public void testEncryptSendsBatchesAndKeepsInputOrder() throws Exception {
+        final RecordingMockTransport transport = transport(5);
+        final List<byte[]> rows = rows(1050);
+
+        final List<String> ciphertexts = transport.vault(1).transit("orders-transit").batchSize(100).parallelism(4)
+                .encrypt("orders", rows);
+
+        assertEquals(11, transport.getUrls().size());
+        assertEquals(1050, batchSizes(transport).stream().mapToInt(Integer::intValue).sum());
+        assertTrue(transport.getUrls().get(0).startsWith("http://vault.example.com:8200/v1/orders-transit/encrypt/"));
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals("vault:v1:" + Base64.getEncoder().encodeToString(rows.get(i)), ciphertexts.get(i));
+        }
+    }
+
+    @Test
+    public void testDecryptRoundTrips() throws Exception {
+        final Transit transit = transport(2).vault(1).transit().batchSize(7);
+        final List<byte[]> rows = rows(50);
+
+        final List<byte[]> decrypted = transit.decrypt("orders", transit.encrypt("orders", rows));
+
+        assertEquals(rows.size(), decrypted.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertArrayEquals(rows.get(i), decrypted.get(i));
+        }
+        assertArrayEquals(rows.get(0), transit.decrypt("orders", transit.encrypt("orders", rows.get(0))));
+    }
+
+    @Test
+    public void testRewrap() throws Exception {
+        final RecordingMockTransport transport = transport(0);
+        final Transit transit = transport.vault(1).transit();
+
+        final List<String> rewrapped = transit.rewrap("orders", Arrays.asList("vault:v1:YQ==", "vault:v1:Yg=="));
+
+        assertEquals(Arrays.asList("vault:v2:YQ==", "vault:v2:Yg=="), rewrapped);
+        assertEquals("http://vault.example.com:8200/v1/transit/rewrap/orders", transport.getUrls().get(0));
+    }
+
+    @Test
+    public void testBatchesBoundParallelism() throws Exception {
+        final RecordingMockTransport transport = transport(10);
+        final ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            transport.vault(1).transit().batchSize(10).parallelism(3).executor(executor).encrypt("orders", rows(200));
+
+            assertEquals(20, transport.getUrls().size());
+            assertTrue(transport.getMaxInFlight() <= 3);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailedItemIsReportedByIndex() throws Exception {
+        final RecordingMockTransport transport = transport(0);
+        final List<byte[]> rows = rows(30);
+        rows.set(17, "bad".getBytes(StandardCharsets.UTF_8));
+
+        try {
+            transport.vault(1).transit().batchSize(10).parallelism(1).encrypt("orders", rows);
+            fail("Expected a VaultException");
+        } catch (VaultException e) {
+            assertEquals("Could not encrypt item 17: invalid input", e.getMessage());
+            assertEquals(400, e.getHttpStatusCode());
+        }
+        // The batch after the failed one is never sent
+        assertEquals(2, transport.getUrls().size());
+    }
+
+    @Test
+    public void testEmptyResponseIsReported() throws Exception {
+        final RecordingMockTransport transport = new RecordingMockTransport(request -> response(200, ""));
+
+        try {
+            transport.vault(1).transit().encrypt("orders", rows(3));
+            fail("Expected a VaultException");
+        } catch (VaultException e) {
+            assertEquals("Expected 3 batch_results from encrypt, but received none", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testNothingToEncrypt() throws Exception {
+        final RecordingMockTransport transport = transport(0);
+
+        assertTrue(transport.vault(1).transit().encrypt("orders", Collections.emptyList()).isEmpty());
+        assertTrue(transport.getUrls().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsZeroBatchSize() throws Exception {
+        transport(0).vault(1).transit().batchSize(0);
+    }
+
+}
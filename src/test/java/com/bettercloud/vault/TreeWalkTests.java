@@ -0,0 +1,208 @@
+package com.bettercloud.vault;
+
+import com.bettercloud.vault.rest.RestRequest;
+import com.bettercloud.vault.rest.RestResponse;
+import com.bettercloud.vault.vault.mock.RecordingMockTransport;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.bettercloud.vault.vault.mock.RecordingMockTransport.response;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Unit tests for the Vault driver, having no dependency on an actual Vault server instance being available.  The
+ * tests in this class relate to walking a tree of secrets, listing its folders in parallel, via
+ * <code>Logical.walk()</code>.</p>
+ */
+public class TreeWalkTests {
+
+    private static final String ADDRESS = "http://vault.example.com:8200/v1/";
+
+    /**
+     * <p>Answers list requests from a map of folder URLs (without the <code>?list=true</code>) to their keys.  Any
+     * other folder is missing (404), and folders containing "broken" fail (500).</p>
+     */
+    private static class Folders {
+
+        private final Map<String, List<String>> folders = new HashMap<>();
+
+        private Folders folder(final String url, final String... keys) {
+            folders.put(ADDRESS + url, Arrays.asList(keys));
+            return this;
+        }
+
+        private RestResponse list(final RestRequest request) {
+            final String url = request.getUrl().replace("?list=true", "");
+            if (url.contains("broken")) {
+                return response(500, "{\"errors\":[]}");
+            }
+            final List<String> keys = folders.get(url);
+            if (keys == null) {
+                return response(404, "{\"errors\":[]}");
+            }
+            return response(200, keys.stream().map(key -> "\"" + key + "\"")
+                    .collect(Collectors.joining(",", "{\"data\":{\"keys\":[", "]}}")));
+        }
+
+        private Vault vault(final int engineVersion) throws VaultException {
+            return new RecordingMockTransport(this::list).vault(engineVersion);
+        }
+    }
+
+    @Test
+    public void testWalkYieldsEverySecret() throws Exception {
+        final Folders folders = new Folders()
+                .folder("secret/apps/", "shared", "team-a/", "team-b/")
+                .folder("secret/apps/team-a/", "db", "api", "nested/")
+                .folder("secret/apps/team-a/nested/", "deep")
+                .folder("secret/apps/team-b/", "db");
+        final RecordingMockTransport transport = new RecordingMockTransport(folders::list);
+
+        try (Stream<String> paths = transport.vault(1).logical().walk("secret/apps")) {
+            assertEquals(new HashSet<>(Arrays.asList("secret/apps/shared", "secret/apps/team-a/db",
+                    "secret/apps/team-a/api", "secret/apps/team-a/nested/deep", "secret/apps/team-b/db")),
+                    paths.collect(Collectors.toSet()));
+        }
+        assertEquals(4, transport.getRequests().size());
+    }
+
+    @Test
+    public void testWalkListsVersionedMetadata() throws Exception {
+        final Folders folders = new Folders()
+                .folder("secret/metadata/apps/", "team/")
+                .folder("secret/metadata/apps/team/", "db");
+
+        try (Stream<String> paths = folders.vault(2).logical().walk("secret/apps/")) {
+            assertEquals(Arrays.asList("secret/apps/team/db"), paths.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testWalkOfMissingFolderIsEmpty() throws Exception {
+        try (Stream<String> paths = new Folders().vault(1).logical().walk("secret/nothing")) {
+            assertEquals(0, paths.count());
+        }
+    }
+
+    @Test
+    public void testCoalescedWalkOfMissingFolderIsEmpty() throws Exception {
+        final Folders folders = new Folders().folder("secret/apps/", "db", "gone/");
+        final VaultConfig vaultConfig = new RecordingMockTransport(folders::list).config(1).coalesceReads(true).build();
+
+        try (Stream<String> paths = new Vault(vaultConfig, 1).logical().walk("secret/nothing")) {
+            assertEquals(0, paths.count());
+        }
+        try (Stream<String> paths = new Vault(vaultConfig, 1).logical().walk("secret/apps")) {
+            assertEquals(Arrays.asList("secret/apps/db"), paths.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testWalkBoundsParallelism() throws Exception {
+        final Folders folders = new Folders();
+        final RecordingMockTransport transport = new RecordingMockTransport(folders::list).delay(10);
+        final List<String> teams = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            teams.add("team-" + i + "/");
+            folders.folder("secret/team-" + i + "/", "db");
+        }
+        folders.folder("secret/", teams.toArray(new String[0]));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(16);
+        try (Stream<String> paths = transport.vault(1).logical().walk("secret", 4, executor)) {
+            assertEquals(20, paths.count());
+            assertEquals(4, transport.getMaxInFlight());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testWalkAppliesBackpressure() throws Exception {
+        final Folders folders = new Folders();
+        final RecordingMockTransport transport = new RecordingMockTransport(folders::list);
+        final List<String> teams = new ArrayList<>();
+        final String[] secrets = new String[1000];
+        for (int i = 0; i < secrets.length; i++) {
+            secrets[i] = "secret-" + i;
+        }
+        for (int i = 0; i < 100; i++) {
+            teams.add("team-" + i + "/");
+            folders.folder("secret/team-" + i + "/", secrets);
+        }
+        folders.folder("secret/", teams.toArray(new String[0]));
+
+        final Iterator<String> paths = transport.vault(1).logical().walk("secret", 2, Runnable::run).iterator();
+        assertTrue(paths.hasNext());
+        paths.next();
+        // The root, then sub-folders until more than 4096 paths are waiting
+        assertTrue(transport.getRequests().size() <= 6);
+
+        int count = 1;
+        while (paths.hasNext()) {
+            paths.next();
+            count++;
+        }
+        assertEquals(100000, count);
+        assertEquals(101, transport.getRequests().size());
+    }
+
+    @Test
+    public void testWalkOfDeepTreeCompletingInline() throws Exception {
+        final Folders folders = new Folders();
+        final StringBuilder folder = new StringBuilder("secret/");
+        for (int i = 0; i < 2000; i++) {
+            folders.folder(folder.toString(), "s", "d/");
+            folder.append("d/");
+        }
+
+        try (Stream<String> paths = folders.vault(1).logical().walk("secret", 8, Runnable::run)) {
+            assertEquals(2000, paths.count());
+        }
+    }
+
+    @Test
+    public void testWalkFailsForBrokenFolder() throws Exception {
+        final Folders folders = new Folders()
+                .folder("secret/", "ok/", "broken/")
+                .folder("secret/ok/", "db");
+
+        try (Stream<String> paths = folders.vault(1).logical().walk("secret", 1, Runnable::run)) {
+            paths.count();
+            fail("Expected an IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("secret/broken/"));
+            assertTrue(e.getCause() instanceof VaultException);
+            assertEquals(500, ((VaultException) e.getCause()).getHttpStatusCode());
+        }
+    }
+
+    @Test
+    public void testClosingStopsTheWalk() throws Exception {
+        final Folders folders = new Folders()
+                .folder("secret/", "a", "b", "more/")
+                .folder("secret/more/", "c");
+
+        final Stream<String> paths = folders.vault(1).logical().walk("secret", 1, Runnable::run);
+        final Iterator<String> iterator = paths.iterator();
+        assertEquals("secret/a", iterator.next());
+        paths.close();
+
+        assertFalse(iterator.hasNext());
+    }
+
+}
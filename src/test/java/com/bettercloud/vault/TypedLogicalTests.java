@@ -0,0 +1,223 @@
+package com.bettercloud.vault;
+
+import com.bettercloud.vault.json.Json;
+import com.bettercloud.vault.json.JsonArray;
+import com.bettercloud.vault.json.JsonObject;
+import com.bettercloud.vault.json.JsonValue;
+import com.bettercloud.vault.rest.RestRequest;
+import com.bettercloud.vault.rest.RestResponse;
+import com.bettercloud.vault.vault.mock.RecordingMockTransport;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.bettercloud.vault.vault.mock.RecordingMockTransport.response;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>Unit tests for the Vault driver, having no dependency on an actual Vault server instance being available.  The
+ * tests in this class relate to binding secret data to and from plain Java objects, via
+ * <code>Logical.read(path, Class)</code> and <code>Logical.write(path, Object)</code>.</p>
+ */
+public class TypedLogicalTests {
+
+    public static class BaseConfig {
+        protected String owner;
+    }
+
+    public static class DatabaseConfig extends BaseConfig {
+        static String ignoredStatic = "static";
+
+        private String url;
+        private int port;
+        private long timeout;
+        private boolean ssl;
+        private double ratio;
+        private Float weight;
+        private Integer replicas = 3;
+        private JsonObject options;
+        private JsonValue extra;
+        private transient String session = "kept";
+        private final String constant = "constant";
+    }
+
+    public static class Unsupported {
+        private List<String> hosts;
+    }
+
+    public static class NoDefaultConstructor {
+        private String url;
+
+        public NoDefaultConstructor(final String url) {
+            this.url = url;
+        }
+    }
+
+    /**
+     * @return A transport that answers GETs with the given JSON payload, and everything else with HTTP 204
+     */
+    private static RecordingMockTransport transport(final String getResponse) {
+        return new RecordingMockTransport(request -> "GET".equals(request.getMethod())
+                ? response(200, getResponse)
+                : new RestResponse(204, null, new byte[0]));
+    }
+
+    private static JsonObject lastBody(final RecordingMockTransport transport) {
+        final List<RestRequest> requests = transport.getRequests();
+        return Json.parse(requests.get(requests.size() - 1).getBody()).asObject();
+    }
+
+    @Test
+    public void testReadBindsFields() throws Exception {
+        final RecordingMockTransport transport = transport("{\"data\":{\"url\":\"jdbc:postgresql://db\","
+                + "\"port\":5432,\"timeout\":\"30000\",\"ssl\":\"true\",\"ratio\":0.5,\"weight\":null,"
+                + "\"owner\":\"team\",\"options\":{\"pool\":10},\"extra\":[1,2],\"session\":\"s\","
+                + "\"constant\":\"c\",\"unknown\":1}}");
+
+        final DatabaseConfig config = transport.vault(1).logical().read("secret/db", DatabaseConfig.class);
+
+        assertEquals("jdbc:postgresql://db", config.url);
+        assertEquals(5432, config.port);
+        assertEquals(30000L, config.timeout);
+        assertTrue(config.ssl);
+        assertEquals(0.5, config.ratio, 0);
+        assertNull(config.weight);
+        assertEquals(Integer.valueOf(3), config.replicas);
+        assertEquals("team", config.owner);
+        assertEquals(10, config.options.get("pool").asInt());
+        assertEquals(new JsonArray().add(1).add(2), config.extra);
+        assertEquals("kept", config.session);
+        assertEquals("static", DatabaseConfig.ignoredStatic);
+        assertEquals("http://vault.example.com:8200/v1/secret/db", transport.getRequests().get(0).getUrl());
+    }
+
+    @Test
+    public void testReadBindsVersionedData() throws Exception {
+        final RecordingMockTransport transport = transport("{\"data\":{\"data\":{\"url\":\"db\",\"port\":1},"
+                + "\"metadata\":{\"version\":2}}}");
+
+        final DatabaseConfig config = transport.vault(2).logical().read("secret/db", DatabaseConfig.class);
+
+        assertEquals("db", config.url);
+        assertEquals(1, config.port);
+        assertEquals("http://vault.example.com:8200/v1/secret/data/db", transport.getRequests().get(0).getUrl());
+    }
+
+    @Test
+    public void testReadWithoutDataIsNull() throws Exception {
+        assertNull(transport("{\"data\":null}").vault(1).logical().read("secret/db", DatabaseConfig.class));
+    }
+
+    @Test
+    public void testReadFailsForMismatchedValue() throws Exception {
+        final Vault vault = transport("{\"data\":{\"port\":\"not a port\"}}").vault(1);
+        try {
+            vault.logical().read("secret/db", DatabaseConfig.class);
+            fail("Expected a VaultException");
+        } catch (VaultException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("DatabaseConfig.port"));
+        }
+
+        final Vault objects = transport("{\"data\":{\"options\":[1]}}").vault(1);
+        try {
+            objects.logical().read("secret/db", DatabaseConfig.class);
+            fail("Expected a VaultException");
+        } catch (VaultException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("DatabaseConfig.options"));
+        }
+    }
+
+    @Test
+    public void testUnbindableClassesAreRejectedBeforeReading() throws Exception {
+        final RecordingMockTransport transport = transport("{\"data\":{}}");
+        final Vault vault = transport.vault(1);
+        for (final Class<?> type : new Class<?>[]{Unsupported.class, NoDefaultConstructor.class, Map.class}) {
+            try {
+                vault.logical().read("secret/db", type);
+                fail("Expected an IllegalArgumentException for " + type);
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains(type.getName()));
+            }
+        }
+        assertTrue(transport.getRequests().isEmpty());
+    }
+
+    @Test
+    public void testWriteBindsFields() throws Exception {
+        final RecordingMockTransport transport = transport("{}");
+        final DatabaseConfig config = new DatabaseConfig();
+        config.url = "db";
+        config.port = 5432;
+        config.ssl = true;
+        config.weight = 1.5f;
+        config.options = Json.object().add("pool", 10);
+        config.owner = "team";
+
+        transport.vault(1).logical().write("secret/db", config);
+
+        final JsonObject body = lastBody(transport);
+        assertEquals("db", body.getString("url", null));
+        assertEquals(5432, body.getInt("port", 0));
+        assertEquals(0L, body.getLong("timeout", -1));
+        assertTrue(body.getBoolean("ssl", false));
+        assertEquals(1.5f, body.getFloat("weight", 0), 0);
+        assertEquals(3, body.getInt("replicas", 0));
+        assertEquals(Json.object().add("pool", 10), body.get("options"));
+        assertTrue(body.get("extra").isNull());
+        assertEquals("team", body.getString("owner", null));
+        assertFalse(body.names().contains("session"));
+        assertFalse(body.names().contains("constant"));
+        assertFalse(body.names().contains("ignoredStatic"));
+    }
+
+    @Test
+    public void testWriteWrapsVersionedData() throws Exception {
+        final RecordingMockTransport transport = transport("{}");
+        final DatabaseConfig config = new DatabaseConfig();
+        config.url = "db";
+
+        transport.vault(2).logical().write("secret/db", config);
+
+        assertEquals("http://vault.example.com:8200/v1/secret/data/db", transport.getRequests().get(0).getUrl());
+        assertEquals("db", lastBody(transport).get("data").asObject().getString("url", null));
+    }
+
+    @Test
+    public void testWriteThenReadRoundTrips() throws Exception {
+        final RecordingMockTransport writes = transport("{}");
+        final DatabaseConfig config = new DatabaseConfig();
+        config.url = "db";
+        config.timeout = Long.MAX_VALUE;
+        config.ratio = 0.25;
+        writes.vault(1).logical().write("secret/db", config);
+
+        final RecordingMockTransport reads = transport("{\"data\":" + lastBody(writes) + "}");
+        final DatabaseConfig copy = reads.vault(1).logical().read("secret/db", DatabaseConfig.class);
+
+        assertEquals("db", copy.url);
+        assertEquals(Long.MAX_VALUE, copy.timeout);
+        assertEquals(0.25, copy.ratio, 0);
+        assertEquals(Integer.valueOf(3), copy.replicas);
+    }
+
+    @Test
+    public void testWriteOfMapsAndJsonObjects() throws Exception {
+        final RecordingMockTransport transport = transport("{}");
+        final Vault vault = transport.vault(1);
+
+        final Map<String, String> strings = new HashMap<>();
+        strings.put("value", "world");
+        vault.logical().write("secret/hello", strings);
+        assertEquals(Json.object().add("value", "world"), lastBody(transport));
+
+        vault.logical().write("secret/hello", Json.object().add("count", 2));
+        assertEquals(Json.object().add("count", 2), lastBody(transport));
+    }
+
+}
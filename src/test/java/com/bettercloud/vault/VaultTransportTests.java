@@ -0,0 +1,139 @@
+package com.bettercloud.vault;
+
+import com.bettercloud.vault.response.LogicalResponse;
+import com.bettercloud.vault.rest.RestRequest;
+import com.bettercloud.vault.rest.RestResponse;
+import com.bettercloud.vault.rest.VaultTransport;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>Unit tests for the Vault driver, having no dependency on an actual Vault server instance being available.  The
+ * tests in this class relate to routing API calls through a pluggable <code>VaultTransport</code>.</p>
+ */
+public class VaultTransportTests {
+
+    /**
+     * An in-memory transport, which records every request and answers GETs with a canned JSON payload.
+     */
+    private static class RecordingTransport implements VaultTransport {
+
+        private final List<RestRequest> requests = new CopyOnWriteArrayList<>();
+        private final String getResponse;
+
+        private RecordingTransport(final String getResponse) {
+            this.getResponse = getResponse;
+        }
+
+        @Override
+        public RestResponse send(final RestRequest request) {
+            requests.add(request);
+            if ("GET".equals(request.getMethod())) {
+                return new RestResponse(200, "application/json", getResponse.getBytes(StandardCharsets.UTF_8));
+            }
+            return new RestResponse(204, null, new byte[0]);
+        }
+    }
+
+    @Test
+    public void testLogical_RoutesThroughTransport() throws Exception {
+        final RecordingTransport transport = new RecordingTransport("{\"data\":{\"value\":\"mock\"}}");
+        final VaultConfig vaultConfig = new VaultConfig()
+                .address("http://vault.example.com:8200")
+                .token("mock_token")
+                .transport(transport)
+                .build();
+        final Vault vault = new Vault(vaultConfig, 1);
+
+        final LogicalResponse readResponse = vault.logical().read("secret/hello");
+        assertEquals("mock", readResponse.getData().get("value"));
+        vault.logical().write("secret/hello", new HashMap<String, Object>() {{
+            put("value", "world");
+        }});
+        vault.logical().delete("secret/hello");
+
+        assertEquals(3, transport.requests.size());
+
+        final RestRequest read = transport.requests.get(0);
+        assertEquals("GET", read.getMethod());
+        assertEquals("http://vault.example.com:8200/v1/secret/hello", read.getUrl());
+        assertEquals("mock_token", read.getHeaders().get("X-Vault-Token"));
+        assertNull(read.getBody());
+
+        final RestRequest write = transport.requests.get(1);
+        assertEquals("POST", write.getMethod());
+        assertEquals("{\"value\":\"world\"}", new String(write.getBody(), StandardCharsets.UTF_8));
+        assertEquals("UTF-8", write.getHeaders().get("Accept-Charset"));
+
+        final RestRequest delete = transport.requests.get(2);
+        assertEquals("DELETE", delete.getMethod());
+        assertEquals("http://vault.example.com:8200/v1/secret/hello", delete.getUrl());
+    }
+
+    @Test
+    public void testLogicalList_StreamsKeys() throws Exception {
+        final RecordingTransport transport = new RecordingTransport("{\"request_id\":\"1\",\"lease_id\":\"\","
+                + "\"data\":{\"other\":{\"keys\":[\"nested\"]},\"keys\":[\"a\",\"b/\",\"\\u00e9\"]},"
+                + "\"warnings\":null}");
+        final VaultConfig vaultConfig = new VaultConfig()
+                .address("http://vault.example.com:8200")
+                .token("mock_token")
+                .transport(transport)
+                .build();
+        final Vault vault = new Vault(vaultConfig, 1);
+
+        assertEquals(Arrays.asList("a", "b/", "\u00e9"), vault.logical().list("secret/hello"));
+        assertEquals("http://vault.example.com:8200/v1/secret/hello?list=true", transport.requests.get(0).getUrl());
+    }
+
+    @Test
+    public void testLogicalList_WithoutKeysIsEmpty() throws Exception {
+        for (final String body : new String[]{"{\"data\":{}}", "{\"data\":null}", "[]", "{\"data\":{\"keys\":[1]}}",
+                "not json"}) {
+            final VaultConfig vaultConfig = new VaultConfig()
+                    .address("http://vault.example.com:8200")
+                    .token("mock_token")
+                    .transport(new RecordingTransport(body))
+                    .build();
+            final Vault vault = new Vault(vaultConfig, 1);
+
+            assertTrue(body, vault.logical().list("secret/hello").isEmpty());
+        }
+    }
+
+    @Test
+    public void testOtherApis_RouteThroughTransport() throws Exception {
+        final RecordingTransport transport = new RecordingTransport("{\"data\":{},\"sealed\":false}");
+        final VaultConfig vaultConfig = new VaultConfig()
+                .address("http://vault.example.com:8200")
+                .token("mock_token")
+                .transport(transport)
+                .build();
+        final Vault vault = new Vault(vaultConfig);
+
+        vault.debug().health(null, 200, null, null);
+        vault.seal().sealStatus();
+        vault.leases().revoke("lease-id");
+        vault.pki().deleteRole("role");
+        vault.mounts().list();
+        vault.auth().revokeSelf();
+
+        assertEquals(6, transport.requests.size());
+        assertEquals("http://vault.example.com:8200/v1/sys/health?activecode=200", transport.requests.get(0).getUrl());
+        assertEquals("http://vault.example.com:8200/v1/sys/seal-status", transport.requests.get(1).getUrl());
+        assertEquals("PUT", transport.requests.get(2).getMethod());
+        assertEquals("DELETE", transport.requests.get(3).getMethod());
+        assertEquals("http://vault.example.com:8200/v1/sys/mounts", transport.requests.get(4).getUrl());
+        assertEquals("http://vault.example.com:8200/v1/auth/token/revoke-self", transport.requests.get(5).getUrl());
+    }
+
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2013, 2015 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.bettercloud.vault.json;
+
+import static com.bettercloud.vault.json.TestUtil.assertException;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.hamcrest.core.StringStartsWith;
+import org.junit.Test;
+
+
+@SuppressWarnings("PMD")
+public class JsonByteParser_Test {
+
+    private static final String SAMPLE = "{\"request_id\":\"6f2b\",\"lease_duration\":2764800,\"renewable\":false,"
+            + "\"data\":{\"secret/\":{\"type\":\"kv\",\"options\":{\"version\":\"2\"}},\"sys/\":{\"type\":\"system\","
+            + "\"options\":null}},\"warnings\":[\"Русский\",\"日本語\",\"esc\\\"aped\\u0021\\n\",-1.5e3,true]}";
+
+    @Test
+    public void parse_matchesCharacterParser() throws IOException {
+        assertEquals(new JsonParser(SAMPLE).parse(), parse(SAMPLE));
+    }
+
+    @Test
+    public void parse_stripsPadding() {
+        assertEquals(new JsonArray(), parse("\t\r\n [\t\r\n ]\t\r\n "));
+    }
+
+    @Test
+    public void parse_rejectsEmptyInput() {
+        assertParseException(0, "Unexpected end of input", "");
+    }
+
+    @Test
+    public void parse_handlesLineBreaksAndColumnsCorrectly() {
+        assertParseException(0, 1, 0, "!");
+        assertParseException(2, 2, 0, "[\n!");
+        assertParseException(3, 2, 0, "[\r\n!");
+        assertParseException(6, 3, 1, "[ \n \n !");
+        assertParseException(7, 2, 3, "[ \r\n \r !");
+    }
+
+    @Test
+    public void parse_reportsSameErrorsAsCharacterParser() {
+        assertParseException(4, "Expected ',' or ']'", "[23 42]");
+        assertParseException(5, "Expected ':'", "{\"a\" \"b\"}");
+        assertParseException(8, "Expected name", "{\"a\":23,}");
+        assertParseException(2, "Unexpected end of input", "{\"");
+        assertParseException(4, "Unexpected character", "truex");
+        assertParseException(1, "Expected digit", "-.");
+    }
+
+    @Test
+    public void strings_nonAsciiCharacters_areAccepted() {
+        assertEquals("Русский", parse("\"Русский\"").asString());
+        assertEquals("日本語 \uD83D\uDE00", parse("\"日本語 \uD83D\uDE00\"").asString());
+    }
+
+    @Test
+    public void strings_controlCharacters_areRejected() {
+        assertParseException(3, "Expected valid string character", "\"--\n--\"");
+        assertParseException(3, "Expected valid string character", "\"--\u001f--\"");
+    }
+
+    @Test
+    public void strings_escapes_areDecoded() {
+        assertEquals(" \" \\ / \b \f \n \r \t ", parse("\" \\\" \\\\ \\/ \\b \\f \\n \\r \\t \"").asString());
+        assertEquals("日\u0021本\uD83D\uDE00", parse("\"日\\u0021本\\uD83D\\uDE00\"").asString());
+        assertEquals("\\x", parse("\"\\\\x\"").asString());
+        assertEquals("x\\", parse("\"x\\\\\"").asString());
+    }
+
+    @Test
+    public void strings_illegalEscapes_areRejected() {
+        assertParseException(2, "Expected valid escape sequence", "\"\\a\"");
+        assertParseException(5, "Expected hexadecimal digit", "\"\\u20 \"");
+        assertParseException(7, "Unexpected end of input", "\"foo\\u0");
+    }
+
+    @Test
+    public void strings_areDecodedFromTheirOwnRange() {
+        JsonObject object = parse("{\"a\":\"first\",\"b\":\"second\"}").asObject();
+        assertEquals("second", object.get("b").asString());
+        assertEquals("first", object.get("a").asString());
+        assertEquals(new JsonString("first"), object.get("a"));
+        assertEquals(new JsonString("first").hashCode(), object.get("a").hashCode());
+        assertEquals("{\"a\":\"first\",\"b\":\"second\"}", object.toString());
+    }
+
+    @Test
+    public void names_areShared() throws IOException {
+        JsonObject first = parse(SAMPLE).asObject();
+        JsonObject second = parse(SAMPLE).asObject();
+
+        assertSame(first.names().get(0), second.names().get(0));
+        assertSame(first.names().get(0), new JsonParser(SAMPLE).parse().asObject().names().get(0));
+        assertSame(first.names().get(0), JsonTape.parse(SAMPLE.getBytes(StandardCharsets.UTF_8)).root().names().get(0));
+        assertEquals("Русский", parse("{\"Русский\":1}").asObject().names().get(0));
+    }
+
+    @Test
+    public void parse_range() {
+        byte[] bytes = "xx[1,2]yy".getBytes(StandardCharsets.UTF_8);
+        assertEquals(Json.array(1, 2), Json.parse(bytes, 2, 5));
+
+        ParseException exception = assertException(ParseException.class,
+                (Runnable) () -> Json.parse(bytes, 2, 4));
+        assertEquals(4, exception.getOffset());
+    }
+
+    @Test
+    public void parse_byteBuffer() {
+        ByteBuffer heap = ByteBuffer.wrap("  [\"a\"]".getBytes(StandardCharsets.UTF_8));
+        heap.position(2);
+        assertEquals(Json.array("a"), Json.parse(heap.slice()));
+        assertEquals(2, heap.position());
+
+        byte[] bytes = SAMPLE.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        assertEquals(Json.parse(SAMPLE), Json.parse(direct));
+        assertEquals(0, direct.position());
+    }
+
+    @Test
+    public void parse_inputStream() throws IOException {
+        StringBuilder large = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            large.append(i == 0 ? "" : ",").append(SAMPLE);
+        }
+        String json = large.append(']').toString();
+        InputStream input = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+        assertEquals(Json.parse(json), Json.parse(input));
+    }
+
+    private static void assertParseException(int offset, String message, final String json) {
+        ParseException exception = assertException(ParseException.class, (Runnable) () -> parse(json));
+        assertEquals(offset, exception.getOffset());
+        assertThat(exception.getMessage(), StringStartsWith.startsWith(message + " at"));
+    }
+
+    private static void assertParseException(int offset, int line, int column, final String json) {
+        ParseException exception = assertException(ParseException.class, (Runnable) () -> parse(json));
+        assertEquals("offset", offset, exception.getOffset());
+        assertEquals("line", line, exception.getLine());
+        assertEquals("column", column, exception.getColumn());
+    }
+
+    private static JsonValue parse(String json) {
+        return new JsonByteParser(json.getBytes(StandardCharsets.UTF_8)).parse();
+    }
+
+}
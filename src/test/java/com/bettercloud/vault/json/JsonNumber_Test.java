@@ -179,4 +179,101 @@ public class JsonNumber_Test {
         Assert.assertEquals(number, TestUtil.serializeAndDeserialize(number));
     }
 
+    @Test
+    public void longConstructor_printsValue() {
+        assertEquals("-23", new JsonNumber(-23L).toString());
+        assertEquals("9223372036854775807", new JsonNumber(Long.MAX_VALUE).toString());
+    }
+
+    @Test
+    public void longConstructor_decodesValue() {
+        JsonNumber number = new JsonNumber(1234567890123L);
+
+        assertEquals(1234567890123L, number.asLong());
+        assertEquals(1234567890123d, number.asDouble(), 0);
+        assertEquals(1234567890123f, number.asFloat(), 0);
+        assertEquals(23, new JsonNumber(23L).asInt());
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void longConstructor_asIntFailsWithExceedingValues() {
+        new JsonNumber(10000000000L).asInt();
+    }
+
+    @Test
+    public void longConstructor_roundsLikeText() {
+        long value = (1L << 53) + 1;
+
+        assertEquals(Double.parseDouble(Long.toString(value)), new JsonNumber(value).asDouble(), 0);
+        assertEquals(Float.parseFloat(Long.toString(value)), new JsonNumber(value).asFloat(), 0);
+    }
+
+    @Test
+    public void equals_trueForEqualLongAndString() {
+        assertEquals(new JsonNumber(23L), new JsonNumber("23"));
+        assertEquals(new JsonNumber("23"), new JsonNumber(23L));
+        assertEquals(new JsonNumber("23").hashCode(), new JsonNumber(23L).hashCode());
+        assertNotEquals(new JsonNumber(23L), new JsonNumber("23.0"));
+    }
+
+    @Test
+    public void write_longValue() throws IOException {
+        new JsonNumber(-42L).write(writer);
+
+        assertEquals("-42", output.toString());
+    }
+
+    @Test
+    public void valueOf_decodesIntegers() {
+        assertNumber(23L, "23");
+        assertNumber(-23L, "-23");
+        assertNumber(0L, "0");
+        assertNumber(999999999999999999L, "999999999999999999");
+    }
+
+    @Test
+    public void valueOf_keepsTextThatDoesNotPrintBack() {
+        assertText("-0");
+        assertText("23.5");
+        assertText("1e5");
+        assertText("9223372036854775807");
+        assertText("123456789012345678901234567890");
+    }
+
+    @Test
+    public void valueOf_readsRange() {
+        byte[] bytes = "[123,4]".getBytes();
+
+        assertEquals(new JsonNumber(123L), JsonNumber.valueOf(bytes, 1, 4));
+        assertEquals(new JsonNumber(4L), JsonNumber.valueOf(bytes, 5, 6));
+    }
+
+    @Test
+    public void asDouble_isRepeatable() {
+        JsonNumber number = new JsonNumber("23.05");
+
+        assertEquals(23.05, number.asDouble(), 0);
+        assertEquals(23.05, number.asDouble(), 0);
+    }
+
+    @Test
+    public void canBeSerializedAndDeserialized_longValue() throws Exception {
+        JsonNumber number = new JsonNumber(42L);
+        JsonNumber copy = TestUtil.serializeAndDeserialize(number);
+
+        Assert.assertEquals(number, copy);
+        Assert.assertEquals(42L, copy.asLong());
+    }
+
+    private static void assertNumber(long expected, String text) {
+        JsonNumber number = JsonNumber.valueOf(text.getBytes(), 0, text.length());
+
+        assertEquals(expected, number.asLong());
+        assertEquals(text, number.toString());
+    }
+
+    private static void assertText(String text) {
+        assertEquals(text, JsonNumber.valueOf(text.getBytes(), 0, text.length()).toString());
+    }
+
 }
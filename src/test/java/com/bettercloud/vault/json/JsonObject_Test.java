@@ -820,7 +820,6 @@ public class JsonObject_Test {
     @Test
     public void indexOf_returnsIndexOfLastMember_forBigObject() {
         object.add("a", true);
-        // for indexes above 255, the hash index table does not return a value
         for (int i = 0; i < 256; i++) {
             object.add("x-" + i, 0);
         }
@@ -829,6 +828,55 @@ public class JsonObject_Test {
         assertEquals(257, object.indexOf("a"));
     }
 
+    @Test
+    public void indexOf_returnsIndexOfEveryMember_forHugeObject() {
+        for (int i = 0; i < 10000; i++) {
+            object.add("x-" + i, i);
+        }
+
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i, object.indexOf("x-" + i));
+        }
+        assertEquals(-1, object.indexOf("x-10000"));
+    }
+
+    @Test
+    public void indexOf_returnsUpdatedIndexes_afterRemoveFromHugeObject() {
+        for (int i = 0; i < 1000; i++) {
+            object.add("x-" + i, i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            object.remove("x-" + i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 0 ? -1 : i / 2, object.indexOf("x-" + i));
+        }
+    }
+
+    @Test
+    public void indexOf_findsMembersWithCollidingHashCodes() {
+        // "Aa" and "BB" have the same hash code
+        object.add("Aa", 1).add("BB", 2).add("AaAa", 3).add("BBBB", 4).add("AaBB", 5);
+        object.remove("Aa");
+
+        assertEquals(-1, object.indexOf("Aa"));
+        assertEquals(0, object.indexOf("BB"));
+        assertEquals(1, object.indexOf("AaAa"));
+        assertEquals(2, object.indexOf("BBBB"));
+        assertEquals(3, object.indexOf("AaBB"));
+    }
+
+    @Test
+    public void unmodifiableObject_reflectsMembersAddedToBigObject() {
+        JsonObject unmodifiableObject = JsonObject.unmodifiableObject(object);
+        for (int i = 0; i < 1000; i++) {
+            object.add("x-" + i, i);
+        }
+
+        assertEquals(999, unmodifiableObject.get("x-999").asInt());
+    }
+
     @Test
     public void hashIndexTable_copyConstructor() {
         HashIndexTable original = new HashIndexTable();
@@ -847,11 +895,14 @@ public class JsonObject_Test {
         indexTable.add("name-1", 1);
         indexTable.add("name-fe", 0xfe);
         indexTable.add("name-ff", 0xff);
+        indexTable.add("name-10000", 10000);
 
         assertEquals(0, indexTable.get("name-0"));
         assertEquals(1, indexTable.get("name-1"));
         assertEquals(0xfe, indexTable.get("name-fe"));
-        assertEquals(-1, indexTable.get("name-ff"));
+        assertEquals(0xff, indexTable.get("name-ff"));
+        assertEquals(10000, indexTable.get("name-10000"));
+        assertEquals(-1, indexTable.get("name-2"));
     }
 
     @Test
@@ -865,13 +916,26 @@ public class JsonObject_Test {
     }
 
     @Test
-    public void hashIndexTable_add_clearsPreviousValueIfIndexExceeds0xff() {
+    public void hashIndexTable_add_overwritesPreviousValueWithIndexAbove0xff() {
         HashIndexTable indexTable = new HashIndexTable();
 
         indexTable.add("name", 23);
         indexTable.add("name", 300);
 
-        assertEquals(-1, indexTable.get("name"));
+        assertEquals(300, indexTable.get("name"));
+    }
+
+    @Test
+    public void hashIndexTable_growsWithNumberOfNames() {
+        HashIndexTable indexTable = new HashIndexTable();
+
+        for (int i = 0; i < 5000; i++) {
+            indexTable.add("name-" + i, i);
+        }
+
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i, indexTable.get("name-" + i));
+        }
     }
 
     @Test
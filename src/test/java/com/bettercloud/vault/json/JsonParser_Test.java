@@ -207,6 +207,16 @@ public class JsonParser_Test {
         assertEquals("{\"foo\":{\"bar\":42}}", parse("{\"foo\":{\"bar\":42}}").toString());
     }
 
+    @Test
+    public void objects_shareNames() {
+        JsonObject first = parse("{\"lease_id\":\"\",\"data\":{}}").asObject();
+        JsonObject second = parse("{\"data\":{},\"lease_id\":\"\"}").asObject();
+
+        assertSame(first.names().get(0), second.names().get(1));
+        assertSame(first.names().get(1), second.names().get(0));
+        assertEquals("a\"b", parse("{\"a\\\"b\":1}").asObject().names().get(0));
+    }
+
     @Test
     public void objects_illegalSyntax() {
         assertParseException(1, "Expected name", "{,}");
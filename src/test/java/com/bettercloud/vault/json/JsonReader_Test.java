@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright (c) 2013, 2015 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.bettercloud.vault.json;
+
+import static com.bettercloud.vault.json.TestUtil.assertException;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hamcrest.core.StringStartsWith;
+import org.junit.Test;
+
+import com.bettercloud.vault.json.JsonReader.Token;
+
+
+@SuppressWarnings("PMD")
+public class JsonReader_Test {
+
+    @Test
+    public void nextToken_reportsEveryToken() throws IOException {
+        JsonReader reader = new JsonReader("{\"a\":[1,-2.5e3,\"x\",true,false,null],\"b\":{}}");
+
+        assertEquals(Token.BEGIN_OBJECT, reader.nextToken());
+        assertNull(reader.getText());
+        assertToken(reader, Token.NAME, "a");
+        assertEquals(Token.BEGIN_ARRAY, reader.nextToken());
+        assertToken(reader, Token.NUMBER, "1");
+        assertToken(reader, Token.NUMBER, "-2.5e3");
+        assertToken(reader, Token.STRING, "x");
+        assertToken(reader, Token.BOOLEAN, "true");
+        assertToken(reader, Token.BOOLEAN, "false");
+        assertToken(reader, Token.NULL, "null");
+        assertEquals(Token.END_ARRAY, reader.nextToken());
+        assertToken(reader, Token.NAME, "b");
+        assertEquals(Token.BEGIN_OBJECT, reader.nextToken());
+        assertEquals(Token.END_OBJECT, reader.nextToken());
+        assertEquals(Token.END_OBJECT, reader.nextToken());
+        assertEquals(Token.END_DOCUMENT, reader.nextToken());
+        assertEquals(Token.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    public void peek_doesNotConsume() throws IOException {
+        JsonReader reader = new JsonReader("[\"a\"]");
+
+        assertEquals(Token.BEGIN_ARRAY, reader.peek());
+        assertEquals(Token.BEGIN_ARRAY, reader.peek());
+        reader.beginArray();
+        assertEquals(Token.STRING, reader.peek());
+        assertEquals("a", reader.nextString());
+    }
+
+    @Test
+    public void typedMethods_readScalars() throws IOException {
+        JsonReader reader = new JsonReader(" [ 23 , 9007199254740993 , 0.5 , true , null ] ");
+
+        reader.beginArray();
+        assertTrue(reader.hasNext());
+        assertEquals(23, reader.nextInt());
+        assertEquals(9007199254740993L, reader.nextLong());
+        assertEquals(0.5, reader.nextDouble(), 0);
+        assertTrue(reader.nextBoolean());
+        reader.nextNull();
+        assertFalse(reader.hasNext());
+        reader.endArray();
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    public void nextString_decodesEscapesAndUnicode() throws IOException {
+        JsonReader reader = new JsonReader(new ByteArrayInputStream(
+                "[\"a\\\"b\\u0063\\n\",\"日本\"]".getBytes(StandardCharsets.UTF_8)));
+
+        reader.beginArray();
+        assertEquals("a\"bc\n", reader.nextString());
+        assertEquals("日本", reader.nextString());
+    }
+
+    @Test
+    public void skipValue_skipsNestedValues() throws IOException {
+        JsonReader reader = new JsonReader("{\"a\":{\"b\":[1,{\"c\":[]}],\"d\":\"e\"},\"f\":2}");
+
+        reader.beginObject();
+        assertEquals("a", reader.nextName());
+        reader.skipValue();
+        assertEquals("f", reader.nextName());
+        assertEquals(2, reader.nextInt());
+        reader.endObject();
+    }
+
+    @Test
+    public void skipValue_skipsNameAndValue() throws IOException {
+        JsonReader reader = new JsonReader("{\"a\":[1,2],\"b\":true}");
+
+        reader.beginObject();
+        reader.skipValue();
+        assertEquals("b", reader.nextName());
+    }
+
+    @Test
+    public void skipValue_skipsScalars() throws IOException {
+        JsonReader reader = new JsonReader("[1,\"a\",null,3]");
+
+        reader.beginArray();
+        reader.skipValue();
+        reader.skipValue();
+        reader.skipValue();
+        assertEquals(3, reader.nextInt());
+    }
+
+    @Test
+    public void nextValue_buildsTreeForOneValue() throws IOException {
+        JsonReader reader = new JsonReader("{\"a\":{\"b\":[1,2]},\"c\":3}");
+
+        reader.beginObject();
+        assertEquals("a", reader.nextName());
+        assertEquals(Json.parse("{\"b\":[1,2]}"), reader.nextValue());
+        assertEquals("c", reader.nextName());
+        assertEquals(3, reader.nextInt());
+    }
+
+    @Test
+    public void readsAcrossBufferBoundaries() throws IOException {
+        StringBuilder json = new StringBuilder("{\"keys\":[");
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            expected.add("service-" + i + "/");
+            json.append(i == 0 ? "" : ",").append('"').append(expected.get(i)).append('"');
+        }
+        json.append("]}");
+        JsonReader reader = new JsonReader(new StringReader(json.toString()));
+
+        List<String> keys = new ArrayList<>();
+        reader.beginObject();
+        assertEquals("keys", reader.nextName());
+        reader.beginArray();
+        while (reader.hasNext()) {
+            keys.add(reader.nextString());
+        }
+        reader.endArray();
+        reader.endObject();
+        assertEquals(expected, keys);
+    }
+
+    @Test
+    public void wrongToken_failsWithIllegalState() throws IOException {
+        final JsonReader reader = new JsonReader("{\"a\":1}");
+
+        assertException(IllegalStateException.class, "Expected BEGIN_ARRAY but was BEGIN_OBJECT",
+                        (TestUtil.RunnableEx) reader::beginArray);
+        reader.beginObject();
+        assertException(IllegalStateException.class, "Expected STRING but was NAME",
+                        (TestUtil.RunnableEx) reader::nextString);
+    }
+
+    @Test
+    public void invalidInput_failsWithParseException() {
+        assertParseException(0, "Unexpected end of input", "");
+        assertParseException(0, "Expected value", "x");
+        assertParseException(3, "Expected ',' or ']'", "[1 2]");
+        assertParseException(7, "Expected ',' or '}'", "{\"a\":1 \"b\":2}");
+        assertParseException(1, "Expected name", "{1:2}");
+        assertParseException(5, "Expected ':'", "{\"a\" 1}");
+        assertParseException(3, "Unexpected character", "[1]x");
+        assertParseException(1, "Expected value", "[,]");
+    }
+
+    @Test
+    public void close_closesReader() throws IOException {
+        final boolean[] closed = new boolean[1];
+        JsonReader reader = new JsonReader(new StringReader("{}") {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        });
+
+        reader.close();
+
+        assertTrue(closed[0]);
+    }
+
+    private static void assertToken(JsonReader reader, Token token, String text) throws IOException {
+        assertEquals(token, reader.nextToken());
+        assertEquals(text, reader.getText());
+    }
+
+    private static void assertParseException(int offset, String message, final String json) {
+        ParseException exception = assertException(ParseException.class, (TestUtil.RunnableEx) () -> {
+            JsonReader reader = new JsonReader(json);
+            while (reader.nextToken() != Token.END_DOCUMENT) {
+            }
+        });
+        assertEquals(offset, exception.getOffset());
+        assertThat(exception.getMessage(), StringStartsWith.startsWith(message + " at"));
+    }
+
+}
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2013, 2015 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.bettercloud.vault.json;
+
+import static com.bettercloud.vault.json.TestUtil.assertException;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+
+@SuppressWarnings("PMD")
+public class JsonTape_Test {
+
+    private static final String MOUNTS = "{\"request_id\":\"6f2b\",\"lease_duration\":0,\"renewable\":false,"
+            + "\"data\":{\"secret/\":{\"type\":\"kv\",\"options\":{\"version\":\"2\"}},"
+            + "\"sys/\":{\"type\":\"system\",\"options\":null},"
+            + "\"日本/\":{\"type\":\"kv\",\"options\":{\"version\":\"1\"},\"tags\":[\"a\",[],{},-1.5e3,true,null]}},"
+            + "\"warnings\":null}";
+
+    @Test
+    public void root_matchesParsedTree() {
+        JsonTape.Cursor root = tape(MOUNTS).root();
+
+        assertTrue(root.isObject());
+        assertEquals(Json.parse(MOUNTS), root.asObject());
+        assertEquals(Json.parse(MOUNTS).toString(), root.toString());
+        assertEquals(Json.parse(MOUNTS).toString(WriterConfig.PRETTY_PRINT), root.toString(WriterConfig.PRETTY_PRINT));
+    }
+
+    @Test
+    public void get_findsMembersByName() {
+        JsonTape.Cursor data = tape(MOUNTS).root().get("data");
+
+        assertEquals(3, data.size());
+        assertEquals("2", data.get("secret/").get("options").get("version").asString());
+        assertTrue(data.get("sys/").get("options").isNull());
+        assertEquals("1", data.get("日本/").get("options").get("version").asString());
+        assertNull(data.get("missing/"));
+        assertNull(data.get("secret"));
+        assertNull(data.get("secret//"));
+    }
+
+    @Test
+    public void get_returnsLastDuplicateMember() {
+        assertEquals(2, tape("{\"a\":1,\"a\":2}").root().get("a").asInt());
+    }
+
+    @Test
+    public void get_matchesEscapedNames() {
+        JsonTape.Cursor root = tape("{\"a\\\"b\":1,\"\\u0063\":2}").root();
+
+        assertEquals(1, root.get("a\"b").asInt());
+        assertEquals(2, root.get("c").asInt());
+    }
+
+    @Test
+    public void get_failsOnWrongType() {
+        assertException(UnsupportedOperationException.class, (Runnable) () -> tape("[1]").root().get("a"));
+        assertException(UnsupportedOperationException.class, (Runnable) () -> tape("{}").root().get(0));
+        assertException(IndexOutOfBoundsException.class, (Runnable) () -> tape("[1]").root().get(1));
+    }
+
+    @Test
+    public void firstAndNext_walkMembersInOrder() {
+        JsonTape.Cursor data = tape(MOUNTS).root().get("data");
+        List<String> names = new ArrayList<>();
+        for (JsonTape.Cursor mount = data.first(); mount != null; mount = mount.next()) {
+            names.add(mount.name());
+            assertEquals(data.get(mount.name()), mount);
+        }
+
+        assertEquals(Arrays.asList("secret/", "sys/", "日本/"), names);
+        assertEquals(names, data.names());
+        assertNull(tape(MOUNTS).root().next());
+        assertNull(tape("{}").root().first());
+    }
+
+    @Test
+    public void firstAndNext_walkElementsInOrder() {
+        JsonTape.Cursor tags = tape(MOUNTS).root().get("data").get("日本/").get("tags");
+        List<JsonValue> elements = new ArrayList<>();
+        for (JsonTape.Cursor element = tags.first(); element != null; element = element.next()) {
+            assertNull(element.name());
+            elements.add(element);
+        }
+
+        assertEquals(6, tags.size());
+        assertEquals(6, elements.size());
+        assertEquals("a", elements.get(0).asString());
+        assertEquals(new JsonArray(), elements.get(1).asArray());
+        assertEquals(new JsonObject(), elements.get(2).asObject());
+        assertEquals(-1500.0, elements.get(3).asDouble(), 0);
+        assertTrue(elements.get(4).asBoolean());
+        assertTrue(elements.get(5).isNull());
+        assertEquals(elements.get(3), tags.get(3));
+    }
+
+    @Test
+    public void numbers_areDecodedOnAccess() {
+        JsonTape.Cursor root = tape("[0,-7,2147483648,-9223372036854775808,1.5,23e2]").root();
+
+        assertEquals(0, root.get(0).asInt());
+        assertEquals(-7, root.get(1).asInt());
+        assertEquals(2147483648L, root.get(2).asLong());
+        assertEquals(Long.MIN_VALUE, root.get(3).asLong());
+        assertEquals(1.5f, root.get(4).asFloat(), 0);
+        assertEquals(2300.0, root.get(5).asDouble(), 0);
+        assertException(NumberFormatException.class, (Runnable) () -> root.get(2).asInt());
+        assertException(NumberFormatException.class, (Runnable) () -> root.get(4).asLong());
+        assertException(UnsupportedOperationException.class, (Runnable) () -> tape("\"1\"").root().asInt());
+    }
+
+    @Test
+    public void parse_reportsSameErrorsAsByteParser() {
+        assertParseException(0, "Unexpected end of input", "");
+        assertParseException(4, "Expected ',' or ']'", "[23 42]");
+        assertParseException(1, "Expected name", "{23}");
+        assertParseException(5, "Expected ':'", "{\"a\" \"b\"}");
+        assertParseException(3, "Expected valid string character", "\"--\n--\"");
+        assertParseException(4, "Unexpected character", "truex");
+    }
+
+    @Test
+    public void parse_growsTape() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            json.append(i == 0 ? "" : ",").append(i);
+        }
+        JsonTape.Cursor root = tape(json.append(']').toString()).root();
+
+        assertEquals(1000, root.size());
+        assertEquals(999, root.get(999).asInt());
+    }
+
+    @Test
+    public void cursor_isSerializedAsValue() throws Exception {
+        JsonTape.Cursor data = tape(MOUNTS).root().get("data");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(data);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(data.asObject(), in.readObject());
+        }
+    }
+
+    private static void assertParseException(int offset, String message, final String json) {
+        ParseException exception = assertException(ParseException.class, (Runnable) () -> tape(json));
+        assertEquals(offset, exception.getOffset());
+        assertTrue(exception.getMessage(), exception.getMessage().startsWith(message + " at"));
+    }
+
+    private static JsonTape tape(String json) {
+        return JsonTape.parse(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -24,9 +24,12 @@ package com.bettercloud.vault.json;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
 import org.junit.Test;
 
@@ -78,6 +81,57 @@ public class JsonValue_Test {
     verify(writer, never()).close();
   }
 
+  @Test
+  public void writeTo_outputStream() throws IOException {
+    JsonValue value = new JsonArray().add("a\u00e9\u65e5\ud83d\udd11\"").add(23).add(Json.object().add("b", true));
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    value.writeTo(output);
+
+    assertArrayEquals(value.toString().getBytes(StandardCharsets.UTF_8), output.toByteArray());
+  }
+
+  @Test
+  public void writeTo_outputStream_encodesAcrossBufferBoundaries() throws IOException {
+    StringBuilder string = new StringBuilder();
+    for (int i = 0; i < 5000; i++) {
+      string.append("x\u00e9\ud83d\udd11");
+    }
+    JsonValue value = Json.value(string.toString());
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    value.writeTo(output);
+
+    assertArrayEquals(value.toString().getBytes(StandardCharsets.UTF_8), output.toByteArray());
+  }
+
+  @Test
+  public void writeTo_outputStream_replacesUnpairedSurrogates() throws IOException {
+    JsonValue value = new JsonArray().add("a\ud83d").add("\udd11b").add("\ud83d\ud83d\udd11");
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    value.writeTo(output);
+
+    assertArrayEquals(value.toString().getBytes(StandardCharsets.UTF_8), output.toByteArray());
+    assertEquals("[\"a?\",\"?b\",\"?\ud83d\udd11\"]", new String(output.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void writeTo_outputStream_doesNotCloseStream() throws IOException {
+    JsonValue value = new JsonObject();
+    boolean[] closed = new boolean[1];
+    OutputStream output = new ByteArrayOutputStream() {
+      @Override
+      public void close() {
+        closed[0] = true;
+      }
+    };
+
+    value.writeTo(output);
+
+    assertFalse(closed[0]);
+  }
+
   @Test
   public void asObject_failsOnIncompatibleType() {
     TestUtil.assertException(UnsupportedOperationException.class, "Not an object: null", (Runnable) Json.NULL::asObject);
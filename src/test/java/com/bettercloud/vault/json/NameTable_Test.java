@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2013, 2015 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.bettercloud.vault.json;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+
+@SuppressWarnings("PMD")
+public class NameTable_Test {
+
+    private final NameTable table = new NameTable(16);
+
+    @Test
+    public void intern_chars_returnsSameInstance() {
+        String first = table.intern("xdatax".toCharArray(), 1, 4);
+
+        assertEquals("data", first);
+        assertSame(first, table.intern("data".toCharArray(), 0, 4));
+    }
+
+    @Test
+    public void intern_bytes_returnsSameInstance() {
+        String first = table.intern(bytes("\"lease_id\""), 1, 9);
+
+        assertEquals("lease_id", first);
+        assertSame(first, table.intern(bytes("lease_id"), 0, 8));
+        assertSame(first, table.intern("lease_id".toCharArray(), 0, 8));
+    }
+
+    @Test
+    public void intern_distinguishesNames() {
+        assertEquals("auth", table.intern(bytes("auth"), 0, 4));
+        assertEquals("data", table.intern(bytes("data"), 0, 4));
+        assertEquals("auth", table.intern("auth".toCharArray(), 0, 4));
+        assertEquals("", table.intern(bytes(""), 0, 0));
+    }
+
+    @Test
+    public void intern_replacesCollidingNames() {
+        NameTable single = new NameTable(1);
+
+        assertEquals("data", single.intern(bytes("data"), 0, 4));
+        assertEquals("auth", single.intern(bytes("auth"), 0, 4));
+        assertEquals("data", single.intern("data".toCharArray(), 0, 4));
+        assertEquals("dat", single.intern("dat".toCharArray(), 0, 3));
+    }
+
+    @Test
+    public void intern_decodesNonAsciiNames() {
+        byte[] bytes = bytes("müßig");
+
+        assertEquals("müßig", table.intern(bytes, 0, bytes.length));
+        assertNotSame(table.intern(bytes, 0, bytes.length), table.intern(bytes, 0, bytes.length));
+        assertSame(table.intern("müßig".toCharArray(), 0, 5), table.intern("müßig".toCharArray(), 0, 5));
+    }
+
+    @Test
+    public void intern_doesNotCacheLongNames() {
+        char[] chars = new char[NameTable.MAX_LENGTH + 1];
+        Arrays.fill(chars, 'a');
+
+        assertEquals(new String(chars), table.intern(chars, 0, chars.length));
+        assertNotSame(table.intern(chars, 0, chars.length), table.intern(chars, 0, chars.length));
+        assertSame(table.intern(chars, 0, NameTable.MAX_LENGTH), table.intern(chars, 0, NameTable.MAX_LENGTH));
+    }
+
+    private static byte[] bytes(String string) {
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
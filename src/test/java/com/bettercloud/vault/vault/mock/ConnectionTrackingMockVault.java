@@ -0,0 +1,60 @@
+package com.bettercloud.vault.vault.mock;
+
+import org.eclipse.jetty.server.Request;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>This class is used to mock out a Vault server in unit tests involving connection pooling.  As it extends
+ * Jetty's <code>AbstractHandler</code>, it can be passed to an embedded Jetty server and respond to actual (albeit
+ * localhost) HTTP requests.</p>
+ *
+ * <p>It responds to every request with a pre-determined HTTP status code and response body, while recording the
+ * client-side port of each request.  Requests sharing a port were sent over the same TCP connection.</p>
+ */
+public class ConnectionTrackingMockVault extends MockVault {
+
+    private final int mockStatus;
+    private final String mockResponse;
+    private final Set<Integer> remotePorts = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    public ConnectionTrackingMockVault(final int mockStatus, final String mockResponse) {
+        this.mockStatus = mockStatus;
+        this.mockResponse = mockResponse;
+    }
+
+    @Override
+    public void handle(
+            final String target,
+            final Request baseRequest,
+            final HttpServletRequest request,
+            final HttpServletResponse response
+    ) throws IOException {
+        remotePorts.add(request.getRemotePort());
+        requestCount.incrementAndGet();
+        response.setContentType("application/json");
+        baseRequest.setHandled(true);
+        response.setStatus(mockStatus);
+        if (mockResponse != null) {
+            response.getWriter().println(mockResponse);
+        }
+    }
+
+    /**
+     * @return The number of distinct client connections over which requests have been received
+     */
+    public int getConnectionCount() {
+        return remotePorts.size();
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.bettercloud.vault.vault.mock;
+
+import com.bettercloud.vault.Vault;
+import com.bettercloud.vault.VaultConfig;
+import com.bettercloud.vault.VaultException;
+import com.bettercloud.vault.rest.RestRequest;
+import com.bettercloud.vault.rest.RestResponse;
+import com.bettercloud.vault.rest.VaultTransport;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * <p>This class is used to mock out a Vault server in unit tests of bulk operations, without any HTTP at all.  As it
+ * implements <code>VaultTransport</code>, it can be passed to <code>VaultConfig.transport()</code>, and receives each
+ * request that the driver would otherwise send over the network.</p>
+ *
+ * <p>Each test supplies its own routing, as a function from request to response.  This class records every tracked
+ * request, optionally holds it for a while before routing it, and counts how many tracked requests are in flight at
+ * once.  By default every request is tracked.</p>
+ */
+public class RecordingMockTransport implements VaultTransport {
+
+    public static final String ADDRESS = "http://vault.example.com:8200";
+
+    private final Function<RestRequest, RestResponse> router;
+    private final List<RestRequest> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private Predicate<RestRequest> tracked = request -> true;
+    private long delayMillis;
+    private boolean randomDelay;
+
+    public RecordingMockTransport(final Function<RestRequest, RestResponse> router) {
+        this.router = router;
+    }
+
+    /**
+     * @param delayMillis How long to hold each tracked request before routing it
+     * @return This object, with the delay set
+     */
+    public RecordingMockTransport delay(final long delayMillis) {
+        this.delayMillis = delayMillis;
+        this.randomDelay = false;
+        return this;
+    }
+
+    /**
+     * @param maxDelayMillis The (exclusive) upper bound of a random hold for each tracked request, so that concurrent
+     *                       requests complete out of order
+     * @return This object, with the delay set
+     */
+    public RecordingMockTransport randomDelay(final long maxDelayMillis) {
+        this.delayMillis = maxDelayMillis;
+        this.randomDelay = true;
+        return this;
+    }
+
+    /**
+     * @param tracked Which requests to record, delay and count as in flight (the others are only routed)
+     * @return This object, with the filter set
+     */
+    public RecordingMockTransport tracking(final Predicate<RestRequest> tracked) {
+        this.tracked = tracked;
+        return this;
+    }
+
+    @Override
+    public RestResponse send(final RestRequest request) {
+        if (!tracked.test(request)) {
+            return router.apply(request);
+        }
+        requests.add(request);
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            if (delayMillis > 0) {
+                Thread.sleep(randomDelay ? ThreadLocalRandom.current().nextLong(delayMillis) : delayMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        return router.apply(request);
+    }
+
+    /**
+     * @param engineVersion The KV engine version of every mount
+     * @return A config for a Vault at {@link #ADDRESS}, sending its requests through this transport, which may be
+     * customized further before it is built
+     */
+    public VaultConfig config(final int engineVersion) {
+        return new VaultConfig()
+                .address(ADDRESS)
+                .token("mock_token")
+                .engineVersion(engineVersion)
+                .transport(this);
+    }
+
+    /**
+     * @param engineVersion The KV engine version of every mount
+     * @return A Vault at {@link #ADDRESS}, sending its requests through this transport
+     * @throws VaultException If the config cannot be built
+     */
+    public Vault vault(final int engineVersion) throws VaultException {
+        return new Vault(config(engineVersion).build(), engineVersion);
+    }
+
+    public static RestResponse response(final int status, final String body) {
+        return new RestResponse(status, "application/json", body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return Every tracked request, in the order received
+     */
+    public List<RestRequest> getRequests() {
+        return requests;
+    }
+
+    /**
+     * @return The URL of every tracked request, in the order received
+     */
+    public List<String> getUrls() {
+        return requests.stream().map(RestRequest::getUrl).collect(Collectors.toList());
+    }
+
+    /**
+     * @return The largest number of tracked requests that were in flight at once
+     */
+    public int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+}